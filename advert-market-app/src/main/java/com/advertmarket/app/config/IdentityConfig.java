@@ -6,6 +6,7 @@ import com.advertmarket.identity.api.port.TokenBlacklistPort;
 import com.advertmarket.identity.config.AuthProperties;
 import com.advertmarket.identity.config.LocaleCurrencyProperties;
 import com.advertmarket.identity.config.RateLimiterProperties;
+import com.advertmarket.identity.config.TokenCacheProperties;
 import com.advertmarket.identity.security.JwtAuthenticationFilter;
 import com.advertmarket.identity.security.JwtTokenProvider;
 import com.advertmarket.identity.service.TelegramInitDataValidator;
@@ -22,15 +23,17 @@ import org.springframework.context.annotation.Configuration;
 @EnableConfigurationProperties({
         AuthProperties.class,
         RateLimiterProperties.class,
-        LocaleCurrencyProperties.class
+        LocaleCurrencyProperties.class,
+        TokenCacheProperties.class
 })
 public class IdentityConfig {
 
     /** Creates the JWT token provider. */
     @Bean
     public JwtTokenProvider jwtTokenProvider(
-            AuthProperties authProperties) {
-        return new JwtTokenProvider(authProperties);
+            AuthProperties authProperties,
+            TokenCacheProperties tokenCacheProperties) {
+        return new JwtTokenProvider(authProperties, tokenCacheProperties);
     }
 
     /** Creates the Telegram initData validator. */
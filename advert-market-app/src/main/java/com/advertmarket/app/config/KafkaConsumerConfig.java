@@ -106,6 +106,21 @@ public class KafkaConsumerConfig {
                 notificationErrorHandler(kafkaTemplate));
     }
 
+    /**
+     * Notification batch listener factory (3 retries, 1-10s), delivering
+     * each poll to the listener at once.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, String>
+            notificationBatchKafkaListenerContainerFactory(
+            ConsumerFactory<String, String> consumerFactory,
+            KafkaTemplate<String, String> kafkaTemplate) {
+        var factory = buildFactory(consumerFactory,
+                notificationErrorHandler(kafkaTemplate));
+        factory.setBatchListener(true);
+        return factory;
+    }
+
     private ConcurrentKafkaListenerContainerFactory<String, String>
             buildFactory(
             ConsumerFactory<String, String> consumerFactory,
@@ -18,7 +18,9 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 /**
  * Registers shared-module infrastructure beans that were
@@ -49,6 +51,18 @@ public class SharedInfrastructureConfig {
         return new RedisDistributedLock(redisTemplate, metrics);
     }
 
+    /**
+     * Creates the Redis pub/sub listener container that all subscribers
+     * register on, so they share one subscription connection.
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            RedisConnectionFactory connectionFactory) {
+        var container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
     /** Creates the PII encryption vault. */
     @Bean
     public PiiVaultPort piiVault(PiiEncryptionProperties props) {
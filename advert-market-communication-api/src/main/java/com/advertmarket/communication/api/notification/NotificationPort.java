@@ -1,5 +1,7 @@
 package com.advertmarket.communication.api.notification;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Port for sending notifications to users.
  *
@@ -16,4 +18,17 @@ public interface NotificationPort {
      * @return true if the notification was delivered successfully
      */
     boolean send(NotificationRequest request);
+
+    /**
+     * Sends a notification without blocking the caller.
+     *
+     * <p>The default implementation sends synchronously.
+     *
+     * @param request the notification to send
+     * @return a future completing with true if the notification was
+     *         delivered successfully; it does not complete exceptionally
+     */
+    default CompletableFuture<Boolean> sendAsync(NotificationRequest request) {
+        return CompletableFuture.completedFuture(send(request));
+    }
 }
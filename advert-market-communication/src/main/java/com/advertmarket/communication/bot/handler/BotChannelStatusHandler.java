@@ -174,7 +174,7 @@ public class BotChannelStatusHandler implements ChatMemberUpdateHandler {
 
     private void notifyOwner(ChannelOwnerInfo info,
             NotificationType type) {
-        notificationPort.send(new NotificationRequest(
+        notificationPort.sendAsync(new NotificationRequest(
                 info.ownerId(), type,
                 Map.of("channel_name", info.title())));
     }
@@ -41,6 +41,22 @@ public final class BotConstants {
     public static final @Fenum(FenumGroup.METRIC_NAME) String METRIC_HANDLER_ERRORS =
             "telegram.handler.errors";
 
+    /** Counter for Redis failures of the cluster-wide send rate limiter. */
+    public static final @Fenum(FenumGroup.METRIC_NAME) String METRIC_RATE_LIMIT_REDIS_ERROR =
+            "telegram.rate_limit.redis_error";
+
+    /** Gauge of messages queued for sending, tagged by priority class. */
+    public static final @Fenum(FenumGroup.METRIC_NAME) String METRIC_OUTBOUND_QUEUE_DEPTH =
+            "telegram.outbound.queue.depth";
+
+    /** Timer of how long messages wait in the outbound queue, tagged by priority class. */
+    public static final @Fenum(FenumGroup.METRIC_NAME) String METRIC_OUTBOUND_QUEUE_WAIT =
+            "telegram.outbound.queue.wait";
+
+    /** Counter for messages dropped after waiting too long in the outbound queue. */
+    public static final @Fenum(FenumGroup.METRIC_NAME) String METRIC_OUTBOUND_EXPIRED =
+            "telegram.outbound.expired";
+
     // --- Callback prefixes ---
 
     /** Callback data prefix for language selection. */
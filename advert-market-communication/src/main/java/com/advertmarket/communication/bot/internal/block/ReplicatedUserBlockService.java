@@ -0,0 +1,90 @@
+package com.advertmarket.communication.bot.internal.block;
+
+import com.advertmarket.shared.metric.MetricsFacade;
+import com.advertmarket.shared.model.UserBlockCheckPort;
+import com.advertmarket.shared.replica.ReplicaProperties;
+import com.advertmarket.shared.replica.ReplicatedKeySet;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * User blocking answering block checks from an in-memory replica.
+ *
+ * <p>Blocks are written through {@link RedisUserBlockService} and then
+ * published to every instance, so checking a user on each request or
+ * update needs no Redis round trip. While the replica is stale, checks go
+ * to {@link RedisUserBlockService} and keep its fail-closed behavior.
+ */
+@Primary
+@Component
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicatedUserBlockService implements UserBlockPort, UserBlockCheckPort {
+
+    private final RedisUserBlockService delegate;
+    private final ReplicatedKeySet replica;
+
+    /**
+     * Creates the service and seeds its replica from Redis.
+     *
+     * @param delegate          Redis block storage
+     * @param redisTemplate     Redis template
+     * @param listenerContainer shared Redis listener container
+     * @param blockProperties   block key prefix
+     * @param properties        replica staleness bound
+     * @param metrics           metrics facade
+     */
+    public ReplicatedUserBlockService(RedisUserBlockService delegate,
+            StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            UserBlockProperties blockProperties,
+            ReplicaProperties properties,
+            MetricsFacade metrics) {
+        this.delegate = delegate;
+        this.replica = new ReplicatedKeySet(redisTemplate, listenerContainer,
+                blockProperties.keyPrefix(), properties.maxStaleness(), metrics);
+        replica.start();
+    }
+
+    @Override
+    public boolean isBlocked(long userId) {
+        return replica.contains(Long.toString(userId), _ -> delegate.isBlocked(userId));
+    }
+
+    @Override
+    public void blockPermanently(long userId, @NonNull String reason) {
+        delegate.blockPermanently(userId, reason);
+        replica.added(Long.toString(userId), null);
+    }
+
+    @Override
+    public void blockTemporarily(long userId, @NonNull String reason,
+            Duration duration) {
+        delegate.blockTemporarily(userId, reason, duration);
+        replica.added(Long.toString(userId), duration);
+    }
+
+    @Override
+    public void unblock(long userId) {
+        delegate.unblock(userId);
+        replica.removed(Long.toString(userId));
+    }
+
+    /** Rebuilds the replica from Redis, repairing missed changes. */
+    @Scheduled(fixedDelayString = "${app.replica.sync-interval:30s}")
+    public void resync() {
+        replica.resync();
+    }
+
+    /** Stops listening for block changes from other instances. */
+    @PreDestroy
+    public void shutdown() {
+        replica.shutdown();
+    }
+}
@@ -1,21 +1,54 @@
 package com.advertmarket.communication.bot.internal.builder;
 
-import java.util.regex.Pattern;
-
 /**
  * Utility for escaping MarkdownV2 special characters in text
  * before sending via Telegram Bot API.
  */
 public final class MarkdownV2Util {
 
-    private static final Pattern SPECIAL_CHARS =
-            Pattern.compile("([_*\\[\\]()~`>#+\\-=|{}.!\\\\])");
+    private static final String SPECIAL_CHARS = "_*[]()~`>#+-=|{}.!\\";
+    private static final int ESCAPE_HEADROOM = 16;
 
     private MarkdownV2Util() {
     }
 
     /** Escapes all MarkdownV2 special characters in the text. */
     public static String escape(String text) {
-        return SPECIAL_CHARS.matcher(text).replaceAll("\\\\$1");
+        int first = firstSpecial(text);
+        if (first < 0) {
+            return text;
+        }
+        var out = new StringBuilder(text.length() + ESCAPE_HEADROOM);
+        out.append(text, 0, first);
+        appendEscaped(out, text, first);
+        return out.toString();
+    }
+
+    /** Appends the text to {@code out} with MarkdownV2 special characters escaped. */
+    public static void appendEscaped(StringBuilder out, CharSequence text) {
+        appendEscaped(out, text, 0);
+    }
+
+    private static void appendEscaped(StringBuilder out, CharSequence text, int from) {
+        for (int i = from; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (isSpecial(c)) {
+                out.append('\\');
+            }
+            out.append(c);
+        }
+    }
+
+    private static int firstSpecial(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (isSpecial(text.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isSpecial(char c) {
+        return SPECIAL_CHARS.indexOf(c) >= 0;
     }
 }
@@ -74,6 +74,7 @@ public final class Reply {
             throw new IllegalStateException(
                     "No callback query in update");
         }
+        reply.chatId = ctx.chatId();
         reply.callbackQueryId = cq.id();
         return reply;
     }
@@ -110,7 +111,7 @@ public final class Reply {
         if (callbackAnswerText != null) {
             request.text(callbackAnswerText);
         }
-        sender.execute(request);
+        sender.execute(request, chatId);
     }
 
     private void sendMessage(TelegramSender sender) {
@@ -1,13 +1,20 @@
 package com.advertmarket.communication.bot.internal.config;
 
 import com.advertmarket.communication.bot.internal.resilience.TelegramResilienceProperties;
+import com.advertmarket.communication.bot.internal.sender.RateLimiterPort;
+import com.advertmarket.communication.bot.internal.sender.RedisTelegramRateLimiter;
+import com.advertmarket.communication.bot.internal.sender.TelegramOutboundProperties;
+import com.advertmarket.communication.bot.internal.sender.TelegramRateLimiter;
 import com.advertmarket.communication.bot.internal.sender.TelegramRetryProperties;
 import com.advertmarket.communication.bot.internal.sender.TelegramSenderProperties;
 import com.advertmarket.communication.webhook.DeduplicationProperties;
+import com.advertmarket.communication.webhook.UpdateExecutorProperties;
+import com.advertmarket.shared.metric.MetricsFacade;
 import com.pengrad.telegrambot.TelegramBot;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
 
 /**
  * Configuration for the Telegram bot client.
@@ -16,9 +23,11 @@ import org.springframework.context.annotation.Configuration;
 @EnableConfigurationProperties({
         TelegramBotProperties.class,
         TelegramSenderProperties.class,
+        TelegramOutboundProperties.class,
         TelegramResilienceProperties.class,
         TelegramRetryProperties.class,
-        DeduplicationProperties.class
+        DeduplicationProperties.class,
+        UpdateExecutorProperties.class
 })
 public class TelegramBotConfig {
 
@@ -27,4 +36,14 @@ public class TelegramBotConfig {
     public TelegramBot telegramBot(TelegramBotProperties properties) {
         return new TelegramBot(properties.botToken());
     }
+
+    /** Creates the send rate limiter, shared across instances unless disabled. */
+    @Bean
+    public RateLimiterPort telegramRateLimiter(TelegramSenderProperties properties,
+            StringRedisTemplate redis, MetricsFacade metrics) {
+        if (!properties.clusterWide()) {
+            return new TelegramRateLimiter(properties);
+        }
+        return new RedisTelegramRateLimiter(redis, properties, metrics);
+    }
 }
@@ -1,5 +1,8 @@
 package com.advertmarket.communication.bot.internal.sender;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
 /**
  * Port for rate limiting outgoing Telegram Bot API calls.
  */
@@ -10,6 +13,30 @@ public interface RateLimiterPort {
      * Blocks the current thread until permits are available.
      *
      * @param chatId the target chat id
+     * @throws RateLimitTimeoutException if permits are not available within 5 seconds
+     */
+    default void acquire(long chatId) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        for (long wait = tryAcquire(chatId); wait > 0; wait = tryAcquire(chatId)) {
+            if (System.nanoTime() + wait > deadline) {
+                throw new RateLimitTimeoutException(
+                        "Rate limit timeout for chat=" + chatId);
+            }
+            LockSupport.parkNanos(wait);
+            if (Thread.currentThread().isInterrupted()) {
+                throw new RateLimitTimeoutException(
+                        "Rate limiter interrupted for chat=" + chatId);
+            }
+        }
+    }
+
+    /**
+     * Takes permits for the given chat if they are available now.
+     * Never blocks; nothing is taken when a wait is returned.
+     *
+     * @param chatId the target chat id
+     * @return {@code 0} if permits were taken, otherwise nanoseconds
+     *         until the chat is next eligible
      */
-    void acquire(long chatId);
+    long tryAcquire(long chatId);
 }
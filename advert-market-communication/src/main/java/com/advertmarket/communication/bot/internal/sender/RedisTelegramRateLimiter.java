@@ -0,0 +1,116 @@
+package com.advertmarket.communication.bot.internal.sender;
+
+import static com.advertmarket.communication.bot.internal.BotConstants.METRIC_RATE_LIMIT_REDIS_ERROR;
+
+import com.advertmarket.shared.metric.MetricsFacade;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+
+/**
+ * Cluster-wide rate limiter for Telegram Bot API calls.
+ *
+ * <p>Runs the same cell rate algorithm as {@link TelegramRateLimiter},
+ * but keeps the theoretical arrival times of the global bucket and of
+ * every chat in Redis, so all instances sending with the same bot token
+ * share one budget. A single script checks the chat and the global
+ * bucket and takes both in one round trip, timed by the Redis clock so
+ * instance clock skew does not matter. Denied sends take nothing.
+ *
+ * <p>If Redis fails, the call falls back to an in-process limiter that
+ * holds this instance to {@code 1/instanceCount} of the limits, so the
+ * instances together stay within the budget while they cannot share it.
+ *
+ * <p>NOT {@code @Component} — wired via
+ * {@link com.advertmarket.communication.bot.internal.config.TelegramBotConfig}.
+ */
+@Slf4j
+public class RedisTelegramRateLimiter implements RateLimiterPort {
+
+    // One hash tag keeps the chat and global keys in one cluster slot
+    private static final String GLOBAL_KEY = "tg:send:{budget}:global";
+    private static final String CHAT_KEY_PREFIX = "tg:send:{budget}:chat:";
+
+    private static final RedisScript<Long> TAKE_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    local time = redis.call('TIME')
+                    local now = tonumber(time[1]) * 1000000 + tonumber(time[2])
+                    local chat = math.max(tonumber(redis.call('GET', KEYS[1]) or now), now)
+                    local wait = chat - now - tonumber(ARGV[2])
+                    if wait > 0 then return wait end
+                    local global = math.max(tonumber(redis.call('GET', KEYS[2]) or now), now)
+                    wait = global - now - tonumber(ARGV[4])
+                    if wait > 0 then return wait end
+                    chat = chat + tonumber(ARGV[1])
+                    global = global + tonumber(ARGV[3])
+                    redis.call('SET', KEYS[1], string.format('%d', chat),
+                            'PX', math.ceil((chat - now) / 1000) + 1)
+                    redis.call('SET', KEYS[2], string.format('%d', global),
+                            'PX', math.ceil((global - now) / 1000) + 1)
+                    return 0
+                    """,
+                    Long.class);
+
+    private final StringRedisTemplate redis;
+    private final RateLimiterPort fallback;
+    private final MetricsFacade metrics;
+    private final String[] args;
+
+    /**
+     * Creates the limiter.
+     *
+     * @param redis      Redis template holding the shared buckets
+     * @param properties sender limits
+     * @param metrics    metrics facade
+     */
+    public RedisTelegramRateLimiter(StringRedisTemplate redis,
+            TelegramSenderProperties properties,
+            MetricsFacade metrics) {
+        this(redis, properties, metrics, System::nanoTime);
+    }
+
+    RedisTelegramRateLimiter(StringRedisTemplate redis,
+            TelegramSenderProperties properties,
+            MetricsFacade metrics,
+            LongSupplier nanoClock) {
+        this.redis = redis;
+        this.fallback = new TelegramRateLimiter(properties,
+                properties.instanceCount(), nanoClock);
+        this.metrics = metrics;
+        this.args = new String[] {
+                String.valueOf(intervalMicros(properties.perChatPerSec())),
+                String.valueOf(toleranceMicros(properties.perChatPerSec())),
+                String.valueOf(intervalMicros(properties.globalPerSec())),
+                String.valueOf(toleranceMicros(properties.globalPerSec()))};
+    }
+
+    @Override
+    public long tryAcquire(long chatId) {
+        try {
+            Long waitMicros = redis.execute(TAKE_SCRIPT,
+                    List.of(CHAT_KEY_PREFIX + chatId, GLOBAL_KEY),
+                    (Object[]) args);
+            return waitMicros == null
+                    ? 0 : TimeUnit.MICROSECONDS.toNanos(waitMicros);
+        } catch (DataAccessException e) {
+            metrics.incrementCounter(METRIC_RATE_LIMIT_REDIS_ERROR);
+            log.warn("Redis error in Telegram rate limiter for chat={}, "
+                    + "falling back to this instance's share of the limits", chatId, e);
+            return fallback.tryAcquire(chatId);
+        }
+    }
+
+    private static long intervalMicros(int perSecond) {
+        return TimeUnit.SECONDS.toMicros(1) / perSecond;
+    }
+
+    private static long toleranceMicros(int perSecond) {
+        return intervalMicros(perSecond) * (perSecond - 1);
+    }
+}
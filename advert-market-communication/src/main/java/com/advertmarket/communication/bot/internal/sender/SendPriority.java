@@ -0,0 +1,18 @@
+package com.advertmarket.communication.bot.internal.sender;
+
+/**
+ * Priority class of an outgoing Telegram message.
+ *
+ * <p>Declared from highest to lowest priority.
+ */
+public enum SendPriority {
+
+    /** Replies to a user's own update: commands, callbacks, error notices. */
+    INTERACTIVE,
+
+    /** Transactional notifications such as deal status changes. */
+    NOTIFICATION,
+
+    /** Background calls such as channel verification, and broadcasts. */
+    BULK
+}
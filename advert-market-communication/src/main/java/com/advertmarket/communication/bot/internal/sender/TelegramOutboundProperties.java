@@ -0,0 +1,61 @@
+package com.advertmarket.communication.bot.internal.sender;
+
+import io.github.springpropertiesmd.api.annotation.PropertyDoc;
+import io.github.springpropertiesmd.api.annotation.PropertyGroupDoc;
+import io.github.springpropertiesmd.api.annotation.Requirement;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the Telegram outbound scheduler.
+ *
+ * @param interactiveWeight  share of send slots for interactive replies
+ * @param notificationWeight share of send slots for notifications
+ * @param bulkWeight         share of send slots for bulk messages
+ * @param maxQueueWait       how long a message may wait before it is dropped
+ */
+@ConfigurationProperties(prefix = "app.telegram.outbound")
+@PropertyGroupDoc(
+        displayName = "Telegram Outbound Scheduler",
+        description = "Priority scheduling of outgoing Telegram messages",
+        category = "Telegram"
+)
+@Validated
+public record TelegramOutboundProperties(
+        @PropertyDoc(
+                description = "Weight of interactive replies when classes compete",
+                required = Requirement.OPTIONAL
+        )
+        @Positive @DefaultValue("16") int interactiveWeight,
+
+        @PropertyDoc(
+                description = "Weight of notifications when classes compete",
+                required = Requirement.OPTIONAL
+        )
+        @Positive @DefaultValue("4") int notificationWeight,
+
+        @PropertyDoc(
+                description = "Weight of bulk messages when classes compete",
+                required = Requirement.OPTIONAL
+        )
+        @Positive @DefaultValue("1") int bulkWeight,
+
+        @PropertyDoc(
+                description = "Max time a message waits in the queue before it fails",
+                required = Requirement.OPTIONAL
+        )
+        @DefaultValue("5s") Duration maxQueueWait
+) {
+
+    /** Returns the configured weight of a priority class. */
+    public int weight(SendPriority priority) {
+        return switch (priority) {
+            case INTERACTIVE -> interactiveWeight;
+            case NOTIFICATION -> notificationWeight;
+            case BULK -> bulkWeight;
+        };
+    }
+}
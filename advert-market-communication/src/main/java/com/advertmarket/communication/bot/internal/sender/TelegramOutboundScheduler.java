@@ -0,0 +1,340 @@
+package com.advertmarket.communication.bot.internal.sender;
+
+import static com.advertmarket.communication.bot.internal.BotConstants.METRIC_OUTBOUND_EXPIRED;
+import static com.advertmarket.communication.bot.internal.BotConstants.METRIC_OUTBOUND_QUEUE_DEPTH;
+import static com.advertmarket.communication.bot.internal.BotConstants.METRIC_OUTBOUND_QUEUE_WAIT;
+
+import com.advertmarket.shared.metric.MetricsFacade;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Orders outgoing Telegram messages by priority class and chat.
+ *
+ * <p>Each {@link SendPriority} has its own lane holding one FIFO queue
+ * per chat, and chats with queued messages take turns round-robin, so a
+ * chat with a long backlog cannot hold up the others. When the budget
+ * frees up, lanes are picked by smooth weighted round-robin: interactive
+ * replies get most turns, but notifications and bulk messages keep a
+ * share and never starve.
+ *
+ * <p>A single dispatcher thread asks {@link RateLimiterPort#tryAcquire}
+ * for the chat whose turn it is. A denied chat is parked until the time
+ * the limiter reported and the next turn goes on; after a few denials
+ * in a row the dispatcher backs off briefly, since the global budget is
+ * then likely exhausted. Messages that waited longer than
+ * {@code maxQueueWait} fail with {@link RateLimitTimeoutException}.
+ */
+@Component
+public class TelegramOutboundScheduler {
+
+    private static final int MAX_DENIALS_PER_PASS = 4;
+    private static final long MAX_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final RateLimiterPort rateLimiter;
+    private final MetricsFacade metrics;
+    private final long maxQueueWaitNanos;
+    private final Map<SendPriority, Lane> lanes = new EnumMap<>(SendPriority.class);
+    private final PriorityQueue<Parked> parked =
+            new PriorityQueue<>(Comparator.comparingLong(Parked::eligibleAt));
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Thread dispatcher;
+    private volatile boolean running = true;
+
+    /**
+     * Creates the scheduler and starts its dispatcher thread.
+     *
+     * @param rateLimiter limiter deciding when each chat may be sent to
+     * @param metrics     metrics facade
+     * @param properties  lane weights and queue timeout
+     */
+    public TelegramOutboundScheduler(RateLimiterPort rateLimiter,
+            MetricsFacade metrics,
+            TelegramOutboundProperties properties) {
+        this.rateLimiter = rateLimiter;
+        this.metrics = metrics;
+        this.maxQueueWaitNanos = properties.maxQueueWait().toNanos();
+        for (var priority : SendPriority.values()) {
+            var lane = new Lane(priority, properties.weight(priority));
+            lanes.put(priority, lane);
+            metrics.registerGauge(METRIC_OUTBOUND_QUEUE_DEPTH, lane, Lane::depth,
+                    "priority", lane.tag);
+        }
+        this.dispatcher = Thread.ofVirtual()
+                .name("telegram-outbound")
+                .start(this::dispatchLoop);
+    }
+
+    /**
+     * Queues a message for a chat and returns the eventual send result.
+     *
+     * @param priority priority class of the message
+     * @param chatId   target chat, used for fairness and rate limiting
+     * @param send     starts the API call once the message's turn comes
+     * @param <R>      the response type
+     * @return a future completed with the send result
+     */
+    public <R> @NonNull CompletableFuture<R> submit(@NonNull SendPriority priority,
+            long chatId, @NonNull Supplier<CompletableFuture<R>> send) {
+        var pending = new Pending<>(send, System.nanoTime());
+        lock.lock();
+        try {
+            if (!running) {
+                pending.fail(new IllegalStateException("Outbound scheduler stopped"));
+                return pending.result;
+            }
+            lanes.get(priority).add(chatId, pending);
+            changed.signal();
+        } finally {
+            lock.unlock();
+        }
+        return pending.result;
+    }
+
+    /** Stops dispatching and fails messages still queued. */
+    @PreDestroy
+    public void shutdown() {
+        var dropped = new ArrayList<Pending<?>>();
+        lock.lock();
+        try {
+            running = false;
+            lanes.values().forEach(lane -> lane.drainTo(dropped));
+            parked.clear();
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        dispatcher.interrupt();
+        dropped.forEach(pending ->
+                pending.fail(new IllegalStateException("Outbound scheduler stopped")));
+    }
+
+    private void dispatchLoop() {
+        int denials = 0;
+        long backoff = MAX_BACKOFF_NANOS;
+        while (running) {
+            Lane lane;
+            long chatId;
+            var expired = new ArrayList<Pending<?>>();
+            lock.lock();
+            try {
+                long now = System.nanoTime();
+                promoteDue(now);
+                if (denials >= MAX_DENIALS_PER_PASS) {
+                    denials = 0;
+                    awaitChange(Math.min(backoff, untilNextParked(now)));
+                    backoff = MAX_BACKOFF_NANOS;
+                    continue;
+                }
+                lane = nextLane();
+                if (lane == null) {
+                    awaitChange(untilNextParked(now));
+                    continue;
+                }
+                chatId = lane.ready.removeFirst();
+                if (!lane.dropExpired(chatId, now - maxQueueWaitNanos, expired)) {
+                    continue;
+                }
+            } finally {
+                lock.unlock();
+                failExpired(expired);
+            }
+
+            long wait = rateLimiter.tryAcquire(chatId);
+
+            Pending<?> next;
+            lock.lock();
+            try {
+                if (wait > 0) {
+                    parked.add(new Parked(lane, chatId, System.nanoTime() + wait));
+                    denials++;
+                    backoff = Math.min(backoff, wait);
+                    continue;
+                }
+                denials = 0;
+                backoff = MAX_BACKOFF_NANOS;
+                next = lane.take(chatId);
+            } finally {
+                lock.unlock();
+            }
+            metrics.recordHistogramTimer(METRIC_OUTBOUND_QUEUE_WAIT,
+                    Duration.ofNanos(System.nanoTime() - next.enqueuedAt),
+                    "priority", lane.tag);
+            next.start();
+        }
+    }
+
+    private void promoteDue(long now) {
+        while (!parked.isEmpty() && parked.peek().eligibleAt() <= now) {
+            var due = parked.poll();
+            due.lane().ready.addLast(due.chatId());
+        }
+    }
+
+    // Smooth weighted round-robin over lanes with a chat ready to send
+    private @Nullable Lane nextLane() {
+        Lane best = null;
+        int total = 0;
+        for (var lane : lanes.values()) {
+            if (lane.ready.isEmpty()) {
+                continue;
+            }
+            lane.current += lane.weight;
+            total += lane.weight;
+            if (best == null || lane.current > best.current) {
+                best = lane;
+            }
+        }
+        if (best != null) {
+            best.current -= total;
+        }
+        return best;
+    }
+
+    private long untilNextParked(long now) {
+        return parked.isEmpty() ? Long.MAX_VALUE : parked.peek().eligibleAt() - now;
+    }
+
+    private void awaitChange(long nanos) {
+        if (nanos <= 0 || !running) {
+            return;
+        }
+        try {
+            if (nanos == Long.MAX_VALUE) {
+                changed.await();
+            } else {
+                changed.awaitNanos(nanos);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private void failExpired(List<Pending<?>> expired) {
+        for (var pending : expired) {
+            metrics.incrementCounter(METRIC_OUTBOUND_EXPIRED);
+            pending.fail(new RateLimitTimeoutException(
+                    "Message waited longer than the outbound queue timeout"));
+        }
+    }
+
+    private record Parked(Lane lane, long chatId, long eligibleAt) {
+    }
+
+    /** Queued messages of one priority class, one FIFO per chat. */
+    private static final class Lane {
+
+        private final String tag;
+        private final int weight;
+        private final Map<Long, ArrayDeque<Pending<?>>> queues = new HashMap<>();
+        private final ArrayDeque<Long> ready = new ArrayDeque<>();
+        private int current;
+        private volatile int depth;
+
+        Lane(SendPriority priority, int weight) {
+            this.tag = priority.name().toLowerCase(Locale.ROOT);
+            this.weight = weight;
+        }
+
+        int depth() {
+            return depth;
+        }
+
+        void add(long chatId, Pending<?> pending) {
+            var queue = queues.get(chatId);
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                queues.put(chatId, queue);
+                ready.addLast(chatId);
+            }
+            queue.addLast(pending);
+            depth++;
+        }
+
+        // The chat goes to the back of the line if it still has messages
+        Pending<?> take(long chatId) {
+            var queue = queues.get(chatId);
+            var pending = queue.removeFirst();
+            depth--;
+            if (queue.isEmpty()) {
+                queues.remove(chatId);
+            } else {
+                ready.addLast(chatId);
+            }
+            return pending;
+        }
+
+        // Checked when the chat's turn comes; returns false if nothing is left to send
+        boolean dropExpired(long chatId, long enqueuedBefore, List<Pending<?>> expired) {
+            var queue = queues.get(chatId);
+            while (!queue.isEmpty() && queue.peekFirst().enqueuedAt < enqueuedBefore) {
+                expired.add(queue.removeFirst());
+                depth--;
+            }
+            if (queue.isEmpty()) {
+                queues.remove(chatId);
+                return false;
+            }
+            return true;
+        }
+
+        void drainTo(List<Pending<?>> dropped) {
+            queues.values().forEach(dropped::addAll);
+            queues.clear();
+            ready.clear();
+            depth = 0;
+        }
+    }
+
+    /** A queued message and the future its caller waits on. */
+    private static final class Pending<R> {
+
+        private final Supplier<CompletableFuture<R>> send;
+        private final long enqueuedAt;
+        private final CompletableFuture<R> result = new CompletableFuture<>();
+
+        Pending(Supplier<CompletableFuture<R>> send, long enqueuedAt) {
+            this.send = send;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        // CHECKSTYLE.OFF: IllegalCatch
+        void start() {
+            try {
+                send.get().whenComplete((response, ex) -> {
+                    if (ex != null) {
+                        result.completeExceptionally(ex);
+                    } else {
+                        result.complete(response);
+                    }
+                });
+            } catch (RuntimeException ex) {
+                result.completeExceptionally(ex);
+            }
+        }
+        // CHECKSTYLE.ON: IllegalCatch
+
+        void fail(Throwable ex) {
+            result.completeExceptionally(ex);
+        }
+    }
+}
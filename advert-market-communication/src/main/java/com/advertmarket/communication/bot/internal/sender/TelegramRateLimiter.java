@@ -2,90 +2,97 @@ package com.advertmarket.communication.bot.internal.sender;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
-import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
-import lombok.extern.slf4j.Slf4j;
-import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.stereotype.Component;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
 
 /**
  * Rate limiter for Telegram Bot API calls.
  *
  * <p>Enforces both a global messages-per-second limit and a per-chat
- * messages-per-second limit using {@link Semaphore}s (virtual-thread
- * safe, no {@code synchronized} blocks).
+ * messages-per-second limit with the generic cell rate algorithm: each
+ * limit keeps a theoretical arrival time in an {@link AtomicLong} and a
+ * send is allowed while that time is at most one second of burst ahead
+ * of now. Refill is implied by the clock, so there is no background
+ * sweep, and idle chats evicted from the cache lose nothing.
+ *
+ * <p>NOT {@code @Component} — wired via
+ * {@link com.advertmarket.communication.bot.internal.config.TelegramBotConfig}.
  */
-@Slf4j
-@Component
 public class TelegramRateLimiter implements RateLimiterPort {
 
-    private static final long ACQUIRE_TIMEOUT_SECONDS = 5;
-
-    private final Semaphore globalSemaphore;
-    private final int globalPermits;
-    private final int perChatPermits;
-    private final Cache<Long, Semaphore> perChatSemaphores;
+    private final LongSupplier nanoClock;
+    private final AtomicLong globalArrival;
+    private final long globalInterval;
+    private final long globalTolerance;
+    private final long perChatInterval;
+    private final long perChatTolerance;
+    private final Cache<Long, AtomicLong> perChatArrivals;
 
     /** Creates a rate limiter from the configured properties. */
     public TelegramRateLimiter(TelegramSenderProperties properties) {
-        this.globalPermits = properties.globalPerSec();
-        this.perChatPermits = properties.perChatPerSec();
-        this.globalSemaphore = new Semaphore(globalPermits);
-        this.perChatSemaphores = Caffeine.newBuilder()
+        this(properties, System::nanoTime);
+    }
+
+    TelegramRateLimiter(TelegramSenderProperties properties, LongSupplier nanoClock) {
+        this(properties, 1, nanoClock);
+    }
+
+    /**
+     * Creates a rate limiter that allows {@code 1/shares} of the
+     * configured limits, for one of several instances that split them.
+     */
+    TelegramRateLimiter(TelegramSenderProperties properties, int shares,
+            LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.globalInterval = interval(properties.globalPerSec(), shares);
+        this.globalTolerance = tolerance(properties.globalPerSec(), shares);
+        this.perChatInterval = interval(properties.perChatPerSec(), shares);
+        this.perChatTolerance = tolerance(properties.perChatPerSec(), shares);
+        this.globalArrival = new AtomicLong(nanoClock.getAsLong());
+        this.perChatArrivals = Caffeine.newBuilder()
                 .expireAfterAccess(properties.cacheExpireAfterAccess())
                 .maximumSize(properties.cacheMaximumSize())
                 .build();
     }
 
     @Override
-    public void acquire(long chatId) {
-        try {
-            if (!globalSemaphore.tryAcquire(
-                    ACQUIRE_TIMEOUT_SECONDS,
-                    TimeUnit.SECONDS)) {
-                throw new RateLimitTimeoutException(
-                        "Global rate limit timeout for chat="
-                                + chatId);
+    public long tryAcquire(long chatId) {
+        long now = nanoClock.getAsLong();
+        var chatArrival = perChatArrivals.get(chatId, _ -> new AtomicLong(now));
+        long chatWait = take(chatArrival, perChatInterval, perChatTolerance, now);
+        if (chatWait > 0) {
+            return chatWait;
+        }
+        long globalWait = take(globalArrival, globalInterval, globalTolerance, now);
+        if (globalWait > 0) {
+            // Hand the chat's slot back so the retry is not charged twice
+            chatArrival.addAndGet(-perChatInterval);
+            return globalWait;
+        }
+        return 0;
+    }
+
+    private static long take(AtomicLong arrival, long interval, long tolerance, long now) {
+        while (true) {
+            long current = arrival.get();
+            long start = Math.max(current, now);
+            long wait = start - now - tolerance;
+            if (wait > 0) {
+                return wait;
             }
-            var chatSemaphore = perChatSemaphores.get(chatId,
-                    _ -> new Semaphore(perChatPermits));
-            if (!chatSemaphore.tryAcquire(
-                    ACQUIRE_TIMEOUT_SECONDS,
-                    TimeUnit.SECONDS)) {
-                globalSemaphore.release();
-                throw new RateLimitTimeoutException(
-                        "Per-chat rate limit timeout for chat="
-                                + chatId);
+            if (arrival.compareAndSet(current, start + interval)) {
+                return 0;
             }
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            throw new RateLimitTimeoutException(
-                    "Rate limiter interrupted for chat="
-                            + chatId);
         }
     }
 
-    /** Replenishes global permits every second. */
-    @Scheduled(fixedRateString =
-            "${app.telegram.sender.replenish-fixed-rate-ms:1000}")
-    void replenishGlobal() {
-        int available = globalSemaphore.availablePermits();
-        int toRelease = globalPermits - available;
-        if (toRelease > 0) {
-            globalSemaphore.release(toRelease);
-        }
+    private static long interval(int perSecond, int shares) {
+        return TimeUnit.SECONDS.toNanos(1) * shares / perSecond;
     }
 
-    /** Replenishes per-chat permits every second. */
-    @Scheduled(fixedRateString =
-            "${app.telegram.sender.replenish-fixed-rate-ms:1000}")
-    void replenishPerChat() {
-        perChatSemaphores.asMap().forEach((_, semaphore) -> {
-            int available = semaphore.availablePermits();
-            int toRelease = perChatPermits - available;
-            if (toRelease > 0) {
-                semaphore.release(toRelease);
-            }
-        });
+    // Lets a full second's worth of sends through back to back, like the old permits
+    private static long tolerance(int perSecond, int shares) {
+        return interval(perSecond, shares) * (Math.max(perSecond / shares, 1) - 1);
     }
 }
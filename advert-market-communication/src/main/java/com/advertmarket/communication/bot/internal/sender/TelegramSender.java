@@ -23,6 +23,7 @@ import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
@@ -35,6 +36,12 @@ import org.springframework.stereotype.Component;
 /**
  * Sends messages via the Telegram Bot API with rate limiting,
  * circuit breaking, and async retry logic.
+ *
+ * <p>Chat-bound requests are queued in the
+ * {@link TelegramOutboundScheduler} under a {@link SendPriority};
+ * methods without a priority send as {@link SendPriority#INTERACTIVE}.
+ * Only requests that address no chat id, such as a lookup by username,
+ * bypass the scheduler.
  */
 @Slf4j
 @Component
@@ -53,7 +60,7 @@ public class TelegramSender {
             "0123456789abcdef".toCharArray();
 
     private final TelegramBot bot;
-    private final RateLimiterPort rateLimiter;
+    private final TelegramOutboundScheduler scheduler;
     private final CircuitBreaker telegramCircuitBreaker;
     private final Bulkhead telegramBulkhead;
     private final MetricsFacade metrics;
@@ -66,9 +73,20 @@ public class TelegramSender {
      * @return raw Telegram API response
      */
     public BaseResponse send(long chatId, @NonNull String text) {
+        return send(chatId, text, SendPriority.INTERACTIVE);
+    }
+
+    /**
+     * Sends a MarkdownV2 text message to the given chat
+     * in the given priority class.
+     *
+     * @return raw Telegram API response
+     */
+    public BaseResponse send(long chatId, @NonNull String text,
+            @NonNull SendPriority priority) {
         var request = new SendMessage(chatId, text)
                 .parseMode(ParseMode.MarkdownV2);
-        return execute(request, chatId);
+        return execute(request, chatId, priority);
     }
 
     /**
@@ -84,16 +102,29 @@ public class TelegramSender {
         return execute(request, chatId);
     }
 
-    /** Answers a callback query without text. */
-    public void answerCallback(@NonNull String callbackQueryId) {
-        execute(new AnswerCallbackQuery(callbackQueryId));
+    /**
+     * Sends a MarkdownV2 text message to the given chat
+     * in the given priority class without blocking.
+     *
+     * @return a future with the raw Telegram API response
+     */
+    public CompletableFuture<SendResponse> sendAsync(long chatId,
+            @NonNull String text, @NonNull SendPriority priority) {
+        var request = new SendMessage(chatId, text)
+                .parseMode(ParseMode.MarkdownV2);
+        return executeAsync(request, chatId, priority);
+    }
+
+    /** Answers a callback query from the given chat without text. */
+    public void answerCallback(long chatId, @NonNull String callbackQueryId) {
+        execute(new AnswerCallbackQuery(callbackQueryId), chatId);
     }
 
-    /** Answers a callback query with a text notification. */
-    public void answerCallback(@NonNull String callbackQueryId,
+    /** Answers a callback query from the given chat with a text notification. */
+    public void answerCallback(long chatId, @NonNull String callbackQueryId,
             @NonNull String text) {
         execute(new AnswerCallbackQuery(callbackQueryId)
-                .text(text));
+                .text(text), chatId);
     }
 
     /**
@@ -107,11 +138,29 @@ public class TelegramSender {
      */
     public <T extends BaseRequest<T, R>, R extends BaseResponse>
             R execute(T request, long chatId) {
-        return executeAsync(request, chatId).join();
+        return execute(request, chatId, SendPriority.INTERACTIVE);
+    }
+
+    /**
+     * Executes a request with chat-level rate limiting
+     * in the given priority class.
+     *
+     * @param request  the request to execute
+     * @param chatId   the target chat id for rate limiting
+     * @param priority the priority class to queue the request in
+     * @param <T>      the request type
+     * @param <R>      the response type
+     * @return the Telegram API response
+     */
+    public <T extends BaseRequest<T, R>, R extends BaseResponse>
+            R execute(T request, long chatId,
+                    @NonNull SendPriority priority) {
+        return join(executeAsync(request, chatId, priority));
     }
 
     /**
-     * Executes a request without chat-level rate limiting.
+     * Executes a request that addresses no chat id, without queueing
+     * or chat-level rate limiting.
      *
      * @param request the request to execute
      * @param <T>     the request type
@@ -120,8 +169,20 @@ public class TelegramSender {
      */
     public <T extends BaseRequest<T, R>, R extends BaseResponse>
             R execute(T request) {
-        return executeWithResilienceAsync(request)
-                .toCompletableFuture().join();
+        return join(executeWithResilienceAsync(request)
+                .toCompletableFuture());
+    }
+
+    // Rethrows the failure itself, e.g. CallNotPermittedException, not its wrapper
+    private static <R> R join(CompletableFuture<R> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 
     /**
@@ -136,13 +197,27 @@ public class TelegramSender {
     public <T extends BaseRequest<T, R>, R extends BaseResponse>
             CompletableFuture<R> executeAsync(
                     T request, long chatId) {
-        return CompletableFuture
-                .runAsync(
-                        () -> rateLimiter.acquire(chatId),
-                        botUpdateExecutor)
-                .thenCompose(_ ->
-                        executeWithResilienceAsync(request)
-                                .toCompletableFuture());
+        return executeAsync(request, chatId, SendPriority.INTERACTIVE);
+    }
+
+    /**
+     * Executes a request asynchronously with rate limiting
+     * in the given priority class.
+     *
+     * @param request  the request to execute
+     * @param chatId   the target chat id for rate limiting
+     * @param priority the priority class to queue the request in
+     * @param <T>      the request type
+     * @param <R>      the response type
+     * @return a future with the Telegram API response
+     */
+    public <T extends BaseRequest<T, R>, R extends BaseResponse>
+            CompletableFuture<R> executeAsync(
+                    T request, long chatId,
+                    @NonNull SendPriority priority) {
+        return scheduler.submit(priority, chatId,
+                () -> executeWithResilienceAsync(request)
+                        .toCompletableFuture());
     }
 
     private <T extends BaseRequest<T, R>, R extends BaseResponse>
@@ -14,9 +14,10 @@ import org.springframework.validation.annotation.Validated;
  *
  * @param globalPerSec          max messages per second globally
  * @param perChatPerSec         max messages per second per chat
- * @param cacheExpireAfterAccess per-chat semaphore cache expiry
- * @param cacheMaximumSize      max per-chat semaphore cache entries
- * @param replenishFixedRateMs  semaphore replenish interval (ms)
+ * @param cacheExpireAfterAccess per-chat limiter state cache expiry
+ * @param cacheMaximumSize      max per-chat limiter state cache entries
+ * @param clusterWide           share limits across instances through Redis
+ * @param instanceCount         instances splitting the limits while Redis is unavailable
  */
 @ConfigurationProperties(prefix = "app.telegram.sender")
 @PropertyGroupDoc(
@@ -39,21 +40,28 @@ public record TelegramSenderProperties(
         @Positive @DefaultValue("1") int perChatPerSec,
 
         @PropertyDoc(
-                description = "Per-chat semaphore cache expiry duration",
+                description = "Per-chat limiter state cache expiry duration",
                 required = Requirement.OPTIONAL
         )
         @DefaultValue("5m") Duration cacheExpireAfterAccess,
 
         @PropertyDoc(
-                description = "Max per-chat semaphore cache entries",
+                description = "Max per-chat limiter state cache entries",
                 required = Requirement.OPTIONAL
         )
         @Positive @DefaultValue("10000") int cacheMaximumSize,
 
         @PropertyDoc(
-                description = "Semaphore replenish interval in milliseconds",
+                description = "Share global and per-chat limits across instances through Redis",
                 required = Requirement.OPTIONAL
         )
-        @Positive @DefaultValue("1000") long replenishFixedRateMs
+        @DefaultValue("true") boolean clusterWide,
+
+        @PropertyDoc(
+                description = "Instances sending with the bot token; while Redis is "
+                        + "unavailable each keeps this share of the limits",
+                required = Requirement.OPTIONAL
+        )
+        @Positive @DefaultValue("4") int instanceCount
 ) {
 }
@@ -1,5 +1,6 @@
 package com.advertmarket.communication.channel;
 
+import static com.advertmarket.communication.bot.internal.sender.SendPriority.BULK;
 import static com.advertmarket.shared.exception.ErrorCodes.CHANNEL_BOT_NOT_ADMIN;
 import static com.advertmarket.shared.exception.ErrorCodes.CHANNEL_BOT_NOT_MEMBER;
 import static com.advertmarket.shared.exception.ErrorCodes.CHANNEL_NOT_FOUND;
@@ -10,6 +11,7 @@ import static com.advertmarket.shared.metric.MetricNames.CHANNEL_CACHE_HIT;
 import static com.advertmarket.shared.metric.MetricNames.CHANNEL_CACHE_MISS;
 import static com.advertmarket.shared.metric.MetricNames.CHANNEL_CACHE_STALE;
 
+import com.advertmarket.communication.bot.internal.sender.SendPriority;
 import com.advertmarket.communication.bot.internal.sender.TelegramSender;
 import com.advertmarket.communication.channel.internal.ChannelCachePort;
 import com.advertmarket.communication.channel.internal.ChannelCacheProperties;
@@ -39,7 +41,9 @@ import org.springframework.stereotype.Component;
  * Implementation of {@link TelegramChannelPort} using the Telegram Bot API.
  *
  * <p>Combines caching, per-channel rate limiting, and circuit breaker
- * fallback via {@link TelegramSender}.
+ * fallback via {@link TelegramSender}. Calls about a known channel are
+ * queued as {@link SendPriority#BULK}, so verification never holds up
+ * replies to users or notifications.
  */
 @Slf4j
 @Component
@@ -68,7 +72,7 @@ public class TelegramChannelService implements TelegramChannelPort {
         acquireOrThrow(channelId);
 
         try {
-            var response = sender.execute(new GetChat(channelId));
+            var response = sender.execute(new GetChat(channelId), channelId, BULK);
             checkResponse(response, channelId);
             var chatInfo = converters.toChatInfo(response.chat());
             cache.putChatInfo(channelId, chatInfo);
@@ -110,7 +114,7 @@ public class TelegramChannelService implements TelegramChannelPort {
 
         try {
             var response = sender.execute(
-                    new GetChatMember(channelId, userId));
+                    new GetChatMember(channelId, userId), channelId, BULK);
             checkResponse(response, channelId);
             metrics.incrementCounter(CHANNEL_API_CALL,
                     "method", "getChatMember", "ok", "true");
@@ -139,7 +143,7 @@ public class TelegramChannelService implements TelegramChannelPort {
 
         try {
             var response = sender.execute(
-                    new GetChatAdministrators(channelId));
+                    new GetChatAdministrators(channelId), channelId, BULK);
             checkResponse(response, channelId);
             var admins = response.administrators().stream()
                     .map(converters::toChatMemberInfo)
@@ -159,7 +163,7 @@ public class TelegramChannelService implements TelegramChannelPort {
 
         try {
             var response = sender.execute(
-                    new GetChatMemberCount(channelId));
+                    new GetChatMemberCount(channelId), channelId, BULK);
             checkResponse(response, channelId);
             metrics.incrementCounter(CHANNEL_API_CALL,
                     "method", "getChatMemberCount", "ok", "true");
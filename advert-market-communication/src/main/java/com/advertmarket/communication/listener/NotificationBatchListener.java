@@ -0,0 +1,134 @@
+package com.advertmarket.communication.listener;
+
+import com.advertmarket.communication.api.notification.NotificationPort;
+import com.advertmarket.communication.api.notification.NotificationRequest;
+import com.advertmarket.communication.notification.RecipientPreferenceCache;
+import com.advertmarket.shared.event.ConsumerGroups;
+import com.advertmarket.shared.event.EventDeserializationException;
+import com.advertmarket.shared.event.EventEnvelopeDeserializer;
+import com.advertmarket.shared.event.TopicNames;
+import com.advertmarket.shared.metric.MetricsFacade;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Kafka listener that delivers each poll of notifications concurrently.
+ *
+ * <p>Recipients of the batch are loaded in one query, then every
+ * notification is handed to {@link NotificationPort#sendAsync} in record
+ * order, so the outbound scheduler keeps per-chat order while different
+ * chats proceed in parallel up to the Telegram rate limits. Offsets are
+ * committed only up to the contiguous prefix of finished records; the
+ * rest of a batch that times out is redelivered, and a record that cannot
+ * be deserialized goes to the error handler after the records before it
+ * are sent. A redelivered notification may be sent twice if its earlier
+ * attempt finishes late.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(NotificationConsumerProperties.class)
+@ConditionalOnProperty(
+        prefix = "app.notification.consumer",
+        name = "batch",
+        havingValue = "true",
+        matchIfMissing = true)
+public class NotificationBatchListener {
+
+    private static final Duration REDELIVERY_DELAY = Duration.ofSeconds(1);
+
+    private final EventEnvelopeDeserializer deserializer;
+    private final NotificationPort notificationPort;
+    private final RecipientPreferenceCache recipients;
+    private final MetricsFacade metrics;
+    private final NotificationConsumerProperties properties;
+
+    /** Consumes a poll of notification events and sends them via Telegram. */
+    @KafkaListener(
+            topics = TopicNames.COMMUNICATION_NOTIFICATIONS,
+            groupId = ConsumerGroups.NOTIFICATION_SENDER,
+            containerFactory = "notificationBatchKafkaListenerContainerFactory")
+    public void onBatch(
+            List<ConsumerRecord<String, String>> records,
+            Acknowledgment ack) {
+        var requests = new ArrayList<NotificationRequest>(records.size());
+        EventDeserializationException malformed = null;
+        for (var record : records) {
+            try {
+                requests.add(NotificationListener.toRequest(deserializer, record, metrics));
+            } catch (EventDeserializationException e) {
+                malformed = e;
+                break;
+            }
+        }
+
+        recipients.getAll(requests.stream()
+                .filter(Objects::nonNull)
+                .map(NotificationRequest::recipientUserId)
+                .distinct()
+                .toList());
+        var results = new ArrayList<CompletableFuture<Boolean>>(requests.size());
+        for (var request : requests) {
+            results.add(request == null
+                    ? CompletableFuture.completedFuture(true)
+                    : notificationPort.sendAsync(request).exceptionally(e -> {
+                        log.error("Notification send failed type={} to user={}",
+                                request.type(), request.recipientUserId(), e);
+                        return false;
+                    }));
+        }
+
+        int finished = awaitPrefix(results);
+        for (int i = 0; i < finished; i++) {
+            if (requests.get(i) != null) {
+                NotificationListener.recordResult(
+                        requests.get(i), results.get(i).join(), metrics);
+            }
+        }
+        if (finished < requests.size()) {
+            log.warn("Notification batch timed out after {} of {} records",
+                    finished, records.size());
+            ack.nack(finished, REDELIVERY_DELAY);
+            return;
+        }
+        if (malformed != null) {
+            throw new BatchListenerFailedException(
+                    "Malformed notification event", malformed, requests.size());
+        }
+        ack.acknowledge();
+    }
+
+    // Number of leading sends that finished within the batch timeout
+    private int awaitPrefix(List<CompletableFuture<Boolean>> results) {
+        long deadline = System.nanoTime() + properties.batchTimeout().toNanos();
+        for (int i = 0; i < results.size(); i++) {
+            try {
+                results.get(i).get(
+                        Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                return i;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return i;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Failed sends complete with false", e);
+            }
+        }
+        return results.size();
+    }
+}
@@ -0,0 +1,37 @@
+package com.advertmarket.communication.listener;
+
+import io.github.springpropertiesmd.api.annotation.PropertyDoc;
+import io.github.springpropertiesmd.api.annotation.PropertyGroupDoc;
+import io.github.springpropertiesmd.api.annotation.Requirement;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for consuming notification events.
+ *
+ * @param batch        whether each poll is delivered concurrently as a batch
+ * @param batchTimeout max time to wait for the sends of one batch
+ */
+@ConfigurationProperties(prefix = "app.notification.consumer")
+@PropertyGroupDoc(
+        displayName = "Notification Consumer",
+        description = "Consumption of notification events from Kafka",
+        category = "Telegram"
+)
+@Validated
+public record NotificationConsumerProperties(
+        @PropertyDoc(
+                description = "Deliver each poll concurrently instead of one record at a time",
+                required = Requirement.OPTIONAL
+        )
+        @DefaultValue("true") boolean batch,
+
+        @PropertyDoc(
+                description = "Max wait for a batch; unfinished records are redelivered",
+                required = Requirement.OPTIONAL
+        )
+        @DefaultValue("60s") Duration batchTimeout
+) {
+}
@@ -14,16 +14,26 @@ import com.advertmarket.shared.metric.MetricsFacade;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
 /**
- * Kafka listener that delivers notifications to Telegram.
+ * Kafka listener that delivers notifications to Telegram one record
+ * at a time.
+ *
+ * <p>Active when {@code app.notification.consumer.batch} is false;
+ * otherwise {@link NotificationBatchListener} consumes the topic.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(
+        prefix = "app.notification.consumer",
+        name = "batch",
+        havingValue = "false")
 public class NotificationListener {
 
     private final EventEnvelopeDeserializer deserializer;
@@ -31,7 +41,6 @@ public class NotificationListener {
     private final MetricsFacade metrics;
 
     /** Consumes notification events and sends them via Telegram. */
-    @SuppressWarnings("fenum")
     @KafkaListener(
             topics = TopicNames.COMMUNICATION_NOTIFICATIONS,
             groupId = ConsumerGroups.NOTIFICATION_SENDER,
@@ -39,24 +48,37 @@ public class NotificationListener {
     public void onMessage(
             ConsumerRecord<String, String> record,
             Acknowledgment ack) {
+        var request = toRequest(deserializer, record, metrics);
+        if (request != null) {
+            recordResult(request, notificationPort.send(request), metrics);
+        }
+        ack.acknowledge();
+    }
+
+    /**
+     * Converts a notification record into a request.
+     *
+     * @return the request, or null if the record is skipped
+     * @throws com.advertmarket.shared.event.EventDeserializationException
+     *         if the record cannot be deserialized
+     */
+    @SuppressWarnings("fenum")
+    static @Nullable NotificationRequest toRequest(
+            EventEnvelopeDeserializer deserializer,
+            ConsumerRecord<String, String> record,
+            MetricsFacade metrics) {
         var envelope = deserializer.deserialize(record.value());
 
         if (!EventTypes.NOTIFICATION.equals(envelope.eventType())) {
             log.warn("Unexpected event type on notifications topic: {}",
                     envelope.eventType());
-            ack.acknowledge();
-            return;
+            return null;
         }
 
         @SuppressWarnings("unchecked")
         var event = ((EventEnvelope<NotificationEvent>) envelope)
                 .payload();
 
-        deliver(event);
-        ack.acknowledge();
-    }
-
-    private void deliver(NotificationEvent event) {
         NotificationType type;
         try {
             type = NotificationType.valueOf(event.template());
@@ -65,21 +87,24 @@ public class NotificationListener {
                     event.template());
             metrics.incrementCounter(MetricNames.NOTIFICATION_FAILED,
                     "type", event.template());
-            return;
+            return null;
         }
 
-        var request = new NotificationRequest(
+        return new NotificationRequest(
                 event.recipientId(), type, event.vars());
+    }
 
-        boolean sent = notificationPort.send(request);
+    /** Counts a delivery outcome and logs a failure. */
+    static void recordResult(NotificationRequest request, boolean sent,
+            MetricsFacade metrics) {
         if (sent) {
             metrics.incrementCounter(MetricNames.NOTIFICATION_DELIVERED,
-                    "type", event.template());
+                    "type", request.type().name());
         } else {
             metrics.incrementCounter(MetricNames.NOTIFICATION_FAILED,
-                    "type", event.template());
+                    "type", request.type().name());
             log.warn("Failed to deliver notification type={} to user={}",
-                    event.template(), event.recipientId());
+                    request.type(), request.recipientUserId());
         }
     }
 }
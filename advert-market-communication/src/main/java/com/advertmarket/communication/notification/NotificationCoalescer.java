@@ -0,0 +1,178 @@
+package com.advertmarket.communication.notification;
+
+import com.advertmarket.communication.api.notification.NotificationPort;
+import com.advertmarket.communication.api.notification.NotificationRequest;
+import com.advertmarket.shared.metric.MetricNames;
+import com.advertmarket.shared.metric.MetricsFacade;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+/**
+ * Coalesces notifications to the same recipient into digest messages.
+ *
+ * <p>The first notification to a recipient opens a buffer that is sent
+ * through {@link TelegramNotificationService#sendDigest} once the window
+ * elapses, so a burst of deal events costs one Telegram call instead of
+ * one per event. Identical notifications in a buffer are sent once. An
+ * urgent type, or a buffer reaching {@code maxBatch}, flushes on the
+ * caller's thread. Either way the result is the delivery result of the
+ * digest the notification went out in: {@link #sendAsync} completes and
+ * {@link #send} returns only once that digest was sent, so a caller that
+ * acknowledges on the result never drops a buffered notification.
+ * Buffers are flushed on shutdown.
+ */
+@Primary
+@Component
+@EnableConfigurationProperties(NotificationDigestProperties.class)
+public class NotificationCoalescer implements NotificationPort {
+
+    private final TelegramNotificationService delivery;
+    private final MetricsFacade metrics;
+    private final NotificationDigestProperties properties;
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+    private final ThreadFactory flushers =
+            Thread.ofVirtual().name("notification-digest-", 0).factory();
+    private final ScheduledExecutorService timer =
+            Executors.newSingleThreadScheduledExecutor(
+                    Thread.ofVirtual().name("notification-digest-timer").factory());
+
+    /**
+     * Creates the coalescer.
+     *
+     * @param delivery   service rendering and sending the digests
+     * @param metrics    metrics facade
+     * @param properties digest settings
+     */
+    public NotificationCoalescer(TelegramNotificationService delivery,
+            MetricsFacade metrics, NotificationDigestProperties properties) {
+        this.delivery = delivery;
+        this.metrics = metrics;
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean send(NotificationRequest request) {
+        if (!properties.enabled()) {
+            return delivery.send(request);
+        }
+        Joined joined = buffer(request);
+        return joined.due()
+                ? deliver(request.recipientUserId(), joined.batch())
+                : joined.batch().sent.join();
+    }
+
+    @Override
+    public CompletableFuture<Boolean> sendAsync(NotificationRequest request) {
+        if (!properties.enabled()) {
+            return delivery.sendAsync(request);
+        }
+        Joined joined = buffer(request);
+        Pending batch = joined.batch();
+        if (joined.due()) {
+            countMerged(batch);
+            delivery.sendDigestAsync(request.recipientUserId(), batch.requests)
+                    .whenComplete((sent, e) -> {
+                        if (e != null) {
+                            batch.sent.completeExceptionally(e);
+                        } else {
+                            batch.sent.complete(sent);
+                        }
+                    });
+        }
+        return batch.sent.copy();
+    }
+
+    /** Sends every buffered notification and stops the flush timer. */
+    @PreDestroy
+    public void shutdown() {
+        timer.shutdownNow();
+        for (Long recipient : List.copyOf(pending.keySet())) {
+            var batch = pending.remove(recipient);
+            if (batch != null) {
+                deliver(recipient, batch);
+            }
+        }
+    }
+
+    // Adds the request to its recipient's batch; a due batch is the caller's to send
+    private Joined buffer(NotificationRequest request) {
+        long recipient = request.recipientUserId();
+        boolean urgent = properties.urgentTypes().contains(request.type());
+        var joined = new Joined[1];
+        pending.compute(recipient, (id, current) -> {
+            Pending next = current != null ? current : new Pending();
+            next.add(request);
+            boolean due = urgent || next.requests.size() >= properties.maxBatch();
+            joined[0] = new Joined(next, due);
+            return due ? null : next;
+        });
+        Pending batch = joined[0].batch();
+        if (joined[0].due()) {
+            return joined[0];
+        }
+        if (batch.armed.compareAndSet(false, true)) {
+            try {
+                timer.schedule(() -> flushers.newThread(() -> flush(recipient, batch)).start(),
+                        properties.window().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                flush(recipient, batch);
+            }
+        }
+        return joined[0];
+    }
+
+    private void flush(long recipient, Pending batch) {
+        if (pending.remove(recipient, batch)) {
+            deliver(recipient, batch);
+        }
+    }
+
+    // Sends the digest and settles every caller waiting on it
+    private boolean deliver(long recipient, Pending batch) {
+        countMerged(batch);
+        boolean sent = false;
+        try {
+            sent = delivery.sendDigest(recipient, batch.requests);
+            return sent;
+        } finally {
+            batch.sent.complete(sent);
+        }
+    }
+
+    private void countMerged(Pending batch) {
+        int merged = batch.requests.size() - 1;
+        if (merged > 0) {
+            metrics.incrementCounter(MetricNames.NOTIFICATION_COALESCED, merged);
+        }
+    }
+
+    private record Joined(Pending batch, boolean due) {
+    }
+
+    // Mutated only inside ConcurrentHashMap.compute, read once removed
+    private static final class Pending {
+
+        private final List<NotificationRequest> requests = new ArrayList<>();
+        private final AtomicBoolean armed = new AtomicBoolean();
+        private final CompletableFuture<Boolean> sent = new CompletableFuture<>();
+
+        private void add(NotificationRequest request) {
+            if (!requests.contains(request)) {
+                requests.add(request);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.advertmarket.communication.notification;
+
+import com.advertmarket.communication.api.notification.NotificationType;
+import io.github.springpropertiesmd.api.annotation.PropertyDoc;
+import io.github.springpropertiesmd.api.annotation.PropertyGroupDoc;
+import io.github.springpropertiesmd.api.annotation.Requirement;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import java.util.Set;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for coalescing notifications into digests.
+ *
+ * @param enabled     whether notifications are buffered per recipient
+ * @param window      how long the first buffered notification waits for others
+ * @param maxBatch    buffered notifications that trigger an early flush
+ * @param urgentTypes types delivered at once, together with anything buffered
+ */
+@ConfigurationProperties(prefix = "app.notification.digest")
+@PropertyGroupDoc(
+        displayName = "Notification Digest",
+        description = "Per-recipient coalescing of notifications into digest messages",
+        category = "Telegram"
+)
+@Validated
+public record NotificationDigestProperties(
+        @PropertyDoc(
+                description = "Buffer notifications per recipient and send them as one message",
+                required = Requirement.OPTIONAL
+        )
+        @DefaultValue("true") boolean enabled,
+
+        @PropertyDoc(
+                description = "Max time a notification waits for others to the same recipient",
+                required = Requirement.OPTIONAL
+        )
+        @DefaultValue("2s") Duration window,
+
+        @PropertyDoc(
+                description = "Buffered notifications per recipient that trigger an early flush",
+                required = Requirement.OPTIONAL
+        )
+        @Positive @DefaultValue("10") int maxBatch,
+
+        @PropertyDoc(
+                description = "Notification types sent at once, flushing the recipient's buffer",
+                required = Requirement.OPTIONAL
+        )
+        @DefaultValue({"DISPUTE_OPENED", "RECONCILIATION_ALERT",
+                "CHANNEL_BOT_REMOVED", "CHANNEL_BOT_DEMOTED", "CHANNEL_OWNERSHIP_LOST",
+                "PAYOUT_UNCLAIMED_OPERATOR_REVIEW"})
+        Set<NotificationType> urgentTypes
+) {
+}
@@ -0,0 +1,109 @@
+package com.advertmarket.communication.notification;
+
+import com.advertmarket.communication.bot.internal.builder.MarkdownV2Util;
+import java.util.ArrayList;
+import java.util.Map;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * A notification template parsed into MarkdownV2-escaped literals and
+ * variable slots.
+ *
+ * <p>Placeholders have the form {@code {name}}. Rendering appends the
+ * literals and the escaped variable values in one pass; a placeholder
+ * without a value is kept as escaped text.
+ */
+public final class NotificationTemplate {
+
+    private static final int VALUE_LENGTH_HINT = 16;
+
+    private final String source;
+    private final String[] literals;
+    private final String[] slots;
+    private final String[] unresolved;
+    private final int literalLength;
+
+    private NotificationTemplate(String source, String[] literals, String[] slots) {
+        this.source = source;
+        this.literals = literals;
+        this.slots = slots;
+        this.unresolved = new String[slots.length];
+        int length = 0;
+        for (var literal : literals) {
+            length += literal.length();
+        }
+        for (int i = 0; i < slots.length; i++) {
+            unresolved[i] = MarkdownV2Util.escape("{" + slots[i] + "}");
+        }
+        this.literalLength = length;
+    }
+
+    /**
+     * Parses a raw template.
+     *
+     * @param source the template text as stored in the message bundle
+     * @return the compiled template
+     */
+    public static @NonNull NotificationTemplate compile(@NonNull String source) {
+        var literals = new ArrayList<String>();
+        var slots = new ArrayList<String>();
+        int literalStart = 0;
+        int open = source.indexOf('{');
+        while (open >= 0) {
+            int close = slotEnd(source, open);
+            if (close < 0) {
+                open = source.indexOf('{', open + 1);
+                continue;
+            }
+            literals.add(MarkdownV2Util.escape(source.substring(literalStart, open)));
+            slots.add(source.substring(open + 1, close));
+            literalStart = close + 1;
+            open = source.indexOf('{', literalStart);
+        }
+        literals.add(MarkdownV2Util.escape(source.substring(literalStart)));
+        return new NotificationTemplate(source,
+                literals.toArray(String[]::new), slots.toArray(String[]::new));
+    }
+
+    /** Returns the raw template text this template was compiled from. */
+    public @NonNull String source() {
+        return source;
+    }
+
+    /**
+     * Renders the template with the given variables.
+     *
+     * @param variables values by placeholder name, escaped on output
+     * @return the MarkdownV2 message text
+     */
+    public @NonNull String render(@NonNull Map<String, String> variables) {
+        var out = new StringBuilder(literalLength + slots.length * VALUE_LENGTH_HINT);
+        out.append(literals[0]);
+        for (int i = 0; i < slots.length; i++) {
+            String value = variables.get(slots[i]);
+            if (value != null) {
+                MarkdownV2Util.appendEscaped(out, value);
+            } else {
+                out.append(unresolved[i]);
+            }
+            out.append(literals[i + 1]);
+        }
+        return out.toString();
+    }
+
+    // A slot name is a non-empty run of letters, digits and underscores
+    private static int slotEnd(String source, int open) {
+        int i = open + 1;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            if (c == '}') {
+                return i > open + 1 ? i : -1;
+            }
+            if (!Character.isLetterOrDigit(c) && c != '_') {
+                return -1;
+            }
+            i++;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,95 @@
+package com.advertmarket.communication.notification;
+
+import com.advertmarket.communication.api.notification.NotificationType;
+import com.advertmarket.shared.i18n.LocalizationService;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Renders notification messages from templates compiled once per
+ * language.
+ *
+ * <p>Templates are resolved through {@link LocalizationService} the first
+ * time a language and notification type are used, and for the bundled
+ * languages on startup. A periodic refresh re-resolves every cached
+ * template and recompiles those whose text changed, so bundle edits are
+ * picked up once the message source reloads them
+ * ({@code spring.messages.cache-duration}).
+ */
+@Slf4j
+@Component
+public class NotificationTemplateEngine {
+
+    private static final List<String> BUNDLED_LANGUAGES = List.of("ru", "en");
+
+    private final LocalizationService i18n;
+    private final Map<TemplateKey, NotificationTemplate> templates =
+            new ConcurrentHashMap<>();
+
+    /**
+     * Creates the engine.
+     *
+     * @param i18n localization service resolving template text
+     */
+    public NotificationTemplateEngine(LocalizationService i18n) {
+        this.i18n = i18n;
+    }
+
+    /**
+     * Renders a notification.
+     *
+     * @param type      notification type selecting the template
+     * @param language  recipient language code
+     * @param variables values for the template placeholders
+     * @return the MarkdownV2 message text
+     */
+    public @NonNull String render(@NonNull NotificationType type,
+            @NonNull String language, @NonNull Map<String, String> variables) {
+        return templates.computeIfAbsent(new TemplateKey(language, type), this::compile)
+                .render(variables);
+    }
+
+    /** Compiles the templates of the bundled languages. */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        for (var language : BUNDLED_LANGUAGES) {
+            for (var type : NotificationType.values()) {
+                templates.computeIfAbsent(new TemplateKey(language, type), this::compile);
+            }
+        }
+        log.info("Compiled {} notification templates", templates.size());
+    }
+
+    /** Recompiles cached templates whose text changed in the bundles. */
+    @Scheduled(fixedDelayString = "${app.notification.templates.refresh-interval:1m}")
+    public void refresh() {
+        for (var entry : templates.entrySet()) {
+            String source = resolve(entry.getKey());
+            if (!source.equals(entry.getValue().source())) {
+                templates.put(entry.getKey(), NotificationTemplate.compile(source));
+                log.info("Reloaded notification template type={} language={}",
+                        entry.getKey().type(), entry.getKey().language());
+            }
+        }
+    }
+
+    private NotificationTemplate compile(TemplateKey key) {
+        return NotificationTemplate.compile(resolve(key));
+    }
+
+    private String resolve(TemplateKey key) {
+        return i18n.msg("notification." + key.type().name().toLowerCase(Locale.ROOT),
+                key.language());
+    }
+
+    private record TemplateKey(String language, NotificationType type) {
+    }
+}
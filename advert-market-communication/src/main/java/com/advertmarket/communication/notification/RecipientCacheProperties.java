@@ -0,0 +1,38 @@
+package com.advertmarket.communication.notification;
+
+import io.github.springpropertiesmd.api.annotation.PropertyDoc;
+import io.github.springpropertiesmd.api.annotation.PropertyGroupDoc;
+import io.github.springpropertiesmd.api.annotation.Requirement;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the notification recipient cache.
+ *
+ * @param maximumSize      max cached recipients
+ * @param expireAfterWrite how long an entry is kept without invalidation
+ */
+@ConfigurationProperties(prefix = "app.notification.recipient-cache")
+@PropertyGroupDoc(
+        displayName = "Notification Recipient Cache",
+        description = "In-process cache of recipient language and notification preferences",
+        category = "Telegram"
+)
+@Validated
+public record RecipientCacheProperties(
+        @PropertyDoc(
+                description = "Max cached recipients",
+                required = Requirement.OPTIONAL
+        )
+        @Positive @DefaultValue("100000") int maximumSize,
+
+        @PropertyDoc(
+                description = "Max age of an entry, bounding staleness if an invalidation is lost",
+                required = Requirement.OPTIONAL
+        )
+        @DefaultValue("30m") Duration expireAfterWrite
+) {
+}
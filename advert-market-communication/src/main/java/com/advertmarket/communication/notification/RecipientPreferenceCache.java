@@ -0,0 +1,113 @@
+package com.advertmarket.communication.notification;
+
+import com.advertmarket.identity.api.port.UserProfileEventPort;
+import com.advertmarket.identity.api.port.UserRepository;
+import com.advertmarket.shared.model.UserId;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded in-process cache of {@link RecipientPreferences} by user id.
+ *
+ * <p>Misses are loaded from the users table in one query per batch, so
+ * a fan-out to known recipients reads nothing from the database. Entries
+ * are dropped when the identity module reports a profile change, and
+ * expire after {@code expireAfterWrite} in case a change event is lost.
+ * Users without a profile are cached as {@link RecipientPreferences#UNKNOWN}.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(RecipientCacheProperties.class)
+public class RecipientPreferenceCache {
+
+    private final UserRepository userRepository;
+    private final LoadingCache<Long, RecipientPreferences> cache;
+
+    /**
+     * Creates the cache and subscribes to profile changes.
+     *
+     * @param userRepository user repository loading misses
+     * @param profileEvents  profile change events invalidating entries
+     * @param properties     cache bounds
+     */
+    public RecipientPreferenceCache(UserRepository userRepository,
+            UserProfileEventPort profileEvents,
+            RecipientCacheProperties properties) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfterWrite(properties.expireAfterWrite())
+                .build(new Loader());
+        profileEvents.subscribe(userId -> cache.invalidate(userId.value()));
+    }
+
+    /**
+     * Returns the preferences of a recipient, loading them on a miss.
+     *
+     * @param userId recipient user id
+     * @return the recipient's preferences
+     */
+    public @NonNull RecipientPreferences get(long userId) {
+        if (userId <= 0) {
+            return RecipientPreferences.UNKNOWN;
+        }
+        return cache.get(userId);
+    }
+
+    /**
+     * Returns the preferences of several recipients, loading all misses
+     * in one query.
+     *
+     * @param userIds recipient user ids
+     * @return preferences by user id
+     */
+    public @NonNull Map<Long, RecipientPreferences> getAll(@NonNull Collection<Long> userIds) {
+        var valid = userIds.stream().filter(id -> id > 0).toList();
+        var result = new HashMap<>(cache.getAll(valid));
+        for (long userId : userIds) {
+            result.putIfAbsent(userId, RecipientPreferences.UNKNOWN);
+        }
+        return result;
+    }
+
+    /**
+     * Drops a recipient from the cache.
+     *
+     * @param userId recipient user id
+     */
+    public void invalidate(long userId) {
+        cache.invalidate(userId);
+    }
+
+    private final class Loader implements CacheLoader<Long, RecipientPreferences> {
+
+        @Override
+        public RecipientPreferences load(Long userId) {
+            return loadAll(Set.of(userId)).get(userId);
+        }
+
+        @Override
+        public Map<Long, RecipientPreferences> loadAll(Set<? extends Long> userIds) {
+            List<UserId> ids = userIds.stream().map(UserId::new).toList();
+            var loaded = new HashMap<Long, RecipientPreferences>(userIds.size() * 2);
+            for (var profile : userRepository.findDeliveryProfiles(ids)) {
+                loaded.put(profile.id(), RecipientPreferences.of(profile));
+            }
+            for (Long userId : userIds) {
+                loaded.putIfAbsent(userId, RecipientPreferences.UNKNOWN);
+            }
+            log.debug("Loaded notification preferences of {} recipients", loaded.size());
+            return loaded;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.advertmarket.communication.notification;
+
+import com.advertmarket.communication.api.notification.NotificationType;
+import com.advertmarket.identity.api.dto.NotificationSettings;
+import com.advertmarket.identity.api.dto.UserDeliveryProfile;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * What notification delivery needs to know about a recipient.
+ *
+ * @param languageCode language to render notifications in
+ * @param deleted      whether the account was deleted
+ * @param optedOut     notification types the user turned off
+ */
+public record RecipientPreferences(
+        @NonNull String languageCode,
+        boolean deleted,
+        @NonNull Set<NotificationType> optedOut
+) {
+
+    /** Preferences assumed for users without a profile. */
+    public static final RecipientPreferences UNKNOWN =
+            new RecipientPreferences("en", false, Set.of());
+
+    /** Defensive copy constructor. */
+    public RecipientPreferences {
+        optedOut = optedOut.isEmpty()
+                ? Set.of() : Collections.unmodifiableSet(EnumSet.copyOf(optedOut));
+    }
+
+    /**
+     * Builds the preferences from a delivery profile.
+     *
+     * @param profile the user's delivery profile
+     * @return compact preferences
+     */
+    public static @NonNull RecipientPreferences of(@NonNull UserDeliveryProfile profile) {
+        String language = profile.languageCode().trim();
+        return new RecipientPreferences(
+                language.isEmpty() ? UNKNOWN.languageCode() : language,
+                profile.deleted(),
+                optedOut(profile.notificationSettings()));
+    }
+
+    /** Returns true if a notification of the given type should be sent. */
+    public boolean accepts(@NonNull NotificationType type) {
+        return !deleted && !optedOut.contains(type);
+    }
+
+    // Channel status, reconciliation and unclaimed payout alerts cannot be turned off
+    private static Set<NotificationType> optedOut(NotificationSettings settings) {
+        var types = EnumSet.noneOf(NotificationType.class);
+        var deals = settings.deals();
+        if (!deals.newOffers()) {
+            types.add(NotificationType.NEW_OFFER);
+        }
+        if (!deals.acceptReject()) {
+            types.add(NotificationType.OFFER_ACCEPTED);
+            types.add(NotificationType.OFFER_REJECTED);
+        }
+        if (!deals.deliveryStatus()) {
+            types.addAll(EnumSet.of(
+                    NotificationType.CREATIVE_SUBMITTED,
+                    NotificationType.CREATIVE_APPROVED,
+                    NotificationType.REVISION_REQUESTED,
+                    NotificationType.PUBLISHED,
+                    NotificationType.DELIVERY_VERIFIED,
+                    NotificationType.DEAL_EXPIRED,
+                    NotificationType.DEAL_CANCELLED));
+        }
+        if (!settings.financial().escrow()) {
+            types.add(NotificationType.ESCROW_FUNDED);
+        }
+        if (!settings.financial().payouts()) {
+            types.add(NotificationType.PAYOUT_SENT);
+        }
+        if (!settings.disputes().opened()) {
+            types.add(NotificationType.DISPUTE_OPENED);
+        }
+        if (!settings.disputes().resolved()) {
+            types.add(NotificationType.DISPUTE_RESOLVED);
+        }
+        return types;
+    }
+}
@@ -2,21 +2,28 @@ package com.advertmarket.communication.notification;
 
 import com.advertmarket.communication.api.notification.NotificationPort;
 import com.advertmarket.communication.api.notification.NotificationRequest;
-import com.advertmarket.communication.bot.internal.builder.MarkdownV2Util;
+import com.advertmarket.communication.api.notification.NotificationType;
+import com.advertmarket.communication.bot.internal.sender.SendPriority;
 import com.advertmarket.communication.bot.internal.sender.TelegramSender;
-import com.advertmarket.identity.api.port.UserRepository;
-import com.advertmarket.shared.i18n.LocalizationService;
-import com.advertmarket.shared.model.UserId;
+import com.advertmarket.shared.metric.MetricNames;
+import com.advertmarket.shared.metric.MetricsFacade;
 import com.pengrad.telegrambot.response.BaseResponse;
-import java.util.Locale;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
 import org.springframework.stereotype.Component;
 
 /**
  * Sends notifications to users via Telegram messages
- * using localized templates from message bundles.
+ * using localized templates from message bundles,
+ * precompiled by {@link NotificationTemplateEngine}.
+ *
+ * <p>Recipients come from {@link RecipientPreferenceCache}; notifications
+ * to deleted accounts or of types the user turned off are skipped and
+ * reported as handled.
  */
 @RequiredArgsConstructor
 @Slf4j
@@ -24,64 +31,140 @@ import org.springframework.stereotype.Component;
 public class TelegramNotificationService
         implements NotificationPort {
 
-    private static final String DEFAULT_LOCALE = "en";
+    /** Telegram limit on the text of one message. */
+    static final int MAX_MESSAGE_LENGTH = 4096;
+
+    private static final String DIGEST_SEPARATOR = "\n\n";
 
     private final TelegramSender sender;
-    private final LocalizationService i18n;
-    private final UserRepository userRepository;
+    private final NotificationTemplateEngine templates;
+    private final RecipientPreferenceCache recipients;
+    private final MetricsFacade metrics;
 
     @Override
     public boolean send(NotificationRequest request) {
+        return sendDigest(request.recipientUserId(), List.of(request));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> sendAsync(NotificationRequest request) {
+        return sendDigestAsync(request.recipientUserId(), List.of(request));
+    }
+
+    /**
+     * Sends notifications for one recipient as a single message.
+     *
+     * <p>The rendered notifications are joined with blank lines; a digest
+     * longer than a Telegram message is split into several.
+     *
+     * @param recipientUserId Telegram user id of the recipient
+     * @param requests        notifications addressed to that recipient
+     * @return true if every message was delivered or suppressed
+     */
+    public boolean sendDigest(long recipientUserId,
+            @NonNull List<NotificationRequest> requests) {
         try {
-            String key = "notification."
-                    + request.type().name()
-                            .toLowerCase(Locale.ROOT);
-            String locale = resolveLocale(request.recipientUserId());
-            String template = i18n.msg(key, locale);
-            String rendered = substituteVariables(
-                    template, request.variables());
-            BaseResponse response =
-                    sender.send(request.recipientUserId(), rendered);
-            if (response.isOk()) {
-                return true;
+            for (var message : compose(recipientUserId, requests)) {
+                BaseResponse response = sender.send(recipientUserId,
+                        message.text(), SendPriority.NOTIFICATION);
+                if (!accepted(recipientUserId, message, response)) {
+                    return false;
+                }
             }
-            log.warn("Telegram API rejected notification type={} to user={} code={} description={}",
-                    request.type(),
-                    request.recipientUserId(),
-                    response.errorCode(),
-                    response.description());
-            return false;
+            return true;
         } catch (Exception e) {
-            log.error("Failed to send notification type={} "
-                    + "to user={}", request.type(),
-                    request.recipientUserId(), e);
+            logFailure(recipientUserId, requests, e);
             return false;
         }
     }
 
-    private String resolveLocale(long recipientUserId) {
+    /**
+     * Sends notifications for one recipient as a single message without
+     * blocking, like {@link #sendDigest}.
+     *
+     * @param recipientUserId Telegram user id of the recipient
+     * @param requests        notifications addressed to that recipient
+     * @return a future completing with true if every message was
+     *         delivered or suppressed
+     */
+    public CompletableFuture<Boolean> sendDigestAsync(long recipientUserId,
+            @NonNull List<NotificationRequest> requests) {
+        List<Message> messages;
         try {
-            return userRepository.findById(new UserId(recipientUserId))
-                    .map(user -> user.languageCode().trim())
-                    .filter(lang -> !lang.isEmpty())
-                    .orElse(DEFAULT_LOCALE);
-        } catch (IllegalArgumentException ex) {
-            log.debug("Invalid recipient id for locale lookup: {}",
-                    recipientUserId, ex);
-            return DEFAULT_LOCALE;
+            messages = compose(recipientUserId, requests);
+        } catch (Exception e) {
+            logFailure(recipientUserId, requests, e);
+            return CompletableFuture.completedFuture(false);
+        }
+        var result = CompletableFuture.completedFuture(true);
+        for (var message : messages) {
+            result = result.thenCompose(ok -> !ok
+                    ? CompletableFuture.completedFuture(false)
+                    : sender.sendAsync(recipientUserId, message.text(),
+                                    SendPriority.NOTIFICATION)
+                            .thenApply(response ->
+                                    accepted(recipientUserId, message, response)));
         }
+        return result.exceptionally(e -> {
+            logFailure(recipientUserId, requests, e);
+            return false;
+        });
     }
 
-    private String substituteVariables(String template,
-            Map<String, String> variables) {
-        String escaped = MarkdownV2Util.escape(template);
-        for (var entry : variables.entrySet()) {
-            String escapedKey = MarkdownV2Util.escape(
-                    "{" + entry.getKey() + "}");
-            escaped = escaped.replace(
-                    escapedKey,
-                    MarkdownV2Util.escape(entry.getValue()));
+    // Renders the notifications the recipient accepts into message-sized texts
+    private List<Message> compose(long recipientUserId, List<NotificationRequest> requests) {
+        var recipient = recipients.get(recipientUserId);
+        var messages = new ArrayList<Message>(1);
+        var text = new StringBuilder();
+        var types = new ArrayList<NotificationType>(requests.size());
+        for (var request : requests) {
+            if (!recipient.accepts(request.type())) {
+                log.debug("Suppressed notification type={} to user={} deleted={}",
+                        request.type(), recipientUserId, recipient.deleted());
+                metrics.incrementCounter(MetricNames.NOTIFICATION_SUPPRESSED,
+                        "type", request.type().name());
+                continue;
+            }
+            String rendered = templates.render(request.type(),
+                    recipient.languageCode(), request.variables());
+            if (!text.isEmpty() && text.length() + DIGEST_SEPARATOR.length()
+                    + rendered.length() > MAX_MESSAGE_LENGTH) {
+                messages.add(new Message(text.toString(), List.copyOf(types)));
+                text.setLength(0);
+                types.clear();
+            }
+            if (!text.isEmpty()) {
+                text.append(DIGEST_SEPARATOR);
+            }
+            text.append(rendered);
+            types.add(request.type());
+        }
+        if (!text.isEmpty()) {
+            messages.add(new Message(text.toString(), List.copyOf(types)));
+        }
+        return messages;
+    }
+
+    private boolean accepted(long recipientUserId, Message message,
+            BaseResponse response) {
+        if (response.isOk()) {
+            return true;
         }
-        return escaped;
+        log.warn("Telegram API rejected notification types={} to user={} code={} description={}",
+                message.types(),
+                recipientUserId,
+                response.errorCode(),
+                response.description());
+        return false;
+    }
+
+    private static void logFailure(long recipientUserId,
+            List<NotificationRequest> requests, Throwable e) {
+        log.error("Failed to send notification types={} "
+                + "to user={}", requests.stream().map(NotificationRequest::type).toList(),
+                recipientUserId, e);
+    }
+
+    private record Message(String text, List<NotificationType> types) {
     }
 }
@@ -3,6 +3,8 @@ package com.advertmarket.communication.webhook;
 import io.github.springpropertiesmd.api.annotation.PropertyDoc;
 import io.github.springpropertiesmd.api.annotation.PropertyGroupDoc;
 import io.github.springpropertiesmd.api.annotation.Requirement;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.bind.DefaultValue;
@@ -11,20 +13,42 @@ import org.springframework.validation.annotation.Validated;
 /**
  * Configuration properties for update deduplication.
  *
- * @param ttl time-to-live for processed update ids in Redis
+ * @param ttl           time-to-live of the shared watermark in Redis
+ * @param windowSize    number of recent update ids tracked in memory
+ * @param watermarkLag  ids behind the highest seen id left out of the shared watermark
+ * @param syncInterval  how often the watermark is exchanged through Redis
  */
 @ConfigurationProperties(prefix = "app.telegram.deduplication")
 @PropertyGroupDoc(
         displayName = "Update Deduplication",
-        description = "Deduplication of incoming Telegram updates via Redis",
+        description = "In-memory deduplication of incoming Telegram updates "
+                + "with a watermark shared via Redis",
         category = "Telegram"
 )
 @Validated
 public record DeduplicationProperties(
         @PropertyDoc(
-                description = "TTL for processed update ids in Redis",
+                description = "TTL of the shared update id watermark in Redis",
                 required = Requirement.OPTIONAL
         )
-        @DefaultValue("24h") Duration ttl
+        @DefaultValue("24h") Duration ttl,
+
+        @PropertyDoc(
+                description = "Recent update ids tracked in memory, a power of two",
+                required = Requirement.OPTIONAL
+        )
+        @Positive @DefaultValue("65536") int windowSize,
+
+        @PropertyDoc(
+                description = "Update ids behind the highest seen one that may still arrive",
+                required = Requirement.OPTIONAL
+        )
+        @PositiveOrZero @DefaultValue("1000") int watermarkLag,
+
+        @PropertyDoc(
+                description = "Interval between watermark exchanges through Redis",
+                required = Requirement.OPTIONAL
+        )
+        @DefaultValue("5s") Duration syncInterval
 ) {
 }
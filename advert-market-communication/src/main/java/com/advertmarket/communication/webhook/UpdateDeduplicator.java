@@ -2,51 +2,107 @@ package com.advertmarket.communication.webhook;
 
 import com.advertmarket.shared.metric.MetricNames;
 import com.advertmarket.shared.metric.MetricsFacade;
+import java.util.List;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataAccessException;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 /**
- * Deduplicates Telegram updates by update_id using Redis SET NX.
- * TTL ensures old entries are cleaned up automatically.
+ * Deduplicates Telegram updates by update_id in memory.
+ *
+ * <p>Update ids grow monotonically per bot, so recent ids are tracked in
+ * an {@link UpdateIdWindow} and older ones count as processed; checking
+ * an update needs no network I/O. Instances periodically exchange a
+ * low-water mark through Redis: each raises the shared mark to its
+ * highest id minus {@code watermarkLag} and adopts the result, so a
+ * restarted or second instance also rejects updates that were already
+ * handled elsewhere. After Telegram restarts its id sequence the window
+ * starts over, and the next exchange overwrites the shared mark instead
+ * of raising it, so the old mark does not reject the new ids. Redis
+ * errors only delay the exchange.
  */
 @Slf4j
 @Component
 public class UpdateDeduplicator implements UpdateDeduplicationPort {
 
-    private static final String KEY_PREFIX = "tg:update:";
+    private static final String WATERMARK_KEY = "tg:update:watermark";
+
+    private static final RedisScript<Long> RAISE_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    local mark = tonumber(redis.call('GET', KEYS[1]) or '-1')
+                    local candidate = tonumber(ARGV[1])
+                    if candidate > mark then
+                        mark = candidate
+                        redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+                    end
+                    return mark
+                    """,
+                    Long.class);
+
+    private static final RedisScript<Long> RESET_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+                    return tonumber(ARGV[1])
+                    """,
+                    Long.class);
 
     private final StringRedisTemplate redis;
     private final DeduplicationProperties properties;
     private final MetricsFacade metrics;
+    private final UpdateIdWindow window;
+    private long publishedResets;
 
-    /** Creates the deduplicator backed by Redis. */
+    /** Creates the deduplicator and adopts the shared watermark. */
     public UpdateDeduplicator(StringRedisTemplate redis,
             DeduplicationProperties properties,
             MetricsFacade metrics) {
         this.redis = redis;
         this.properties = properties;
         this.metrics = metrics;
+        this.window = new UpdateIdWindow(properties.windowSize());
+        syncWatermark();
     }
 
     @Override
     public boolean tryAcquire(int updateId) {
+        if (window.tryMark(updateId)) {
+            metrics.incrementCounter(
+                    MetricNames.DEDUP_ACQUIRED);
+            return true;
+        }
+        return false;
+    }
+
+    /** Publishes this instance's watermark and adopts the shared one. */
+    @Scheduled(fixedDelayString = "${app.telegram.deduplication.sync-interval:5s}")
+    public void syncWatermark() {
+        long resets = window.resets();
+        boolean reset = resets != publishedResets;
+        long candidate = window.highest() - properties.watermarkLag();
+        if (reset) {
+            // Below the first id of the new sequence, which the lag may not reach
+            candidate = Math.min(candidate, window.low() - 1);
+            log.info("Telegram update ids restarted, lowering the shared watermark to {}",
+                    candidate);
+        }
         try {
-            String key = KEY_PREFIX + updateId;
-            Boolean set = redis.opsForValue()
-                    .setIfAbsent(key, "1", properties.ttl());
-            if (Boolean.TRUE.equals(set)) {
-                metrics.incrementCounter(
-                        MetricNames.DEDUP_ACQUIRED);
-                return true;
+            Long mark = redis.execute(reset ? RESET_SCRIPT : RAISE_SCRIPT,
+                    List.of(WATERMARK_KEY),
+                    String.valueOf(candidate),
+                    String.valueOf(properties.ttl().toMillis()));
+            publishedResets = resets;
+            if (mark != null && mark >= 0) {
+                window.advanceTo(mark + 1);
             }
-            return false;
         } catch (DataAccessException e) {
-            log.warn("Redis error during deduplication for "
-                    + "updateId={}, allowing through",
-                    updateId, e);
-            return true;
+            log.warn("Redis error exchanging update watermark, "
+                    + "keeping local window", e);
         }
     }
 }
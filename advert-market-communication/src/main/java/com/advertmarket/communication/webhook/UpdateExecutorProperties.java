@@ -0,0 +1,37 @@
+package com.advertmarket.communication.webhook;
+
+import io.github.springpropertiesmd.api.annotation.PropertyDoc;
+import io.github.springpropertiesmd.api.annotation.PropertyGroupDoc;
+import io.github.springpropertiesmd.api.annotation.Requirement;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for per-user processing of webhook updates.
+ *
+ * @param maxQueuedPerUser max updates waiting for one user
+ * @param maxQueued        max updates waiting across all users
+ */
+@ConfigurationProperties(prefix = "app.telegram.updates")
+@PropertyGroupDoc(
+        displayName = "Update Processing",
+        description = "Per-user ordered processing of incoming Telegram updates",
+        category = "Telegram"
+)
+@Validated
+public record UpdateExecutorProperties(
+        @PropertyDoc(
+                description = "Max updates waiting for one user; further updates are rejected",
+                required = Requirement.OPTIONAL
+        )
+        @Positive @DefaultValue("64") int maxQueuedPerUser,
+
+        @PropertyDoc(
+                description = "Max updates waiting across all users; further updates are rejected",
+                required = Requirement.OPTIONAL
+        )
+        @Positive @DefaultValue("10000") int maxQueued
+) {
+}
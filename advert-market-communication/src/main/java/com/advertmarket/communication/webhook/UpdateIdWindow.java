@@ -0,0 +1,134 @@
+package com.advertmarket.communication.webhook;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Sliding bitmap of recently seen Telegram update ids.
+ *
+ * <p>Ids below the low-water mark count as seen. Ids from the mark up
+ * to {@code size} ids above it are tracked one bit each in a ring; an id
+ * beyond that range slides the mark up and forgets the ids it passes.
+ * An id more than {@code size} below the mark means Telegram restarted
+ * its id sequence: the window is cleared and starts over at that id.
+ */
+final class UpdateIdWindow {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final long[] words;
+    private final int mask;
+    private long low;
+    private long highest = -1;
+    private long resets;
+
+    /**
+     * Creates an empty window.
+     *
+     * @param size number of ids tracked above the low-water mark, a power of two
+     */
+    UpdateIdWindow(int size) {
+        if (Integer.bitCount(size) != 1 || size < Long.SIZE) {
+            throw new IllegalArgumentException(
+                    "Window size must be a power of two of at least 64: " + size);
+        }
+        this.words = new long[size / Long.SIZE];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Marks an id as seen.
+     *
+     * @param id update id
+     * @return true if the id was not seen before
+     */
+    boolean tryMark(long id) {
+        lock.lock();
+        try {
+            if (low - id > mask + 1L) {
+                restartAt(id);
+            } else if (id < low) {
+                return false;
+            }
+            if (id > low + mask) {
+                advance(id - mask);
+            }
+            int slot = (int) (id & mask);
+            long bit = 1L << slot;
+            int word = slot / Long.SIZE;
+            if ((words[word] & bit) != 0) {
+                return false;
+            }
+            words[word] |= bit;
+            highest = Math.max(highest, id);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Raises the low-water mark, so ids below it count as seen.
+     *
+     * @param mark new low-water mark; ignored if not above the current one
+     */
+    void advanceTo(long mark) {
+        lock.lock();
+        try {
+            if (mark > low) {
+                advance(mark);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the highest id marked, or -1 if none. */
+    long highest() {
+        lock.lock();
+        try {
+            return highest;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns how many times the id sequence restarted. */
+    long resets() {
+        lock.lock();
+        try {
+            return resets;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the low-water mark. */
+    long low() {
+        lock.lock();
+        try {
+            return low;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Forgets ids below the new mark, whose slots are reused above the window
+    private void advance(long mark) {
+        if (mark - low > mask) {
+            Arrays.fill(words, 0L);
+        } else {
+            for (long id = low; id < mark; id++) {
+                int slot = (int) (id & mask);
+                words[slot / Long.SIZE] &= ~(1L << slot);
+            }
+        }
+        low = mark;
+    }
+
+    private void restartAt(long id) {
+        Arrays.fill(words, 0L);
+        low = id;
+        highest = -1;
+        resets++;
+    }
+}
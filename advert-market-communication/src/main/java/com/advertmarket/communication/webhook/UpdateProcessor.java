@@ -13,7 +13,6 @@ import com.advertmarket.shared.metric.MetricNames;
 import com.advertmarket.shared.metric.MetricsFacade;
 import com.pengrad.telegrambot.model.Update;
 import com.pengrad.telegrambot.model.User;
-import java.util.concurrent.ExecutorService;
 import java.util.concurrent.RejectedExecutionException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,7 +24,8 @@ import org.springframework.stereotype.Component;
 /**
  * Async processor for Telegram updates.
  * Extracts user key, routes through canary, then delegates
- * to handler.
+ * to handler. Updates of one user are processed in order
+ * through {@link UserUpdateExecutor}.
  */
 @RequiredArgsConstructor
 @Slf4j
@@ -37,7 +37,7 @@ public class UpdateProcessor {
     private final @NonNull BotErrorHandler errorHandler;
     private final @NonNull MetricsFacade metrics;
 
-    private final @NonNull ExecutorService botUpdateExecutor;
+    private final @NonNull UserUpdateExecutor updateExecutor;
 
     /**
      * Submit update for async processing. Returns immediately.
@@ -45,9 +45,13 @@ public class UpdateProcessor {
      * @param update the Telegram update
      */
     public void processAsync(Update update) {
+        long userId = extractUserId(update);
         try {
-            botUpdateExecutor.submit(
-                    () -> processUpdate(update)).isDone();
+            if (!updateExecutor.submit(userId,
+                    () -> processUpdate(update, userId))) {
+                log.warn("Bot update queue full, dropped update_id={} user_id={}",
+                        update.updateId(), userId);
+            }
         } catch (RejectedExecutionException ex) {
             metrics.incrementCounter(
                     MetricNames.WEBHOOK_DISPATCH_REJECTED,
@@ -57,8 +61,7 @@ public class UpdateProcessor {
         }
     }
 
-    private void processUpdate(Update update) {
-        long userId = extractUserId(update);
+    private void processUpdate(Update update, long userId) {
         try {
             MDC.put(MDC_USER_ID,
                     String.valueOf(userId));
@@ -0,0 +1,168 @@
+package com.advertmarket.communication.webhook;
+
+import com.advertmarket.shared.metric.MetricNames;
+import com.advertmarket.shared.metric.MetricsFacade;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs webhook updates serially per user.
+ *
+ * <p>A user with pending updates gets a mailbox drained by one task on
+ * {@code botUpdateExecutor}, and the mailbox retires as soon as it is
+ * empty. Updates of one user run in arrival order and never overlap, so
+ * they do not race on conversation state, while different users run in
+ * parallel. Both the per-user and the total number of waiting updates
+ * are bounded; an update over either bound is rejected and counted.
+ */
+@Slf4j
+@Component
+@SuppressWarnings("fenum:argument")
+public class UserUpdateExecutor {
+
+    private static final String REASON = "reason";
+
+    private final ExecutorService botUpdateExecutor;
+    private final MetricsFacade metrics;
+    private final int maxQueuedPerUser;
+    private final int maxQueued;
+    private final Map<Long, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    /**
+     * Creates the executor with no active mailboxes.
+     *
+     * @param botUpdateExecutor executor running the mailboxes
+     * @param metrics           metrics facade
+     * @param properties        queue bounds
+     */
+    public UserUpdateExecutor(ExecutorService botUpdateExecutor,
+            MetricsFacade metrics, UpdateExecutorProperties properties) {
+        this.botUpdateExecutor = botUpdateExecutor;
+        this.metrics = metrics;
+        this.maxQueuedPerUser = properties.maxQueuedPerUser();
+        this.maxQueued = properties.maxQueued();
+        metrics.registerGauge(MetricNames.UPDATE_MAILBOXES, mailboxes, Map::size);
+        metrics.registerGauge(MetricNames.UPDATE_QUEUED, queued);
+    }
+
+    /**
+     * Queues an update task behind the user's earlier updates.
+     *
+     * @param userId user key the update belongs to
+     * @param task   work to run
+     * @return false if the update was rejected because a queue is full
+     * @throws RejectedExecutionException if the underlying executor
+     *         rejects the mailbox
+     */
+    public boolean submit(long userId, @NonNull Runnable task) {
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            metrics.incrementCounter(MetricNames.WEBHOOK_DISPATCH_REJECTED,
+                    REASON, "queue_full");
+            return false;
+        }
+        var queuedTask = new QueuedTask(task, System.nanoTime());
+        Offer offer;
+        try {
+            do {
+                offer = mailboxes.computeIfAbsent(userId, Mailbox::new).offer(queuedTask);
+            } while (offer == Offer.RETIRED);
+        } catch (RejectedExecutionException e) {
+            queued.decrementAndGet();
+            throw e;
+        }
+        if (offer == Offer.FULL) {
+            queued.decrementAndGet();
+            metrics.incrementCounter(MetricNames.WEBHOOK_DISPATCH_REJECTED,
+                    REASON, "user_queue_full");
+            return false;
+        }
+        return true;
+    }
+
+    /** Returns the number of users with pending or running updates. */
+    public int activeMailboxes() {
+        return mailboxes.size();
+    }
+
+    private enum Offer {
+        ACCEPTED, FULL, RETIRED
+    }
+
+    private record QueuedTask(Runnable task, long enqueuedNanos) {
+    }
+
+    private final class Mailbox implements Runnable {
+
+        private final long userId;
+        private final Queue<QueuedTask> tasks = new ArrayDeque<>();
+        private boolean running;
+        private boolean retired;
+
+        Mailbox(long userId) {
+            this.userId = userId;
+        }
+
+        synchronized Offer offer(QueuedTask task) {
+            if (retired) {
+                return Offer.RETIRED;
+            }
+            if (tasks.size() >= maxQueuedPerUser) {
+                return Offer.FULL;
+            }
+            tasks.add(task);
+            if (!running) {
+                try {
+                    botUpdateExecutor.submit(this);
+                } catch (RejectedExecutionException e) {
+                    tasks.clear();
+                    retire();
+                    throw e;
+                }
+                running = true;
+            }
+            return Offer.ACCEPTED;
+        }
+
+        // CHECKSTYLE.OFF: IllegalCatch
+        @Override
+        public void run() {
+            for (var next = next(); next != null; next = next()) {
+                queued.decrementAndGet();
+                metrics.recordTimer(MetricNames.UPDATE_QUEUE_WAIT,
+                        Duration.ofNanos(System.nanoTime() - next.enqueuedNanos()));
+                try {
+                    next.task().run();
+                } catch (RuntimeException e) {
+                    log.error("Update task failed for user_id={}", userId, e);
+                }
+            }
+        }
+        // CHECKSTYLE.ON: IllegalCatch
+
+        private synchronized @Nullable QueuedTask next() {
+            var task = tasks.poll();
+            if (task == null) {
+                running = false;
+                retire();
+            }
+            return task;
+        }
+
+        private void retire() {
+            retired = true;
+            mailboxes.remove(userId, this);
+        }
+    }
+}
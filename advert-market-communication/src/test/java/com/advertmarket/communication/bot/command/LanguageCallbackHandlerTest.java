@@ -65,7 +65,7 @@ class LanguageCallbackHandlerTest {
 
         handler.handle(ctx, sender);
 
-        verify(sender).execute(any(AnswerCallbackQuery.class));
+        verify(sender).execute(any(AnswerCallbackQuery.class), eq(1L));
     }
 
     @Test
@@ -95,7 +95,7 @@ class BotChannelStatusHandlerTest {
 
         var captor = ArgumentCaptor.forClass(
                 NotificationRequest.class);
-        verify(notificationPort).send(captor.capture());
+        verify(notificationPort).sendAsync(captor.capture());
         assertThat(captor.getValue().type())
                 .isEqualTo(NotificationType.CHANNEL_BOT_REMOVED);
         assertThat(captor.getValue().recipientUserId())
@@ -116,7 +116,7 @@ class BotChannelStatusHandlerTest {
                 Status.administrator, Status.kicked, -200L));
 
         verify(lifecyclePort).deactivateByTelegramId(-200L);
-        verify(notificationPort).send(any());
+        verify(notificationPort).sendAsync(any());
     }
 
     // --- handle: admin → member (bot demoted) ---
@@ -137,7 +137,7 @@ class BotChannelStatusHandlerTest {
         verify(lifecyclePort).deactivateByTelegramId(-300L);
         var captor = ArgumentCaptor.forClass(
                 NotificationRequest.class);
-        verify(notificationPort).send(captor.capture());
+        verify(notificationPort).sendAsync(captor.capture());
         assertThat(captor.getValue().type())
                 .isEqualTo(NotificationType.CHANNEL_BOT_DEMOTED);
     }
@@ -159,7 +159,7 @@ class BotChannelStatusHandlerTest {
         verify(lifecyclePort).reactivateByTelegramId(-400L);
         var captor = ArgumentCaptor.forClass(
                 NotificationRequest.class);
-        verify(notificationPort).send(captor.capture());
+        verify(notificationPort).sendAsync(captor.capture());
         assertThat(captor.getValue().type())
                 .isEqualTo(NotificationType.CHANNEL_BOT_RESTORED);
     }
@@ -179,7 +179,7 @@ class BotChannelStatusHandlerTest {
         verify(lifecyclePort).reactivateByTelegramId(-500L);
         var captor = ArgumentCaptor.forClass(
                 NotificationRequest.class);
-        verify(notificationPort).send(captor.capture());
+        verify(notificationPort).sendAsync(captor.capture());
         assertThat(captor.getValue().type())
                 .isEqualTo(NotificationType.CHANNEL_BOT_RESTORED);
     }
@@ -201,7 +201,7 @@ class BotChannelStatusHandlerTest {
         handler.handle(update);
 
         verify(lifecyclePort).deactivateByTelegramId(-600L);
-        verify(notificationPort).send(any());
+        verify(notificationPort).sendAsync(any());
     }
 
     @Test
@@ -219,7 +219,7 @@ class BotChannelStatusHandlerTest {
         handler.handle(update);
 
         verify(lifecyclePort).deactivateByTelegramId(-610L);
-        verify(notificationPort, never()).send(any());
+        verify(notificationPort, never()).sendAsync(any());
     }
 
     @Test
@@ -239,7 +239,7 @@ class BotChannelStatusHandlerTest {
         verify(lifecyclePort).reactivateByTelegramId(-700L);
         var captor = ArgumentCaptor.forClass(
                 NotificationRequest.class);
-        verify(notificationPort).send(captor.capture());
+        verify(notificationPort).sendAsync(captor.capture());
         assertThat(captor.getValue().type())
                 .isEqualTo(NotificationType.CHANNEL_BOT_RESTORED);
     }
@@ -258,7 +258,7 @@ class BotChannelStatusHandlerTest {
                 Status.administrator, Status.member, -710L));
 
         verify(lifecyclePort).deactivateByTelegramId(-710L);
-        verify(notificationPort, never()).send(any());
+        verify(notificationPort, never()).sendAsync(any());
     }
 
     // --- handle: unregistered channel ---
@@ -76,6 +76,16 @@ class MarkdownV2UtilTest {
                 .isEqualTo("my\\-channel");
     }
 
+    @Test
+    @DisplayName("Appends escaped text to an existing builder")
+    void appendEscaped_appendsToBuilder() {
+        var out = new StringBuilder("Deal ");
+
+        MarkdownV2Util.appendEscaped(out, "a1-b2 (100.5 TON)");
+
+        assertThat(out).hasToString("Deal a1\\-b2 \\(100\\.5 TON\\)");
+    }
+
     @Test
     @DisplayName("Keeps Cyrillic text unchanged")
     void cyrillic_unchanged() {
@@ -61,7 +61,7 @@ class ReplyTest {
         Reply.callback(ctx).send(sender);
 
         verify(sender).execute(
-                any(AnswerCallbackQuery.class));
+                any(AnswerCallbackQuery.class), eq(1L));
     }
 
     @Test
@@ -113,7 +113,7 @@ class ReplyTest {
                 .send(sender);
 
         verify(sender).execute(
-                any(AnswerCallbackQuery.class));
+                any(AnswerCallbackQuery.class), eq(1L));
     }
 
     @Test
@@ -0,0 +1,100 @@
+package com.advertmarket.communication.bot.internal.sender;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.advertmarket.shared.metric.MetricsFacade;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+@DisplayName("RedisTelegramRateLimiter")
+class RedisTelegramRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+    private StringRedisTemplate redis;
+    private RedisTelegramRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        redis = mock(StringRedisTemplate.class);
+        rateLimiter = limiter(30, 1, 3);
+    }
+
+    @Test
+    @DisplayName("Returns zero when the shared buckets grant the send")
+    void tryAcquire_returnsZero_whenGranted() {
+        when(redis.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(0L);
+
+        assertThat(rateLimiter.tryAcquire(42L)).isZero();
+    }
+
+    @Test
+    @DisplayName("Converts the shared wait from microseconds to nanoseconds")
+    void tryAcquire_returnsWaitInNanos_whenDenied() {
+        when(redis.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(250_000L);
+
+        assertThat(rateLimiter.tryAcquire(42L))
+                .isEqualTo(TimeUnit.MILLISECONDS.toNanos(250));
+    }
+
+    @Test
+    @DisplayName("Holds this instance to its share of the global limit on Redis error")
+    void tryAcquire_fallsBackToGlobalShare_onRedisError() {
+        redisDown();
+        // 30/s split over 3 instances
+        for (long chatId = 1; chatId <= 10; chatId++) {
+            assertThat(rateLimiter.tryAcquire(chatId)).isZero();
+        }
+
+        assertThat(rateLimiter.tryAcquire(11L)).isEqualTo(SECOND / 10);
+    }
+
+    @Test
+    @DisplayName("Holds this instance to its share of the per-chat limit on Redis error")
+    void tryAcquire_fallsBackToPerChatShare_onRedisError() {
+        redisDown();
+
+        assertThat(rateLimiter.tryAcquire(42L)).isZero();
+        assertThat(rateLimiter.tryAcquire(42L)).isEqualTo(3 * SECOND);
+    }
+
+    @Test
+    @DisplayName("Keeps the full limits on Redis error when running alone")
+    void tryAcquire_fallsBackToFullLimits_forSingleInstance() {
+        rateLimiter = limiter(30, 1, 1);
+        redisDown();
+
+        for (long chatId = 1; chatId <= 30; chatId++) {
+            assertThat(rateLimiter.tryAcquire(chatId)).isZero();
+        }
+        assertThat(rateLimiter.tryAcquire(31L)).isPositive();
+    }
+
+    private RedisTelegramRateLimiter limiter(int globalPerSec, int perChatPerSec,
+            int instanceCount) {
+        return new RedisTelegramRateLimiter(redis,
+                new TelegramSenderProperties(globalPerSec, perChatPerSec,
+                        Duration.ofMinutes(5), 10_000, true, instanceCount),
+                new MetricsFacade(new SimpleMeterRegistry()), clock::get);
+    }
+
+    private void redisDown() {
+        when(redis.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+    }
+}
@@ -0,0 +1,183 @@
+package com.advertmarket.communication.bot.internal.sender;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.advertmarket.shared.metric.MetricsFacade;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("TelegramOutboundScheduler")
+class TelegramOutboundSchedulerTest {
+
+    private static final long BLOCKER_CHAT = 999L;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final List<String> sent = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch release = new CountDownLatch(1);
+    private TelegramOutboundScheduler scheduler;
+
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    @DisplayName("Dispatches interactive replies ahead of queued notifications")
+    void interactiveGoesFirst() {
+        scheduler = scheduler(_ -> 0L, Duration.ofSeconds(5));
+        var blocker = holdDispatcher();
+        var notification = submit(SendPriority.NOTIFICATION, 1L, "n1");
+        var interactive = submit(SendPriority.INTERACTIVE, 2L, "i1");
+
+        release.countDown();
+        CompletableFuture.allOf(blocker, notification, interactive).join();
+
+        assertThat(sent).containsExactly("blocker", "i1", "n1");
+    }
+
+    @Test
+    @DisplayName("Keeps a share of turns for notifications under interactive load")
+    void notificationsAreNotStarved() {
+        scheduler = scheduler(_ -> 0L, Duration.ofSeconds(5));
+        var futures = new ArrayList<CompletableFuture<String>>();
+        futures.add(holdDispatcher());
+        for (int i = 0; i < 20; i++) {
+            futures.add(submit(SendPriority.INTERACTIVE, 100L + i, "i" + i));
+        }
+        futures.add(submit(SendPriority.NOTIFICATION, 1L, "n"));
+
+        release.countDown();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        // Weights 16:4 give the notification every fifth turn
+        assertThat(sent.indexOf("n")).isBetween(1, 6);
+    }
+
+    @Test
+    @DisplayName("Does not hold interactive replies behind a bulk backlog")
+    void bulkBacklogDoesNotDelayInteractive() {
+        scheduler = scheduler(_ -> 0L, Duration.ofSeconds(5));
+        var futures = new ArrayList<CompletableFuture<String>>();
+        futures.add(holdDispatcher());
+        for (int i = 0; i < 50; i++) {
+            futures.add(submit(SendPriority.BULK, -100L - i, "b" + i));
+        }
+        futures.add(submit(SendPriority.INTERACTIVE, 1L, "i"));
+
+        release.countDown();
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+
+        assertThat(sent.indexOf("i")).isEqualTo(1);
+        assertThat(sent).hasSize(52);
+    }
+
+    @Test
+    @DisplayName("Round-robins between chats within a priority class")
+    void roundRobinAcrossChats() {
+        scheduler = scheduler(_ -> 0L, Duration.ofSeconds(5));
+        var blocker = holdDispatcher();
+        var a1 = submit(SendPriority.INTERACTIVE, 1L, "a1");
+        var a2 = submit(SendPriority.INTERACTIVE, 1L, "a2");
+        var a3 = submit(SendPriority.INTERACTIVE, 1L, "a3");
+        var b1 = submit(SendPriority.INTERACTIVE, 2L, "b1");
+
+        release.countDown();
+        CompletableFuture.allOf(blocker, a1, a2, a3, b1).join();
+
+        assertThat(sent).containsExactly("blocker", "a1", "b1", "a2", "a3");
+    }
+
+    @Test
+    @DisplayName("Sends to other chats while one waits out its limit")
+    void parkedChatDoesNotBlockOthers() {
+        long opensAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+        scheduler = scheduler(
+                chatId -> chatId == 1L ? Math.max(0, opensAt - System.nanoTime()) : 0L,
+                Duration.ofSeconds(5));
+
+        var limited = submit(SendPriority.INTERACTIVE, 1L, "limited");
+        var free = submit(SendPriority.INTERACTIVE, 2L, "free");
+
+        CompletableFuture.allOf(limited, free).join();
+
+        assertThat(sent).containsExactly("free", "limited");
+    }
+
+    @Test
+    @DisplayName("Fails messages that waited longer than the queue timeout")
+    void expiresStaleMessages() throws InterruptedException {
+        scheduler = scheduler(_ -> 0L, Duration.ofMillis(50));
+        var blocker = holdDispatcher();
+        var stale = submit(SendPriority.NOTIFICATION, 1L, "stale");
+
+        Thread.sleep(100);
+        release.countDown();
+        blocker.join();
+
+        assertThat(stale)
+                .failsWithin(Duration.ofSeconds(1))
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(RateLimitTimeoutException.class);
+        assertThat(sent).containsExactly("blocker");
+        assertThat(registry.counter("telegram.outbound.expired").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Records queue wait per priority class with a percentile histogram")
+    void recordsQueueWait() {
+        scheduler = scheduler(_ -> 0L, Duration.ofSeconds(5));
+
+        submit(SendPriority.NOTIFICATION, 1L, "n1").join();
+
+        var timer = registry.timer("telegram.outbound.queue.wait",
+                "priority", "notification");
+        assertThat(timer.count()).isEqualTo(1);
+        assertThat(timer.takeSnapshot().histogramCounts()).isNotEmpty();
+    }
+
+    private TelegramOutboundScheduler scheduler(RateLimiterPort rateLimiter,
+            Duration maxQueueWait) {
+        return new TelegramOutboundScheduler(rateLimiter,
+                new MetricsFacade(registry),
+                new TelegramOutboundProperties(16, 4, 1, maxQueueWait));
+    }
+
+    // Occupies the dispatcher until released so later submissions queue up
+    private CompletableFuture<String> holdDispatcher() {
+        var started = new CountDownLatch(1);
+        var future = scheduler.submit(SendPriority.BULK, BLOCKER_CHAT, () -> {
+            started.countDown();
+            awaitQuietly(release);
+            sent.add("blocker");
+            return CompletableFuture.completedFuture("blocker");
+        });
+        awaitQuietly(started);
+        return future;
+    }
+
+    private CompletableFuture<String> submit(SendPriority priority, long chatId, String label) {
+        return scheduler.submit(priority, chatId, () -> {
+            sent.add(label);
+            return CompletableFuture.completedFuture(label);
+        });
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
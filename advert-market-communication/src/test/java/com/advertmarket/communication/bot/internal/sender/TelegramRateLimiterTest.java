@@ -4,17 +4,29 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
 @DisplayName("TelegramRateLimiter")
 class TelegramRateLimiterTest {
 
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000 * SECOND);
+
+    private TelegramRateLimiter limiter(int globalPerSec, int perChatPerSec) {
+        var props = new TelegramSenderProperties(
+                globalPerSec, perChatPerSec, Duration.ofMinutes(5), 10_000, false, 1);
+        return new TelegramRateLimiter(props, clock::get);
+    }
+
     @Test
     @DisplayName("Acquire does not block within rate limit")
     void acquire_doesNotBlockWithinLimit() {
         var props = new TelegramSenderProperties(
-                30, 1, Duration.ofMinutes(5), 10_000, 1000);
+                30, 1, Duration.ofMinutes(5), 10_000, false, 1);
         var limiter = new TelegramRateLimiter(props);
 
         var start = Instant.now();
@@ -25,24 +37,39 @@ class TelegramRateLimiterTest {
     }
 
     @Test
-    @DisplayName("Replenish restores permits")
-    void replenishGlobal_restoresPermits() {
-        var props = new TelegramSenderProperties(
-                2, 1, Duration.ofMinutes(5), 10_000, 1000);
-        var limiter = new TelegramRateLimiter(props);
+    @DisplayName("Allows a second's burst per chat, then reports the wait")
+    void tryAcquire_allowsBurstThenReportsWait() {
+        var limiter = limiter(30, 2);
 
-        // Exhaust global permits
-        limiter.acquire(1L);
-        limiter.acquire(2L);
+        assertThat(limiter.tryAcquire(1L)).isZero();
+        assertThat(limiter.tryAcquire(1L)).isZero();
+        assertThat(limiter.tryAcquire(1L)).isEqualTo(SECOND / 2);
+        assertThat(limiter.tryAcquire(2L)).isZero();
+    }
 
-        // Replenish
-        limiter.replenishGlobal();
-        limiter.replenishPerChat();
+    @Test
+    @DisplayName("Refills lazily as time passes")
+    void tryAcquire_refillsLazily() {
+        var limiter = limiter(30, 1);
+        limiter.tryAcquire(1L);
 
-        // Should not block now
-        var start = Instant.now();
-        limiter.acquire(3L);
-        var elapsed = Duration.between(start, Instant.now());
-        assertThat(elapsed).isLessThan(Duration.ofSeconds(1));
+        clock.addAndGet(SECOND / 4);
+        assertThat(limiter.tryAcquire(1L)).isEqualTo(SECOND * 3 / 4);
+
+        clock.addAndGet(SECOND * 3 / 4);
+        assertThat(limiter.tryAcquire(1L)).isZero();
+    }
+
+    @Test
+    @DisplayName("Global limit denial does not charge the chat")
+    void tryAcquire_globalDenialRefundsChat() {
+        var limiter = limiter(2, 1);
+        limiter.tryAcquire(1L);
+        limiter.tryAcquire(2L);
+
+        assertThat(limiter.tryAcquire(3L)).isEqualTo(SECOND / 2);
+
+        clock.addAndGet(SECOND / 2);
+        assertThat(limiter.tryAcquire(3L)).isZero();
     }
 }
@@ -29,7 +29,9 @@ import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -40,6 +42,8 @@ import org.slf4j.LoggerFactory;
 class TelegramSenderSendTest {
 
     private TelegramBot bot;
+    private RateLimiterPort rateLimiter;
+    private TelegramOutboundScheduler scheduler;
     private TelegramSender sender;
 
     @SuppressWarnings({"unchecked", "rawtypes"})
@@ -55,7 +59,7 @@ class TelegramSenderSendTest {
         }).when(bot).execute(
                 any(BaseRequest.class), any(Callback.class));
 
-        var rateLimiter = mock(RateLimiterPort.class);
+        rateLimiter = mock(RateLimiterPort.class);
         var cb = CircuitBreaker.ofDefaults("test");
         var bulkhead = Bulkhead.ofDefaults("test");
         var metrics = new MetricsFacade(
@@ -64,10 +68,17 @@ class TelegramSenderSendTest {
                 1, List.of(Duration.ofSeconds(1)));
         var executor = Executors
                 .newVirtualThreadPerTaskExecutor();
-        sender = new TelegramSender(bot, rateLimiter,
+        scheduler = new TelegramOutboundScheduler(rateLimiter, metrics,
+                new TelegramOutboundProperties(16, 4, 1, Duration.ofSeconds(5)));
+        sender = new TelegramSender(bot, scheduler,
                 cb, bulkhead, metrics, retryProps, executor);
     }
 
+    @AfterEach
+    void tearDown() {
+        scheduler.shutdown();
+    }
+
     @Test
     @DisplayName("send(chatId, text) creates SendMessage with MarkdownV2")
     void send_createsMarkdownV2Message() {
@@ -78,6 +89,18 @@ class TelegramSenderSendTest {
                 any(Callback.class));
     }
 
+    @Test
+    @DisplayName("send(chatId, text) waits out the rate limit before sending")
+    void send_waitsOutRateLimit() {
+        when(rateLimiter.tryAcquire(42L))
+                .thenReturn(TimeUnit.MILLISECONDS.toNanos(20), 0L);
+
+        sender.send(42L, "*Hello*");
+
+        verify(rateLimiter, times(2)).tryAcquire(42L);
+        verify(bot).execute(any(SendMessage.class), any(Callback.class));
+    }
+
     @Test
     @DisplayName("send(chatId, text, keyboard) adds reply markup")
     void send_withKeyboard_addsReplyMarkup() {
@@ -185,9 +208,9 @@ class TelegramSenderSendTest {
     }
 
     @Test
-    @DisplayName("answerCallback(id) creates AnswerCallbackQuery")
+    @DisplayName("answerCallback(chatId, id) creates AnswerCallbackQuery")
     void answerCallback_createsQuery() {
-        sender.answerCallback("cb_123");
+        sender.answerCallback(1L, "cb_123");
 
         verify(bot).execute(
                 any(AnswerCallbackQuery.class),
@@ -195,9 +218,9 @@ class TelegramSenderSendTest {
     }
 
     @Test
-    @DisplayName("answerCallback(id, text) adds text to answer")
+    @DisplayName("answerCallback(chatId, id, text) adds text to answer")
     void answerCallback_withText_addsText() {
-        sender.answerCallback("cb_456", "Done!");
+        sender.answerCallback(1L, "cb_456", "Done!");
 
         verify(bot).execute(
                 any(AnswerCallbackQuery.class),
@@ -3,11 +3,14 @@ package com.advertmarket.communication.channel;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import com.advertmarket.communication.bot.internal.sender.SendPriority;
 import com.advertmarket.communication.bot.internal.sender.TelegramSender;
 import com.advertmarket.communication.channel.internal.ChannelCachePort;
 import com.advertmarket.communication.channel.internal.ChannelRateLimiterPort;
@@ -88,7 +91,7 @@ class TelegramChannelServiceTest {
             var response = buildGetChatResponse(
                     123L, "Test", "test",
                     ChatFullInfo.Type.channel, "desc");
-            when(sender.execute(any(GetChat.class)))
+            when(sender.execute(any(GetChat.class), anyLong(), eq(SendPriority.BULK)))
                     .thenReturn(response);
 
             ChatInfo result = service.getChat(123L);
@@ -107,7 +110,7 @@ class TelegramChannelServiceTest {
             var response = buildErrorResponse(
                     GetChatResponse.class, 400,
                     "Bad Request: chat not found");
-            when(sender.execute(any(GetChat.class)))
+            when(sender.execute(any(GetChat.class), anyLong(), eq(SendPriority.BULK)))
                     .thenReturn(response);
 
             assertThatThrownBy(() -> service.getChat(123L))
@@ -126,7 +129,7 @@ class TelegramChannelServiceTest {
             var response = buildErrorResponse(
                     GetChatResponse.class, 400,
                     "Bad Request: member list is inaccessible");
-            when(sender.execute(any(GetChat.class)))
+            when(sender.execute(any(GetChat.class), anyLong(), eq(SendPriority.BULK)))
                     .thenReturn(response);
 
             assertThatThrownBy(() -> service.getChat(123L))
@@ -145,7 +148,7 @@ class TelegramChannelServiceTest {
             var response = buildErrorResponse(
                     GetChatResponse.class, 403,
                     "Forbidden: bot is not a member");
-            when(sender.execute(any(GetChat.class)))
+            when(sender.execute(any(GetChat.class), anyLong(), eq(SendPriority.BULK)))
                     .thenReturn(response);
 
             assertThatThrownBy(() -> service.getChat(123L))
@@ -164,7 +167,7 @@ class TelegramChannelServiceTest {
                     .thenReturn(Optional.of(new ChatInfo(
                             123L, "Stale", null,
                             "channel", null)));
-            when(sender.execute(any(GetChat.class)))
+            when(sender.execute(any(GetChat.class), anyLong(), eq(SendPriority.BULK)))
                     .thenThrow(mock(
                             CallNotPermittedException.class));
 
@@ -178,7 +181,7 @@ class TelegramChannelServiceTest {
         void throwsServiceUnavailableWhenNoCacheAndCbOpen() {
             when(cache.getChatInfo(123L))
                     .thenReturn(Optional.empty());
-            when(sender.execute(any(GetChat.class)))
+            when(sender.execute(any(GetChat.class), anyLong(), eq(SendPriority.BULK)))
                     .thenThrow(mock(
                             CallNotPermittedException.class));
 
@@ -219,7 +222,7 @@ class TelegramChannelServiceTest {
                     List.of(buildChatMember(
                             ChatMember.Status.creator, 42L)));
             when(sender.execute(
-                    any(GetChatAdministrators.class)))
+                    any(GetChatAdministrators.class), anyLong(), eq(SendPriority.BULK)))
                     .thenReturn(response);
 
             var result = service.getChatAdministrators(123L);
@@ -240,7 +243,7 @@ class TelegramChannelServiceTest {
         @DisplayName("Returns member count from API")
         void returnsMemberCount() {
             var response = buildGetMemberCountResponse(1500);
-            when(sender.execute(any(GetChatMemberCount.class)))
+            when(sender.execute(any(GetChatMemberCount.class), anyLong(), eq(SendPriority.BULK)))
                     .thenReturn(response);
 
             int count = service.getChatMemberCount(123L);
@@ -251,7 +254,7 @@ class TelegramChannelServiceTest {
         @Test
         @DisplayName("Throws SERVICE_UNAVAILABLE on circuit breaker open")
         void throwsOnCbOpen() {
-            when(sender.execute(any(GetChatMemberCount.class)))
+            when(sender.execute(any(GetChatMemberCount.class), anyLong(), eq(SendPriority.BULK)))
                     .thenThrow(mock(
                             CallNotPermittedException.class));
 
@@ -0,0 +1,133 @@
+package com.advertmarket.communication.listener;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.advertmarket.communication.api.event.NotificationEvent;
+import com.advertmarket.communication.api.notification.NotificationPort;
+import com.advertmarket.communication.api.notification.NotificationRequest;
+import com.advertmarket.communication.api.notification.NotificationType;
+import com.advertmarket.communication.notification.RecipientPreferenceCache;
+import com.advertmarket.shared.event.EventDeserializationException;
+import com.advertmarket.shared.event.EventEnvelope;
+import com.advertmarket.shared.event.EventEnvelopeDeserializer;
+import com.advertmarket.shared.event.EventTypes;
+import com.advertmarket.shared.metric.MetricsFacade;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+
+@DisplayName("NotificationBatchListener")
+class NotificationBatchListenerTest {
+
+    private final EventEnvelopeDeserializer deserializer =
+            mock(EventEnvelopeDeserializer.class);
+    private final NotificationPort notificationPort = mock(NotificationPort.class);
+    private final RecipientPreferenceCache recipients =
+            mock(RecipientPreferenceCache.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final Acknowledgment ack = mock(Acknowledgment.class);
+    private final NotificationBatchListener listener = new NotificationBatchListener(
+            deserializer, notificationPort, recipients, new MetricsFacade(registry),
+            new NotificationConsumerProperties(true, Duration.ofMillis(200)));
+
+    @BeforeEach
+    void setUp() {
+        when(notificationPort.sendAsync(any()))
+                .thenReturn(CompletableFuture.completedFuture(true));
+    }
+
+    @Test
+    @DisplayName("Sends the whole batch before waiting and acknowledges it")
+    void onBatch_sendsAllConcurrently() {
+        var pending = new ArrayList<CompletableFuture<Boolean>>();
+        when(notificationPort.sendAsync(any())).thenAnswer(invocation -> {
+            var future = new CompletableFuture<Boolean>();
+            pending.add(future);
+            if (pending.size() == 3) {
+                pending.forEach(f -> f.complete(true));
+            }
+            return future;
+        });
+
+        listener.onBatch(List.of(record(0, 1L), record(1, 2L), record(2, 1L)), ack);
+
+        verify(recipients).getAll(List.of(1L, 2L));
+        verify(ack).acknowledge();
+        assertThat(registry.counter("notification.telegram.delivered",
+                "type", "PUBLISHED").count()).isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Counts failed sends and still acknowledges them")
+    void onBatch_countsFailures() {
+        when(notificationPort.sendAsync(new NotificationRequest(
+                2L, NotificationType.PUBLISHED, Map.of())))
+                .thenReturn(CompletableFuture.completedFuture(false));
+
+        listener.onBatch(List.of(record(0, 1L), record(1, 2L)), ack);
+
+        verify(ack).acknowledge();
+        assertThat(registry.counter("notification.telegram.failed",
+                "type", "PUBLISHED").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Commits only the finished prefix when the batch times out")
+    void onBatch_nacksFromFirstUnfinishedRecord() {
+        when(notificationPort.sendAsync(new NotificationRequest(
+                2L, NotificationType.PUBLISHED, Map.of())))
+                .thenReturn(new CompletableFuture<>());
+
+        listener.onBatch(List.of(record(0, 1L), record(1, 2L), record(2, 3L)), ack);
+
+        verify(ack).nack(1, Duration.ofSeconds(1));
+        verify(ack, never()).acknowledge();
+        assertThat(registry.counter("notification.telegram.delivered",
+                "type", "PUBLISHED").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Sends records before a malformed one, then fails at its index")
+    void onBatch_failsAtMalformedRecord() {
+        var malformed = new ConsumerRecord<>("topic", 0, 1L, "key", "broken");
+        when(deserializer.deserialize("broken"))
+                .thenThrow(new EventDeserializationException("broken"));
+
+        assertThatThrownBy(() -> listener.onBatch(
+                List.of(record(0, 1L), malformed, record(2, 3L)), ack))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class,
+                        e -> assertThat(e.getIndex()).isEqualTo(1));
+
+        verify(notificationPort).sendAsync(new NotificationRequest(
+                1L, NotificationType.PUBLISHED, Map.of()));
+        verify(notificationPort, never()).sendAsync(new NotificationRequest(
+                3L, NotificationType.PUBLISHED, Map.of()));
+        verify(ack, never()).acknowledge();
+        verify(ack, never()).nack(anyInt(), any(Duration.class));
+    }
+
+    private ConsumerRecord<String, String> record(long offset, long recipientId) {
+        String json = "event-" + offset;
+        var envelope = EventEnvelope.create(EventTypes.NOTIFICATION, null,
+                new NotificationEvent(recipientId, "PUBLISHED", "en", Map.of(), null));
+        doReturn(envelope).when(deserializer).deserialize(json);
+        return new ConsumerRecord<>("topic", 0, offset, "key", json);
+    }
+}
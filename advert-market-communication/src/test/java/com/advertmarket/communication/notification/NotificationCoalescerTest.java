@@ -0,0 +1,168 @@
+package com.advertmarket.communication.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.advertmarket.communication.api.notification.NotificationRequest;
+import com.advertmarket.communication.api.notification.NotificationType;
+import com.advertmarket.shared.metric.MetricsFacade;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("NotificationCoalescer")
+class NotificationCoalescerTest {
+
+    private static final NotificationRequest PUBLISHED = new NotificationRequest(
+            1L, NotificationType.PUBLISHED, Map.of("channel_name", "News"));
+    private static final NotificationRequest VERIFIED = new NotificationRequest(
+            1L, NotificationType.DELIVERY_VERIFIED, Map.of("deal_id_short", "3f2a"));
+    private static final NotificationRequest DISPUTE = new NotificationRequest(
+            1L, NotificationType.DISPUTE_OPENED, Map.of("deal_id_short", "3f2a"));
+
+    private final TelegramNotificationService delivery =
+            mock(TelegramNotificationService.class);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private NotificationCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        when(delivery.sendDigest(anyLong(), anyList())).thenReturn(true);
+        coalescer = coalescer(true, Duration.ofMillis(100), 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        coalescer.shutdown();
+    }
+
+    @Test
+    @DisplayName("Sends notifications within the window as one digest")
+    void sendAsync_coalescesWithinWindow() {
+        var published = coalescer.sendAsync(PUBLISHED);
+        var verified = coalescer.sendAsync(VERIFIED);
+
+        verify(delivery, never()).sendDigest(anyLong(), anyList());
+        verify(delivery, timeout(2_000)).sendDigest(1L, List.of(PUBLISHED, VERIFIED));
+        assertThat(registry.counter("notification.telegram.coalesced").count())
+                .isEqualTo(1.0);
+        assertThat(published).succeedsWithin(Duration.ofSeconds(2)).isEqualTo(true);
+        assertThat(verified).succeedsWithin(Duration.ofSeconds(2)).isEqualTo(true);
+    }
+
+    @Test
+    @DisplayName("Reports a failed digest to every notification buffered in it")
+    void sendAsync_reportsFailedDigest() {
+        when(delivery.sendDigest(1L, List.of(PUBLISHED, VERIFIED))).thenReturn(false);
+
+        var published = coalescer.sendAsync(PUBLISHED);
+        var verified = coalescer.sendAsync(VERIFIED);
+
+        assertThat(published).succeedsWithin(Duration.ofSeconds(2)).isEqualTo(false);
+        assertThat(verified).succeedsWithin(Duration.ofSeconds(2)).isEqualTo(false);
+    }
+
+    @Test
+    @DisplayName("Blocks a synchronous send until the window flushes")
+    void send_waitsForDigest() {
+        assertThat(coalescer.send(PUBLISHED)).isTrue();
+
+        verify(delivery).sendDigest(1L, List.of(PUBLISHED));
+    }
+
+    @Test
+    @DisplayName("Sends identical notifications once")
+    void sendAsync_dropsDuplicates() {
+        coalescer.sendAsync(PUBLISHED);
+        coalescer.sendAsync(PUBLISHED);
+
+        verify(delivery, timeout(2_000)).sendDigest(1L, List.of(PUBLISHED));
+    }
+
+    @Test
+    @DisplayName("Flushes the buffer at once with an urgent notification")
+    void send_flushesOnUrgentType() {
+        when(delivery.sendDigest(1L, List.of(PUBLISHED, DISPUTE))).thenReturn(false);
+        var published = coalescer.sendAsync(PUBLISHED);
+
+        assertThat(coalescer.send(DISPUTE)).isFalse();
+
+        verify(delivery).sendDigest(1L, List.of(PUBLISHED, DISPUTE));
+        assertThat(published).isCompletedWithValue(false);
+    }
+
+    @Test
+    @DisplayName("Flushes urgent notifications through the async delivery path")
+    void sendAsync_flushesOnUrgentType() {
+        when(delivery.sendDigestAsync(1L, List.of(PUBLISHED, DISPUTE)))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        var published = coalescer.sendAsync(PUBLISHED);
+        assertThat(coalescer.sendAsync(DISPUTE)).isCompletedWithValue(true);
+
+        assertThat(published).isCompletedWithValue(true);
+        verify(delivery).sendDigestAsync(1L, List.of(PUBLISHED, DISPUTE));
+        verify(delivery, never()).sendDigest(anyLong(), anyList());
+    }
+
+    @Test
+    @DisplayName("Flushes a buffer that reaches the batch limit")
+    void sendAsync_flushesFullBatch() {
+        coalescer.shutdown();
+        coalescer = coalescer(true, Duration.ofMinutes(1), 2);
+        when(delivery.sendDigestAsync(1L, List.of(PUBLISHED, VERIFIED)))
+                .thenReturn(CompletableFuture.completedFuture(true));
+
+        coalescer.sendAsync(PUBLISHED);
+        coalescer.sendAsync(VERIFIED);
+
+        verify(delivery).sendDigestAsync(1L, List.of(PUBLISHED, VERIFIED));
+    }
+
+    @Test
+    @DisplayName("Flushes buffered notifications on shutdown")
+    void shutdown_flushesPending() {
+        coalescer.shutdown();
+        coalescer = coalescer(true, Duration.ofMinutes(1), 10);
+        var published = coalescer.sendAsync(PUBLISHED);
+        assertThat(published).isNotDone();
+
+        coalescer.shutdown();
+
+        verify(delivery).sendDigest(1L, List.of(PUBLISHED));
+        assertThat(published).isCompletedWithValue(true);
+    }
+
+    @Test
+    @DisplayName("Sends directly when coalescing is disabled")
+    void send_delegatesWhenDisabled() {
+        coalescer.shutdown();
+        coalescer = coalescer(false, Duration.ofMinutes(1), 10);
+        when(delivery.send(PUBLISHED)).thenReturn(true);
+
+        assertThat(coalescer.send(PUBLISHED)).isTrue();
+
+        verify(delivery).send(PUBLISHED);
+        verify(delivery, never()).sendDigest(anyLong(), any());
+    }
+
+    private NotificationCoalescer coalescer(boolean enabled, Duration window, int maxBatch) {
+        return new NotificationCoalescer(delivery, new MetricsFacade(registry),
+                new NotificationDigestProperties(enabled, window, maxBatch,
+                        Set.of(NotificationType.DISPUTE_OPENED)));
+    }
+}
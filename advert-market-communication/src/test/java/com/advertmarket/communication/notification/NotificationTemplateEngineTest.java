@@ -0,0 +1,61 @@
+package com.advertmarket.communication.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.advertmarket.communication.api.notification.NotificationType;
+import com.advertmarket.shared.i18n.LocalizationService;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("NotificationTemplateEngine")
+class NotificationTemplateEngineTest {
+
+    private final LocalizationService i18n = mock(LocalizationService.class);
+    private final NotificationTemplateEngine engine = new NotificationTemplateEngine(i18n);
+
+    @Test
+    @DisplayName("Resolves each template once per language")
+    void render_compilesOncePerLanguage() {
+        when(i18n.msg("notification.published", "en")).thenReturn("Published on {channel_name}");
+
+        engine.render(NotificationType.PUBLISHED, "en", Map.of("channel_name", "a"));
+        String rendered = engine.render(NotificationType.PUBLISHED, "en",
+                Map.of("channel_name", "b"));
+
+        assertThat(rendered).isEqualTo("Published on b");
+        verify(i18n, times(1)).msg("notification.published", "en");
+    }
+
+    @Test
+    @DisplayName("Picks up changed template text on refresh")
+    void refresh_recompilesChangedTemplates() {
+        when(i18n.msg("notification.published", "en"))
+                .thenReturn("Published on {channel_name}", "Now live on {channel_name}");
+        engine.render(NotificationType.PUBLISHED, "en", Map.of("channel_name", "a"));
+
+        engine.refresh();
+
+        assertThat(engine.render(NotificationType.PUBLISHED, "en", Map.of("channel_name", "a")))
+                .isEqualTo("Now live on a");
+    }
+
+    @Test
+    @DisplayName("Compiles all notification types of bundled languages on warm-up")
+    void warmUp_compilesBundledLanguages() {
+        when(i18n.msg(anyString(), anyString())).thenReturn("text");
+
+        engine.warmUp();
+
+        verify(i18n, times(NotificationType.values().length))
+                .msg(anyString(), eq("ru"));
+        verify(i18n, times(NotificationType.values().length))
+                .msg(anyString(), eq("en"));
+    }
+}
@@ -0,0 +1,60 @@
+package com.advertmarket.communication.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("NotificationTemplate")
+class NotificationTemplateTest {
+
+    @Test
+    @DisplayName("Escapes literals and substitutes escaped values")
+    void render_escapesLiteralsAndValues() {
+        var template = NotificationTemplate.compile(
+                "*Escrow funded*\nDeal {deal_id_short}: {amount} deposited.");
+
+        String rendered = template.render(
+                Map.of("deal_id_short", "a1-b2", "amount", "10.5 TON"));
+
+        assertThat(rendered).isEqualTo(
+                "\\*Escrow funded\\*\nDeal a1\\-b2: 10\\.5 TON deposited\\.");
+    }
+
+    @Test
+    @DisplayName("Keeps placeholders without a value as escaped text")
+    void render_keepsMissingPlaceholder() {
+        var template = NotificationTemplate.compile("Channel {channel_name}!");
+
+        assertThat(template.render(Map.of()))
+                .isEqualTo("Channel \\{channel\\_name\\}\\!");
+    }
+
+    @Test
+    @DisplayName("Treats braces that are not placeholders as literals")
+    void compile_ignoresNonPlaceholderBraces() {
+        var template = NotificationTemplate.compile("{} {a b} {x");
+
+        assertThat(template.render(Map.of("a b", "v", "x", "v")))
+                .isEqualTo("\\{\\} \\{a b\\} \\{x");
+    }
+
+    @Test
+    @DisplayName("Does not substitute placeholders that appear inside values")
+    void render_doesNotExpandValues() {
+        var template = NotificationTemplate.compile("{a} {b}");
+
+        assertThat(template.render(Map.of("a", "{b}", "b", "x")))
+                .isEqualTo("\\{b\\} x");
+    }
+
+    @Test
+    @DisplayName("Renders a template without placeholders")
+    void render_templateWithoutPlaceholders() {
+        var template = NotificationTemplate.compile("Reconciliation issue.");
+
+        assertThat(template.render(Map.of("unused", "x")))
+                .isEqualTo("Reconciliation issue\\.");
+    }
+}
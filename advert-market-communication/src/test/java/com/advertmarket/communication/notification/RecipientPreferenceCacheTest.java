@@ -0,0 +1,114 @@
+package com.advertmarket.communication.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.advertmarket.communication.api.notification.NotificationType;
+import com.advertmarket.identity.api.dto.NotificationSettings;
+import com.advertmarket.identity.api.dto.UserDeliveryProfile;
+import com.advertmarket.identity.api.port.UserProfileEventPort;
+import com.advertmarket.identity.api.port.UserRepository;
+import com.advertmarket.shared.model.UserId;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+@DisplayName("RecipientPreferenceCache")
+class RecipientPreferenceCacheTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final List<Consumer<UserId>> listeners = new ArrayList<>();
+    private final UserProfileEventPort profileEvents = new UserProfileEventPort() {
+        @Override
+        public void publishChanged(UserId userId) {
+            listeners.forEach(listener -> listener.accept(userId));
+        }
+
+        @Override
+        public void subscribe(Consumer<UserId> listener) {
+            listeners.add(listener);
+        }
+    };
+    private final RecipientPreferenceCache cache = new RecipientPreferenceCache(
+            userRepository, profileEvents,
+            new RecipientCacheProperties(1_000, Duration.ofMinutes(5)));
+
+    @Test
+    @DisplayName("Loads all missing recipients in one query")
+    @SuppressWarnings("unchecked")
+    void getAll_loadsMissesInOneQuery() {
+        when(userRepository.findDeliveryProfiles(anyCollection()))
+                .thenReturn(List.of(profile(1L, "ru"), profile(2L, "en")));
+
+        var preferences = cache.getAll(List.of(1L, 2L, 3L));
+
+        var captor = ArgumentCaptor.forClass(Collection.class);
+        verify(userRepository, times(1)).findDeliveryProfiles(captor.capture());
+        assertThat((Collection<UserId>) captor.getValue()).containsExactlyInAnyOrder(
+                new UserId(1L), new UserId(2L), new UserId(3L));
+        assertThat(preferences.get(1L).languageCode()).isEqualTo("ru");
+        assertThat(preferences.get(3L)).isEqualTo(RecipientPreferences.UNKNOWN);
+    }
+
+    @Test
+    @DisplayName("Serves known recipients without reading the repository")
+    void get_servesKnownRecipientsFromCache() {
+        when(userRepository.findDeliveryProfiles(List.of(new UserId(1L))))
+                .thenReturn(List.of(profile(1L, "ru")));
+
+        cache.get(1L);
+        var preferences = cache.get(1L);
+
+        assertThat(preferences.languageCode()).isEqualTo("ru");
+        verify(userRepository, times(1)).findDeliveryProfiles(anyCollection());
+    }
+
+    @Test
+    @DisplayName("Reloads a recipient after a profile change event")
+    void get_reloadsAfterProfileChange() {
+        when(userRepository.findDeliveryProfiles(List.of(new UserId(1L))))
+                .thenReturn(List.of(profile(1L, "ru")), List.of(profile(1L, "en")));
+        cache.get(1L);
+
+        profileEvents.publishChanged(new UserId(1L));
+
+        assertThat(cache.get(1L).languageCode()).isEqualTo("en");
+    }
+
+    @Test
+    @DisplayName("Maps notification settings to opted-out types")
+    void of_mapsSettingsToOptOuts() {
+        var settings = new NotificationSettings(
+                new NotificationSettings.DealNotifications(true, false, true),
+                new NotificationSettings.FinancialNotifications(true, true, true),
+                new NotificationSettings.DisputeNotifications(true, false));
+
+        var preferences = RecipientPreferences.of(
+                new UserDeliveryProfile(1L, "en", settings, false));
+
+        assertThat(preferences.optedOut()).containsExactlyInAnyOrder(
+                NotificationType.OFFER_ACCEPTED,
+                NotificationType.OFFER_REJECTED,
+                NotificationType.DISPUTE_RESOLVED);
+        assertThat(preferences.accepts(NotificationType.CHANNEL_BOT_REMOVED)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Returns unknown preferences for invalid user ids")
+    void get_invalidUserId() {
+        assertThat(cache.get(0L)).isEqualTo(RecipientPreferences.UNKNOWN);
+    }
+
+    private static UserDeliveryProfile profile(long id, String language) {
+        return new UserDeliveryProfile(id, language, NotificationSettings.defaults(), false);
+    }
+}
@@ -1,31 +1,38 @@
 package com.advertmarket.communication.notification;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.advertmarket.communication.api.notification.NotificationRequest;
 import com.advertmarket.communication.api.notification.NotificationType;
+import com.advertmarket.communication.bot.internal.sender.SendPriority;
 import com.advertmarket.communication.bot.internal.sender.TelegramSender;
-import com.advertmarket.identity.api.dto.CurrencyMode;
 import com.advertmarket.identity.api.dto.NotificationSettings;
-import com.advertmarket.identity.api.dto.UserProfile;
+import com.advertmarket.identity.api.dto.UserDeliveryProfile;
+import com.advertmarket.identity.api.port.UserProfileEventPort;
 import com.advertmarket.identity.api.port.UserRepository;
 import com.advertmarket.shared.i18n.LocalizationService;
+import com.advertmarket.shared.metric.MetricsFacade;
 import com.advertmarket.shared.model.UserId;
 import com.pengrad.telegrambot.response.BaseResponse;
 import com.pengrad.telegrambot.response.SendResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.lang.reflect.Field;
-import java.time.Instant;
+import java.time.Duration;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -39,21 +46,30 @@ class TelegramNotificationServiceTest {
             mock(LocalizationService.class);
     private final UserRepository userRepository =
             mock(UserRepository.class);
+    private final SimpleMeterRegistry registry =
+            new SimpleMeterRegistry();
     private final TelegramNotificationService service =
             new TelegramNotificationService(
-                    sender, i18n, userRepository);
+                    sender, new NotificationTemplateEngine(i18n),
+                    new RecipientPreferenceCache(userRepository,
+                            mock(UserProfileEventPort.class),
+                            new RecipientCacheProperties(
+                                    1_000, Duration.ofMinutes(5))),
+                    new MetricsFacade(registry));
 
     @BeforeEach
     void setUp() {
-        when(sender.send(anyLong(), anyString()))
+        when(sender.send(anyLong(), anyString(),
+                eq(SendPriority.NOTIFICATION)))
                 .thenReturn(okResponse());
     }
 
     @Test
     @DisplayName("Uses user language code when user profile exists")
     void send_usesUserLanguageCodeWhenProfileExists() {
-        when(userRepository.findById(new UserId(100L)))
-                .thenReturn(Optional.of(userProfile(100L, "ru")));
+        when(userRepository.findDeliveryProfiles(
+                List.of(new UserId(100L))))
+                .thenReturn(List.of(deliveryProfile(100L, "ru")));
         when(i18n.msg("notification.new_offer", "ru"))
                 .thenReturn("Новый оффер для {channel_name}");
 
@@ -71,8 +87,9 @@ class TelegramNotificationServiceTest {
     @Test
     @DisplayName("Falls back to English when user profile is absent")
     void send_fallsBackToEnglishWhenProfileAbsent() {
-        when(userRepository.findById(new UserId(100L)))
-                .thenReturn(Optional.empty());
+        when(userRepository.findDeliveryProfiles(
+                List.of(new UserId(100L))))
+                .thenReturn(List.of());
         when(i18n.msg("notification.new_offer", "en"))
                 .thenReturn("New offer for {channel_name}");
 
@@ -90,8 +107,9 @@ class TelegramNotificationServiceTest {
     @Test
     @DisplayName("Falls back to English when language code is blank")
     void send_fallsBackToEnglishWhenLanguageCodeBlank() {
-        when(userRepository.findById(new UserId(100L)))
-                .thenReturn(Optional.of(userProfile(100L, "   ")));
+        when(userRepository.findDeliveryProfiles(
+                List.of(new UserId(100L))))
+                .thenReturn(List.of(deliveryProfile(100L, "   ")));
         when(i18n.msg("notification.new_offer", "en"))
                 .thenReturn("New offer for {channel_name}");
 
@@ -109,8 +127,9 @@ class TelegramNotificationServiceTest {
     @Test
     @DisplayName("Substitutes template variables")
     void send_substitutesVariables() {
-        when(userRepository.findById(new UserId(100L)))
-                .thenReturn(Optional.empty());
+        when(userRepository.findDeliveryProfiles(
+                List.of(new UserId(100L))))
+                .thenReturn(List.of());
         when(i18n.msg("notification.new_offer", "en"))
                 .thenReturn("*New offer*\n"
                         + "Offer for {channel_name}\\.");
@@ -124,7 +143,8 @@ class TelegramNotificationServiceTest {
 
         assertThat(result).isTrue();
         verify(sender).send(eq(100L),
-                contains("TestChannel"));
+                contains("TestChannel"),
+                eq(SendPriority.NOTIFICATION));
     }
 
     @Test
@@ -136,8 +156,9 @@ class TelegramNotificationServiceTest {
             when(i18n.msg(eq(key), eq("en")))
                     .thenReturn(type.name());
         }
-        when(userRepository.findById(new UserId(1L)))
-                .thenReturn(Optional.empty());
+        when(userRepository.findDeliveryProfiles(
+                List.of(new UserId(1L))))
+                .thenReturn(List.of());
 
         for (var type : NotificationType.values()) {
             var request = new NotificationRequest(
@@ -149,11 +170,13 @@ class TelegramNotificationServiceTest {
     @Test
     @DisplayName("Returns false when Telegram API response is non-OK")
     void send_returnsFalseWhenTelegramRejects() {
-        when(userRepository.findById(new UserId(1L)))
-                .thenReturn(Optional.empty());
+        when(userRepository.findDeliveryProfiles(
+                List.of(new UserId(1L))))
+                .thenReturn(List.of());
         when(i18n.msg(anyString(), eq("en")))
                 .thenReturn("template");
-        when(sender.send(anyLong(), anyString()))
+        when(sender.send(anyLong(), anyString(),
+                eq(SendPriority.NOTIFICATION)))
                 .thenReturn(errorResponse(401, "Unauthorized"));
 
         var request = new NotificationRequest(
@@ -165,12 +188,14 @@ class TelegramNotificationServiceTest {
     @Test
     @DisplayName("Returns false on send error")
     void send_returnsFalseOnError() {
-        when(userRepository.findById(new UserId(1L)))
-                .thenReturn(Optional.empty());
+        when(userRepository.findDeliveryProfiles(
+                List.of(new UserId(1L))))
+                .thenReturn(List.of());
         when(i18n.msg(anyString(), eq("en")))
                 .thenReturn("template");
         doThrow(new RuntimeException("fail"))
-                .when(sender).send(anyLong(), anyString());
+                .when(sender).send(anyLong(), anyString(),
+                        eq(SendPriority.NOTIFICATION));
 
         var request = new NotificationRequest(
                 1L, NotificationType.PUBLISHED, Map.of());
@@ -178,19 +203,139 @@ class TelegramNotificationServiceTest {
         assertThat(service.send(request)).isFalse();
     }
 
-    private static UserProfile userProfile(long id, String languageCode) {
-        return new UserProfile(
-                id,
-                "user" + id,
-                "User " + id,
-                languageCode,
-                "USD",
-                CurrencyMode.AUTO,
-                NotificationSettings.defaults(),
-                true,
-                java.util.List.of("tech"),
-                null,
-                Instant.now());
+    @Test
+    @DisplayName("Skips notification types the user turned off")
+    void send_skipsOptedOutType() {
+        var settings = new NotificationSettings(
+                new NotificationSettings.DealNotifications(
+                        false, true, true),
+                new NotificationSettings.FinancialNotifications(
+                        true, true, true),
+                new NotificationSettings.DisputeNotifications(
+                        true, true));
+        when(userRepository.findDeliveryProfiles(
+                List.of(new UserId(1L))))
+                .thenReturn(List.of(new UserDeliveryProfile(
+                        1L, "en", settings, false)));
+
+        var request = new NotificationRequest(
+                1L, NotificationType.NEW_OFFER, Map.of());
+
+        assertThat(service.send(request)).isTrue();
+        verify(sender, never()).send(anyLong(), anyString(),
+                any(SendPriority.class));
+        assertThat(registry.counter("notification.telegram.suppressed",
+                "type", "NEW_OFFER").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Skips notifications to deleted accounts")
+    void send_skipsDeletedAccount() {
+        when(userRepository.findDeliveryProfiles(
+                List.of(new UserId(1L))))
+                .thenReturn(List.of(new UserDeliveryProfile(
+                        1L, "en", NotificationSettings.defaults(), true)));
+
+        var request = new NotificationRequest(
+                1L, NotificationType.PUBLISHED, Map.of());
+
+        assertThat(service.send(request)).isTrue();
+        verify(sender, never()).send(anyLong(), anyString(),
+                any(SendPriority.class));
+    }
+
+    @Test
+    @DisplayName("Loads each recipient once across notifications")
+    void send_loadsRecipientOnce() {
+        when(i18n.msg(anyString(), eq("ru"))).thenReturn("template");
+        when(userRepository.findDeliveryProfiles(
+                List.of(new UserId(1L))))
+                .thenReturn(List.of(deliveryProfile(1L, "ru")));
+
+        service.send(new NotificationRequest(
+                1L, NotificationType.PUBLISHED, Map.of()));
+        service.send(new NotificationRequest(
+                1L, NotificationType.DEAL_EXPIRED, Map.of()));
+
+        verify(userRepository, times(1)).findDeliveryProfiles(
+                List.of(new UserId(1L)));
+    }
+
+    @Test
+    @DisplayName("Sends a digest as one message separated by blank lines")
+    void sendDigest_joinsNotificationsInOneMessage() {
+        when(i18n.msg("notification.published", "en")).thenReturn("Published");
+        when(i18n.msg("notification.deal_expired", "en")).thenReturn("Expired");
+        when(userRepository.findDeliveryProfiles(
+                List.of(new UserId(1L))))
+                .thenReturn(List.of(deliveryProfile(1L, "en")));
+
+        boolean result = service.sendDigest(1L, List.of(
+                new NotificationRequest(1L, NotificationType.PUBLISHED, Map.of()),
+                new NotificationRequest(1L, NotificationType.DEAL_EXPIRED, Map.of())));
+
+        assertThat(result).isTrue();
+        verify(sender).send(1L, "Published\n\nExpired",
+                SendPriority.NOTIFICATION);
+    }
+
+    @Test
+    @DisplayName("Splits a digest longer than one Telegram message")
+    void sendDigest_splitsOversizedDigest() {
+        String longText = "a".repeat(
+                TelegramNotificationService.MAX_MESSAGE_LENGTH - 10);
+        when(i18n.msg(anyString(), eq("en"))).thenReturn(longText);
+        when(userRepository.findDeliveryProfiles(
+                List.of(new UserId(1L))))
+                .thenReturn(List.of(deliveryProfile(1L, "en")));
+
+        boolean result = service.sendDigest(1L, List.of(
+                new NotificationRequest(1L, NotificationType.PUBLISHED, Map.of()),
+                new NotificationRequest(1L, NotificationType.DEAL_EXPIRED, Map.of())));
+
+        assertThat(result).isTrue();
+        verify(sender, times(2)).send(1L, longText, SendPriority.NOTIFICATION);
+    }
+
+    @Test
+    @DisplayName("Sends asynchronously through the async sender API")
+    void sendAsync_usesAsyncSender() {
+        when(i18n.msg("notification.published", "en")).thenReturn("Published");
+        when(userRepository.findDeliveryProfiles(
+                List.of(new UserId(1L))))
+                .thenReturn(List.of(deliveryProfile(1L, "en")));
+        when(sender.sendAsync(1L, "Published", SendPriority.NOTIFICATION))
+                .thenReturn(CompletableFuture.completedFuture(okResponse()));
+
+        var result = service.sendAsync(new NotificationRequest(
+                1L, NotificationType.PUBLISHED, Map.of()));
+
+        assertThat(result).isCompletedWithValue(true);
+        verify(sender, never()).send(anyLong(), anyString(),
+                any(SendPriority.class));
+    }
+
+    @Test
+    @DisplayName("Completes with false when the async send fails")
+    void sendAsync_completesWithFalseOnFailure() {
+        when(i18n.msg("notification.published", "en")).thenReturn("Published");
+        when(userRepository.findDeliveryProfiles(
+                List.of(new UserId(1L))))
+                .thenReturn(List.of(deliveryProfile(1L, "en")));
+        when(sender.sendAsync(1L, "Published", SendPriority.NOTIFICATION))
+                .thenReturn(CompletableFuture.failedFuture(
+                        new IllegalStateException("boom")));
+
+        var result = service.sendAsync(new NotificationRequest(
+                1L, NotificationType.PUBLISHED, Map.of()));
+
+        assertThat(result).isCompletedWithValue(false);
+    }
+
+    private static UserDeliveryProfile deliveryProfile(
+            long id, String languageCode) {
+        return new UserDeliveryProfile(
+                id, languageCode, NotificationSettings.defaults(), false);
     }
 
     private static SendResponse okResponse() {
@@ -2,83 +2,75 @@ package com.advertmarket.communication.webhook;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import com.advertmarket.shared.metric.MetricsFacade;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Duration;
+import java.util.List;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.data.redis.core.StringRedisTemplate;
-import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
 
 @DisplayName("UpdateDeduplicator")
 class UpdateDeduplicatorTest {
 
+    private static final DeduplicationProperties PROPS =
+            new DeduplicationProperties(
+                    Duration.ofHours(24), 1024, 100, Duration.ofSeconds(5));
+
     private StringRedisTemplate redis;
-    private ValueOperations<String, String> valueOps;
+    private SimpleMeterRegistry registry;
     private UpdateDeduplicator deduplicator;
 
     @BeforeEach
     void setUp() {
         redis = mock(StringRedisTemplate.class);
-        valueOps = mock(ValueOperations.class);
-        when(redis.opsForValue()).thenReturn(valueOps);
-        var props = new DeduplicationProperties(
-                Duration.ofHours(24));
+        registry = new SimpleMeterRegistry();
         deduplicator = new UpdateDeduplicator(
-                redis, props,
-                new MetricsFacade(new SimpleMeterRegistry()));
+                redis, PROPS, new MetricsFacade(registry));
     }
 
     @Test
     @DisplayName("Returns true for new update ID")
     void tryAcquire_returnsTrueForNew() {
-        when(valueOps.setIfAbsent(anyString(), eq("1"),
-                any(Duration.class))).thenReturn(true);
-
         assertThat(deduplicator.tryAcquire(100)).isTrue();
     }
 
     @Test
     @DisplayName("Returns false for duplicate update ID")
     void tryAcquire_returnsFalseForDuplicate() {
-        when(valueOps.setIfAbsent(anyString(), eq("1"),
-                any(Duration.class))).thenReturn(false);
+        deduplicator.tryAcquire(100);
 
         assertThat(deduplicator.tryAcquire(100)).isFalse();
     }
 
     @Test
-    @DisplayName("Writes update ID to Redis with TTL")
-    void tryAcquire_writesToRedisWithTtl() {
-        when(valueOps.setIfAbsent(anyString(), eq("1"),
-                any(Duration.class))).thenReturn(true);
+    @DisplayName("Checks update IDs without calling Redis")
+    void tryAcquire_doesNotCallRedis() {
+        clearInvocations(redis);
 
-        deduplicator.tryAcquire(42);
+        deduplicator.tryAcquire(100);
+        deduplicator.tryAcquire(100);
 
-        verify(valueOps).setIfAbsent(
-                "tg:update:42", "1", Duration.ofHours(24));
+        verifyNoInteractions(redis);
     }
 
     @Test
     @DisplayName("Increments acquired counter on success")
     void tryAcquire_incrementsCounter() {
-        var registry = new SimpleMeterRegistry();
-        var metrics = new MetricsFacade(registry);
-        var props = new DeduplicationProperties(
-                Duration.ofHours(24));
-        var dedup = new UpdateDeduplicator(
-                redis, props, metrics);
-        when(valueOps.setIfAbsent(anyString(), eq("1"),
-                any(Duration.class))).thenReturn(true);
-
-        dedup.tryAcquire(1);
+        deduplicator.tryAcquire(1);
 
         var counter = registry
                 .find("telegram.update.dedup.acquired")
@@ -86,4 +78,67 @@ class UpdateDeduplicatorTest {
         assertThat(counter).isNotNull();
         assertThat(counter.count()).isEqualTo(1.0);
     }
+
+    @Test
+    @DisplayName("Publishes the highest update ID minus the lag")
+    void syncWatermark_publishesHighestMinusLag() {
+        deduplicator.tryAcquire(5_000);
+
+        deduplicator.syncWatermark();
+
+        verify(redis).execute(any(RedisScript.class),
+                eq(List.of("tg:update:watermark")),
+                eq("4900"), eq(String.valueOf(Duration.ofHours(24).toMillis())));
+    }
+
+    @Test
+    @DisplayName("Rejects update IDs at or below the shared watermark")
+    @SuppressWarnings("unchecked")
+    void syncWatermark_adoptsSharedWatermark() {
+        when(redis.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(7_000L);
+
+        deduplicator.syncWatermark();
+
+        assertThat(deduplicator.tryAcquire(6_999)).isFalse();
+        assertThat(deduplicator.tryAcquire(7_000)).isFalse();
+        assertThat(deduplicator.tryAcquire(7_001)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Lowers the shared watermark after Telegram restarts update IDs")
+    @SuppressWarnings("unchecked")
+    void syncWatermark_lowersWatermarkAfterIdReset() {
+        when(redis.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenReturn(7_000L, -95L, -95L);
+        deduplicator.syncWatermark();
+
+        assertThat(deduplicator.tryAcquire(5)).isTrue();
+        deduplicator.syncWatermark();
+        deduplicator.syncWatermark();
+
+        var scripts = ArgumentCaptor.forClass(RedisScript.class);
+        verify(redis, times(4)).execute(scripts.capture(),
+                eq(List.of("tg:update:watermark")), any(Object[].class));
+        assertThat(scripts.getAllValues().get(2).getScriptAsString()).doesNotContain("GET");
+        assertThat(scripts.getAllValues().get(3).getScriptAsString()).contains("GET");
+        verify(redis).execute(any(RedisScript.class), anyList(),
+                eq("-95"), eq(String.valueOf(Duration.ofHours(24).toMillis())));
+        assertThat(deduplicator.tryAcquire(5)).isFalse();
+        assertThat(deduplicator.tryAcquire(6)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Keeps deduplicating locally when Redis fails")
+    @SuppressWarnings("unchecked")
+    void syncWatermark_toleratesRedisErrors() {
+        when(redis.execute(any(RedisScript.class), anyList(), any(Object[].class)))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        deduplicator.tryAcquire(10);
+        deduplicator.syncWatermark();
+
+        assertThat(deduplicator.tryAcquire(10)).isFalse();
+        assertThat(deduplicator.tryAcquire(11)).isTrue();
+    }
 }
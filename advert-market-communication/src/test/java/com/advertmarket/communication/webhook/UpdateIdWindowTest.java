@@ -0,0 +1,98 @@
+package com.advertmarket.communication.webhook;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("UpdateIdWindow")
+class UpdateIdWindowTest {
+
+    @Test
+    @DisplayName("Marks each id once, in any order within the window")
+    void tryMark_marksOnce() {
+        var window = new UpdateIdWindow(128);
+
+        assertThat(window.tryMark(1_000_000)).isTrue();
+        assertThat(window.tryMark(999_990)).isTrue();
+        assertThat(window.tryMark(999_990)).isFalse();
+        assertThat(window.tryMark(1_000_000)).isFalse();
+        assertThat(window.tryMark(999_800)).isFalse();
+        assertThat(window.highest()).isEqualTo(1_000_000);
+    }
+
+    @Test
+    @DisplayName("Slides past old ids without reporting them as new")
+    void tryMark_slidesWindow() {
+        var window = new UpdateIdWindow(64);
+        window.tryMark(10);
+        window.tryMark(20);
+
+        assertThat(window.tryMark(100)).isTrue();
+
+        assertThat(window.low()).isEqualTo(37);
+        assertThat(window.tryMark(20)).isFalse();
+        assertThat(window.tryMark(37)).isTrue();
+        assertThat(window.tryMark(37)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Keeps marks above a raised low-water mark")
+    void advanceTo_keepsMarksAbove() {
+        var window = new UpdateIdWindow(64);
+        window.tryMark(5);
+        window.tryMark(40);
+
+        window.advanceTo(30);
+
+        assertThat(window.tryMark(5)).isFalse();
+        assertThat(window.tryMark(29)).isFalse();
+        assertThat(window.tryMark(40)).isFalse();
+        assertThat(window.tryMark(41)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Ignores a low-water mark below the current one")
+    void advanceTo_ignoresLowerMark() {
+        var window = new UpdateIdWindow(64);
+        window.advanceTo(50);
+
+        window.advanceTo(10);
+
+        assertThat(window.low()).isEqualTo(50);
+    }
+
+    @Test
+    @DisplayName("Starts over at an id far below the low-water mark")
+    void tryMark_restartsOnIdReset() {
+        var window = new UpdateIdWindow(64);
+        window.tryMark(1_000_000);
+
+        assertThat(window.tryMark(500)).isTrue();
+
+        assertThat(window.resets()).isEqualTo(1);
+        assertThat(window.low()).isEqualTo(500);
+        assertThat(window.highest()).isEqualTo(500);
+        assertThat(window.tryMark(500)).isFalse();
+        assertThat(window.tryMark(501)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Treats an id just below the window as a redelivery")
+    void tryMark_rejectsRecentOldId() {
+        var window = new UpdateIdWindow(64);
+        window.tryMark(1_000);
+
+        assertThat(window.tryMark(1_000 - 63 - 64)).isFalse();
+
+        assertThat(window.resets()).isZero();
+    }
+
+    @Test
+    @DisplayName("Rejects a size that is not a power of two")
+    void constructor_rejectsInvalidSize() {
+        assertThatThrownBy(() -> new UpdateIdWindow(100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -70,7 +70,9 @@ class UpdateProcessorTest {
                 .thenThrow(new RejectedExecutionException("queue full"));
 
         var processor = new UpdateProcessor(
-                canaryRouter, dispatcher, errorHandler, metrics, executor);
+                canaryRouter, dispatcher, errorHandler, metrics,
+                new UserUpdateExecutor(executor, metrics,
+                        new UpdateExecutorProperties(64, 10_000)));
         var update = createUpdateWithMessageFrom(12345L);
         setField(update, "update_id", 77);
 
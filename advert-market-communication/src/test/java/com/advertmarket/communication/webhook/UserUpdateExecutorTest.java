@@ -0,0 +1,150 @@
+package com.advertmarket.communication.webhook;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.advertmarket.shared.metric.MetricsFacade;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("UserUpdateExecutor")
+class UserUpdateExecutorTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("Runs one user's updates in order without overlap")
+    void submit_serializesPerUser() throws Exception {
+        var updates = executor(64, 10_000);
+        var order = new CopyOnWriteArrayList<Integer>();
+        var running = new AtomicInteger();
+        var overlapped = new AtomicInteger();
+        var done = new CountDownLatch(50);
+
+        for (int i = 0; i < 50; i++) {
+            int seq = i;
+            updates.submit(1L, () -> {
+                if (running.incrementAndGet() > 1) {
+                    overlapped.incrementAndGet();
+                }
+                order.add(seq);
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(overlapped).hasValue(0);
+        assertThat(order).isSortedAccordingTo(Integer::compare).hasSize(50);
+    }
+
+    @Test
+    @DisplayName("Runs different users in parallel")
+    void submit_runsUsersInParallel() throws Exception {
+        var updates = executor(64, 10_000);
+        var bothStarted = new CountDownLatch(2);
+        var finished = new CountDownLatch(2);
+
+        for (long userId : List.of(1L, 2L)) {
+            updates.submit(userId, () -> {
+                bothStarted.countDown();
+                try {
+                    bothStarted.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                finished.countDown();
+            });
+        }
+
+        assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(bothStarted.getCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Rejects updates over the per-user bound and counts them")
+    void submit_rejectsWhenUserQueueFull() throws Exception {
+        var updates = executor(2, 10_000);
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+
+        updates.submit(1L, () -> {
+            started.countDown();
+            await(release);
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(updates.submit(1L, () -> { })).isTrue();
+        assertThat(updates.submit(1L, () -> { })).isTrue();
+        assertThat(updates.submit(1L, () -> { })).isFalse();
+        assertThat(updates.submit(2L, () -> { })).isTrue();
+        release.countDown();
+
+        assertThat(registry.counter("telegram.webhook.dispatch.rejected",
+                "reason", "user_queue_full").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Rejects updates over the total bound")
+    void submit_rejectsWhenTotalQueueFull() throws Exception {
+        var updates = executor(64, 1);
+        var release = new CountDownLatch(1);
+        var started = new CountDownLatch(1);
+
+        updates.submit(1L, () -> {
+            started.countDown();
+            await(release);
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(updates.submit(1L, () -> { })).isTrue();
+        assertThat(updates.submit(2L, () -> { })).isFalse();
+        release.countDown();
+
+        assertThat(registry.counter("telegram.webhook.dispatch.rejected",
+                "reason", "queue_full").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Retires a mailbox once it is drained")
+    void submit_retiresDrainedMailbox() throws Exception {
+        var updates = executor(64, 10_000);
+        var done = new CountDownLatch(1);
+
+        updates.submit(1L, done::countDown);
+
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (updates.activeMailboxes() > 0 && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(updates.activeMailboxes()).isZero();
+    }
+
+    private UserUpdateExecutor executor(int maxQueuedPerUser, int maxQueued) {
+        return new UserUpdateExecutor(executor, new MetricsFacade(registry),
+                new UpdateExecutorProperties(maxQueuedPerUser, maxQueued));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
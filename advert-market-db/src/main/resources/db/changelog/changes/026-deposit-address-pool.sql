@@ -0,0 +1,16 @@
+--liquibase formatted sql
+
+--changeset advert-market:026-deposit-address-pool
+--comment: Pre-derived subwallet deposit addresses claimed on deal acceptance
+CREATE TABLE deposit_address_pool (
+    subwallet_id        INTEGER       PRIMARY KEY,
+    address             VARCHAR(100)  NOT NULL UNIQUE,
+    wallet_fingerprint  VARCHAR(64)   NOT NULL,
+    claimed_deal_id     UUID          REFERENCES deals(id),
+    claimed_at          TIMESTAMPTZ,
+    created_at          TIMESTAMPTZ   NOT NULL DEFAULT now()
+);
+
+CREATE INDEX idx_deposit_address_pool_available
+    ON deposit_address_pool (wallet_fingerprint, subwallet_id)
+    WHERE claimed_at IS NULL;
@@ -0,0 +1,15 @@
+--liquibase formatted sql
+
+--changeset advert-market:027-deal-participant-indexes
+--comment: Keyset indexes for listing a participant's deals newest first
+DROP INDEX IF EXISTS idx_deals_advertiser;
+DROP INDEX IF EXISTS idx_deals_owner;
+
+CREATE INDEX idx_deals_advertiser_created
+    ON deals (advertiser_id, created_at DESC, id DESC);
+CREATE INDEX idx_deals_advertiser_status_created
+    ON deals (advertiser_id, status, created_at DESC, id DESC);
+CREATE INDEX idx_deals_owner_created
+    ON deals (owner_id, created_at DESC, id DESC);
+CREATE INDEX idx_deals_owner_status_created
+    ON deals (owner_id, status, created_at DESC, id DESC);
@@ -0,0 +1,59 @@
+--liquibase formatted sql
+
+--changeset advert-market:028-deal-status-counters-table
+--comment: Per-user deal counts by role and status for dashboard badges
+CREATE TABLE deal_status_counters (
+    user_id     BIGINT       NOT NULL,
+    role        VARCHAR(20)  NOT NULL,
+    status      VARCHAR(30)  NOT NULL,
+    deal_count  BIGINT       NOT NULL DEFAULT 0,
+    PRIMARY KEY (user_id, role, status)
+);
+
+--changeset advert-market:028-deal-status-counters-trigger splitStatements:false
+-- Deltas are applied in key order so concurrent transitions touching
+-- the same counters lock them in the same order.
+CREATE OR REPLACE FUNCTION adjust_deal_status_counters()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO deal_status_counters AS c (user_id, role, status, deal_count)
+    SELECT d.user_id, d.role, d.status, sum(d.delta)
+    FROM (
+        SELECT OLD.advertiser_id, 'ADVERTISER', OLD.status, -1 WHERE TG_OP <> 'INSERT'
+        UNION ALL
+        SELECT OLD.owner_id, 'CHANNEL_OWNER', OLD.status, -1 WHERE TG_OP <> 'INSERT'
+        UNION ALL
+        SELECT NEW.advertiser_id, 'ADVERTISER', NEW.status, 1 WHERE TG_OP <> 'DELETE'
+        UNION ALL
+        SELECT NEW.owner_id, 'CHANNEL_OWNER', NEW.status, 1 WHERE TG_OP <> 'DELETE'
+    ) AS d (user_id, role, status, delta)
+    GROUP BY d.user_id, d.role, d.status
+    HAVING sum(d.delta) <> 0
+    ORDER BY d.user_id, d.role, d.status
+    ON CONFLICT (user_id, role, status)
+        DO UPDATE SET deal_count = c.deal_count + EXCLUDED.deal_count;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_deals_status_counters_insert_delete
+    AFTER INSERT OR DELETE ON deals
+    FOR EACH ROW EXECUTE FUNCTION adjust_deal_status_counters();
+
+CREATE TRIGGER trg_deals_status_counters_update
+    AFTER UPDATE OF status, advertiser_id, owner_id ON deals
+    FOR EACH ROW
+    WHEN (OLD.status IS DISTINCT FROM NEW.status
+        OR OLD.advertiser_id IS DISTINCT FROM NEW.advertiser_id
+        OR OLD.owner_id IS DISTINCT FROM NEW.owner_id)
+    EXECUTE FUNCTION adjust_deal_status_counters();
+
+--changeset advert-market:028-deal-status-counters-backfill
+INSERT INTO deal_status_counters (user_id, role, status, deal_count)
+SELECT advertiser_id, 'ADVERTISER', status, count(*)
+FROM deals
+GROUP BY advertiser_id, status
+UNION ALL
+SELECT owner_id, 'CHANNEL_OWNER', status, count(*)
+FROM deals
+GROUP BY owner_id, status;
@@ -0,0 +1,50 @@
+--liquibase formatted sql
+
+--changeset advert-market:029-deal-event-partitions-2027
+-- Partitions for the coming year; later months are created by the lifecycle job
+CREATE TABLE IF NOT EXISTS deal_events_2027_01 PARTITION OF deal_events FOR VALUES FROM ('2027-01-01') TO ('2027-02-01');
+CREATE TABLE IF NOT EXISTS deal_events_2027_02 PARTITION OF deal_events FOR VALUES FROM ('2027-02-01') TO ('2027-03-01');
+CREATE TABLE IF NOT EXISTS deal_events_2027_03 PARTITION OF deal_events FOR VALUES FROM ('2027-03-01') TO ('2027-04-01');
+
+--changeset advert-market:029-deal-timelines
+--comment: Per-deal event time range used to prune deal_events partitions on timeline reads
+CREATE TABLE deal_timelines (
+    deal_id         UUID         PRIMARY KEY,
+    first_event_at  TIMESTAMPTZ  NOT NULL,
+    last_event_at   TIMESTAMPTZ  NOT NULL,
+    event_count     INTEGER      NOT NULL
+);
+
+INSERT INTO deal_timelines (deal_id, first_event_at, last_event_at, event_count)
+SELECT deal_id, min(created_at), max(created_at), count(*)
+FROM deal_events
+GROUP BY deal_id;
+
+--changeset advert-market:029-deal-timelines-trigger splitStatements:false
+CREATE OR REPLACE FUNCTION track_deal_timeline()
+RETURNS TRIGGER AS $$
+BEGIN
+    INSERT INTO deal_timelines AS t (deal_id, first_event_at, last_event_at, event_count)
+    VALUES (NEW.deal_id, NEW.created_at, NEW.created_at, 1)
+    ON CONFLICT (deal_id) DO UPDATE
+        SET first_event_at = LEAST(t.first_event_at, EXCLUDED.first_event_at),
+            last_event_at = GREATEST(t.last_event_at, EXCLUDED.last_event_at),
+            event_count = t.event_count + 1;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_deal_events_timeline
+    AFTER INSERT ON deal_events
+    FOR EACH ROW EXECUTE FUNCTION track_deal_timeline();
+
+--changeset advert-market:029-deal-event-archives
+--comment: Monthly deal_events partitions that were exported and dropped
+CREATE TABLE deal_event_archives (
+    partition_name  VARCHAR(63)   PRIMARY KEY,
+    range_from      TIMESTAMPTZ   NOT NULL,
+    range_to        TIMESTAMPTZ   NOT NULL,
+    location        VARCHAR(500)  NOT NULL,
+    event_count     BIGINT        NOT NULL,
+    archived_at     TIMESTAMPTZ   NOT NULL DEFAULT now()
+);
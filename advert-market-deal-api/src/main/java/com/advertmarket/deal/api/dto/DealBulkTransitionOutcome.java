@@ -0,0 +1,27 @@
+package com.advertmarket.deal.api.dto;
+
+import com.advertmarket.shared.model.DealId;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Per-deal outcome of a bulk transition.
+ *
+ * <p>Exactly one of {@code result} and {@code errorCode} is set.
+ *
+ * @param dealId deal identifier
+ * @param result transition result, or null if the transition was rejected
+ * @param errorCode machine-readable rejection reason, or null on success
+ */
+@Schema(description = "Per-deal outcome of a bulk transition")
+public record DealBulkTransitionOutcome(
+        @NonNull DealId dealId,
+        @Nullable DealTransitionResult result,
+        @Nullable String errorCode) {
+
+    /** Returns whether the deal is now in the requested status. */
+    public boolean succeeded() {
+        return result != null;
+    }
+}
@@ -0,0 +1,39 @@
+package com.advertmarket.deal.api.dto;
+
+import com.advertmarket.shared.model.ActorType;
+import com.advertmarket.shared.model.DealId;
+import com.advertmarket.shared.model.DealStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Status transition of one deal within a bulk write.
+ *
+ * <p>The transition applies only if the deal is still at
+ * {@code expectedStatus} and {@code expectedVersion}. Unlike
+ * {@link DealTransitionWrite}, the outbox payload is complete: it was
+ * built from the deal as read before the write.
+ *
+ * @param dealId deal identifier
+ * @param expectedStatus status the deal was read at
+ * @param expectedVersion version the deal was read at
+ * @param targetStatus new status
+ * @param actorId initiating user ID (null for SYSTEM)
+ * @param actorType type of actor performing the transition
+ * @param cancellationReason reason to persist, or null to keep the current one
+ * @param eventPayload deal event payload as JSON
+ * @param outboxPayload DEAL_STATE_CHANGED envelope as JSON
+ */
+@Schema(description = "Deal transition within a bulk write")
+public record DealBulkTransitionWrite(
+        @NonNull DealId dealId,
+        @NonNull DealStatus expectedStatus,
+        int expectedVersion,
+        @NonNull DealStatus targetStatus,
+        @Nullable Long actorId,
+        @NonNull ActorType actorType,
+        @Nullable String cancellationReason,
+        @NonNull String eventPayload,
+        @NonNull String outboxPayload) {
+}
@@ -0,0 +1,18 @@
+package com.advertmarket.deal.api.dto;
+
+import com.advertmarket.shared.model.DealId;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.time.Instant;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Deadline of a non-terminal deal, as loaded into the deadline wheel.
+ *
+ * @param dealId deal identifier
+ * @param deadlineAt instant the current status times out
+ */
+@Schema(description = "Deal deadline entry")
+public record DealDeadline(
+        @NonNull DealId dealId,
+        @NonNull Instant deadlineAt) {
+}
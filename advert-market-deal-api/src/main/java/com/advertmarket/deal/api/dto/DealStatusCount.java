@@ -0,0 +1,20 @@
+package com.advertmarket.deal.api.dto;
+
+import com.advertmarket.shared.model.ActorType;
+import com.advertmarket.shared.model.DealStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Number of deals a user takes part in with one role and status.
+ *
+ * @param role user's role in the deals ({@code ADVERTISER} or {@code CHANNEL_OWNER})
+ * @param status deal status
+ * @param count number of deals
+ */
+@Schema(description = "Deal count for a role and status")
+public record DealStatusCount(
+        @NonNull ActorType role,
+        @NonNull DealStatus status,
+        long count) {
+}
@@ -0,0 +1,39 @@
+package com.advertmarket.deal.api.dto;
+
+import com.advertmarket.shared.model.ActorType;
+import com.advertmarket.shared.model.DealId;
+import com.advertmarket.shared.model.DealStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import java.util.Set;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Status transition written together with its deal event and outbox entry.
+ *
+ * <p>The transition applies only if the deal's current status is one of
+ * {@code allowedFrom}. In {@code outboxPayload}, the state-changed payload's
+ * {@code fromStatus}, {@code dealAmountNano}, {@code channelId} and
+ * {@code dealVersion} are placeholders that the repository fills in from
+ * the locked and updated deal row.
+ *
+ * @param dealId deal identifier
+ * @param allowedFrom statuses the deal may transition from
+ * @param targetStatus new status
+ * @param actorId initiating user ID (null for SYSTEM)
+ * @param actorType type of actor performing the transition
+ * @param cancellationReason reason to persist, or null to keep the current one
+ * @param eventPayload deal event payload as JSON
+ * @param outboxPayload DEAL_STATE_CHANGED envelope as JSON
+ */
+@Schema(description = "Single-statement deal transition write")
+public record DealTransitionWrite(
+        @NonNull DealId dealId,
+        @NonNull Set<DealStatus> allowedFrom,
+        @NonNull DealStatus targetStatus,
+        @Nullable Long actorId,
+        @NonNull ActorType actorType,
+        @Nullable String cancellationReason,
+        @NonNull String eventPayload,
+        @NonNull String outboxPayload) {
+}
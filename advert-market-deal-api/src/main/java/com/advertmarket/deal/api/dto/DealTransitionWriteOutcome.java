@@ -0,0 +1,19 @@
+package com.advertmarket.deal.api.dto;
+
+import com.advertmarket.shared.model.DealStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Outcome of a {@link DealTransitionWrite}.
+ *
+ * @param previousStatus deal status before the statement ran
+ * @param applied whether the transition, event and outbox entry were written
+ * @param version deal version after the statement ran
+ */
+@Schema(description = "Single-statement deal transition outcome")
+public record DealTransitionWriteOutcome(
+        @NonNull DealStatus previousStatus,
+        boolean applied,
+        int version) {
+}
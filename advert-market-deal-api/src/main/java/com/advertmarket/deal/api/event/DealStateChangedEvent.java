@@ -17,6 +17,7 @@ import org.checkerframework.checker.nullness.qual.Nullable;
  * @param channelId target Telegram channel ID
  * @param partialRefundNano partial refund amount for dispute resolution
  * @param partialPayoutNano partial payout amount for dispute resolution
+ * @param dealVersion deal version after the transition, null if unknown
  */
 public record DealStateChangedEvent(
         @NonNull DealStatus fromStatus,
@@ -26,5 +27,6 @@ public record DealStateChangedEvent(
         long dealAmountNano,
         long channelId,
         @Nullable Long partialRefundNano,
-        @Nullable Long partialPayoutNano) implements DomainEvent {
+        @Nullable Long partialPayoutNano,
+        @Nullable Integer dealVersion) implements DomainEvent {
 }
@@ -1,14 +1,23 @@
 package com.advertmarket.deal.api.port;
 
+import com.advertmarket.deal.api.dto.DealBulkTransitionWrite;
+import com.advertmarket.deal.api.dto.DealDeadline;
+import com.advertmarket.deal.api.dto.DealDto;
 import com.advertmarket.deal.api.dto.DealListCriteria;
 import com.advertmarket.deal.api.dto.DealRecord;
+import com.advertmarket.deal.api.dto.DealStatusCount;
+import com.advertmarket.deal.api.dto.DealTransitionWrite;
+import com.advertmarket.deal.api.dto.DealTransitionWriteOutcome;
 import com.advertmarket.shared.model.DealId;
 import com.advertmarket.shared.model.DealStatus;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Repository port for deal persistence.
@@ -45,6 +54,35 @@ public interface DealRepository {
                      @NonNull DealStatus to,
                      int expectedVersion);
 
+    /**
+     * Applies a status transition, appends its DEAL_STATE_CHANGED event and
+     * saves its outbox entry in a single statement.
+     *
+     * <p>The deal row is locked for the duration of the statement. Nothing
+     * is written unless the current status is in
+     * {@link DealTransitionWrite#allowedFrom()}.
+     *
+     * @param write transition to apply
+     * @return outcome with the status seen under the lock, or empty if the deal does not exist
+     */
+    @NonNull
+    Optional<DealTransitionWriteOutcome> applyTransition(@NonNull DealTransitionWrite write);
+
+    /**
+     * Applies status transitions with a status and version CAS per deal,
+     * appending their DEAL_STATE_CHANGED events and saving their outbox
+     * entries in a single statement.
+     *
+     * <p>Deal rows are locked in id order for the duration of the
+     * statement. A deal that is no longer at the expected status and
+     * version is left untouched, without an event or outbox entry.
+     *
+     * @param writes transitions to apply, at most one per deal
+     * @return identifiers of the deals that were transitioned
+     */
+    @NonNull
+    Set<DealId> applyTransitions(@NonNull List<DealBulkTransitionWrite> writes);
+
     /**
      * Sets the cancellation reason on a deal.
      *
@@ -56,12 +94,24 @@ public interface DealRepository {
     /**
      * Lists deals for a user (as advertiser or owner) with cursor-based pagination.
      *
+     * <p>Returns the list projection only; creative content and payment
+     * details are not read.
+     *
      * @param userId user ID (advertiser_id or owner_id)
      * @param criteria filter and pagination parameters
-     * @return list of matching deals (size = limit + 1 if more pages exist)
+     * @return matching deals, newest first (size = limit + 1 if more pages exist)
      */
     @NonNull
-    List<DealRecord> listByUser(long userId, @NonNull DealListCriteria criteria);
+    List<DealDto> listByUser(long userId, @NonNull DealListCriteria criteria);
+
+    /**
+     * Finds deals by their identifiers in a single round trip.
+     *
+     * @param dealIds deal identifiers
+     * @return deals that exist, in no particular order
+     */
+    @NonNull
+    List<DealRecord> findByIds(@NonNull Collection<DealId> dealIds);
 
     /**
      * Reassigns deal owner for non-terminal deals.
@@ -83,6 +133,20 @@ public interface DealRepository {
     @NonNull
     List<DealRecord> findExpiredDeals(int batchSize, @NonNull Duration gracePeriod);
 
+    /**
+     * Returns deadlines of non-terminal deals, paged by deal id.
+     *
+     * @param until only deadlines at or before this instant, or all when null
+     * @param afterId exclusive keyset cursor, or null for the first page
+     * @param limit maximum number of deadlines to return
+     * @return deadlines ordered by deal id
+     */
+    @NonNull
+    List<DealDeadline> findDeadlines(
+            @Nullable Instant until,
+            @Nullable DealId afterId,
+            int limit);
+
     /**
      * Sets the deadline timestamp on a deal.
      *
@@ -98,6 +162,13 @@ public interface DealRepository {
      */
     void clearDeadline(@NonNull DealId dealId);
 
+    /**
+     * Clears the deadline on many deals in a single statement.
+     *
+     * @param dealIds deal identifiers
+     */
+    void clearDeadlines(@NonNull Collection<DealId> dealIds);
+
     /**
      * Persists deposit address and subwallet for a deal.
      *
@@ -163,4 +234,24 @@ public interface DealRepository {
      */
     @NonNull
     List<Long> findOperatorUserIds();
+
+    /**
+     * Returns the user's deal counters by role and status.
+     *
+     * <p>Counters are maintained in the same transaction as every write
+     * to a deal's status or participants, so reading them costs one
+     * lookup per user regardless of how many deals they have.
+     *
+     * @param userId user ID
+     * @return non-zero counters, ordered by role and status
+     */
+    @NonNull
+    List<DealStatusCount> countByStatus(long userId);
+
+    /**
+     * Recounts deals per user, role and status and corrects drifted counters.
+     *
+     * @return number of counters that were corrected
+     */
+    int repairStatusCounters();
 }
@@ -21,6 +21,7 @@ class DealStateChangedEventTest {
                 1_000_000_000L,
                 -1001234567890L,
                 null,
+                null,
                 null);
 
         assertThat(event.actorId()).isNull();
@@ -39,6 +40,7 @@ class DealStateChangedEventTest {
                 500_000_000L,
                 -1001234567890L,
                 null,
+                null,
                 null);
 
         assertThat(event.actorId()).isEqualTo(12345L);
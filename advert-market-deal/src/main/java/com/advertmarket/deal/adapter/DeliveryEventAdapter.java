@@ -2,6 +2,7 @@ package com.advertmarket.deal.adapter;
 
 import com.advertmarket.deal.api.dto.DealTransitionCommand;
 import com.advertmarket.deal.api.port.DealRepository;
+import com.advertmarket.deal.service.DealActorRuntime;
 import com.advertmarket.deal.service.DealTransitionService;
 import com.advertmarket.delivery.api.event.DeliveryFailedEvent;
 import com.advertmarket.delivery.api.event.DeliveryVerifiedEvent;
@@ -25,47 +26,51 @@ public class DeliveryEventAdapter implements DeliveryEventPort {
 
     private final DealTransitionService dealTransitionService;
     private final DealRepository dealRepository;
+    private final DealActorRuntime actors;
 
     @Override
     public void onPublicationResult(
             @NonNull EventEnvelope<PublicationResultEvent> envelope) {
         var dealId = Objects.requireNonNull(envelope.dealId(),
                 "dealId required for publication result");
-        var event = envelope.payload();
+        actors.execute(dealId, () -> {
+            var event = envelope.payload();
 
-        if (!event.success()) {
-            log.warn("Publication failed for deal={}, error={}",
-                    dealId, event.error());
-            return;
-        }
+            if (!event.success()) {
+                log.warn("Publication failed for deal={}, error={}",
+                        dealId, event.error());
+                return;
+            }
 
-        if (event.contentHash() == null || event.publishedAt() == null) {
-            log.warn("Publication result missing metadata for deal={}", dealId);
-            return;
-        }
+            if (event.contentHash() == null || event.publishedAt() == null) {
+                log.warn("Publication result missing metadata for deal={}", dealId);
+                return;
+            }
 
-        var messageId = event.messageId();
-        var contentHash = event.contentHash();
-        var publishedAt = event.publishedAt();
-        if (contentHash == null || publishedAt == null) {
-            log.warn("Publication result has null fields after validation for deal={}", dealId);
-            return;
-        }
+            var messageId = event.messageId();
+            var contentHash = event.contentHash();
+            var publishedAt = event.publishedAt();
+            if (contentHash == null || publishedAt == null) {
+                log.warn("Publication result has null fields after validation for deal={}", dealId);
+                return;
+            }
 
-        dealRepository.setPublicationMetadata(
-                dealId,
-                messageId,
-                contentHash,
-                publishedAt);
+            dealRepository.setPublicationMetadata(
+                    dealId,
+                    messageId,
+                    contentHash,
+                    publishedAt);
 
-        dealTransitionService.transition(new DealTransitionCommand(
-                dealId,
-                DealStatus.PUBLISHED,
-                null,
-                ActorType.SYSTEM,
-                "Publication success",
-                null,
-                null));
+            dealTransitionService.transition(new DealTransitionCommand(
+                    dealId,
+                    DealStatus.PUBLISHED,
+                    null,
+                    ActorType.SYSTEM,
+                    "Publication success",
+                    null,
+                    null));
+            actors.evict(dealId);
+        });
     }
 
     @Override
@@ -73,14 +78,17 @@ public class DeliveryEventAdapter implements DeliveryEventPort {
             @NonNull EventEnvelope<DeliveryVerifiedEvent> envelope) {
         var dealId = Objects.requireNonNull(envelope.dealId(),
                 "dealId required for delivery verified event");
-        dealTransitionService.transition(new DealTransitionCommand(
-                dealId,
-                DealStatus.COMPLETED_RELEASED,
-                null,
-                ActorType.SYSTEM,
-                "Delivery verified at " + Instant.now(),
-                null,
-                null));
+        actors.execute(dealId, () -> {
+            dealTransitionService.transition(new DealTransitionCommand(
+                    dealId,
+                    DealStatus.COMPLETED_RELEASED,
+                    null,
+                    ActorType.SYSTEM,
+                    "Delivery verified at " + Instant.now(),
+                    null,
+                    null));
+            actors.evict(dealId);
+        });
     }
 
     @Override
@@ -88,13 +96,16 @@ public class DeliveryEventAdapter implements DeliveryEventPort {
             @NonNull EventEnvelope<DeliveryFailedEvent> envelope) {
         var dealId = Objects.requireNonNull(envelope.dealId(),
                 "dealId required for delivery failed event");
-        dealTransitionService.transition(new DealTransitionCommand(
-                dealId,
-                DealStatus.DISPUTED,
-                null,
-                ActorType.SYSTEM,
-                "Delivery failed: " + envelope.payload().reason(),
-                null,
-                null));
+        actors.execute(dealId, () -> {
+            dealTransitionService.transition(new DealTransitionCommand(
+                    dealId,
+                    DealStatus.DISPUTED,
+                    null,
+                    ActorType.SYSTEM,
+                    "Delivery failed: " + envelope.payload().reason(),
+                    null,
+                    null));
+            actors.evict(dealId);
+        });
     }
 }
@@ -2,6 +2,7 @@ package com.advertmarket.deal.adapter;
 
 import com.advertmarket.deal.api.dto.DealTransitionCommand;
 import com.advertmarket.deal.api.port.DealRepository;
+import com.advertmarket.deal.service.DealActorRuntime;
 import com.advertmarket.deal.service.DealTransitionService;
 import com.advertmarket.financial.api.event.DepositConfirmedEvent;
 import com.advertmarket.financial.api.event.DepositFailedEvent;
@@ -31,26 +32,30 @@ public class FinancialEventAdapter implements FinancialEventPort {
     private final DealTransitionService dealTransitionService;
     private final EscrowPort escrowPort;
     private final DealRepository dealRepository;
+    private final DealActorRuntime actors;
 
     @Override
     public void onDepositConfirmed(
             @NonNull EventEnvelope<DepositConfirmedEvent> envelope) {
         var dealId = Objects.requireNonNull(envelope.dealId(),
                 "dealId required for deposit confirmed event");
-        var event = envelope.payload();
-        dealRepository.setFunded(dealId, Instant.now(), event.txHash());
+        actors.execute(dealId, () -> {
+            var event = envelope.payload();
+            dealRepository.setFunded(dealId, Instant.now(), event.txHash());
 
-        escrowPort.confirmDeposit(dealId, event.txHash(),
-                event.amountNano(), event.expectedAmountNano(),
-                event.confirmations(), event.fromAddress());
+            escrowPort.confirmDeposit(dealId, event.txHash(),
+                    event.amountNano(), event.expectedAmountNano(),
+                    event.confirmations(), event.fromAddress());
 
-        dealTransitionService.transition(new DealTransitionCommand(
-                dealId, DealStatus.FUNDED, null,
-                ActorType.SYSTEM, "Deposit confirmed: " + event.txHash(),
-                null, null));
+            dealTransitionService.transition(new DealTransitionCommand(
+                    dealId, DealStatus.FUNDED, null,
+                    ActorType.SYSTEM, "Deposit confirmed: " + event.txHash(),
+                    null, null));
 
-        log.info("Deposit confirmed for deal={}, txHash={}",
-                dealId, event.txHash());
+            log.info("Deposit confirmed for deal={}, txHash={}",
+                    dealId, event.txHash());
+            actors.evict(dealId);
+        });
     }
 
     @Override
@@ -58,25 +63,28 @@ public class FinancialEventAdapter implements FinancialEventPort {
             @NonNull EventEnvelope<DepositFailedEvent> envelope) {
         var dealId = Objects.requireNonNull(envelope.dealId(),
                 "dealId required for deposit failed event");
-        var event = envelope.payload();
-        var targetStatus = switch (event.reason()) {
-            case TIMEOUT -> DealStatus.EXPIRED;
-            case REJECTED -> DealStatus.CANCELLED;
-            case AMOUNT_MISMATCH -> DealStatus.CANCELLED;
-        };
-        var actor = resolveActorForDepositFailure(dealId, targetStatus);
+        actors.execute(dealId, () -> {
+            var event = envelope.payload();
+            var targetStatus = switch (event.reason()) {
+                case TIMEOUT -> DealStatus.EXPIRED;
+                case REJECTED -> DealStatus.CANCELLED;
+                case AMOUNT_MISMATCH -> DealStatus.CANCELLED;
+            };
+            var actor = resolveActorForDepositFailure(dealId, targetStatus);
 
-        dealTransitionService.transition(new DealTransitionCommand(
-                dealId,
-                targetStatus,
-                actor.actorId(),
-                actor.actorType(),
-                "Deposit failed: " + event.reason(),
-                null,
-                null));
+            dealTransitionService.transition(new DealTransitionCommand(
+                    dealId,
+                    targetStatus,
+                    actor.actorId(),
+                    actor.actorType(),
+                    "Deposit failed: " + event.reason(),
+                    null,
+                    null));
 
-        log.info("Deposit failed for deal={}, reason={}",
-                dealId, event.reason());
+            log.info("Deposit failed for deal={}, reason={}",
+                    dealId, event.reason());
+            actors.evict(dealId);
+        });
     }
 
     private TransitionActor resolveActorForDepositFailure(
@@ -99,9 +107,12 @@ public class FinancialEventAdapter implements FinancialEventPort {
             @NonNull EventEnvelope<PayoutCompletedEvent> envelope) {
         var dealId = Objects.requireNonNull(envelope.dealId(),
                 "dealId required for payout completed event");
-        dealRepository.setPayoutTxHash(dealId, envelope.payload().txHash());
-        log.info("Payout completed for deal={}, txHash={}",
-                dealId, envelope.payload().txHash());
+        actors.execute(dealId, () -> {
+            dealRepository.setPayoutTxHash(dealId, envelope.payload().txHash());
+            log.info("Payout completed for deal={}, txHash={}",
+                    dealId, envelope.payload().txHash());
+            actors.evict(dealId);
+        });
     }
 
     @Override
@@ -109,8 +120,11 @@ public class FinancialEventAdapter implements FinancialEventPort {
             @NonNull EventEnvelope<RefundCompletedEvent> envelope) {
         var dealId = Objects.requireNonNull(envelope.dealId(),
                 "dealId required for refund completed event");
-        dealRepository.setRefundedTxHash(dealId, envelope.payload().txHash());
-        log.info("Refund completed for deal={}, txHash={}",
-                dealId, envelope.payload().txHash());
+        actors.execute(dealId, () -> {
+            dealRepository.setRefundedTxHash(dealId, envelope.payload().txHash());
+            log.info("Refund completed for deal={}, txHash={}",
+                    dealId, envelope.payload().txHash());
+            actors.evict(dealId);
+        });
     }
 }
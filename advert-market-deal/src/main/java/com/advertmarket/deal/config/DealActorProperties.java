@@ -0,0 +1,35 @@
+package com.advertmarket.deal.config;
+
+import io.github.springpropertiesmd.api.annotation.PropertyDoc;
+import io.github.springpropertiesmd.api.annotation.PropertyGroupDoc;
+import io.github.springpropertiesmd.api.annotation.Requirement;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Per-deal actor settings for workflow event handling.
+ *
+ * @param enabled   whether deal events run on per-deal mailboxes
+ * @param cacheSize maximum number of deals kept in the last-known record cache
+ */
+@ConfigurationProperties(prefix = "app.deal.actor")
+@PropertyGroupDoc(
+        displayName = "Deal Actor",
+        description = "Per-deal ordered handling of workflow events",
+        category = "Deal"
+)
+public record DealActorProperties(
+
+        @PropertyDoc(
+                description = "Run each deal's workflow events serially on its own mailbox",
+                required = Requirement.OPTIONAL
+        )
+        @DefaultValue("true") boolean enabled,
+
+        @PropertyDoc(
+                description = "Maximum number of deals kept in the last-known record cache",
+                required = Requirement.OPTIONAL
+        )
+        @DefaultValue("10000") int cacheSize
+) {
+}
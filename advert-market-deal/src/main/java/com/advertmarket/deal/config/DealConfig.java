@@ -4,6 +4,8 @@ import com.advertmarket.deal.adapter.DeliveryEventAdapter;
 import com.advertmarket.deal.adapter.FinancialEventAdapter;
 import com.advertmarket.deal.api.port.DealEventRepository;
 import com.advertmarket.deal.api.port.DealRepository;
+import com.advertmarket.deal.service.DealActorRuntime;
+import com.advertmarket.deal.service.DealDeadlineScheduler;
 import com.advertmarket.deal.service.DealTransitionService;
 import com.advertmarket.deal.service.DealWorkflowEngine;
 import com.advertmarket.delivery.api.port.DeliveryEventPort;
@@ -20,7 +22,13 @@ import org.springframework.context.annotation.Configuration;
  * Wires deal domain beans that are not Spring-managed components.
  */
 @Configuration
-@EnableConfigurationProperties(DealTimeoutProperties.class)
+@EnableConfigurationProperties({
+        DealTimeoutProperties.class,
+        DealTransitionProperties.class,
+        DealActorProperties.class,
+        DealStatusCounterProperties.class,
+        DealEventLifecycleProperties.class
+})
 public class DealConfig {
 
     @Bean
@@ -28,28 +36,35 @@ public class DealConfig {
             DealRepository dealRepository,
             DealEventRepository dealEventRepository,
             OutboxRepository outboxRepository,
-            JsonFacade jsonFacade) {
+            JsonFacade jsonFacade,
+            DealTransitionProperties transitionProperties) {
         return new DealTransitionService(
                 dealRepository, dealEventRepository,
-                outboxRepository, jsonFacade);
+                outboxRepository, jsonFacade,
+                transitionProperties.singleStatement(),
+                transitionProperties.bulkChunkSize());
     }
 
     @Bean
     FinancialEventAdapter financialEventAdapter(
             DealTransitionService dealTransitionService,
             EscrowPort escrowPort,
-            DealRepository dealRepository) {
+            DealRepository dealRepository,
+            DealActorRuntime dealActorRuntime) {
         return new FinancialEventAdapter(
-                dealTransitionService, escrowPort, dealRepository);
+                dealTransitionService, escrowPort, dealRepository,
+                dealActorRuntime);
     }
 
     @Bean
     DeliveryEventPort deliveryEventAdapter(
             DealTransitionService dealTransitionService,
-            DealRepository dealRepository) {
+            DealRepository dealRepository,
+            DealActorRuntime dealActorRuntime) {
         return new DeliveryEventAdapter(
                 dealTransitionService,
-                dealRepository);
+                dealRepository,
+                dealActorRuntime);
     }
 
     @Bean
@@ -60,7 +75,9 @@ public class DealConfig {
             DepositPort depositPort,
             OutboxRepository outboxRepository,
             ChannelRepository channelRepository,
-            JsonFacade jsonFacade) {
+            JsonFacade jsonFacade,
+            DealDeadlineScheduler dealDeadlineScheduler,
+            DealActorRuntime dealActorRuntime) {
         return new DealWorkflowEngine(
                 dealRepository,
                 dealTransitionService,
@@ -68,6 +85,8 @@ public class DealConfig {
                 depositPort,
                 outboxRepository,
                 channelRepository,
-                jsonFacade);
+                jsonFacade,
+                dealDeadlineScheduler,
+                dealActorRuntime);
     }
 }
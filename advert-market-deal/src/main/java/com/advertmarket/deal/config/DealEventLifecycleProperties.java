@@ -0,0 +1,68 @@
+package com.advertmarket.deal.config;
+
+import io.github.springpropertiesmd.api.annotation.PropertyDoc;
+import io.github.springpropertiesmd.api.annotation.PropertyGroupDoc;
+import io.github.springpropertiesmd.api.annotation.Requirement;
+import java.time.Duration;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Lifecycle settings for the monthly {@code deal_events} partitions.
+ *
+ * @param enabled          run the lifecycle job
+ * @param interval         delay between lifecycle runs
+ * @param monthsAhead      months after the current one to keep partitions for
+ * @param retentionMonths  full months kept before a partition is archived
+ * @param archiveDirectory directory archived partitions are written to; while
+ *                         unset, expired partitions are kept and not archived
+ * @param lockTtl          distributed lock TTL for a lifecycle run
+ */
+@ConfigurationProperties(prefix = "app.deal.events")
+@PropertyGroupDoc(
+        displayName = "Deal Event Lifecycle",
+        description = "Partition creation and archiving for the deal event log",
+        category = "Deal"
+)
+public record DealEventLifecycleProperties(
+
+        @PropertyDoc(
+                description = "Create and archive deal event partitions",
+                required = Requirement.OPTIONAL
+        )
+        @DefaultValue("true") boolean enabled,
+
+        @PropertyDoc(
+                description = "Delay between lifecycle runs",
+                required = Requirement.OPTIONAL
+        )
+        @DefaultValue("6h") @NonNull Duration interval,
+
+        @PropertyDoc(
+                description = "Months after the current one to create partitions for",
+                required = Requirement.OPTIONAL
+        )
+        @DefaultValue("3") int monthsAhead,
+
+        @PropertyDoc(
+                description = "Full months of events kept in the database before archiving",
+                required = Requirement.OPTIONAL
+        )
+        @DefaultValue("24") int retentionMonths,
+
+        @PropertyDoc(
+                description = "Directory archived partitions are written to;"
+                        + " expired partitions are kept while unset",
+                required = Requirement.OPTIONAL
+        )
+        @Nullable String archiveDirectory,
+
+        @PropertyDoc(
+                description = "Distributed lock TTL for a lifecycle run",
+                required = Requirement.OPTIONAL
+        )
+        @DefaultValue("30m") @NonNull Duration lockTtl
+) {
+}
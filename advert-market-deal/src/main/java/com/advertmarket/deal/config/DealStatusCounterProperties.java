@@ -0,0 +1,37 @@
+package com.advertmarket.deal.config;
+
+import io.github.springpropertiesmd.api.annotation.PropertyDoc;
+import io.github.springpropertiesmd.api.annotation.PropertyGroupDoc;
+import io.github.springpropertiesmd.api.annotation.Requirement;
+import java.time.Duration;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings for the per-user deal status counter repair job.
+ *
+ * @param repairCron cron expression of the repair run
+ * @param lockTtl    distributed lock TTL for a repair run
+ */
+@ConfigurationProperties(prefix = "app.deal.status-counters")
+@PropertyGroupDoc(
+        displayName = "Deal Status Counters",
+        description = "Repair job for per-user deal status counters",
+        category = "Deal"
+)
+public record DealStatusCounterProperties(
+
+        @PropertyDoc(
+                description = "Cron expression for recounting deal status counters",
+                required = Requirement.OPTIONAL
+        )
+        @DefaultValue("0 15 3 * * *") @NonNull String repairCron,
+
+        @PropertyDoc(
+                description = "Distributed lock TTL for a repair run",
+                required = Requirement.OPTIONAL
+        )
+        @DefaultValue("10m") @NonNull Duration lockTtl
+) {
+}
@@ -77,9 +77,76 @@ public record DealTimeoutProperties(
                 description = "Distributed lock TTL for scheduler execution",
                 required = Requirement.OPTIONAL
         )
-        @DefaultValue("2m") Duration lockTtl
+        @DefaultValue("2m") Duration lockTtl,
+
+        @PropertyDoc(
+                description = "In-memory deadline wheel settings",
+                required = Requirement.OPTIONAL
+        )
+        @DefaultValue Wheel wheel
 ) {
 
+    /**
+     * In-memory deadline wheel settings.
+     *
+     * <p>Deal ids are split into {@code shards}; each shard is owned by one
+     * instance through a Redis lease. The owner keeps the deadlines of its
+     * shards in a timing wheel and expires them within one tick of the
+     * deadline. The polling scheduler remains as a safety net.
+     *
+     * @param enabled         whether deadlines fire from the wheel
+     * @param tick            wheel resolution and firing interval
+     * @param shards          number of deal id shards
+     * @param leaseTtl        shard lease TTL
+     * @param refreshInterval interval for renewing leases and reloading deadlines
+     * @param horizon         how far ahead each refresh reloads deadlines
+     * @param batchSize       expired deals transitioned per batch
+     */
+    public record Wheel(
+            @PropertyDoc(
+                    description = "Fire deadlines from the in-memory wheel",
+                    required = Requirement.OPTIONAL
+            )
+            @DefaultValue("true") boolean enabled,
+
+            @PropertyDoc(
+                    description = "Wheel resolution and firing interval",
+                    required = Requirement.OPTIONAL
+            )
+            @DefaultValue("1s") Duration tick,
+
+            @PropertyDoc(
+                    description = "Number of deal id shards with independent owners",
+                    required = Requirement.OPTIONAL
+            )
+            @DefaultValue("16") int shards,
+
+            @PropertyDoc(
+                    description = "Shard ownership lease TTL",
+                    required = Requirement.OPTIONAL
+            )
+            @DefaultValue("30s") Duration leaseTtl,
+
+            @PropertyDoc(
+                    description = "Interval for renewing shard leases and reloading deadlines",
+                    required = Requirement.OPTIONAL
+            )
+            @DefaultValue("10s") Duration refreshInterval,
+
+            @PropertyDoc(
+                    description = "How far ahead each refresh reloads deadlines from the database",
+                    required = Requirement.OPTIONAL
+            )
+            @DefaultValue("15m") Duration horizon,
+
+            @PropertyDoc(
+                    description = "Expired deals transitioned per batch",
+                    required = Requirement.OPTIONAL
+            )
+            @DefaultValue("100") int batchSize
+    ) {
+    }
+
     /**
      * Returns the timeout duration for the given status, or null
      * if the status has no timeout configured.
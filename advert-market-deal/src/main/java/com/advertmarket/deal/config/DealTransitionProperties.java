@@ -0,0 +1,35 @@
+package com.advertmarket.deal.config;
+
+import io.github.springpropertiesmd.api.annotation.PropertyDoc;
+import io.github.springpropertiesmd.api.annotation.PropertyGroupDoc;
+import io.github.springpropertiesmd.api.annotation.Requirement;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Write path settings for deal state transitions.
+ *
+ * @param singleStatement write status, event and outbox entry in one statement
+ * @param bulkChunkSize   deals written per statement by bulk transitions (at most 7281)
+ */
+@ConfigurationProperties(prefix = "app.deal.transition")
+@PropertyGroupDoc(
+        displayName = "Deal Transition",
+        description = "Write path settings for deal state transitions",
+        category = "Deal"
+)
+public record DealTransitionProperties(
+
+        @PropertyDoc(
+                description = "Write status change, deal event and outbox entry in one statement",
+                required = Requirement.OPTIONAL
+        )
+        @DefaultValue("true") boolean singleStatement,
+
+        @PropertyDoc(
+                description = "Deals per statement in bulk transitions, at most 7281",
+                required = Requirement.OPTIONAL
+        )
+        @DefaultValue("500") int bulkChunkSize
+) {
+}
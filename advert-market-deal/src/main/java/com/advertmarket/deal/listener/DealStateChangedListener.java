@@ -1,6 +1,7 @@
 package com.advertmarket.deal.listener;
 
 import com.advertmarket.deal.api.event.DealStateChangedEvent;
+import com.advertmarket.deal.service.DealActorRuntime;
 import com.advertmarket.deal.service.DealWorkflowEngine;
 import com.advertmarket.shared.event.ConsumerGroups;
 import com.advertmarket.shared.event.EventEnvelope;
@@ -9,24 +10,33 @@ import com.advertmarket.shared.event.EventTypes;
 import com.advertmarket.shared.event.TopicNames;
 import com.advertmarket.shared.metric.MetricNames;
 import com.advertmarket.shared.metric.MetricsFacade;
+import java.util.Collection;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
 import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerSeekAware;
 import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
 
 /**
  * Kafka listener for deal state changes, dispatching post-transition workflow.
+ *
+ * <p>Each event is handled on its deal's {@link DealActorRuntime} mailbox.
+ * The record key is the deal id, so the partition this instance consumes
+ * decides which deals' actors live here; cached deal records of revoked
+ * partitions are dropped.
  */
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class DealStateChangedListener {
+public class DealStateChangedListener implements ConsumerSeekAware {
 
     private final EventEnvelopeDeserializer deserializer;
     private final DealWorkflowEngine workflowEngine;
     private final MetricsFacade metrics;
+    private final DealActorRuntime actors;
 
     /**
      * Consumes one deal state-changed event and triggers workflow side effects.
@@ -57,7 +67,21 @@ public class DealStateChangedListener {
 
         @SuppressWarnings("unchecked")
         var typed = (EventEnvelope<DealStateChangedEvent>) envelope;
-        workflowEngine.handle(typed);
+        var dealId = typed.dealId();
+        if (dealId == null) {
+            workflowEngine.handle(typed);
+        } else {
+            actors.execute(dealId, record.partition(), () -> workflowEngine.handle(typed));
+        }
         ack.acknowledge();
     }
+
+    @Override
+    @SuppressWarnings("fenum")
+    public void onPartitionsRevoked(Collection<TopicPartition> partitions) {
+        actors.evictPartitions(partitions.stream()
+                .filter(partition -> TopicNames.DEAL_STATE_CHANGED.equals(partition.topic()))
+                .map(TopicPartition::partition)
+                .toList());
+    }
 }
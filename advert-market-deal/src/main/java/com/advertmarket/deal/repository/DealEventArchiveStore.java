@@ -0,0 +1,47 @@
+package com.advertmarket.deal.repository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Destination for exported {@code deal_events} partitions.
+ *
+ * <p>An archive becomes visible only after its content was written in
+ * full and made durable, so a failed export never leaves a partial
+ * object under the final name and a stored one survives a crash.
+ */
+public interface DealEventArchiveStore {
+
+    /** Writes archive content to a stream. */
+    @FunctionalInterface
+    interface Content {
+
+        /**
+         * Writes the content.
+         *
+         * @param out destination stream, closed by the store
+         * @throws IOException if writing fails
+         */
+        void writeTo(@NonNull OutputStream out) throws IOException;
+    }
+
+    /**
+     * Returns whether the store has a destination configured.
+     *
+     * <p>Archiving drops the source partition, so nothing is archived to
+     * a store without an explicitly configured destination.
+     */
+    boolean isConfigured();
+
+    /**
+     * Stores an archive object, replacing any previous one with the same name.
+     *
+     * @param name    object name, e.g. {@code deal_events_2024_01}
+     * @param content writes the object content
+     * @return location of the stored object
+     * @throws IOException if the object cannot be written
+     */
+    @NonNull
+    String write(@NonNull String name, @NonNull Content content) throws IOException;
+}
@@ -0,0 +1,152 @@
+package com.advertmarket.deal.repository;
+
+import static org.jooq.impl.DSL.inline;
+import static org.jooq.impl.DSL.name;
+import static org.jooq.impl.DSL.table;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import lombok.RequiredArgsConstructor;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.jooq.DSLContext;
+import org.jooq.JSONFormat;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Manages the monthly partitions of {@code deal_events}.
+ *
+ * <p>Partitions are named {@code deal_events_yyyy_MM} and cover one
+ * calendar month each, as laid out by the initial migrations.
+ */
+@Repository
+@RequiredArgsConstructor
+public class DealEventPartitionRepository {
+
+    private static final String PARENT = "deal_events";
+    private static final Pattern PARTITION_NAME =
+            Pattern.compile(PARENT + "_(\\d{4})_(\\d{2})");
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final int EXPORT_FETCH_SIZE = 1000;
+    private static final JSONFormat EXPORT_FORMAT = new JSONFormat()
+            .header(false)
+            .recordFormat(JSONFormat.RecordFormat.OBJECT);
+
+    private final DSLContext dsl;
+
+    /**
+     * Returns the partition name for a month.
+     *
+     * @param month calendar month
+     * @return partition table name
+     */
+    public static @NonNull String partitionName(@NonNull YearMonth month) {
+        return PARENT + "_" + month.format(SUFFIX);
+    }
+
+    /**
+     * Lists the months that currently have an attached partition.
+     *
+     * @return months in ascending order
+     */
+    @NonNull
+    public List<YearMonth> findPartitionMonths() {
+        return dsl.resultQuery("""
+                        SELECT c.relname
+                        FROM pg_inherits i
+                        JOIN pg_class c ON c.oid = i.inhrelid
+                        JOIN pg_class p ON p.oid = i.inhparent
+                        WHERE p.relname = {0}
+                        """, inline(PARENT))
+                .fetch(0, String.class)
+                .stream()
+                .map(PARTITION_NAME::matcher)
+                .filter(Matcher::matches)
+                .map(matcher -> YearMonth.of(Integer.parseInt(matcher.group(1)),
+                        Integer.parseInt(matcher.group(2))))
+                .sorted()
+                .toList();
+    }
+
+    /**
+     * Creates the partition for a month if it does not exist.
+     *
+     * @param month calendar month
+     */
+    public void createPartition(@NonNull YearMonth month) {
+        dsl.execute("""
+                        CREATE TABLE IF NOT EXISTS {0} PARTITION OF {1}
+                            FOR VALUES FROM ({2}) TO ({3})
+                        """,
+                name(partitionName(month)), name(PARENT),
+                inline(month.atDay(1).toString()),
+                inline(month.plusMonths(1).atDay(1).toString()));
+    }
+
+    /**
+     * Streams every event of a month's partition as one JSON object per line.
+     *
+     * @param month calendar month
+     * @param out   destination, flushed but not closed
+     * @return number of exported events
+     * @throws IOException if writing fails
+     */
+    public long export(@NonNull YearMonth month, @NonNull OutputStream out) throws IOException {
+        var writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        long exported = Objects.requireNonNull(dsl.transactionResult(tx -> {
+            long count = 0;
+            try (var cursor = tx.dsl()
+                    .selectFrom(table(name(partitionName(month))))
+                    .fetchSize(EXPORT_FETCH_SIZE)
+                    .fetchLazy()) {
+                for (var event : cursor) {
+                    writer.write(event.formatJSON(EXPORT_FORMAT));
+                    writer.newLine();
+                    count++;
+                }
+            }
+            return count;
+        }));
+        writer.flush();
+        return exported;
+    }
+
+    /**
+     * Detaches and drops a month's partition and records where it was archived.
+     *
+     * @param month    calendar month
+     * @param location archive location
+     * @param events   number of archived events
+     */
+    public void dropArchived(@NonNull YearMonth month, @NonNull String location, long events) {
+        var partition = partitionName(month);
+        dsl.transaction(tx -> {
+            var ctx = tx.dsl();
+            ctx.execute("ALTER TABLE {0} DETACH PARTITION {1}", name(PARENT), name(partition));
+            ctx.execute("DROP TABLE {0}", name(partition));
+            ctx.execute("""
+                    INSERT INTO deal_event_archives
+                        (partition_name, range_from, range_to, location, event_count)
+                    VALUES ({0}, {1}, {2}, {3}, {4})
+                    ON CONFLICT (partition_name) DO UPDATE
+                        SET location = EXCLUDED.location,
+                            event_count = EXCLUDED.event_count,
+                            archived_at = now()
+                    """,
+                    inline(partition),
+                    inline(month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC)),
+                    inline(month.plusMonths(1).atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC)),
+                    inline(location),
+                    inline(events));
+        });
+    }
+}
@@ -0,0 +1,80 @@
+package com.advertmarket.deal.repository;
+
+import com.advertmarket.deal.config.DealEventLifecycleProperties;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.GZIPOutputStream;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stores archived deal event partitions as gzip-compressed files in a local directory.
+ *
+ * <p>Content goes to a temporary file that is synced to disk and moved
+ * into place once fully written, and deleted if writing fails. The
+ * directory is synced after the move so the new name survives a crash.
+ * The directory must be configured explicitly and should be durable
+ * shared storage: the archive is the only copy left once the partition
+ * is dropped.
+ */
+@Component
+public class FileDealEventArchiveStore implements DealEventArchiveStore {
+
+    private static final String EXTENSION = ".ndjson.gz";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final @Nullable Path directory;
+
+    /**
+     * Creates a store writing to the configured archive directory.
+     *
+     * @param props lifecycle settings
+     */
+    public FileDealEventArchiveStore(DealEventLifecycleProperties props) {
+        var configured = props.archiveDirectory();
+        this.directory = configured == null || configured.isBlank()
+                ? null
+                : Path.of(configured).toAbsolutePath();
+    }
+
+    @Override
+    public boolean isConfigured() {
+        return directory != null;
+    }
+
+    @Override
+    @NonNull
+    public String write(@NonNull String name, @NonNull Content content) throws IOException {
+        if (directory == null) {
+            throw new IOException("No deal event archive directory configured");
+        }
+        Files.createDirectories(directory);
+        var target = directory.resolve(name + EXTENSION);
+        var temp = directory.resolve(name + EXTENSION + ".tmp");
+        try {
+            try (var out = new GZIPOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_SIZE))) {
+                content.writeTo(out);
+            }
+            sync(temp, StandardOpenOption.WRITE);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+            sync(directory, StandardOpenOption.READ);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        return target.toString();
+    }
+
+    private static void sync(Path path, StandardOpenOption mode) throws IOException {
+        try (var channel = FileChannel.open(path, mode)) {
+            channel.force(true);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.advertmarket.deal.repository;
 
 import static com.advertmarket.db.generated.tables.DealEvents.DEAL_EVENTS;
+import static com.advertmarket.db.generated.tables.DealTimelines.DEAL_TIMELINES;
 
 import com.advertmarket.deal.api.dto.DealEventRecord;
 import com.advertmarket.deal.api.port.DealEventRepository;
@@ -37,9 +38,23 @@ public class JooqDealEventRepository implements DealEventRepository {
                 .execute();
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Looks up the deal's first and last event time in
+     * {@code deal_timelines} and bounds the query by it, so only the
+     * monthly partitions the deal has events in are read.
+     */
     @Override
     @NonNull
     public List<DealEventRecord> findByDealId(@NonNull DealId dealId) {
+        var timeline = dsl.select(DEAL_TIMELINES.FIRST_EVENT_AT, DEAL_TIMELINES.LAST_EVENT_AT)
+                .from(DEAL_TIMELINES)
+                .where(DEAL_TIMELINES.DEAL_ID.eq(dealId.value()))
+                .fetchOne();
+        if (timeline == null) {
+            return List.of();
+        }
         var rows = dsl.select(
                         DEAL_EVENTS.ID.as("id"),
                         DEAL_EVENTS.DEAL_ID.as("dealId"),
@@ -52,6 +67,7 @@ public class JooqDealEventRepository implements DealEventRepository {
                         DEAL_EVENTS.CREATED_AT.as("createdAt"))
                 .from(DEAL_EVENTS)
                 .where(DEAL_EVENTS.DEAL_ID.eq(dealId.value()))
+                .and(DEAL_EVENTS.CREATED_AT.between(timeline.value1(), timeline.value2()))
                 .orderBy(DEAL_EVENTS.CREATED_AT.desc())
                 .fetchInto(DealEventRow.class);
         return rows.stream()
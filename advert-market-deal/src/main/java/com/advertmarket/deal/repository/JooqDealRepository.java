@@ -1,30 +1,53 @@
 package com.advertmarket.deal.repository;
 
+import static com.advertmarket.db.generated.tables.DealStatusCounters.DEAL_STATUS_COUNTERS;
 import static com.advertmarket.db.generated.tables.Deals.DEALS;
 import static com.advertmarket.db.generated.tables.Users.USERS;
 
+import com.advertmarket.deal.api.dto.DealBulkTransitionWrite;
+import com.advertmarket.deal.api.dto.DealDeadline;
+import com.advertmarket.deal.api.dto.DealDto;
 import com.advertmarket.deal.api.dto.DealListCriteria;
 import com.advertmarket.deal.api.dto.DealRecord;
+import com.advertmarket.deal.api.dto.DealStatusCount;
+import com.advertmarket.deal.api.dto.DealTransitionWrite;
+import com.advertmarket.deal.api.dto.DealTransitionWriteOutcome;
 import com.advertmarket.deal.api.port.DealRepository;
 import com.advertmarket.deal.mapper.DealRecordMapper;
 import com.advertmarket.deal.mapper.DealRow;
+import com.advertmarket.shared.event.EventTypes;
+import com.advertmarket.shared.event.TopicNames;
 import com.advertmarket.shared.exception.DomainException;
 import com.advertmarket.shared.exception.ErrorCodes;
+import com.advertmarket.shared.model.ActorType;
 import com.advertmarket.shared.model.DealId;
 import com.advertmarket.shared.model.DealStatus;
+import com.advertmarket.shared.outbox.OutboxStatus;
 import com.advertmarket.shared.pagination.CursorCodec;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.Field;
 import org.jooq.JSONB;
+import org.jooq.Record;
+import org.jooq.Select;
+import org.jooq.impl.DSL;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -34,6 +57,147 @@ import org.springframework.stereotype.Repository;
 @RequiredArgsConstructor
 public class JooqDealRepository implements DealRepository {
 
+    private static final List<String> TERMINAL_STATUSES = Arrays.stream(DealStatus.values())
+            .filter(DealStatus::isTerminal)
+            .map(DealStatus::name)
+            .toList();
+
+    /** Columns of the list projection; creative JSON and payment details stay unread. */
+    private static final List<Field<?>> LIST_FIELDS = List.of(
+            DEALS.ID, DEALS.CHANNEL_ID, DEALS.ADVERTISER_ID, DEALS.OWNER_ID,
+            DEALS.STATUS, DEALS.AMOUNT_NANO, DEALS.DEADLINE_AT,
+            DEALS.CREATED_AT, DEALS.VERSION);
+
+    /*
+     * Compares counters against a recount in one snapshot and adds the
+     * difference rather than overwriting, so counter updates committed
+     * by concurrent transitions while the recount runs are kept.
+     */
+    private static final String REPAIR_STATUS_COUNTERS_SQL = """
+            WITH actual AS (
+                SELECT advertiser_id AS user_id, 'ADVERTISER' AS role, status,
+                       count(*) AS deal_count
+                FROM deals
+                GROUP BY advertiser_id, status
+                UNION ALL
+                SELECT owner_id, 'CHANNEL_OWNER', status, count(*)
+                FROM deals
+                GROUP BY owner_id, status
+            ), drift AS (
+                SELECT COALESCE(a.user_id, s.user_id) AS user_id,
+                       COALESCE(a.role, s.role) AS role,
+                       COALESCE(a.status, s.status) AS status,
+                       COALESCE(a.deal_count, 0) - COALESCE(s.deal_count, 0) AS delta
+                FROM actual a
+                FULL JOIN deal_status_counters s
+                    ON s.user_id = a.user_id AND s.role = a.role AND s.status = a.status
+                WHERE COALESCE(a.deal_count, 0) <> COALESCE(s.deal_count, 0)
+            )
+            INSERT INTO deal_status_counters AS c (user_id, role, status, deal_count)
+            SELECT user_id, role, status, delta
+            FROM drift
+            ORDER BY user_id, role, status
+            ON CONFLICT (user_id, role, status)
+                DO UPDATE SET deal_count = c.deal_count + EXCLUDED.deal_count
+            """;
+
+    /*
+     * Locks the deal, applies the status change if the current status is
+     * allowed, and appends the event and outbox rows from the UPDATE's
+     * RETURNING, all in one statement. Data-modifying CTEs always run to
+     * completion, so the final SELECT only reports the outcome.
+     */
+    private static final String APPLY_TRANSITION_SQL = """
+            WITH target AS (
+                SELECT id, status, amount_nano, channel_id, version
+                FROM deals
+                WHERE id = CAST(? AS uuid)
+                FOR UPDATE
+            ), updated AS (
+                UPDATE deals d
+                SET status = CAST(? AS varchar),
+                    version = d.version + 1,
+                    cancellation_reason = COALESCE(CAST(? AS text), d.cancellation_reason),
+                    updated_at = now()
+                FROM target t
+                WHERE d.id = t.id
+                  AND t.status IN (%s)
+                RETURNING t.status AS from_status, t.amount_nano, t.channel_id, d.version
+            ), appended AS (
+                INSERT INTO deal_events
+                    (deal_id, event_type, from_status, to_status,
+                     actor_id, actor_type, payload)
+                SELECT CAST(? AS uuid), CAST(? AS varchar), u.from_status,
+                       CAST(? AS varchar), CAST(? AS bigint), CAST(? AS varchar),
+                       CAST(? AS jsonb)
+                FROM updated u
+            ), queued AS (
+                INSERT INTO notification_outbox
+                    (deal_id, topic, partition_key, payload,
+                     status, retry_count, version)
+                SELECT CAST(? AS uuid), CAST(? AS varchar), CAST(? AS varchar),
+                       jsonb_set(jsonb_set(jsonb_set(jsonb_set(CAST(? AS jsonb),
+                           ARRAY['payload', 'fromStatus'], to_jsonb(u.from_status)),
+                           ARRAY['payload', 'dealAmountNano'], to_jsonb(u.amount_nano)),
+                           ARRAY['payload', 'channelId'], to_jsonb(u.channel_id)),
+                           ARRAY['payload', 'dealVersion'], to_jsonb(u.version)),
+                       CAST(? AS varchar), 0, 0
+                FROM updated u
+            )
+            SELECT t.status, EXISTS (SELECT 1 FROM updated) AS applied,
+                   COALESCE((SELECT u.version FROM updated u), t.version) AS version
+            FROM target t
+            """;
+
+    // Rows are locked in id order so concurrent bulk writes cannot deadlock
+    private static final String APPLY_TRANSITIONS_SQL = """
+            WITH input (deal_id, from_status, version, to_status, actor_id,
+                        actor_type, reason, event_payload, outbox_payload) AS (
+                VALUES %s
+            ), locked AS (
+                SELECT d.id
+                FROM deals d
+                JOIN input i ON i.deal_id = d.id
+                WHERE d.status = i.from_status
+                  AND d.version = i.version
+                ORDER BY d.id
+                FOR UPDATE OF d
+            ), updated AS (
+                UPDATE deals d
+                SET status = i.to_status,
+                    version = d.version + 1,
+                    cancellation_reason = COALESCE(i.reason, d.cancellation_reason),
+                    updated_at = now()
+                FROM input i
+                JOIN locked l ON l.id = i.deal_id
+                WHERE d.id = i.deal_id
+                  AND d.status = i.from_status
+                  AND d.version = i.version
+                RETURNING i.*
+            ), appended AS (
+                INSERT INTO deal_events
+                    (deal_id, event_type, from_status, to_status,
+                     actor_id, actor_type, payload)
+                SELECT u.deal_id, CAST(? AS varchar), u.from_status, u.to_status,
+                       u.actor_id, u.actor_type, CAST(u.event_payload AS jsonb)
+                FROM updated u
+            ), queued AS (
+                INSERT INTO notification_outbox
+                    (deal_id, topic, partition_key, payload,
+                     status, retry_count, version)
+                SELECT u.deal_id, CAST(? AS varchar), CAST(u.deal_id AS varchar),
+                       CAST(u.outbox_payload AS jsonb), CAST(? AS varchar), 0, 0
+                FROM updated u
+            )
+            SELECT deal_id FROM updated
+            """;
+
+    private static final String APPLY_TRANSITIONS_ROW =
+            "(CAST(? AS uuid), CAST(? AS varchar), CAST(? AS integer), "
+                    + "CAST(? AS varchar), CAST(? AS bigint), CAST(? AS varchar), "
+                    + "CAST(? AS text), CAST(? AS text), CAST(? AS text))";
+
+
     private final DSLContext dsl;
     private final DealRecordMapper dealRecordMapper;
 
@@ -92,36 +256,14 @@ public class JooqDealRepository implements DealRepository {
                 .map(dealRecordMapper::toRecord);
     }
 
-    @Override
-    public int updateStatus(@NonNull DealId dealId,
-                            @NonNull DealStatus expectedFrom,
-                            @NonNull DealStatus to,
-                            int expectedVersion) {
-        return dsl.update(DEALS)
-                .set(DEALS.STATUS, to.name())
-                .set(DEALS.VERSION, DEALS.VERSION.plus(1))
-                .set(DEALS.UPDATED_AT, OffsetDateTime.now())
-                .where(DEALS.ID.eq(dealId.value()))
-                .and(DEALS.STATUS.eq(expectedFrom.name()))
-                .and(DEALS.VERSION.eq(expectedVersion))
-                .execute();
-    }
-
-    @Override
-    public void setCancellationReason(@NonNull DealId dealId,
-                                       @NonNull String reason) {
-        dsl.update(DEALS)
-                .set(DEALS.CANCELLATION_REASON, reason)
-                .set(DEALS.UPDATED_AT, OffsetDateTime.now())
-                .where(DEALS.ID.eq(dealId.value()))
-                .execute();
-    }
-
     @Override
     @NonNull
-    public List<DealRecord> listByUser(long userId,
-                                        @NonNull DealListCriteria criteria) {
-        var query = dsl.select(
+    public List<DealRecord> findByIds(@NonNull Collection<DealId> dealIds) {
+        if (dealIds.isEmpty()) {
+            return List.of();
+        }
+        var ids = dealIds.stream().map(DealId::value).toList();
+        return dsl.select(
                         DEALS.ID.as("id"),
                         DEALS.CHANNEL_ID.as("channelId"),
                         DEALS.ADVERTISER_ID.as("advertiserId"),
@@ -149,12 +291,114 @@ public class JooqDealRepository implements DealRepository {
                         DEALS.CREATED_AT.as("createdAt"),
                         DEALS.UPDATED_AT.as("updatedAt"))
                 .from(DEALS)
-                .where(DEALS.ADVERTISER_ID.eq(userId)
-                        .or(DEALS.OWNER_ID.eq(userId)));
+                .where(DEALS.ID.in(ids))
+                .fetchInto(DealRow.class)
+                .stream()
+                .map(dealRecordMapper::toRecord)
+                .toList();
+    }
+
+    @Override
+    public int updateStatus(@NonNull DealId dealId,
+                            @NonNull DealStatus expectedFrom,
+                            @NonNull DealStatus to,
+                            int expectedVersion) {
+        return dsl.update(DEALS)
+                .set(DEALS.STATUS, to.name())
+                .set(DEALS.VERSION, DEALS.VERSION.plus(1))
+                .set(DEALS.UPDATED_AT, OffsetDateTime.now())
+                .where(DEALS.ID.eq(dealId.value()))
+                .and(DEALS.STATUS.eq(expectedFrom.name()))
+                .and(DEALS.VERSION.eq(expectedVersion))
+                .execute();
+    }
 
+    @Override
+    @NonNull
+    @SuppressWarnings("fenum:argument")
+    public Optional<DealTransitionWriteOutcome> applyTransition(
+            @NonNull DealTransitionWrite write) {
+        var allowedFrom = write.allowedFrom().stream().map(DealStatus::name).toList();
+        var dealId = write.dealId().value();
+        var bindings = new ArrayList<Object>();
+        bindings.add(dealId);
+        bindings.add(write.targetStatus().name());
+        bindings.add(write.cancellationReason());
+        bindings.addAll(allowedFrom);
+        bindings.addAll(List.of(dealId, EventTypes.DEAL_STATE_CHANGED,
+                write.targetStatus().name()));
+        bindings.add(write.actorId());
+        bindings.addAll(List.of(write.actorType().name(), write.eventPayload(),
+                dealId, TopicNames.DEAL_STATE_CHANGED, dealId.toString(),
+                write.outboxPayload(), OutboxStatus.PENDING.name()));
+
+        // An empty IN list is a syntax error; IN (NULL) never matches
+        var placeholders = allowedFrom.isEmpty()
+                ? "NULL"
+                : String.join(", ", Collections.nCopies(allowedFrom.size(), "?"));
+        var sql = APPLY_TRANSITION_SQL.formatted(placeholders);
+        return dsl.fetchOptional(sql, bindings.toArray())
+                .map(r -> new DealTransitionWriteOutcome(
+                        DealStatus.valueOf(r.get(0, String.class)),
+                        Boolean.TRUE.equals(r.get(1, Boolean.class)),
+                        r.get(2, Integer.class)));
+    }
+
+    @Override
+    @NonNull
+    @SuppressWarnings("fenum:argument")
+    public Set<DealId> applyTransitions(@NonNull List<DealBulkTransitionWrite> writes) {
+        if (writes.isEmpty()) {
+            return Set.of();
+        }
+        var bindings = new ArrayList<Object>(writes.size() * 9 + 3);
+        for (var write : writes) {
+            bindings.add(write.dealId().value());
+            bindings.add(write.expectedStatus().name());
+            bindings.add(write.expectedVersion());
+            bindings.add(write.targetStatus().name());
+            bindings.add(write.actorId());
+            bindings.add(write.actorType().name());
+            bindings.add(write.cancellationReason());
+            bindings.add(write.eventPayload());
+            bindings.add(write.outboxPayload());
+        }
+        bindings.addAll(List.of(EventTypes.DEAL_STATE_CHANGED,
+                TopicNames.DEAL_STATE_CHANGED, OutboxStatus.PENDING.name()));
+
+        var sql = APPLY_TRANSITIONS_SQL.formatted(
+                String.join(", ", Collections.nCopies(writes.size(), APPLY_TRANSITIONS_ROW)));
+        return dsl.fetch(sql, bindings.toArray()).stream()
+                .map(r -> DealId.of(r.get(0, UUID.class)))
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    public void setCancellationReason(@NonNull DealId dealId,
+                                       @NonNull String reason) {
+        dsl.update(DEALS)
+                .set(DEALS.CANCELLATION_REASON, reason)
+                .set(DEALS.UPDATED_AT, OffsetDateTime.now())
+                .where(DEALS.ID.eq(dealId.value()))
+                .execute();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>Reads the advertiser and owner sides as two keyset scans over
+     * their participant indexes, each capped at the page size, and
+     * merges them; a user with many deals costs one page per side
+     * instead of a scan over everything they take part in.
+     */
+    @Override
+    @NonNull
+    public List<DealDto> listByUser(long userId,
+                                    @NonNull DealListCriteria criteria) {
+        var condition = DSL.noCondition();
         var statusFilter = criteria.status();
         if (statusFilter != null) {
-            query = query.and(DEALS.STATUS.eq(statusFilter.name()));
+            condition = condition.and(DEALS.STATUS.eq(statusFilter.name()));
         }
 
         // Keyset pagination by created_at DESC, id DESC (composite cursor)
@@ -164,19 +408,20 @@ public class JooqDealRepository implements DealRepository {
             var cursorTs = OffsetDateTime.ofInstant(
                     Instant.parse(fields.get("ts")), ZoneOffset.UTC);
             var cursorId = UUID.fromString(fields.get("id"));
-            query = query.and(
-                    DEALS.CREATED_AT.lessThan(cursorTs)
-                            .or(DEALS.CREATED_AT.eq(cursorTs)
-                                    .and(DEALS.ID.lessThan(cursorId))));
+            condition = condition.and(
+                    DSL.row(DEALS.CREATED_AT, DEALS.ID).lessThan(cursorTs, cursorId));
         }
 
-        var rows = query
-                .orderBy(DEALS.CREATED_AT.desc(), DEALS.ID.desc())
+        var listed = participantPage(DEALS.ADVERTISER_ID.eq(userId).and(condition),
+                        criteria.limit())
+                .union(participantPage(DEALS.OWNER_ID.eq(userId).and(condition),
+                        criteria.limit()))
+                .asTable("listed");
+        return dsl.selectFrom(listed)
+                .orderBy(listed.field(DEALS.CREATED_AT).desc(),
+                        listed.field(DEALS.ID).desc())
                 .limit(criteria.limit())
-                .fetchInto(DealRow.class);
-        return rows.stream()
-                .map(dealRecordMapper::toRecord)
-                .toList();
+                .fetch(JooqDealRepository::toListItem);
     }
 
     @Override
@@ -251,6 +496,30 @@ public class JooqDealRepository implements DealRepository {
                 .toList();
     }
 
+    @Override
+    @NonNull
+    public List<DealDeadline> findDeadlines(
+            @Nullable Instant until,
+            @Nullable DealId afterId,
+            int limit) {
+        Condition condition = DEALS.DEADLINE_AT.isNotNull()
+                .and(DEALS.STATUS.notIn(TERMINAL_STATUSES));
+        if (until != null) {
+            condition = condition.and(DEALS.DEADLINE_AT.le(
+                    OffsetDateTime.ofInstant(until, ZoneOffset.UTC)));
+        }
+        if (afterId != null) {
+            condition = condition.and(DEALS.ID.gt(afterId.value()));
+        }
+        return dsl.select(DEALS.ID, DEALS.DEADLINE_AT)
+                .from(DEALS)
+                .where(condition)
+                .orderBy(DEALS.ID.asc())
+                .limit(limit)
+                .fetch(r -> new DealDeadline(
+                        DealId.of(r.value1()), r.value2().toInstant()));
+    }
+
     @Override
     public void setDeadline(@NonNull DealId dealId, @NonNull Instant deadlineAt) {
         dsl.update(DEALS)
@@ -269,6 +538,18 @@ public class JooqDealRepository implements DealRepository {
                 .execute();
     }
 
+    @Override
+    public void clearDeadlines(@NonNull Collection<DealId> dealIds) {
+        if (dealIds.isEmpty()) {
+            return;
+        }
+        dsl.update(DEALS)
+                .setNull(DEALS.DEADLINE_AT)
+                .set(DEALS.UPDATED_AT, OffsetDateTime.now())
+                .where(DEALS.ID.in(dealIds.stream().map(DealId::value).toList()))
+                .execute();
+    }
+
     @Override
     public void setDepositAddress(
             @NonNull DealId dealId,
@@ -342,13 +623,56 @@ public class JooqDealRepository implements DealRepository {
                 .fetch(USERS.ID);
     }
 
+    @Override
+    @NonNull
+    public List<DealStatusCount> countByStatus(long userId) {
+        return dsl.select(DEAL_STATUS_COUNTERS.ROLE,
+                        DEAL_STATUS_COUNTERS.STATUS,
+                        DEAL_STATUS_COUNTERS.DEAL_COUNT)
+                .from(DEAL_STATUS_COUNTERS)
+                .where(DEAL_STATUS_COUNTERS.USER_ID.eq(userId))
+                .and(DEAL_STATUS_COUNTERS.DEAL_COUNT.gt(0L))
+                .orderBy(DEAL_STATUS_COUNTERS.ROLE, DEAL_STATUS_COUNTERS.STATUS)
+                .fetch(row -> new DealStatusCount(
+                        ActorType.valueOf(row.value1()),
+                        DealStatus.valueOf(row.value2()),
+                        row.value3()));
+    }
+
+    @Override
+    public int repairStatusCounters() {
+        return dsl.execute(REPAIR_STATUS_COUNTERS_SQL);
+    }
+
+    private Select<Record> participantPage(Condition condition, int limit) {
+        return dsl.select(LIST_FIELDS)
+                .from(DEALS)
+                .where(condition)
+                .orderBy(DEALS.CREATED_AT.desc(), DEALS.ID.desc())
+                .limit(limit);
+    }
+
+    private static DealDto toListItem(Record row) {
+        var deadlineAt = row.get(DEALS.DEADLINE_AT);
+        return new DealDto(
+                DealId.of(row.get(DEALS.ID)),
+                row.get(DEALS.CHANNEL_ID),
+                row.get(DEALS.ADVERTISER_ID),
+                row.get(DEALS.OWNER_ID),
+                DealStatus.valueOf(row.get(DEALS.STATUS)),
+                row.get(DEALS.AMOUNT_NANO),
+                deadlineAt != null ? deadlineAt.toInstant() : null,
+                row.get(DEALS.CREATED_AT).toInstant(),
+                row.get(DEALS.VERSION));
+    }
+
     /**
-     * Encodes a composite cursor from the last record's created_at and id.
+     * Encodes a composite cursor from the last item's created_at and id.
      */
-    public static @NonNull String buildCursor(@NonNull DealRecord last) {
+    public static @NonNull String buildCursor(@NonNull DealDto last) {
         return CursorCodec.encode(Map.of(
                 "ts", last.createdAt().toString(),
-                "id", last.id().toString()));
+                "id", last.id().value().toString()));
     }
 
     private static Map<String, String> decodeCursor(String cursor) {
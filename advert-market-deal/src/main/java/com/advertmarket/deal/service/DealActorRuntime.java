@@ -0,0 +1,261 @@
+package com.advertmarket.deal.service;
+
+import com.advertmarket.deal.api.dto.DealRecord;
+import com.advertmarket.deal.config.DealActorProperties;
+import com.advertmarket.shared.metric.MetricNames;
+import com.advertmarket.shared.metric.MetricsFacade;
+import com.advertmarket.shared.model.DealId;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.ReentrantLock;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs work for a deal serially on a per-deal mailbox.
+ *
+ * <p>A deal with pending work gets a mailbox drained by one virtual
+ * thread, and the mailbox retires as soon as it is empty. Work for one
+ * deal never overlaps while different deals run in parallel, so workflow
+ * events, delivery and financial callbacks and deadline expiry for the
+ * same deal no longer race each other into CAS conflicts. Callers block
+ * until their task completes and get its exception, which keeps Kafka
+ * retry and acknowledgement semantics unchanged. A task that submits
+ * work for its own deal runs it inline; it must not wait on another
+ * deal's mailbox.
+ *
+ * <p>Mailboxes are keyed by deal id, which is also the Kafka partition
+ * key of deal events, so a deal's workflow runs on the instance that
+ * owns its partition. A bounded cache keeps the last-known record of
+ * each deal, tagged with that partition and dropped when the partition
+ * is revoked. Entries are only trusted for the exact deal version a
+ * caller expects.
+ */
+@Component
+@SuppressWarnings("fenum:argument")
+public class DealActorRuntime {
+
+    /** Partition of work that did not arrive through Kafka. */
+    public static final int UNKNOWN_PARTITION = -1;
+
+    private static final ThreadLocal<Context> CURRENT = new ThreadLocal<>();
+
+    private record Context(DealId dealId, int partition) {
+    }
+
+    private record Cached(DealRecord deal, int partition) {
+    }
+
+    private final boolean enabled;
+    private final MetricsFacade metrics;
+    private final ThreadFactory threads = Thread.ofVirtual().name("deal-actor-", 0).factory();
+    private final Map<DealId, Mailbox> mailboxes = new ConcurrentHashMap<>();
+    private final ReentrantLock cacheLock = new ReentrantLock();
+    private final Map<DealId, Cached> cache;
+
+    /**
+     * Creates the runtime with no active mailboxes.
+     *
+     * @param metrics metrics facade
+     * @param props   actor settings
+     */
+    public DealActorRuntime(MetricsFacade metrics, DealActorProperties props) {
+        this.enabled = props.enabled();
+        this.metrics = metrics;
+        int cacheSize = props.cacheSize();
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<DealId, Cached> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        metrics.registerGauge(MetricNames.DEAL_ACTOR_MAILBOXES, mailboxes, Map::size);
+    }
+
+    /**
+     * Runs a task on the deal's mailbox and waits for it.
+     *
+     * @param dealId deal identifier
+     * @param task   work to run
+     */
+    public void execute(@NonNull DealId dealId, @NonNull Runnable task) {
+        execute(dealId, UNKNOWN_PARTITION, task);
+    }
+
+    /**
+     * Runs a task consumed from a Kafka partition on the deal's mailbox and waits for it.
+     *
+     * @param dealId    deal identifier
+     * @param partition partition the triggering record came from
+     * @param task      work to run
+     */
+    public void execute(@NonNull DealId dealId, int partition, @NonNull Runnable task) {
+        var current = CURRENT.get();
+        if (!enabled || current != null && current.dealId().equals(dealId)) {
+            task.run();
+            return;
+        }
+        var done = new CompletableFuture<Void>();
+        enqueue(dealId, () -> runTask(new Context(dealId, partition), task, done));
+        try {
+            done.join();
+        } catch (CompletionException ex) {
+            throw rethrow(ex.getCause());
+        }
+    }
+
+    /**
+     * Returns the cached record of a deal if it is at the given version.
+     *
+     * @param dealId  deal identifier
+     * @param version expected deal version, or null if unknown
+     * @return cached record, or null on a miss
+     */
+    public @Nullable DealRecord cached(@NonNull DealId dealId, @Nullable Integer version) {
+        Cached entry;
+        cacheLock.lock();
+        try {
+            entry = cache.get(dealId);
+        } finally {
+            cacheLock.unlock();
+        }
+        if (entry != null && version != null && entry.deal().version() == version) {
+            metrics.incrementCounter(MetricNames.DEAL_ACTOR_CACHE_HIT);
+            return entry.deal();
+        }
+        metrics.incrementCounter(MetricNames.DEAL_ACTOR_CACHE_MISS);
+        return null;
+    }
+
+    /**
+     * Stores the last-known record of a deal.
+     *
+     * @param deal deal record
+     */
+    public void remember(@NonNull DealRecord deal) {
+        if (!enabled) {
+            return;
+        }
+        var current = CURRENT.get();
+        int partition = current != null ? current.partition() : UNKNOWN_PARTITION;
+        cacheLock.lock();
+        try {
+            cache.put(DealId.of(deal.id()), new Cached(deal, partition));
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    /**
+     * Drops the cached record of a deal.
+     *
+     * @param dealId deal identifier
+     */
+    public void evict(@NonNull DealId dealId) {
+        cacheLock.lock();
+        try {
+            cache.remove(dealId);
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    /**
+     * Drops cached records of deals from revoked partitions, and those of unknown origin.
+     *
+     * @param partitions revoked partitions
+     */
+    public void evictPartitions(@NonNull Collection<Integer> partitions) {
+        cacheLock.lock();
+        try {
+            cache.values().removeIf(entry -> entry.partition() == UNKNOWN_PARTITION
+                    || partitions.contains(entry.partition()));
+        } finally {
+            cacheLock.unlock();
+        }
+    }
+
+    /** Returns the number of deals with pending or running work. */
+    public int activeMailboxes() {
+        return mailboxes.size();
+    }
+
+    private void enqueue(DealId dealId, Runnable task) {
+        while (!mailboxes.computeIfAbsent(dealId, Mailbox::new).offer(task)) {
+            Thread.onSpinWait();
+        }
+    }
+
+    // CHECKSTYLE.OFF: IllegalCatch
+    private static void runTask(Context context, Runnable task, CompletableFuture<Void> done) {
+        CURRENT.set(context);
+        try {
+            task.run();
+            done.complete(null);
+        } catch (Throwable ex) {
+            done.completeExceptionally(ex);
+        } finally {
+            CURRENT.remove();
+        }
+    }
+    // CHECKSTYLE.ON: IllegalCatch
+
+    private static RuntimeException rethrow(Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException("Deal task failed", cause);
+    }
+
+    private final class Mailbox implements Runnable {
+
+        private final DealId dealId;
+        private final Queue<Runnable> tasks = new ArrayDeque<>();
+        private boolean running;
+        private boolean retired;
+
+        Mailbox(DealId dealId) {
+            this.dealId = dealId;
+        }
+
+        synchronized boolean offer(Runnable task) {
+            if (retired) {
+                return false;
+            }
+            tasks.add(task);
+            if (!running) {
+                running = true;
+                threads.newThread(this).start();
+            }
+            return true;
+        }
+
+        @Override
+        public void run() {
+            for (var task = next(); task != null; task = next()) {
+                task.run();
+            }
+        }
+
+        private synchronized @Nullable Runnable next() {
+            var task = tasks.poll();
+            if (task == null) {
+                running = false;
+                retired = true;
+                mailboxes.remove(dealId, this);
+            }
+            return task;
+        }
+    }
+}
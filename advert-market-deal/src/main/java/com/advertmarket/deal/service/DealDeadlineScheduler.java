@@ -0,0 +1,237 @@
+package com.advertmarket.deal.service;
+
+import com.advertmarket.deal.api.dto.DealDeadline;
+import com.advertmarket.deal.api.dto.DealRecord;
+import com.advertmarket.deal.api.port.DealRepository;
+import com.advertmarket.deal.config.DealTimeoutProperties;
+import com.advertmarket.shared.lock.DistributedLockPort;
+import com.advertmarket.shared.metric.MetricNames;
+import com.advertmarket.shared.metric.MetricsFacade;
+import com.advertmarket.shared.model.DealId;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fires deal deadlines from an in-memory {@link DealDeadlineWheel}.
+ *
+ * <p>Deal ids are split into shards, and each shard is owned by the
+ * instance holding its {@code scheduler:deal-deadline:shard-<n>} lease.
+ * On acquiring a shard the owner loads all of its deadlines; afterwards
+ * deadlines set or cleared on this instance are applied directly, and a
+ * periodic reload of the upcoming {@code horizon} picks up changes made
+ * on other instances. Every tick, expired deals are read in batches and
+ * each batch is handed to {@link DealTimeoutScheduler#expireAll}, which
+ * transitions it through {@link DealTransitionService#transitionAll} in
+ * set-based writes.
+ *
+ * <p>A deal whose expiry fails keeps its deadline in the database, so
+ * the next reload puts it back on the wheel and it is retried.
+ */
+@Component
+@Slf4j
+@SuppressWarnings("fenum:argument")
+public class DealDeadlineScheduler {
+
+    private static final String SHARD_LOCK_PREFIX = "scheduler:deal-deadline:shard-";
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final DealRepository dealRepository;
+    private final DealTimeoutScheduler timeoutScheduler;
+    private final DistributedLockPort lockPort;
+    private final MetricsFacade metrics;
+    private final DealTimeoutProperties.Wheel props;
+    private final DealDeadlineWheel wheel;
+    private final Map<Integer, String> leases = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the scheduler with an empty wheel and no shards owned.
+     *
+     * @param dealRepository   deal repository
+     * @param timeoutScheduler applies the timeout action to expired deals
+     * @param lockPort         lock port used for shard leases
+     * @param metrics          metrics facade
+     * @param props            timeout settings
+     */
+    public DealDeadlineScheduler(DealRepository dealRepository,
+                                 DealTimeoutScheduler timeoutScheduler,
+                                 DistributedLockPort lockPort,
+                                 MetricsFacade metrics,
+                                 DealTimeoutProperties props) {
+        this.dealRepository = dealRepository;
+        this.timeoutScheduler = timeoutScheduler;
+        this.lockPort = lockPort;
+        this.metrics = metrics;
+        this.props = props.wheel();
+        this.wheel = new DealDeadlineWheel(this.props.tick(), Instant.now());
+        metrics.registerGauge(MetricNames.DEAL_DEADLINE_PENDING, wheel, DealDeadlineWheel::size);
+    }
+
+    /**
+     * Puts a new deadline on the wheel if this instance owns the deal's shard.
+     *
+     * @param dealId     deal identifier
+     * @param deadlineAt new deadline
+     */
+    public void onDeadlineSet(@NonNull DealId dealId, @NonNull Instant deadlineAt) {
+        if (owns(dealId)) {
+            wheel.schedule(dealId, deadlineAt);
+        }
+    }
+
+    /**
+     * Takes a cleared deadline off the wheel.
+     *
+     * @param dealId deal identifier
+     */
+    public void onDeadlineCleared(@NonNull DealId dealId) {
+        wheel.cancel(dealId);
+    }
+
+    /** Renews and acquires shard leases, then reloads upcoming deadlines. */
+    @Scheduled(fixedDelayString = "${app.deal.timeout.wheel.refresh-interval:10s}")
+    public void refresh() {
+        if (!props.enabled()) {
+            return;
+        }
+        renewLeases();
+        var acquired = acquireLeases();
+        if (!acquired.isEmpty()) {
+            load(null, acquired);
+        }
+        var owned = new HashSet<>(leases.keySet());
+        owned.removeAll(acquired);
+        if (!owned.isEmpty()) {
+            load(Instant.now().plus(props.horizon()), owned);
+        }
+    }
+
+    /** Advances the wheel and expires deals whose deadline has passed. */
+    @Scheduled(fixedDelayString = "${app.deal.timeout.wheel.tick:1s}")
+    public void fireDue() {
+        if (!props.enabled()) {
+            return;
+        }
+        var due = wheel.advance(Instant.now());
+        for (int from = 0; from < due.size(); from += props.batchSize()) {
+            expireBatch(due.subList(from, Math.min(from + props.batchSize(), due.size())));
+        }
+    }
+
+    /** Releases held shard leases so other instances take over without waiting. */
+    @PreDestroy
+    public void releaseLeases() {
+        leases.forEach((shard, token) -> lockPort.unlock(shardKey(shard), token));
+        leases.clear();
+    }
+
+    // CHECKSTYLE.OFF: IllegalCatch
+    private void expireBatch(List<DealId> batch) {
+        List<DealRecord> deals;
+        try {
+            deals = dealRepository.findByIds(batch);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to read {} expired deals, retrying after reload: {}",
+                    batch.size(), ex.getMessage());
+            return;
+        }
+        var owned = new ArrayList<DealRecord>(deals.size());
+        for (var deal : deals) {
+            if (owns(DealId.of(deal.id()))) {
+                recordLag(deal.deadlineAt());
+                owned.add(deal);
+            }
+        }
+        try {
+            timeoutScheduler.expireAll(owned, Duration.ZERO);
+        } catch (RuntimeException ex) {
+            log.warn("Failed to expire {} deals, retrying after reload: {}",
+                    owned.size(), ex.getMessage());
+        }
+        metrics.incrementCounter(MetricNames.DEAL_DEADLINE_FIRED, batch.size());
+    }
+    // CHECKSTYLE.ON: IllegalCatch
+
+    private void renewLeases() {
+        for (var lease : Map.copyOf(leases).entrySet()) {
+            int shard = lease.getKey();
+            if (lockPort.extend(shardKey(shard), lease.getValue(), props.leaseTtl())) {
+                continue;
+            }
+            leases.remove(shard);
+            wheel.cancelIf(dealId -> shardOf(dealId) == shard);
+            metrics.incrementCounter(MetricNames.DEAL_DEADLINE_SHARD_LOST);
+            log.warn("Lost deal deadline shard lease: shard={}", shard);
+        }
+    }
+
+    private Set<Integer> acquireLeases() {
+        var acquired = new HashSet<Integer>();
+        for (int shard = 0; shard < props.shards(); shard++) {
+            if (leases.containsKey(shard)) {
+                continue;
+            }
+            var token = lockPort.tryLock(shardKey(shard), props.leaseTtl());
+            if (token.isPresent()) {
+                leases.put(shard, token.get());
+                acquired.add(shard);
+            }
+        }
+        if (!acquired.isEmpty()) {
+            log.info("Acquired deal deadline shards: {}", acquired);
+        }
+        return acquired;
+    }
+
+    private void load(@Nullable Instant until, Set<Integer> shards) {
+        DealId afterId = null;
+        int loaded = 0;
+        while (true) {
+            var page = dealRepository.findDeadlines(until, afterId, LOAD_PAGE_SIZE);
+            for (DealDeadline deadline : page) {
+                if (shards.contains(shardOf(deadline.dealId()))) {
+                    wheel.schedule(deadline.dealId(), deadline.deadlineAt());
+                    loaded++;
+                }
+            }
+            if (page.size() < LOAD_PAGE_SIZE) {
+                break;
+            }
+            afterId = page.getLast().dealId();
+        }
+        log.debug("Loaded {} deal deadlines for shards {}", loaded, shards);
+    }
+
+    private void recordLag(@Nullable Instant deadlineAt) {
+        if (deadlineAt == null) {
+            return;
+        }
+        var lag = Duration.between(deadlineAt, Instant.now());
+        if (!lag.isNegative()) {
+            metrics.recordTimer(MetricNames.DEAL_DEADLINE_LAG, lag);
+        }
+    }
+
+    private boolean owns(DealId dealId) {
+        return leases.containsKey(shardOf(dealId));
+    }
+
+    private int shardOf(DealId dealId) {
+        return Math.floorMod(dealId.value().hashCode(), props.shards());
+    }
+
+    private static String shardKey(int shard) {
+        return SHARD_LOCK_PREFIX + shard;
+    }
+}
@@ -0,0 +1,206 @@
+package com.advertmarket.deal.service;
+
+import com.advertmarket.shared.model.DealId;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Hierarchical timing wheel of deal deadlines.
+ *
+ * <p>Four levels of 64 slots each: a level-0 slot is one tick wide and
+ * every level above is 64 times coarser, so the wheel spans 64^4 ticks
+ * (about 194 days at one-second ticks). Deadlines further out park on
+ * the top level and are re-placed each time their slot comes around.
+ * Scheduling and cancelling are constant time; advancing costs one
+ * slot per elapsed tick plus a cascade every 64 ticks. Deadlines are
+ * rounded up to the next tick, so nothing fires early.
+ *
+ * <p>Thread-safe: all operations run under one lock.
+ */
+public final class DealDeadlineWheel {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    private static final int DUE = -1;
+
+    private record Entry(long expiryTick, int level, int slot) {
+    }
+
+    private final long tickMillis;
+    private final List<Set<DealId>> slots = new ArrayList<>(LEVELS * SLOTS);
+    private final Set<DealId> due = new LinkedHashSet<>();
+    private final Map<DealId, Entry> entries = new HashMap<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private long currentTick;
+
+    /**
+     * Creates an empty wheel.
+     *
+     * @param tick  slot width of the finest level
+     * @param start instant the wheel starts at
+     */
+    public DealDeadlineWheel(@NonNull Duration tick, @NonNull Instant start) {
+        if (tick.toMillis() <= 0) {
+            throw new IllegalArgumentException("Tick must be at least 1ms, got: " + tick);
+        }
+        this.tickMillis = tick.toMillis();
+        this.currentTick = Math.floorDiv(start.toEpochMilli(), tickMillis);
+        for (int i = 0; i < LEVELS * SLOTS; i++) {
+            slots.add(new LinkedHashSet<>());
+        }
+    }
+
+    /**
+     * Schedules or reschedules the deadline of a deal.
+     *
+     * @param dealId     deal identifier
+     * @param deadlineAt instant the deal times out
+     */
+    public void schedule(@NonNull DealId dealId, @NonNull Instant deadlineAt) {
+        long expiryTick = Math.ceilDiv(deadlineAt.toEpochMilli(), tickMillis);
+        lock.lock();
+        try {
+            var existing = entries.get(dealId);
+            if (existing != null && existing.expiryTick() == expiryTick) {
+                return;
+            }
+            remove(dealId);
+            place(dealId, expiryTick);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes the deadline of a deal, if scheduled.
+     *
+     * @param dealId deal identifier
+     */
+    public void cancel(@NonNull DealId dealId) {
+        lock.lock();
+        try {
+            remove(dealId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes every deadline whose deal matches the filter.
+     *
+     * @param filter selects deals to drop
+     */
+    public void cancelIf(@NonNull Predicate<DealId> filter) {
+        lock.lock();
+        try {
+            for (var dealId : List.copyOf(entries.keySet())) {
+                if (filter.test(dealId)) {
+                    remove(dealId);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Advances the wheel to the given instant.
+     *
+     * @param now current instant
+     * @return deals whose deadline is at or before {@code now}, in firing order
+     */
+    public @NonNull List<DealId> advance(@NonNull Instant now) {
+        long targetTick = Math.floorDiv(now.toEpochMilli(), tickMillis);
+        lock.lock();
+        try {
+            if (entries.size() == due.size() && targetTick > currentTick) {
+                currentTick = targetTick;
+            }
+            while (currentTick < targetTick) {
+                currentTick++;
+                cascade();
+                var slot = slots.get((int) (currentTick & SLOT_MASK));
+                for (var dealId : slot) {
+                    entries.put(dealId, new Entry(currentTick, DUE, DUE));
+                    due.add(dealId);
+                }
+                slot.clear();
+            }
+            if (due.isEmpty()) {
+                return List.of();
+            }
+            var fired = List.copyOf(due);
+            for (var dealId : fired) {
+                entries.remove(dealId);
+            }
+            due.clear();
+            return fired;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Returns the number of scheduled deadlines. */
+    public int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            int shift = SLOT_BITS * level;
+            if ((currentTick & ((1L << shift) - 1)) != 0) {
+                return;
+            }
+            var slot = slots.get(level * SLOTS + (int) ((currentTick >>> shift) & SLOT_MASK));
+            var cascaded = List.copyOf(slot);
+            slot.clear();
+            for (var dealId : cascaded) {
+                place(dealId, entries.get(dealId).expiryTick());
+            }
+        }
+    }
+
+    private void place(DealId dealId, long expiryTick) {
+        long delta = expiryTick - currentTick;
+        if (delta <= 0) {
+            entries.put(dealId, new Entry(expiryTick, DUE, DUE));
+            due.add(dealId);
+            return;
+        }
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int slot = (int) ((expiryTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+        slots.get(level * SLOTS + slot).add(dealId);
+        entries.put(dealId, new Entry(expiryTick, level, slot));
+    }
+
+    private void remove(DealId dealId) {
+        var entry = entries.remove(dealId);
+        if (entry == null) {
+            return;
+        }
+        if (entry.level() == DUE) {
+            due.remove(dealId);
+        } else {
+            slots.get(entry.level() * SLOTS + entry.slot()).remove(dealId);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.advertmarket.deal.service;
+
+import com.advertmarket.deal.config.DealEventLifecycleProperties;
+import com.advertmarket.deal.repository.DealEventArchiveStore;
+import com.advertmarket.deal.repository.DealEventPartitionRepository;
+import com.advertmarket.shared.lock.DistributedLockPort;
+import com.advertmarket.shared.metric.MetricNames;
+import com.advertmarket.shared.metric.MetricsFacade;
+import java.io.IOException;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the monthly {@code deal_events} partitions rolling.
+ *
+ * <p>Each run creates partitions for the current month and the next
+ * {@code monthsAhead} months, so inserts never hit a missing range.
+ * Partitions older than {@code retentionMonths} full months are
+ * exported to the {@link DealEventArchiveStore} as compressed JSON
+ * lines, then detached and dropped; the export is recorded in
+ * {@code deal_event_archives}. A partition whose export fails stays
+ * attached and is retried on the next run, and the remaining partitions
+ * are still tried. While no archive destination is configured, expired
+ * partitions are kept.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@SuppressWarnings("fenum:argument")
+public class DealEventLifecycleScheduler {
+
+    private static final String LOCK_KEY = "scheduler:deal-event-lifecycle";
+
+    private final DealEventPartitionRepository partitions;
+    private final DealEventArchiveStore archiveStore;
+    private final DistributedLockPort lockPort;
+    private final MetricsFacade metrics;
+    private final DealEventLifecycleProperties props;
+
+    /** Creates upcoming partitions and archives expired ones. */
+    @Scheduled(fixedDelayString = "${app.deal.events.interval:6h}",
+            initialDelay = 30, timeUnit = TimeUnit.SECONDS)
+    public void run() {
+        if (!props.enabled()) {
+            return;
+        }
+        var token = lockPort.tryLock(LOCK_KEY, props.lockTtl());
+        if (token.isEmpty()) {
+            log.debug("Could not acquire deal event lifecycle lock, skipping");
+            return;
+        }
+
+        try {
+            runAt(YearMonth.now(ZoneOffset.UTC));
+        } finally {
+            lockPort.unlock(LOCK_KEY, token.get());
+        }
+    }
+
+    void runAt(@NonNull YearMonth current) {
+        var existing = new HashSet<>(partitions.findPartitionMonths());
+        for (int ahead = 0; ahead <= props.monthsAhead(); ahead++) {
+            var month = current.plusMonths(ahead);
+            if (existing.add(month)) {
+                partitions.createPartition(month);
+                metrics.incrementCounter(MetricNames.DEAL_EVENT_PARTITION_CREATED);
+                log.info("Created deal event partition {}",
+                        DealEventPartitionRepository.partitionName(month));
+            }
+        }
+
+        var cutoff = current.minusMonths(props.retentionMonths());
+        var expired = existing.stream()
+                .filter(month -> month.isBefore(cutoff))
+                .sorted()
+                .toList();
+        if (expired.isEmpty()) {
+            return;
+        }
+        if (!archiveStore.isConfigured()) {
+            log.warn("Keeping {} expired deal event partitions:"
+                    + " app.deal.events.archive-directory is not set", expired.size());
+            return;
+        }
+        expired.forEach(this::archive);
+    }
+
+    // CHECKSTYLE.OFF: IllegalCatch
+    private void archive(YearMonth month) {
+        var name = DealEventPartitionRepository.partitionName(month);
+        long[] exported = new long[1];
+        String location;
+        try {
+            location = archiveStore.write(name,
+                    out -> exported[0] = partitions.export(month, out));
+            partitions.dropArchived(month, location, exported[0]);
+        } catch (IOException | RuntimeException ex) {
+            // jOOQ wraps an IOException thrown inside the export transaction
+            log.warn("Failed to archive deal event partition {}, keeping it", name, ex);
+            return;
+        }
+        metrics.incrementCounter(MetricNames.DEAL_EVENT_PARTITION_ARCHIVED);
+        log.info("Archived {} deal events from {} to {}", exported[0], name, location);
+    }
+    // CHECKSTYLE.ON: IllegalCatch
+}
@@ -6,6 +6,7 @@ import com.advertmarket.deal.api.dto.DealDto;
 import com.advertmarket.deal.api.dto.DealEventRecord;
 import com.advertmarket.deal.api.dto.DealListCriteria;
 import com.advertmarket.deal.api.dto.DealRecord;
+import com.advertmarket.deal.api.dto.DealStatusCount;
 import com.advertmarket.deal.api.dto.DealTransitionCommand;
 import com.advertmarket.deal.api.dto.DealTransitionResult;
 import com.advertmarket.deal.api.port.DealAuthorizationPort;
@@ -30,6 +31,7 @@ import com.advertmarket.shared.model.DealStatus;
 import com.advertmarket.shared.model.Money;
 import com.advertmarket.shared.pagination.CursorPage;
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
@@ -178,21 +180,24 @@ public class DealService implements DealPort {
         var adjusted = new DealListCriteria(
                 criteria.status(), criteria.cursor(), fetchLimit);
 
-        var records = dealRepository.listByUser(userId, adjusted);
+        var items = dealRepository.listByUser(userId, adjusted);
 
-        boolean hasMore = records.size() > criteria.limit();
+        boolean hasMore = items.size() > criteria.limit();
         var page = hasMore
-                ? records.subList(0, criteria.limit())
-                : records;
+                ? items.subList(0, criteria.limit())
+                : items;
 
-        var items = page.stream()
-                .map(dealDtoMapper::toDto)
-                .toList();
         String nextCursor = hasMore
                 ? JooqDealRepository.buildCursor(page.getLast())
                 : null;
 
-        return new CursorPage<>(items, nextCursor);
+        return new CursorPage<>(page, nextCursor);
+    }
+
+    /** Returns the user's deal counts by role and status. */
+    @Transactional(readOnly = true)
+    public @NonNull List<DealStatusCount> countsForUser(long userId) {
+        return dealRepository.countByStatus(userId);
     }
 
     @Override
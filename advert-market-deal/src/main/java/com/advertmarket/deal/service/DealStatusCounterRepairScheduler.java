@@ -0,0 +1,52 @@
+package com.advertmarket.deal.service;
+
+import com.advertmarket.deal.api.port.DealRepository;
+import com.advertmarket.deal.config.DealStatusCounterProperties;
+import com.advertmarket.shared.lock.DistributedLockPort;
+import com.advertmarket.shared.metric.MetricNames;
+import com.advertmarket.shared.metric.MetricsFacade;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically checks per-user deal status counters against the deals table.
+ *
+ * <p>Counters are kept by a trigger on {@code deals}, so drift only comes
+ * from writes that bypass it (manual fixes, truncates, restores). The run
+ * recounts all deals and adds any difference to the stored counters.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@SuppressWarnings("fenum:argument")
+public class DealStatusCounterRepairScheduler {
+
+    private static final String LOCK_KEY = "scheduler:deal-status-counter-repair";
+
+    private final DealRepository dealRepository;
+    private final DistributedLockPort lockPort;
+    private final MetricsFacade metrics;
+    private final DealStatusCounterProperties props;
+
+    /** Recounts deals and corrects drifted counters. */
+    @Scheduled(cron = "${app.deal.status-counters.repair-cron:0 15 3 * * *}")
+    public void repair() {
+        var token = lockPort.tryLock(LOCK_KEY, props.lockTtl());
+        if (token.isEmpty()) {
+            log.debug("Could not acquire deal status counter repair lock, skipping");
+            return;
+        }
+
+        try {
+            int corrected = dealRepository.repairStatusCounters();
+            if (corrected > 0) {
+                metrics.incrementCounter(MetricNames.DEAL_STATUS_COUNTER_REPAIRED, corrected);
+                log.warn("Corrected {} drifted deal status counters", corrected);
+            }
+        } finally {
+            lockPort.unlock(LOCK_KEY, token.get());
+        }
+    }
+}
@@ -20,7 +20,11 @@ import com.advertmarket.shared.model.DealStatus;
 import com.advertmarket.shared.outbox.OutboxEntry;
 import com.advertmarket.shared.outbox.OutboxRepository;
 import com.advertmarket.shared.outbox.OutboxStatus;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,6 +39,10 @@ import org.springframework.stereotype.Component;
  * <p>Uses distributed locking to prevent concurrent processing
  * across multiple instances. Funded deals emit a refund indication
  * via the transition reason.
+ *
+ * <p>With the deadline wheel enabled, {@link DealDeadlineScheduler}
+ * fires deadlines as they pass and this poll, which only picks deals
+ * past the grace period, acts as a safety net.
  */
 @Component
 @RequiredArgsConstructor
@@ -112,7 +120,22 @@ public class DealTimeoutScheduler {
             return;
         }
 
-        if (!isExpiredCandidate(current)) {
+        expire(current, props.gracePeriod());
+    }
+
+    /**
+     * Applies the timeout action to a deal whose deadline has passed.
+     *
+     * <p>Re-checks the freshly read deal first, so a deal that moved on or
+     * got a new deadline since it was picked is left alone. Used by the
+     * polling path; {@link DealDeadlineScheduler} uses {@link #expireAll}.
+     *
+     * @param current freshly read deal
+     * @param grace   how long past its deadline the deal must be
+     */
+    void expire(DealRecord current, Duration grace) {
+        var dealId = DealId.of(current.id());
+        if (!isExpiredCandidate(current, grace)) {
             log.debug("Deal {} is no longer expired candidate, skipping", dealId);
             return;
         }
@@ -129,7 +152,73 @@ public class DealTimeoutScheduler {
             return;
         }
 
-        var command = new DealTransitionCommand(
+        var result = dealTransitionService.transition(timeoutCommand(dealId, targetStatus));
+
+        if (result instanceof DealTransitionResult.Success
+                || result instanceof DealTransitionResult.AlreadyInTargetState) {
+            dealRepository.clearDeadline(dealId);
+            recordProcessed(current, targetStatus);
+        }
+    }
+
+    // CHECKSTYLE.OFF: IllegalCatch
+    /**
+     * Applies the timeout action to many deals whose deadline has passed.
+     *
+     * <p>Expirations go through {@link DealTransitionService#transitionAll},
+     * so a burst of due deals costs a few set-based writes instead of one
+     * transition per deal. Deadlines are then cleared in one statement for
+     * the deals whose transition succeeded; any other deal keeps its
+     * deadline and is picked up again. Disputed deals are escalated one by
+     * one, as there is nothing to transition.
+     *
+     * @param deals freshly read deals
+     * @param grace how long past its deadline a deal must be
+     */
+    void expireAll(List<DealRecord> deals, Duration grace) {
+        var commands = new ArrayList<DealTransitionCommand>(deals.size());
+        var candidates = new HashMap<DealId, DealRecord>();
+        for (var deal : deals) {
+            var dealId = DealId.of(deal.id());
+            if (!isExpiredCandidate(deal, grace)) {
+                continue;
+            }
+            if (deal.status() == DealStatus.DISPUTED) {
+                try {
+                    escalateDispute(dealId, deal);
+                } catch (RuntimeException ex) {
+                    log.warn("Failed to escalate dispute timeout for deal={}: {}",
+                            dealId, ex.getMessage());
+                }
+                continue;
+            }
+            var targetStatus = timeoutTarget(deal.status());
+            if (targetStatus != null) {
+                commands.add(timeoutCommand(dealId, targetStatus));
+                candidates.put(dealId, deal);
+            }
+        }
+        if (commands.isEmpty()) {
+            return;
+        }
+
+        var expired = new ArrayList<DealId>(commands.size());
+        for (var outcome : dealTransitionService.transitionAll(commands)) {
+            if (outcome.result() instanceof DealTransitionResult.Success success) {
+                expired.add(outcome.dealId());
+                recordProcessed(candidates.get(outcome.dealId()), success.newStatus());
+            } else if (outcome.errorCode() != null) {
+                log.debug("Timeout not applied: deal={}, error={}",
+                        outcome.dealId(), outcome.errorCode());
+            }
+        }
+        dealRepository.clearDeadlines(expired);
+    }
+    // CHECKSTYLE.ON: IllegalCatch
+
+    private static DealTransitionCommand timeoutCommand(DealId dealId,
+                                                        DealStatus targetStatus) {
+        return new DealTransitionCommand(
                 dealId,
                 targetStatus,
                 SYSTEM_ACTOR_ID,
@@ -137,25 +226,22 @@ public class DealTimeoutScheduler {
                 TIMEOUT_REASON,
                 null,
                 null);
-        var result = dealTransitionService.transition(command);
+    }
 
-        if (result instanceof DealTransitionResult.Success
-                || result instanceof DealTransitionResult.AlreadyInTargetState) {
-            dealRepository.clearDeadline(dealId);
-            metrics.incrementCounter(
-                    MetricNames.DEAL_TIMEOUT_PROCESSED,
-                    "from_status", current.status().name(),
-                    "to_status", targetStatus.name());
-
-            if (current.status().isFunded() && targetStatus == DealStatus.EXPIRED) {
-                metrics.incrementCounter(
-                        MetricNames.DEAL_TIMEOUT_REFUND_EMITTED,
-                        "from_status", current.status().name());
-            }
+    private void recordProcessed(DealRecord current, DealStatus targetStatus) {
+        metrics.incrementCounter(
+                MetricNames.DEAL_TIMEOUT_PROCESSED,
+                "from_status", current.status().name(),
+                "to_status", targetStatus.name());
 
-            log.info("Timeout processed: deal={} {} -> {}",
-                    dealId, current.status(), targetStatus);
+        if (current.status().isFunded() && targetStatus == DealStatus.EXPIRED) {
+            metrics.incrementCounter(
+                    MetricNames.DEAL_TIMEOUT_REFUND_EMITTED,
+                    "from_status", current.status().name());
         }
+
+        log.info("Timeout processed: deal={} {} -> {}",
+                current.id(), current.status(), targetStatus);
     }
 
     private void escalateDispute(DealId dealId, DealRecord current) {
@@ -206,7 +292,7 @@ public class DealTimeoutScheduler {
                 .build());
     }
 
-    private boolean isExpiredCandidate(DealRecord deal) {
+    private static boolean isExpiredCandidate(DealRecord deal, Duration grace) {
         if (deal.status().isTerminal()) {
             return false;
         }
@@ -214,7 +300,7 @@ public class DealTimeoutScheduler {
         if (deadlineAt == null) {
             return false;
         }
-        var deadlineThreshold = java.time.Instant.now().minus(props.gracePeriod());
+        var deadlineThreshold = Instant.now().minus(grace);
         return !deadlineAt.isAfter(deadlineThreshold);
     }
 
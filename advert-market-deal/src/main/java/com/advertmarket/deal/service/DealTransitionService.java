@@ -1,9 +1,12 @@
 package com.advertmarket.deal.service;
 
+import com.advertmarket.deal.api.dto.DealBulkTransitionOutcome;
+import com.advertmarket.deal.api.dto.DealBulkTransitionWrite;
 import com.advertmarket.deal.api.dto.DealEventRecord;
 import com.advertmarket.deal.api.dto.DealRecord;
 import com.advertmarket.deal.api.dto.DealTransitionCommand;
 import com.advertmarket.deal.api.dto.DealTransitionResult;
+import com.advertmarket.deal.api.dto.DealTransitionWrite;
 import com.advertmarket.deal.api.event.DealStateChangedEvent;
 import com.advertmarket.deal.api.port.DealEventRepository;
 import com.advertmarket.deal.api.port.DealRepository;
@@ -21,40 +24,169 @@ import com.advertmarket.shared.model.DealStatus;
 import com.advertmarket.shared.outbox.OutboxEntry;
 import com.advertmarket.shared.outbox.OutboxRepository;
 import com.advertmarket.shared.outbox.OutboxStatus;
+import java.sql.SQLException;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import lombok.RequiredArgsConstructor;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 
 /**
  * Pure domain service implementing the deal state machine.
  *
  * <p>Validates transitions, enforces actor permissions,
  * uses optimistic locking (CAS), and writes event + outbox entries.
+ *
+ * <p>In single-statement mode the status change, event and outbox entry
+ * are written by {@link DealRepository#applyTransition} in one round trip,
+ * with the deal row locked only for that statement. The transition graph
+ * and actor permissions are folded into the set of statuses the deal may
+ * move from, and validation only runs to explain a rejected write.
+ *
+ * <p>{@link #transitionAll} applies many transitions in chunks: each
+ * chunk is read in one query, validated in memory and written with
+ * {@link DealRepository#applyTransitions} in one statement, and every
+ * deal gets its own outcome instead of failing the whole batch. A chunk
+ * that fails marks only its own deals with an error.
  */
-@RequiredArgsConstructor
+@Slf4j
 public class DealTransitionService {
 
     private record TransitionKey(DealStatus from, DealStatus to) {
     }
 
+    /**
+     * A transition result with the deal version its write produced.
+     *
+     * @param result  transition result
+     * @param version deal version after the write, or {@link #NOT_WRITTEN}
+     */
+    record VersionedResult(@NonNull DealTransitionResult result, int version) {
+    }
+
+    /** Version reported when the transition wrote nothing. */
+    static final int NOT_WRITTEN = -1;
+
     private static final Map<DealStatus, Set<DealStatus>> TRANSITIONS = buildTransitions();
     private static final Map<TransitionKey, Set<ActorType>> ACTOR_PERMISSIONS =
             buildActorPermissions();
 
+    /** Default number of deals written per bulk statement. */
+    public static final int DEFAULT_BULK_CHUNK_SIZE = 500;
+
+    /**
+     * Largest bulk chunk whose statement stays under PostgreSQL's 65,535
+     * bind parameters: 9 per deal plus 3 shared.
+     */
+    public static final int MAX_BULK_CHUNK_SIZE = 7281;
+
+    private static final Comparator<UUID> UUID_ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+    // deadlock_detected and serialization_failure: the statement rolled back
+    private static final Set<String> LOCK_CONFLICT_STATES = Set.of("40P01", "40001");
+
     private final DealRepository dealRepository;
     private final DealEventRepository dealEventRepository;
     private final OutboxRepository outboxRepository;
     private final JsonFacade jsonFacade;
+    private final boolean singleStatement;
+    private final int bulkChunkSize;
+
+    /**
+     * Creates the service with the multi-statement write path.
+     *
+     * @param dealRepository      deal repository
+     * @param dealEventRepository deal event repository
+     * @param outboxRepository    outbox repository
+     * @param jsonFacade          JSON serializer
+     */
+    public DealTransitionService(DealRepository dealRepository,
+                                 DealEventRepository dealEventRepository,
+                                 OutboxRepository outboxRepository,
+                                 JsonFacade jsonFacade) {
+        this(dealRepository, dealEventRepository, outboxRepository, jsonFacade, false);
+    }
+
+    /**
+     * Creates the service.
+     *
+     * @param dealRepository      deal repository
+     * @param dealEventRepository deal event repository
+     * @param outboxRepository    outbox repository
+     * @param jsonFacade          JSON serializer
+     * @param singleStatement     whether to write transitions in one statement
+     */
+    public DealTransitionService(DealRepository dealRepository,
+                                 DealEventRepository dealEventRepository,
+                                 OutboxRepository outboxRepository,
+                                 JsonFacade jsonFacade,
+                                 boolean singleStatement) {
+        this(dealRepository, dealEventRepository, outboxRepository, jsonFacade,
+                singleStatement, DEFAULT_BULK_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates the service.
+     *
+     * @param dealRepository      deal repository
+     * @param dealEventRepository deal event repository
+     * @param outboxRepository    outbox repository
+     * @param jsonFacade          JSON serializer
+     * @param singleStatement     whether to write transitions in one statement
+     * @param bulkChunkSize       deals written per bulk statement
+     */
+    public DealTransitionService(DealRepository dealRepository,
+                                 DealEventRepository dealEventRepository,
+                                 OutboxRepository outboxRepository,
+                                 JsonFacade jsonFacade,
+                                 boolean singleStatement,
+                                 int bulkChunkSize) {
+        if (bulkChunkSize <= 0 || bulkChunkSize > MAX_BULK_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Bulk chunk size must be between 1 and "
+                    + MAX_BULK_CHUNK_SIZE + ", got: " + bulkChunkSize);
+        }
+        this.dealRepository = dealRepository;
+        this.dealEventRepository = dealEventRepository;
+        this.outboxRepository = outboxRepository;
+        this.jsonFacade = jsonFacade;
+        this.singleStatement = singleStatement;
+        this.bulkChunkSize = bulkChunkSize;
+    }
 
     /**
      * Transitions a deal to the requested target status.
      */
     @NonNull
     public DealTransitionResult transition(@NonNull DealTransitionCommand command) {
+        return transitionVersioned(command).result();
+    }
+
+    /**
+     * Transitions a deal and reports the version the write left it at.
+     *
+     * <p>The version lets callers tell whether the write moved the deal
+     * from the version they hold or from a later one.
+     */
+    @NonNull
+    VersionedResult transitionVersioned(@NonNull DealTransitionCommand command) {
+        if (singleStatement) {
+            return transitionInSingleStatement(command);
+        }
         var dealId = command.dealId();
         var targetStatus = command.targetStatus();
 
@@ -64,7 +196,7 @@ public class DealTransitionService {
 
         // Idempotency: already in target state
         if (deal.status() == targetStatus) {
-            return new DealTransitionResult.AlreadyInTargetState(deal.status());
+            return notWritten(new DealTransitionResult.AlreadyInTargetState(deal.status()));
         }
 
         // Validate transition is allowed in the graph
@@ -81,7 +213,7 @@ public class DealTransitionService {
 
         if (updated == 0) {
             // Concurrent modification — re-read for idempotency check
-            return handleCasConflict(dealId, targetStatus);
+            return notWritten(handleCasConflict(dealId, targetStatus));
         }
 
         var now = Instant.now();
@@ -98,7 +230,261 @@ public class DealTransitionService {
         // Outbox entry
         publishOutboxEvent(deal, targetStatus, command, now);
 
-        return new DealTransitionResult.Success(targetStatus);
+        return new VersionedResult(
+                new DealTransitionResult.Success(targetStatus), deal.version() + 1);
+    }
+
+    /**
+     * Transitions many deals, one read and one write statement per chunk.
+     *
+     * <p>Commands are validated against the transition graph, actor
+     * permissions and partial amounts in memory, and written with a
+     * status and version CAS per deal. A deal that lost its CAS is read
+     * again to tell a transition that already happened from a conflict.
+     * A deal listed more than once is only transitioned by its first
+     * command. A chunk that hits a deadlock or serialization failure is
+     * retried once; a chunk that still fails gets an error outcome for
+     * each deal not settled before the failure, and later chunks still run.
+     *
+     * @param commands transitions to apply
+     * @return one outcome per command, in command order
+     */
+    @NonNull
+    @SuppressWarnings("fenum:argument")
+    public List<DealBulkTransitionOutcome> transitionAll(
+            @NonNull List<DealTransitionCommand> commands) {
+        var outcomes = new DealBulkTransitionOutcome[commands.size()];
+        var firstByDeal = new LinkedHashMap<DealId, Integer>();
+        for (int i = 0; i < commands.size(); i++) {
+            var dealId = commands.get(i).dealId();
+            if (firstByDeal.putIfAbsent(dealId, i) != null) {
+                outcomes[i] = rejected(dealId, ErrorCodes.INVALID_PARAMETER);
+            }
+        }
+        var unique = List.copyOf(firstByDeal.values());
+        for (int from = 0; from < unique.size(); from += bulkChunkSize) {
+            var chunk = unique.subList(from, Math.min(from + bulkChunkSize, unique.size()));
+            transitionChunkOrFail(commands, chunk, outcomes);
+        }
+        return Arrays.asList(outcomes);
+    }
+
+    // CHECKSTYLE.OFF: IllegalCatch
+    @SuppressWarnings("fenum:argument")
+    private void transitionChunkOrFail(List<DealTransitionCommand> commands,
+                                       List<Integer> chunk,
+                                       DealBulkTransitionOutcome[] outcomes) {
+        var remaining = chunk;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transitionChunk(commands, remaining, outcomes);
+                return;
+            } catch (RuntimeException ex) {
+                boolean lockConflict = isLockConflict(ex);
+                if (lockConflict && attempt == 1) {
+                    // The failed statement rolled back; deals it settled stay settled
+                    remaining = remaining.stream()
+                            .filter(index -> outcomes[index] == null)
+                            .toList();
+                    continue;
+                }
+                log.warn("Bulk transition chunk of {} deals failed", remaining.size(), ex);
+                var errorCode = lockConflict
+                        ? ErrorCodes.LOCK_ACQUISITION_FAILED
+                        : ErrorCodes.INTERNAL_ERROR;
+                for (int index : remaining) {
+                    if (outcomes[index] == null) {
+                        outcomes[index] = rejected(commands.get(index).dealId(), errorCode);
+                    }
+                }
+                return;
+            }
+        }
+    }
+    // CHECKSTYLE.ON: IllegalCatch
+
+    private static boolean isLockConflict(Throwable ex) {
+        for (var cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sql
+                    && LOCK_CONFLICT_STATES.contains(sql.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @SuppressWarnings("fenum:argument")
+    private void transitionChunk(List<DealTransitionCommand> commands,
+                                 List<Integer> chunk,
+                                 DealBulkTransitionOutcome[] outcomes) {
+        var deals = findByIds(chunk.stream().map(i -> commands.get(i).dealId()).toList());
+        var writes = new ArrayList<DealBulkTransitionWrite>(chunk.size());
+        var pending = new HashMap<DealId, Integer>();
+        for (int index : chunk) {
+            var command = commands.get(index);
+            var dealId = command.dealId();
+            var deal = deals.get(dealId.value());
+            if (deal == null) {
+                outcomes[index] = rejected(dealId, ErrorCodes.DEAL_NOT_FOUND);
+                continue;
+            }
+            if (deal.status() == command.targetStatus()) {
+                outcomes[index] = new DealBulkTransitionOutcome(dealId,
+                        new DealTransitionResult.AlreadyInTargetState(deal.status()), null);
+                continue;
+            }
+            var errorCode = rejectionCode(deal.status(), command);
+            if (errorCode != null) {
+                outcomes[index] = rejected(dealId, errorCode);
+                continue;
+            }
+            writes.add(bulkWrite(deal, command));
+            pending.put(dealId, index);
+        }
+        // Rows go to the statement in the order PostgreSQL locks them: uuid
+        // compares as unsigned bytes, UUID.compareTo as signed longs
+        writes.sort(Comparator.comparing(write -> write.dealId().value(), UUID_ORDER));
+
+        var applied = dealRepository.applyTransitions(writes);
+        for (var dealId : applied) {
+            var index = pending.remove(dealId);
+            outcomes[index] = new DealBulkTransitionOutcome(dealId,
+                    new DealTransitionResult.Success(commands.get(index).targetStatus()), null);
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        // Lost the CAS to a concurrent writer: settle like handleCasConflict
+        var current = findByIds(pending.keySet());
+        pending.forEach((dealId, index) -> {
+            var deal = current.get(dealId.value());
+            var targetStatus = commands.get(index).targetStatus();
+            if (deal == null) {
+                outcomes[index] = rejected(dealId, ErrorCodes.DEAL_NOT_FOUND);
+            } else if (deal.status() == targetStatus) {
+                outcomes[index] = new DealBulkTransitionOutcome(dealId,
+                        new DealTransitionResult.AlreadyInTargetState(deal.status()), null);
+            } else {
+                outcomes[index] = rejected(dealId, ErrorCodes.INVALID_STATE_TRANSITION);
+            }
+        });
+    }
+
+    private Map<UUID, DealRecord> findByIds(Collection<DealId> dealIds) {
+        return dealRepository.findByIds(dealIds).stream()
+                .collect(Collectors.toMap(DealRecord::id, Function.identity()));
+    }
+
+    @SuppressWarnings("fenum:return")
+    private static @Nullable String rejectionCode(DealStatus from,
+                                                  DealTransitionCommand command) {
+        var to = command.targetStatus();
+        var allowed = TRANSITIONS.get(from);
+        if (allowed == null || !allowed.contains(to)) {
+            return ErrorCodes.INVALID_STATE_TRANSITION;
+        }
+        var actors = ACTOR_PERMISSIONS.get(new TransitionKey(from, to));
+        if (actors == null || !actors.contains(command.actorType())) {
+            return ErrorCodes.DEAL_ACTOR_NOT_ALLOWED;
+        }
+        if (to == DealStatus.PARTIALLY_REFUNDED
+                && (command.partialRefundNano() == null
+                || command.partialPayoutNano() == null)) {
+            return ErrorCodes.MISSING_REQUIRED_FIELD;
+        }
+        return null;
+    }
+
+    private static DealBulkTransitionOutcome rejected(DealId dealId, String errorCode) {
+        return new DealBulkTransitionOutcome(dealId, null, errorCode);
+    }
+
+    private DealBulkTransitionWrite bulkWrite(DealRecord deal,
+                                              DealTransitionCommand command) {
+        var targetStatus = command.targetStatus();
+        return new DealBulkTransitionWrite(
+                command.dealId(),
+                deal.status(),
+                deal.version(),
+                targetStatus,
+                command.actorId(),
+                command.actorType(),
+                targetStatus == DealStatus.CANCELLED ? command.reason() : null,
+                eventPayload(command),
+                stateChangedEnvelope(deal, targetStatus, command));
+    }
+
+    private VersionedResult transitionInSingleStatement(
+            DealTransitionCommand command) {
+        var dealId = command.dealId();
+        var targetStatus = command.targetStatus();
+        validatePartialAmounts(command);
+
+        var reason = command.reason();
+        var write = new DealTransitionWrite(
+                dealId,
+                allowedFrom(targetStatus, command.actorType()),
+                targetStatus,
+                command.actorId(),
+                command.actorType(),
+                targetStatus == DealStatus.CANCELLED ? reason : null,
+                eventPayload(command),
+                outboxTemplate(command));
+        var outcome = dealRepository.applyTransition(write)
+                .orElseThrow(() -> new EntityNotFoundException(
+                        ErrorCodes.DEAL_NOT_FOUND, "Deal", dealId.value().toString()));
+
+        if (outcome.applied()) {
+            return new VersionedResult(
+                    new DealTransitionResult.Success(targetStatus), outcome.version());
+        }
+        var previous = outcome.previousStatus();
+        if (previous == targetStatus) {
+            return notWritten(new DealTransitionResult.AlreadyInTargetState(previous));
+        }
+        validateTransition(previous, targetStatus);
+        validateActorPermission(previous, targetStatus, command.actorType());
+        throw new InvalidStateTransitionException(
+                "Deal", previous.name(), targetStatus.name());
+    }
+
+    private static VersionedResult notWritten(DealTransitionResult result) {
+        return new VersionedResult(result, NOT_WRITTEN);
+    }
+
+    private static Set<DealStatus> allowedFrom(DealStatus targetStatus,
+                                               ActorType actorType) {
+        var allowed = EnumSet.noneOf(DealStatus.class);
+        TRANSITIONS.forEach((from, targets) -> {
+            var actors = ACTOR_PERMISSIONS.get(new TransitionKey(from, targetStatus));
+            if (targets.contains(targetStatus) && actors != null
+                    && actors.contains(actorType)) {
+                allowed.add(from);
+            }
+        });
+        return allowed;
+    }
+
+    // The repository fills fromStatus, dealAmountNano, channelId and dealVersion
+    // from the locked row
+    @SuppressWarnings({"fenum:argument", "fenum:assignment"})
+    private String outboxTemplate(DealTransitionCommand command) {
+        var payload = new DealStateChangedEvent(
+                command.targetStatus(), command.targetStatus(),
+                command.actorId(), command.actorType(),
+                0L, 0L,
+                command.partialRefundNano(),
+                command.partialPayoutNano(),
+                0);
+        return jsonFacade.toJson(EventEnvelope.create(
+                EventTypes.DEAL_STATE_CHANGED, command.dealId(), payload));
+    }
+
+    private String eventPayload(DealTransitionCommand command) {
+        return command.reason() != null
+                ? jsonFacade.toJson(Map.of("reason", command.reason()))
+                : "{}";
     }
 
     private DealTransitionResult handleCasConflict(DealId dealId,
@@ -152,9 +538,7 @@ public class DealTransitionService {
     @SuppressWarnings("fenum:argument")
     private void appendEvent(DealRecord deal, DealStatus targetStatus,
                               DealTransitionCommand command, Instant now) {
-        String payload = command.reason() != null
-                ? jsonFacade.toJson(Map.of("reason", command.reason()))
-                : "{}";
+        String payload = eventPayload(command);
         var event = new DealEventRecord(
                 null,
                 deal.id(),
@@ -173,21 +557,11 @@ public class DealTransitionService {
     private void publishOutboxEvent(DealRecord deal, DealStatus targetStatus,
                                      DealTransitionCommand command, Instant now) {
         var dealId = DealId.of(deal.id());
-        var payload = new DealStateChangedEvent(
-                deal.status(), targetStatus,
-                command.actorId(), command.actorType(),
-                deal.amountNano(), deal.channelId(),
-                command.partialRefundNano(),
-                command.partialPayoutNano());
-
-        var envelope = EventEnvelope.create(
-                EventTypes.DEAL_STATE_CHANGED, dealId, payload);
-
         var outbox = OutboxEntry.builder()
                 .dealId(dealId)
                 .topic(TopicNames.DEAL_STATE_CHANGED)
                 .partitionKey(dealId.value().toString())
-                .payload(jsonFacade.toJson(envelope))
+                .payload(stateChangedEnvelope(deal, targetStatus, command))
                 .status(OutboxStatus.PENDING)
                 .retryCount(0)
                 .version(0)
@@ -197,6 +571,20 @@ public class DealTransitionService {
         outboxRepository.save(outbox);
     }
 
+    @SuppressWarnings({"fenum:argument", "fenum:assignment"})
+    private String stateChangedEnvelope(DealRecord deal, DealStatus targetStatus,
+                                        DealTransitionCommand command) {
+        var payload = new DealStateChangedEvent(
+                deal.status(), targetStatus,
+                command.actorId(), command.actorType(),
+                deal.amountNano(), deal.channelId(),
+                command.partialRefundNano(),
+                command.partialPayoutNano(),
+                deal.version() + 1);
+        return jsonFacade.toJson(EventEnvelope.create(
+                EventTypes.DEAL_STATE_CHANGED, DealId.of(deal.id()), payload));
+    }
+
     private static Map<DealStatus, Set<DealStatus>> buildTransitions() {
         var map = new EnumMap<DealStatus, Set<DealStatus>>(DealStatus.class);
         map.put(DealStatus.DRAFT, EnumSet.of(
@@ -4,6 +4,7 @@ import com.advertmarket.communication.api.event.NotificationEvent;
 import com.advertmarket.communication.api.notification.NotificationType;
 import com.advertmarket.deal.api.dto.DealRecord;
 import com.advertmarket.deal.api.dto.DealTransitionCommand;
+import com.advertmarket.deal.api.dto.DealTransitionResult;
 import com.advertmarket.deal.api.event.DealStateChangedEvent;
 import com.advertmarket.deal.api.port.DealRepository;
 import com.advertmarket.delivery.api.event.CreativeDraft;
@@ -40,6 +41,12 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 
 /**
  * Executes post-transition side effects for deal state changes.
+ *
+ * <p>Runs on the deal's {@link DealActorRuntime} mailbox. The deal is
+ * taken from the actor's cache when the cached record is at the version
+ * the event reports, and read from the database otherwise; records
+ * produced by this engine's own auto-transitions are cached so that the
+ * follow-up event needs no read.
  */
 @Slf4j
 @RequiredArgsConstructor
@@ -64,6 +71,8 @@ public class DealWorkflowEngine {
     private final OutboxRepository outboxRepository;
     private final ChannelRepository channelRepository;
     private final JsonFacade jsonFacade;
+    private final DealDeadlineScheduler deadlineScheduler;
+    private final DealActorRuntime actors;
 
     /**
      * Handles one DEAL_STATE_CHANGED event.
@@ -74,19 +83,25 @@ public class DealWorkflowEngine {
         var dealId = Objects.requireNonNull(
                 envelope.dealId(), "dealId required for workflow");
         var event = envelope.payload();
-        var deal = dealRepository.findById(dealId).orElse(null);
+        var deal = actors.cached(dealId, event.dealVersion());
+        boolean fromCache = deal != null;
         if (deal == null) {
-            log.warn("Workflow skipped: deal not found for {}", dealId);
-            return;
+            deal = dealRepository.findById(dealId).orElse(null);
+            if (deal == null) {
+                log.warn("Workflow skipped: deal not found for {}", dealId);
+                return;
+            }
+            actors.remember(deal);
         }
 
         applyDeadline(dealId, event.toStatus());
-        routeByTargetStatus(envelope, deal);
+        routeByTargetStatus(envelope, deal, fromCache);
     }
 
     private void routeByTargetStatus(
             EventEnvelope<DealStateChangedEvent> envelope,
-            DealRecord deal) {
+            DealRecord deal,
+            boolean fromCache) {
         var event = envelope.payload();
         switch (event.toStatus()) {
             case OFFER_PENDING -> {
@@ -99,7 +114,7 @@ public class DealWorkflowEngine {
             }
             case NEGOTIATING -> notifyCounterparty(envelope, deal);
             case ACCEPTED -> onAccepted(envelope, deal);
-            case AWAITING_PAYMENT -> onAwaitingPayment(envelope, deal);
+            case AWAITING_PAYMENT -> onAwaitingPayment(envelope, deal, fromCache);
             case FUNDED -> notifyOne(
                     envelope,
                     deal,
@@ -142,8 +157,14 @@ public class DealWorkflowEngine {
 
     private void onAwaitingPayment(
             EventEnvelope<DealStateChangedEvent> envelope,
-            DealRecord deal) {
-        var dealId = DealId.of(deal.id());
+            DealRecord cachedOrRead,
+            boolean fromCache) {
+        var dealId = DealId.of(cachedOrRead.id());
+        // The deposit address is set without a version bump, so a cached
+        // record may predate it; re-read before generating a second one.
+        var deal = fromCache && cachedOrRead.depositAddress() == null
+                ? dealRepository.findById(dealId).orElse(cachedOrRead)
+                : cachedOrRead;
         String depositAddress = deal.depositAddress();
         Integer existingSubwalletId = deal.subwalletId();
         int subwalletId = existingSubwalletId != null ? existingSubwalletId : 0;
@@ -183,7 +204,7 @@ public class DealWorkflowEngine {
             return;
         }
 
-        dealTransitionService.transition(new DealTransitionCommand(
+        var result = dealTransitionService.transitionVersioned(new DealTransitionCommand(
                 DealId.of(deal.id()),
                 DealStatus.AWAITING_PAYMENT,
                 null,
@@ -191,6 +212,7 @@ public class DealWorkflowEngine {
                 "Auto transition after acceptance",
                 null,
                 null));
+        rememberTransitioned(deal, result, DealStatus.AWAITING_PAYMENT);
     }
 
     private void onPublished(
@@ -224,7 +246,7 @@ public class DealWorkflowEngine {
                     deal.id());
         }
 
-        dealTransitionService.transition(new DealTransitionCommand(
+        var result = dealTransitionService.transitionVersioned(new DealTransitionCommand(
                 DealId.of(deal.id()),
                 DealStatus.DELIVERY_VERIFYING,
                 null,
@@ -232,6 +254,29 @@ public class DealWorkflowEngine {
                 "Auto transition after publication",
                 null,
                 null));
+        rememberTransitioned(deal, result, DealStatus.DELIVERY_VERIFYING);
+    }
+
+    // The transition may have applied on top of another writer's change, so
+    // the record is only known when the write moved it from this version
+    private void rememberTransitioned(DealRecord deal,
+                                      DealTransitionService.VersionedResult written,
+                                      DealStatus newStatus) {
+        if (!(written.result() instanceof DealTransitionResult.Success)
+                || written.version() != deal.version() + 1) {
+            return;
+        }
+        actors.remember(new DealRecord(
+                deal.id(), deal.channelId(), deal.advertiserId(), deal.ownerId(),
+                deal.pricingRuleId(), newStatus, deal.amountNano(),
+                deal.commissionRateBp(), deal.commissionNano(),
+                deal.depositAddress(), deal.subwalletId(),
+                deal.creativeBrief(), deal.creativeDraft(),
+                deal.messageId(), deal.contentHash(),
+                deal.deadlineAt(), deal.publishedAt(), deal.completedAt(),
+                deal.fundedAt(), deal.cancellationReason(),
+                deal.depositTxHash(), deal.payoutTxHash(), deal.refundedTxHash(),
+                deal.version() + 1, deal.createdAt(), Instant.now()));
     }
 
     private void onCompletedReleased(
@@ -472,10 +517,13 @@ public class DealWorkflowEngine {
     private void applyDeadline(DealId dealId, DealStatus toStatus) {
         var timeout = deadlineFor(toStatus);
         if (timeout.isPresent()) {
-            dealRepository.setDeadline(dealId, Instant.now().plus(timeout.get()));
+            var deadlineAt = Instant.now().plus(timeout.get());
+            dealRepository.setDeadline(dealId, deadlineAt);
+            deadlineScheduler.onDeadlineSet(dealId, deadlineAt);
             return;
         }
         dealRepository.clearDeadline(dealId);
+        deadlineScheduler.onDeadlineCleared(dealId);
     }
 
     private static Optional<Duration> deadlineFor(DealStatus status) {
@@ -4,6 +4,7 @@ import com.advertmarket.deal.api.dto.CreateDealCommand;
 import com.advertmarket.deal.api.dto.DealDetailDto;
 import com.advertmarket.deal.api.dto.DealDto;
 import com.advertmarket.deal.api.dto.DealListCriteria;
+import com.advertmarket.deal.api.dto.DealStatusCount;
 import com.advertmarket.deal.api.dto.DealTransitionCommand;
 import com.advertmarket.deal.api.dto.DealTransitionResult;
 import com.advertmarket.deal.api.port.DealAuthorizationPort;
@@ -24,6 +25,7 @@ import com.advertmarket.shared.model.DealId;
 import com.advertmarket.shared.model.DealStatus;
 import com.advertmarket.shared.pagination.CursorPage;
 import com.advertmarket.shared.security.SecurityContextUtil;
+import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -82,6 +84,15 @@ public class DealUseCase {
         return dealService.listForUser(criteria, userId);
     }
 
+    /**
+     * Returns deal counts by role and status for the current authenticated user.
+     */
+    @NonNull
+    public List<DealStatusCount> counts() {
+        var userId = SecurityContextUtil.currentUserId().value();
+        return dealService.countsForUser(userId);
+    }
+
     /**
      * Performs deal status transition as the current actor (advertiser/owner/operator/system).
      */
@@ -2,10 +2,12 @@ package com.advertmarket.deal.web;
 
 import com.advertmarket.deal.api.dto.DealDetailDto;
 import com.advertmarket.deal.api.dto.DealDto;
+import com.advertmarket.deal.api.dto.DealStatusCount;
 import com.advertmarket.deal.usecase.DealUseCase;
 import com.advertmarket.financial.api.model.DepositInfo;
 import com.advertmarket.shared.pagination.CursorPage;
 import jakarta.validation.Valid;
+import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springdoc.core.annotations.ParameterObject;
@@ -52,6 +54,11 @@ class DealController {
                 params.limitOrDefault());
     }
 
+    @GetMapping("/counts")
+    List<DealStatusCount> counts() {
+        return dealUseCase.counts();
+    }
+
     @PostMapping("/{id}/transition")
     DealTransitionResponse transition(
             @PathVariable("id") UUID id,
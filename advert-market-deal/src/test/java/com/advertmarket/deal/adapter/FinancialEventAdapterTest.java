@@ -10,6 +10,8 @@ import com.advertmarket.deal.api.dto.DealRecord;
 import com.advertmarket.deal.api.dto.DealTransitionCommand;
 import com.advertmarket.deal.api.dto.DealTransitionResult;
 import com.advertmarket.deal.api.port.DealRepository;
+import com.advertmarket.deal.config.DealActorProperties;
+import com.advertmarket.deal.service.DealActorRuntime;
 import com.advertmarket.deal.service.DealTransitionService;
 import com.advertmarket.financial.api.event.DepositConfirmedEvent;
 import com.advertmarket.financial.api.event.DepositFailedEvent;
@@ -19,9 +21,11 @@ import com.advertmarket.financial.api.event.RefundCompletedEvent;
 import com.advertmarket.financial.api.port.EscrowPort;
 import com.advertmarket.shared.event.EventEnvelope;
 import com.advertmarket.shared.event.EventTypes;
+import com.advertmarket.shared.metric.MetricsFacade;
 import com.advertmarket.shared.model.ActorType;
 import com.advertmarket.shared.model.DealId;
 import com.advertmarket.shared.model.DealStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Instant;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -43,7 +47,9 @@ class FinancialEventAdapterTest {
         escrowPort = mock(EscrowPort.class);
         dealRepository = mock(DealRepository.class);
         adapter = new FinancialEventAdapter(
-                dealTransitionService, escrowPort, dealRepository);
+                dealTransitionService, escrowPort, dealRepository,
+                new DealActorRuntime(new MetricsFacade(new SimpleMeterRegistry()),
+                        new DealActorProperties(true, 100)));
     }
 
     @Test
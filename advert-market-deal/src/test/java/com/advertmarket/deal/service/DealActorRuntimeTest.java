@@ -0,0 +1,174 @@
+package com.advertmarket.deal.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.advertmarket.deal.api.dto.DealRecord;
+import com.advertmarket.deal.config.DealActorProperties;
+import com.advertmarket.shared.metric.MetricNames;
+import com.advertmarket.shared.metric.MetricsFacade;
+import com.advertmarket.shared.model.DealId;
+import com.advertmarket.shared.model.DealStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("DealActorRuntime — per-deal ordered mailboxes")
+class DealActorRuntimeTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final DealActorRuntime actors = new DealActorRuntime(
+            new MetricsFacade(registry), new DealActorProperties(true, 2));
+
+    @Test
+    @DisplayName("Should never run two tasks of the same deal at once")
+    void serializesPerDeal() throws Exception {
+        var dealId = DealId.generate();
+        var running = new AtomicInteger();
+        var maxRunning = new AtomicInteger();
+        var completed = new AtomicInteger();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 200; i++) {
+                executor.submit(() -> actors.execute(dealId, () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.yield();
+                    running.decrementAndGet();
+                    completed.incrementAndGet();
+                }));
+            }
+        }
+
+        assertThat(maxRunning).hasValue(1);
+        assertThat(completed).hasValue(200);
+        assertThat(actors.activeMailboxes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should run different deals in parallel")
+    void runsDealsInParallel() throws Exception {
+        var bothStarted = new CountDownLatch(2);
+        var finished = new AtomicInteger();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 2; i++) {
+                var dealId = DealId.generate();
+                executor.submit(() -> actors.execute(dealId, () -> {
+                    bothStarted.countDown();
+                    try {
+                        if (bothStarted.await(5, TimeUnit.SECONDS)) {
+                            finished.incrementAndGet();
+                        }
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+            }
+        }
+
+        assertThat(finished).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should run nested work for the same deal inline")
+    void runsNestedWorkInline() {
+        var dealId = DealId.generate();
+        var steps = new AtomicInteger();
+
+        actors.execute(dealId, () -> actors.execute(dealId, steps::incrementAndGet));
+
+        assertThat(steps).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should rethrow the task's exception to the caller")
+    void propagatesFailure() {
+        var dealId = DealId.generate();
+
+        assertThatThrownBy(() -> actors.execute(dealId, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("boom");
+        assertThat(actors.activeMailboxes()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should serve cached records only at the expected version")
+    void cacheMatchesVersion() {
+        var deal = deal(DealId.generate(), 3);
+        var dealId = DealId.of(deal.id());
+        actors.remember(deal);
+
+        assertThat(actors.cached(dealId, 3)).isEqualTo(deal);
+        assertThat(actors.cached(dealId, 4)).isNull();
+        assertThat(actors.cached(dealId, null)).isNull();
+        assertThat(registry.counter(MetricNames.DEAL_ACTOR_CACHE_HIT).count()).isEqualTo(1.0);
+        assertThat(registry.counter(MetricNames.DEAL_ACTOR_CACHE_MISS).count()).isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should keep only the most recently used records")
+    void boundsCache() {
+        var first = deal(DealId.generate(), 0);
+        var second = deal(DealId.generate(), 0);
+        var third = deal(DealId.generate(), 0);
+
+        actors.remember(first);
+        actors.remember(second);
+        actors.remember(third);
+
+        assertThat(actors.cached(DealId.of(first.id()), 0)).isNull();
+        assertThat(actors.cached(DealId.of(third.id()), 0)).isEqualTo(third);
+    }
+
+    @Test
+    @DisplayName("Should drop cached records of revoked partitions")
+    void evictsRevokedPartitions() {
+        var kept = deal(DealId.generate(), 0);
+        var revoked = deal(DealId.generate(), 0);
+        actors.execute(DealId.of(kept.id()), 1, () -> actors.remember(kept));
+        actors.execute(DealId.of(revoked.id()), 2, () -> actors.remember(revoked));
+
+        actors.evictPartitions(List.of(2));
+
+        assertThat(actors.cached(DealId.of(kept.id()), 0)).isEqualTo(kept);
+        assertThat(actors.cached(DealId.of(revoked.id()), 0)).isNull();
+    }
+
+    @Test
+    @DisplayName("Should run tasks on the caller and cache nothing when disabled")
+    void disabled() {
+        var disabled = new DealActorRuntime(
+                new MetricsFacade(registry), new DealActorProperties(false, 2));
+        var caller = Thread.currentThread();
+        var sameThread = new AtomicInteger();
+        var deal = deal(DealId.generate(), 0);
+
+        disabled.execute(DealId.of(deal.id()), () -> {
+            if (Thread.currentThread() == caller) {
+                sameThread.incrementAndGet();
+            }
+        });
+        disabled.remember(deal);
+
+        assertThat(sameThread).hasValue(1);
+        assertThat(disabled.cached(DealId.of(deal.id()), 0)).isNull();
+    }
+
+    private static DealRecord deal(DealId dealId, int version) {
+        return new DealRecord(
+                dealId.value(), -100L, 1L, 2L, null,
+                DealStatus.FUNDED, 1_000_000_000L, 1000, 100_000_000L,
+                null, null,
+                null, null, null, null,
+                null,
+                null, null, null,
+                null, null, null, null,
+                version, Instant.now(), Instant.now());
+    }
+}
@@ -0,0 +1,171 @@
+package com.advertmarket.deal.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.advertmarket.deal.api.dto.DealDeadline;
+import com.advertmarket.deal.api.dto.DealRecord;
+import com.advertmarket.deal.api.port.DealRepository;
+import com.advertmarket.deal.config.DealTimeoutProperties;
+import com.advertmarket.shared.lock.DistributedLockPort;
+import com.advertmarket.shared.metric.MetricNames;
+import com.advertmarket.shared.metric.MetricsFacade;
+import com.advertmarket.shared.model.DealId;
+import com.advertmarket.shared.model.DealStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("DealDeadlineScheduler — sharded in-memory deadline firing")
+class DealDeadlineSchedulerTest {
+
+    private DealRepository dealRepository;
+    private DealTimeoutScheduler timeoutScheduler;
+    private DistributedLockPort lockPort;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        dealRepository = mock(DealRepository.class);
+        timeoutScheduler = mock(DealTimeoutScheduler.class);
+        lockPort = mock(DistributedLockPort.class);
+        registry = new SimpleMeterRegistry();
+        when(dealRepository.findDeadlines(any(), any(), anyInt())).thenReturn(List.of());
+    }
+
+    private DealDeadlineScheduler scheduler(boolean enabled) {
+        var props = new DealTimeoutProperties(
+                Duration.ofHours(48), Duration.ofHours(72), Duration.ofHours(24),
+                Duration.ofHours(72), Duration.ofHours(72), Duration.ofHours(168),
+                Duration.ofMinutes(5), 50, Duration.ofMinutes(2),
+                new DealTimeoutProperties.Wheel(enabled, Duration.ofSeconds(1), 2,
+                        Duration.ofSeconds(30), Duration.ofSeconds(10),
+                        Duration.ofMinutes(15), 100));
+        var metrics = new MetricsFacade(registry);
+        return new DealDeadlineScheduler(dealRepository, timeoutScheduler,
+                lockPort, metrics, props);
+    }
+
+    private void ownAllShards() {
+        when(lockPort.tryLock(anyString(), any())).thenReturn(Optional.of("token"));
+    }
+
+    @Test
+    @DisplayName("Should load deadlines of acquired shards and expire them when due")
+    void loadsAcquiredShardsAndFires() {
+        ownAllShards();
+        var deal = deal(Instant.now().minusSeconds(1));
+        var dealId = DealId.of(deal.id());
+        when(dealRepository.findDeadlines(isNull(), isNull(), anyInt()))
+                .thenReturn(List.of(new DealDeadline(dealId, deal.deadlineAt())));
+        when(dealRepository.findByIds(List.of(dealId))).thenReturn(List.of(deal));
+        var scheduler = scheduler(true);
+
+        scheduler.refresh();
+        scheduler.fireDue();
+
+        verify(timeoutScheduler).expireAll(List.of(deal), Duration.ZERO);
+        assertThat(registry.counter(MetricNames.DEAL_DEADLINE_FIRED).count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should expire deadlines set at runtime on an owned shard")
+    void firesRuntimeDeadline() {
+        ownAllShards();
+        var deal = deal(Instant.now().minusSeconds(1));
+        var dealId = DealId.of(deal.id());
+        when(dealRepository.findByIds(List.of(dealId))).thenReturn(List.of(deal));
+        var scheduler = scheduler(true);
+        scheduler.refresh();
+
+        scheduler.onDeadlineSet(dealId, deal.deadlineAt());
+        scheduler.fireDue();
+
+        verify(timeoutScheduler).expireAll(List.of(deal), Duration.ZERO);
+    }
+
+    @Test
+    @DisplayName("Should not fire cleared deadlines")
+    void skipsClearedDeadline() {
+        ownAllShards();
+        var dealId = DealId.generate();
+        var scheduler = scheduler(true);
+        scheduler.refresh();
+
+        scheduler.onDeadlineSet(dealId, Instant.now().minusSeconds(1));
+        scheduler.onDeadlineCleared(dealId);
+        scheduler.fireDue();
+
+        verify(dealRepository, never()).findByIds(any());
+    }
+
+    @Test
+    @DisplayName("Should ignore deadlines on shards owned by another instance")
+    void ignoresForeignShards() {
+        when(lockPort.tryLock(anyString(), any())).thenReturn(Optional.empty());
+        var scheduler = scheduler(true);
+        scheduler.refresh();
+
+        scheduler.onDeadlineSet(DealId.generate(), Instant.now().minusSeconds(1));
+        scheduler.fireDue();
+
+        verify(dealRepository, never()).findByIds(any());
+    }
+
+    @Test
+    @DisplayName("Should drop a shard's deadlines when its lease is lost")
+    void dropsLostShard() {
+        ownAllShards();
+        var scheduler = scheduler(true);
+        scheduler.refresh();
+        scheduler.onDeadlineSet(DealId.generate(), Instant.now().minusSeconds(1));
+
+        when(lockPort.extend(anyString(), eq("token"), any())).thenReturn(false);
+        when(lockPort.tryLock(anyString(), any())).thenReturn(Optional.empty());
+        scheduler.refresh();
+        scheduler.fireDue();
+
+        verify(dealRepository, never()).findByIds(any());
+        assertThat(registry.counter(MetricNames.DEAL_DEADLINE_SHARD_LOST).count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("Should do nothing when the wheel is disabled")
+    void disabled() {
+        var scheduler = scheduler(false);
+
+        scheduler.refresh();
+        scheduler.fireDue();
+
+        verifyNoInteractions(lockPort, timeoutScheduler);
+        verify(dealRepository, never()).findDeadlines(any(), any(), anyInt());
+    }
+
+    private static DealRecord deal(Instant deadlineAt) {
+        return new DealRecord(
+                DealId.generate().value(), -100L, 1L, 2L, null,
+                DealStatus.OFFER_PENDING, 1_000_000_000L, 1000, 100_000_000L,
+                null, null,
+                null, null, null, null,
+                deadlineAt,
+                null, null, null,
+                null, null, null, null,
+                0, Instant.now().minusSeconds(86400), Instant.now());
+    }
+}
@@ -0,0 +1,101 @@
+package com.advertmarket.deal.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.advertmarket.shared.model.DealId;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("DealDeadlineWheel — hierarchical timing wheel")
+class DealDeadlineWheelTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final DealDeadlineWheel wheel = new DealDeadlineWheel(Duration.ofSeconds(1), START);
+
+    @Test
+    @DisplayName("Should fire a near deadline on its tick and not before")
+    void firesNearDeadline() {
+        var dealId = DealId.generate();
+        wheel.schedule(dealId, START.plusSeconds(5));
+
+        assertThat(wheel.advance(START.plusSeconds(4))).isEmpty();
+        assertThat(wheel.advance(START.plusSeconds(5))).containsExactly(dealId);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("Should round sub-tick deadlines up so nothing fires early")
+    void roundsUp() {
+        var dealId = DealId.generate();
+        wheel.schedule(dealId, START.plusMillis(2_500));
+
+        assertThat(wheel.advance(START.plusMillis(2_999))).isEmpty();
+        assertThat(wheel.advance(START.plusSeconds(3))).containsExactly(dealId);
+    }
+
+    @Test
+    @DisplayName("Should cascade far deadlines down the levels and fire on time")
+    void cascadesFarDeadlines() {
+        var inHours = DealId.generate();
+        var inDays = DealId.generate();
+        wheel.schedule(inHours, START.plus(Duration.ofHours(2)).plusSeconds(7));
+        wheel.schedule(inDays, START.plus(Duration.ofDays(3)));
+
+        var justBefore = START.plus(Duration.ofHours(2)).plusSeconds(6);
+        assertThat(wheel.advance(justBefore)).isEmpty();
+        assertThat(wheel.advance(justBefore.plusSeconds(1))).containsExactly(inHours);
+        assertThat(wheel.advance(START.plus(Duration.ofDays(3)).minusSeconds(1))).isEmpty();
+        assertThat(wheel.advance(START.plus(Duration.ofDays(3)))).containsExactly(inDays);
+    }
+
+    @Test
+    @DisplayName("Should keep deadlines beyond the wheel span until they are due")
+    void handlesDeadlinesBeyondSpan() {
+        var dealId = DealId.generate();
+        var deadline = START.plus(Duration.ofDays(400));
+        wheel.schedule(dealId, deadline);
+
+        assertThat(wheel.advance(deadline.minusSeconds(1))).isEmpty();
+        assertThat(wheel.advance(deadline)).containsExactly(dealId);
+    }
+
+    @Test
+    @DisplayName("Should fire already-passed deadlines on the next advance")
+    void firesPassedDeadline() {
+        var dealId = DealId.generate();
+        wheel.schedule(dealId, START.minusSeconds(30));
+
+        assertThat(wheel.advance(START)).containsExactly(dealId);
+    }
+
+    @Test
+    @DisplayName("Should replace the deadline when a deal is rescheduled")
+    void reschedules() {
+        var dealId = DealId.generate();
+        wheel.schedule(dealId, START.plusSeconds(5));
+        wheel.schedule(dealId, START.plusSeconds(90));
+
+        assertThat(wheel.advance(START.plusSeconds(89))).isEmpty();
+        assertThat(wheel.advance(START.plusSeconds(90))).containsExactly(dealId);
+    }
+
+    @Test
+    @DisplayName("Should not fire cancelled deadlines")
+    void cancels() {
+        var kept = DealId.generate();
+        var cancelled = DealId.generate();
+        var filtered = DealId.generate();
+        wheel.schedule(kept, START.plusSeconds(10));
+        wheel.schedule(cancelled, START.plusSeconds(10));
+        wheel.schedule(filtered, START.plus(Duration.ofHours(1)));
+
+        wheel.cancel(cancelled);
+        wheel.cancelIf(filtered::equals);
+
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(START.plus(Duration.ofHours(2)))).containsExactly(kept);
+    }
+}
@@ -52,6 +52,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 @ExtendWith(MockitoExtension.class)
 class DealServiceTest {
 
+    private static final DealDtoMapper LIST_MAPPER = Mappers.getMapper(DealDtoMapper.class);
+
     @Mock
     private DealRepository dealRepository;
     @Mock
@@ -80,7 +82,7 @@ class DealServiceTest {
                 dealAuthorizationPort, dealTransitionService,
                 channelAutoSyncPort, channelRepository,
                 escrowPort,
-                creativeRepository, Mappers.getMapper(DealDtoMapper.class), jsonFacade);
+                creativeRepository, LIST_MAPPER, jsonFacade);
     }
 
     private ChannelDetailResponse channelDetail(long channelId, long ownerId) {
@@ -292,7 +294,7 @@ class DealServiceTest {
         @DisplayName("should return cursor page for user deals")
         void listForUser_shouldReturnPage() {
             var dealId = DealId.generate();
-            var deal = dealRecord(dealId, 100L, 200L);
+            var deal = LIST_MAPPER.toDto(dealRecord(dealId, 100L, 200L));
             var criteria = new DealListCriteria(null, null, 20);
             when(dealRepository.listByUser(eq(100L), any()))
                     .thenReturn(List.of(deal));
@@ -302,6 +304,22 @@ class DealServiceTest {
             assertThat(result.items()).hasSize(1);
             assertThat(result.hasMore()).isFalse();
         }
+
+        @Test
+        @DisplayName("should trim the extra item and return a cursor when more pages exist")
+        void listForUser_shouldReturnCursorWhenMorePagesExist() {
+            var first = LIST_MAPPER.toDto(dealRecord(DealId.generate(), 100L, 200L));
+            var extra = LIST_MAPPER.toDto(dealRecord(DealId.generate(), 100L, 200L));
+            when(dealRepository.listByUser(eq(100L), any()))
+                    .thenReturn(List.of(first, extra));
+
+            var result = service.listForUser(new DealListCriteria(null, null, 1), 100L);
+
+            assertThat(result.items()).containsExactly(first);
+            assertThat(result.hasMore()).isTrue();
+            verify(dealRepository).listByUser(eq(100L),
+                    eq(new DealListCriteria(null, null, 2)));
+        }
     }
 
     @Nested
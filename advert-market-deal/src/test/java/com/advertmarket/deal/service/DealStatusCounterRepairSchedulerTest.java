@@ -0,0 +1,64 @@
+package com.advertmarket.deal.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.advertmarket.deal.api.port.DealRepository;
+import com.advertmarket.deal.config.DealStatusCounterProperties;
+import com.advertmarket.shared.lock.DistributedLockPort;
+import com.advertmarket.shared.metric.MetricNames;
+import com.advertmarket.shared.metric.MetricsFacade;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("DealStatusCounterRepairScheduler — counter drift repair")
+class DealStatusCounterRepairSchedulerTest {
+
+    private DealRepository dealRepository;
+    private DistributedLockPort lockPort;
+    private SimpleMeterRegistry registry;
+    private DealStatusCounterRepairScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        dealRepository = mock(DealRepository.class);
+        lockPort = mock(DistributedLockPort.class);
+        registry = new SimpleMeterRegistry();
+        scheduler = new DealStatusCounterRepairScheduler(dealRepository, lockPort,
+                new MetricsFacade(registry),
+                new DealStatusCounterProperties("0 15 3 * * *", Duration.ofMinutes(10)));
+    }
+
+    @Test
+    @DisplayName("Should repair counters under the lock and count corrections")
+    void repairsUnderLock() {
+        when(lockPort.tryLock(anyString(), any())).thenReturn(Optional.of("token"));
+        when(dealRepository.repairStatusCounters()).thenReturn(3);
+
+        scheduler.repair();
+
+        verify(lockPort).unlock(anyString(), eq("token"));
+        assertThat(registry.counter(MetricNames.DEAL_STATUS_COUNTER_REPAIRED).count())
+                .isEqualTo(3.0);
+    }
+
+    @Test
+    @DisplayName("Should skip the run when another instance holds the lock")
+    void skipsWithoutLock() {
+        when(lockPort.tryLock(anyString(), any())).thenReturn(Optional.empty());
+
+        scheduler.repair();
+
+        verifyNoInteractions(dealRepository);
+    }
+}
@@ -8,6 +8,7 @@ import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.advertmarket.deal.api.dto.DealBulkTransitionOutcome;
 import com.advertmarket.deal.api.dto.DealRecord;
 import com.advertmarket.deal.api.dto.DealTransitionCommand;
 import com.advertmarket.deal.api.dto.DealTransitionResult;
@@ -16,7 +17,9 @@ import com.advertmarket.deal.config.DealTimeoutProperties;
 import com.advertmarket.shared.json.JsonFacade;
 import com.advertmarket.shared.lock.DistributedLockPort;
 import com.advertmarket.shared.metric.MetricsFacade;
+import com.advertmarket.shared.exception.ErrorCodes;
 import com.advertmarket.shared.model.ActorType;
+import com.advertmarket.shared.model.DealId;
 import com.advertmarket.shared.model.DealStatus;
 import com.advertmarket.shared.outbox.OutboxRepository;
 import java.time.Duration;
@@ -64,7 +67,10 @@ class DealTimeoutSchedulerTest {
                 Duration.ofHours(168),
                 Duration.ofMinutes(5),
                 50,
-                Duration.ofMinutes(2));
+                Duration.ofMinutes(2),
+                new DealTimeoutProperties.Wheel(true, Duration.ofSeconds(1), 16,
+                        Duration.ofSeconds(30), Duration.ofSeconds(10),
+                        Duration.ofMinutes(15), 100));
         scheduler = new DealTimeoutScheduler(
                 dealRepository, dealTransitionService,
                 lockPort, outboxRepository, jsonFacade, metrics, props);
@@ -208,6 +214,51 @@ class DealTimeoutSchedulerTest {
         }
     }
 
+    @Nested
+    @DisplayName("expireAll")
+    class ExpireAll {
+
+        @Test
+        @DisplayName("Should transition due deals in one call and clear only succeeded deadlines")
+        @SuppressWarnings("unchecked")
+        void transitionsInBulk() {
+            var expired = dealRecord(DealStatus.OFFER_PENDING, false);
+            var conflicted = dealRecord(DealStatus.FUNDED, true);
+            var expiredId = DealId.of(expired.id());
+            var conflictedId = DealId.of(conflicted.id());
+            when(dealTransitionService.transitionAll(any())).thenReturn(List.of(
+                    new DealBulkTransitionOutcome(expiredId,
+                            new DealTransitionResult.Success(DealStatus.EXPIRED), null),
+                    new DealBulkTransitionOutcome(conflictedId,
+                            null, ErrorCodes.INVALID_STATE_TRANSITION)));
+
+            scheduler.expireAll(List.of(expired, conflicted), Duration.ZERO);
+
+            var captor = ArgumentCaptor.forClass(List.class);
+            verify(dealTransitionService).transitionAll(captor.capture());
+            assertThat((List<DealTransitionCommand>) captor.getValue())
+                    .extracting(DealTransitionCommand::dealId)
+                    .containsExactly(expiredId, conflictedId);
+            verify(dealTransitionService, never()).transition(any());
+            verify(dealRepository).clearDeadlines(List.of(expiredId));
+            verify(dealRepository, never()).clearDeadline(any());
+        }
+
+        @Test
+        @DisplayName("Should escalate DISPUTED deals without transitioning them")
+        void escalatesDisputed() {
+            var deal = dealRecord(DealStatus.DISPUTED, false);
+            when(dealRepository.findOperatorUserIds()).thenReturn(List.of(101L));
+            when(jsonFacade.toJson(any())).thenReturn("{}");
+
+            scheduler.expireAll(List.of(deal), Duration.ZERO);
+
+            verify(dealTransitionService, never()).transitionAll(any());
+            verify(dealRepository).clearDeadline(DealId.of(deal.id()));
+            verify(outboxRepository).save(any());
+        }
+    }
+
     private void acquireLock() {
         when(lockPort.tryLock(any(), any()))
                 .thenReturn(Optional.of("test-token"));
@@ -5,13 +5,18 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.advertmarket.deal.api.dto.DealBulkTransitionWrite;
 import com.advertmarket.deal.api.dto.DealEventRecord;
 import com.advertmarket.deal.api.dto.DealRecord;
 import com.advertmarket.deal.api.dto.DealTransitionCommand;
 import com.advertmarket.deal.api.dto.DealTransitionResult;
+import com.advertmarket.deal.api.dto.DealTransitionWrite;
+import com.advertmarket.deal.api.dto.DealTransitionWriteOutcome;
 import com.advertmarket.deal.api.port.DealEventRepository;
 import com.advertmarket.deal.api.port.DealRepository;
 import com.advertmarket.shared.exception.DomainException;
@@ -23,9 +28,13 @@ import com.advertmarket.shared.model.ActorType;
 import com.advertmarket.shared.model.DealId;
 import com.advertmarket.shared.model.DealStatus;
 import com.advertmarket.shared.outbox.OutboxRepository;
+import java.sql.SQLException;
 import java.time.Instant;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -596,4 +605,394 @@ class DealTransitionServiceTest {
                     .isEqualTo(to);
         }
     }
+
+    @Nested
+    @DisplayName("Single-statement write path")
+    class SingleStatement {
+
+        private DealTransitionService singleStatementService;
+
+        @BeforeEach
+        void setUp() {
+            singleStatementService = new DealTransitionService(
+                    dealRepository, dealEventRepository, outboxRepository,
+                    jsonFacade, true);
+        }
+
+        @Test
+        @DisplayName("should write transition, event and outbox in one repository call")
+        void shouldApplyInOneCall() {
+            var dealId = DealId.generate();
+            var captor = ArgumentCaptor.forClass(DealTransitionWrite.class);
+            when(dealRepository.applyTransition(captor.capture())).thenReturn(
+                    Optional.of(new DealTransitionWriteOutcome(
+                            DealStatus.ACCEPTED, true, 1)));
+            when(jsonFacade.toJson(any())).thenReturn("{}");
+
+            var result = singleStatementService.transition(
+                    cmd(dealId, DealStatus.AWAITING_PAYMENT, ActorType.SYSTEM));
+
+            assertThat(result).isEqualTo(
+                    new DealTransitionResult.Success(DealStatus.AWAITING_PAYMENT));
+            var write = captor.getValue();
+            assertThat(write.dealId()).isEqualTo(dealId);
+            assertThat(write.allowedFrom()).containsExactly(DealStatus.ACCEPTED);
+            assertThat(write.targetStatus()).isEqualTo(DealStatus.AWAITING_PAYMENT);
+            assertThat(write.actorType()).isEqualTo(ActorType.SYSTEM);
+            verify(dealRepository, never()).findById(any());
+            verifyNoInteractions(dealEventRepository, outboxRepository);
+        }
+
+        @Test
+        @DisplayName("should report the version written by the statement")
+        void shouldReportWrittenVersion() {
+            when(dealRepository.applyTransition(any())).thenReturn(
+                    Optional.of(new DealTransitionWriteOutcome(
+                            DealStatus.ACCEPTED, true, 7)));
+            when(jsonFacade.toJson(any())).thenReturn("{}");
+
+            var written = singleStatementService.transitionVersioned(
+                    cmd(DealId.generate(), DealStatus.AWAITING_PAYMENT, ActorType.SYSTEM));
+
+            assertThat(written.version()).isEqualTo(7);
+        }
+
+        @Test
+        @DisplayName("should only allow source statuses permitted for the actor")
+        void shouldRestrictAllowedFromByActor() {
+            var dealId = DealId.generate();
+            var captor = ArgumentCaptor.forClass(DealTransitionWrite.class);
+            when(dealRepository.applyTransition(captor.capture())).thenReturn(
+                    Optional.of(new DealTransitionWriteOutcome(
+                            DealStatus.AWAITING_PAYMENT, true, 1)));
+            when(jsonFacade.toJson(any())).thenReturn("{}");
+
+            singleStatementService.transition(
+                    cmd(dealId, DealStatus.CANCELLED, ActorType.CHANNEL_OWNER));
+
+            assertThat(captor.getValue().allowedFrom())
+                    .contains(DealStatus.OFFER_PENDING, DealStatus.FUNDED)
+                    .doesNotContain(DealStatus.DRAFT, DealStatus.AWAITING_PAYMENT);
+        }
+
+        @ParameterizedTest(name = "{0} → {1} by {2}")
+        @DisplayName("every valid transition should be allowed by the write")
+        @MethodSource("com.advertmarket.deal.service.DealTransitionServiceTest"
+                + "$AllValidTransitions#validTransitions")
+        void validTransition_shouldBeAllowed(DealStatus from, DealStatus to, ActorType actor) {
+            var captor = ArgumentCaptor.forClass(DealTransitionWrite.class);
+            when(dealRepository.applyTransition(captor.capture())).thenReturn(
+                    Optional.of(new DealTransitionWriteOutcome(from, true, 1)));
+            when(jsonFacade.toJson(any())).thenReturn("{}");
+
+            singleStatementService.transition(cmd(DealId.generate(), to, actor));
+
+            assertThat(captor.getValue().allowedFrom()).contains(from);
+        }
+
+        @Test
+        @DisplayName("should pass the cancellation reason only when cancelling")
+        void shouldPassCancellationReason() {
+            var dealId = DealId.generate();
+            var captor = ArgumentCaptor.forClass(DealTransitionWrite.class);
+            when(dealRepository.applyTransition(captor.capture())).thenReturn(
+                    Optional.of(new DealTransitionWriteOutcome(
+                            DealStatus.DRAFT, true, 1)));
+            when(jsonFacade.toJson(any())).thenReturn("{\"reason\":\"Changed my mind\"}");
+
+            singleStatementService.transition(new DealTransitionCommand(
+                    dealId, DealStatus.CANCELLED, 100L,
+                    ActorType.ADVERTISER, "Changed my mind", null, null));
+
+            assertThat(captor.getValue().cancellationReason())
+                    .isEqualTo("Changed my mind");
+            assertThat(captor.getValue().eventPayload()).contains("Changed my mind");
+        }
+
+        @Test
+        @DisplayName("should return AlreadyInTargetState when the deal is already there")
+        void shouldBeIdempotent() {
+            var dealId = DealId.generate();
+            when(dealRepository.applyTransition(any())).thenReturn(
+                    Optional.of(new DealTransitionWriteOutcome(
+                            DealStatus.OFFER_PENDING, false, 0)));
+            when(jsonFacade.toJson(any())).thenReturn("{}");
+
+            var result = singleStatementService.transition(
+                    cmd(dealId, DealStatus.OFFER_PENDING, ActorType.ADVERTISER));
+
+            assertThat(result).isEqualTo(
+                    new DealTransitionResult.AlreadyInTargetState(DealStatus.OFFER_PENDING));
+        }
+
+        @Test
+        @DisplayName("should reject a transition missing from the graph")
+        void shouldRejectInvalidGraph() {
+            var dealId = DealId.generate();
+            when(dealRepository.applyTransition(any())).thenReturn(
+                    Optional.of(new DealTransitionWriteOutcome(DealStatus.DRAFT, false, 0)));
+            when(jsonFacade.toJson(any())).thenReturn("{}");
+
+            assertThatThrownBy(() -> singleStatementService.transition(
+                    cmd(dealId, DealStatus.FUNDED, ActorType.SYSTEM)))
+                    .isInstanceOf(InvalidStateTransitionException.class);
+        }
+
+        @Test
+        @DisplayName("should reject a transition the actor may not perform")
+        void shouldRejectActor() {
+            var dealId = DealId.generate();
+            when(dealRepository.applyTransition(any())).thenReturn(
+                    Optional.of(new DealTransitionWriteOutcome(
+                            DealStatus.OFFER_PENDING, false, 0)));
+            when(jsonFacade.toJson(any())).thenReturn("{}");
+
+            assertThatThrownBy(() -> singleStatementService.transition(
+                    cmd(dealId, DealStatus.ACCEPTED, ActorType.ADVERTISER)))
+                    .isInstanceOf(DomainException.class)
+                    .extracting("errorCode")
+                    .isEqualTo(ErrorCodes.DEAL_ACTOR_NOT_ALLOWED);
+        }
+
+        @Test
+        @DisplayName("should throw EntityNotFoundException for a missing deal")
+        void shouldThrowWhenMissing() {
+            var dealId = DealId.generate();
+            when(dealRepository.applyTransition(any())).thenReturn(Optional.empty());
+            when(jsonFacade.toJson(any())).thenReturn("{}");
+
+            assertThatThrownBy(() -> singleStatementService.transition(
+                    cmd(dealId, DealStatus.OFFER_PENDING, ActorType.ADVERTISER)))
+                    .isInstanceOf(EntityNotFoundException.class);
+        }
+
+        @Test
+        @DisplayName("should validate partial amounts before writing")
+        void shouldValidatePartialAmounts() {
+            var dealId = DealId.generate();
+
+            assertThatThrownBy(() -> singleStatementService.transition(
+                    new DealTransitionCommand(dealId, DealStatus.PARTIALLY_REFUNDED,
+                            1L, ActorType.PLATFORM_OPERATOR, null, null, null)))
+                    .isInstanceOf(DomainException.class);
+            verify(dealRepository, never()).applyTransition(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk transitions")
+    class Bulk {
+
+        private DealTransitionService bulkService;
+
+        @BeforeEach
+        void setUp() {
+            bulkService = new DealTransitionService(
+                    dealRepository, dealEventRepository, outboxRepository,
+                    jsonFacade, true, 2);
+        }
+
+        @Test
+        @DisplayName("should write valid transitions with a CAS on the status and version read")
+        @SuppressWarnings("unchecked")
+        void shouldWriteValidTransitions() {
+            var dealId = DealId.generate();
+            when(dealRepository.findByIds(any()))
+                    .thenReturn(List.of(dealInStatus(dealId, DealStatus.OFFER_PENDING, 3)));
+            var captor = ArgumentCaptor.forClass(List.class);
+            when(dealRepository.applyTransitions(captor.capture())).thenReturn(Set.of(dealId));
+            when(jsonFacade.toJson(any())).thenReturn("{}");
+
+            var outcomes = bulkService.transitionAll(List.of(
+                    cmd(dealId, DealStatus.EXPIRED, ActorType.SYSTEM)));
+
+            assertThat(outcomes).singleElement().satisfies(outcome -> {
+                assertThat(outcome.succeeded()).isTrue();
+                assertThat(outcome.result())
+                        .isEqualTo(new DealTransitionResult.Success(DealStatus.EXPIRED));
+            });
+            var write = (DealBulkTransitionWrite) captor.getValue().getFirst();
+            assertThat(write.expectedStatus()).isEqualTo(DealStatus.OFFER_PENDING);
+            assertThat(write.expectedVersion()).isEqualTo(3);
+            assertThat(write.targetStatus()).isEqualTo(DealStatus.EXPIRED);
+            verifyNoInteractions(dealEventRepository, outboxRepository);
+        }
+
+        @Test
+        @DisplayName("should reject invalid commands per deal without writing them")
+        void shouldRejectPerDeal() {
+            var missing = DealId.generate();
+            var already = DealId.generate();
+            var invalid = DealId.generate();
+            var forbidden = DealId.generate();
+            when(dealRepository.findByIds(any())).thenReturn(
+                    List.of(dealInStatus(already, DealStatus.EXPIRED, 0)),
+                    List.of(dealInStatus(invalid, DealStatus.DRAFT, 0),
+                            dealInStatus(forbidden, DealStatus.DISPUTED, 0)));
+
+            var outcomes = bulkService.transitionAll(List.of(
+                    cmd(missing, DealStatus.EXPIRED, ActorType.SYSTEM),
+                    cmd(already, DealStatus.EXPIRED, ActorType.SYSTEM),
+                    cmd(invalid, DealStatus.EXPIRED, ActorType.SYSTEM),
+                    cmd(forbidden, DealStatus.REFUNDED, ActorType.ADVERTISER)));
+
+            assertThat(outcomes).extracting("errorCode").containsExactly(
+                    ErrorCodes.DEAL_NOT_FOUND,
+                    null,
+                    ErrorCodes.INVALID_STATE_TRANSITION,
+                    ErrorCodes.DEAL_ACTOR_NOT_ALLOWED);
+            assertThat(outcomes.get(1).result()).isEqualTo(
+                    new DealTransitionResult.AlreadyInTargetState(DealStatus.EXPIRED));
+            verify(dealRepository, times(2)).applyTransitions(List.of());
+        }
+
+        @Test
+        @DisplayName("should settle deals that lost the CAS from a fresh read")
+        void shouldSettleLostCas() {
+            var raced = DealId.generate();
+            var conflicted = DealId.generate();
+            when(dealRepository.findByIds(any())).thenReturn(
+                    List.of(dealInStatus(raced, DealStatus.OFFER_PENDING, 0),
+                            dealInStatus(conflicted, DealStatus.OFFER_PENDING, 0)),
+                    List.of(dealInStatus(raced, DealStatus.EXPIRED, 1),
+                            dealInStatus(conflicted, DealStatus.ACCEPTED, 1)));
+            when(dealRepository.applyTransitions(any())).thenReturn(Set.of());
+            when(jsonFacade.toJson(any())).thenReturn("{}");
+
+            var outcomes = bulkService.transitionAll(List.of(
+                    cmd(raced, DealStatus.EXPIRED, ActorType.SYSTEM),
+                    cmd(conflicted, DealStatus.EXPIRED, ActorType.SYSTEM)));
+
+            assertThat(outcomes.get(0).result()).isEqualTo(
+                    new DealTransitionResult.AlreadyInTargetState(DealStatus.EXPIRED));
+            assertThat(outcomes.get(1).errorCode())
+                    .isEqualTo(ErrorCodes.INVALID_STATE_TRANSITION);
+        }
+
+        @Test
+        @DisplayName("should only apply the first command of a deal listed twice")
+        void shouldRejectDuplicates() {
+            var dealId = DealId.generate();
+            when(dealRepository.findByIds(any()))
+                    .thenReturn(List.of(dealInStatus(dealId, DealStatus.OFFER_PENDING, 0)));
+            when(dealRepository.applyTransitions(any())).thenReturn(Set.of(dealId));
+            when(jsonFacade.toJson(any())).thenReturn("{}");
+
+            var outcomes = bulkService.transitionAll(List.of(
+                    cmd(dealId, DealStatus.EXPIRED, ActorType.SYSTEM),
+                    cmd(dealId, DealStatus.CANCELLED, ActorType.ADVERTISER)));
+
+            assertThat(outcomes.get(0).succeeded()).isTrue();
+            assertThat(outcomes.get(1).errorCode()).isEqualTo(ErrorCodes.INVALID_PARAMETER);
+            verify(dealRepository).findByIds(List.of(dealId));
+        }
+
+        @Test
+        @DisplayName("should reject a partial refund without amounts")
+        void shouldRejectMissingPartialAmounts() {
+            var dealId = DealId.generate();
+            when(dealRepository.findByIds(any()))
+                    .thenReturn(List.of(dealInStatus(dealId, DealStatus.DISPUTED, 0)));
+
+            var outcomes = bulkService.transitionAll(List.of(new DealTransitionCommand(
+                    dealId, DealStatus.PARTIALLY_REFUNDED, 1L,
+                    ActorType.PLATFORM_OPERATOR, null, null, null)));
+
+            assertThat(outcomes.getFirst().errorCode())
+                    .isEqualTo(ErrorCodes.MISSING_REQUIRED_FIELD);
+        }
+
+        @Test
+        @DisplayName("should write a chunk in PostgreSQL uuid order")
+        @SuppressWarnings("unchecked")
+        void shouldWriteInIdOrder() {
+            var first = new DealId(new UUID(0, 1));
+            var second = new DealId(new UUID(Long.MIN_VALUE, 0));
+            when(dealRepository.findByIds(any())).thenReturn(List.of(
+                    dealInStatus(second, DealStatus.OFFER_PENDING, 0),
+                    dealInStatus(first, DealStatus.OFFER_PENDING, 0)));
+            var captor = ArgumentCaptor.forClass(List.class);
+            when(dealRepository.applyTransitions(captor.capture()))
+                    .thenReturn(Set.of(first, second));
+            when(jsonFacade.toJson(any())).thenReturn("{}");
+
+            bulkService.transitionAll(List.of(
+                    cmd(second, DealStatus.EXPIRED, ActorType.SYSTEM),
+                    cmd(first, DealStatus.EXPIRED, ActorType.SYSTEM)));
+
+            assertThat(captor.getValue()).extracting("dealId").containsExactly(first, second);
+        }
+
+        @Test
+        @DisplayName("should keep earlier chunks' outcomes when a later chunk fails")
+        void shouldKeepOutcomesOfEarlierChunks() {
+            var written = DealId.generate();
+            var failed = DealId.generate();
+            when(dealRepository.findByIds(List.of(written)))
+                    .thenReturn(List.of(dealInStatus(written, DealStatus.OFFER_PENDING, 0)));
+            when(dealRepository.findByIds(List.of(failed)))
+                    .thenThrow(new IllegalStateException("connection lost"));
+            when(dealRepository.applyTransitions(any())).thenReturn(Set.of(written));
+            when(jsonFacade.toJson(any())).thenReturn("{}");
+            var chunkOfOne = new DealTransitionService(
+                    dealRepository, dealEventRepository, outboxRepository,
+                    jsonFacade, true, 1);
+
+            var outcomes = chunkOfOne.transitionAll(List.of(
+                    cmd(written, DealStatus.EXPIRED, ActorType.SYSTEM),
+                    cmd(failed, DealStatus.EXPIRED, ActorType.SYSTEM)));
+
+            assertThat(outcomes.get(0).succeeded()).isTrue();
+            assertThat(outcomes.get(1).errorCode()).isEqualTo(ErrorCodes.INTERNAL_ERROR);
+        }
+
+        @Test
+        @DisplayName("should retry a chunk once after a deadlock")
+        void shouldRetryDeadlockedChunk() {
+            var dealId = DealId.generate();
+            when(dealRepository.findByIds(any()))
+                    .thenReturn(List.of(dealInStatus(dealId, DealStatus.OFFER_PENDING, 0)));
+            when(dealRepository.applyTransitions(any()))
+                    .thenThrow(lockConflict("40P01"))
+                    .thenReturn(Set.of(dealId));
+            when(jsonFacade.toJson(any())).thenReturn("{}");
+
+            var outcomes = bulkService.transitionAll(List.of(
+                    cmd(dealId, DealStatus.EXPIRED, ActorType.SYSTEM)));
+
+            assertThat(outcomes.getFirst().succeeded()).isTrue();
+            verify(dealRepository, times(2)).applyTransitions(any());
+        }
+
+        @Test
+        @DisplayName("should report a lock failure when the retry also conflicts")
+        void shouldReportRepeatedLockConflict() {
+            var dealId = DealId.generate();
+            when(dealRepository.findByIds(any()))
+                    .thenReturn(List.of(dealInStatus(dealId, DealStatus.OFFER_PENDING, 0)));
+            when(dealRepository.applyTransitions(any())).thenThrow(lockConflict("40001"));
+            when(jsonFacade.toJson(any())).thenReturn("{}");
+
+            var outcomes = bulkService.transitionAll(List.of(
+                    cmd(dealId, DealStatus.EXPIRED, ActorType.SYSTEM)));
+
+            assertThat(outcomes.getFirst().errorCode())
+                    .isEqualTo(ErrorCodes.LOCK_ACQUISITION_FAILED);
+            verify(dealRepository, times(2)).applyTransitions(any());
+        }
+
+        @Test
+        @DisplayName("should reject a chunk size over the bind parameter limit")
+        void shouldRejectOversizedChunk() {
+            assertThatThrownBy(() -> new DealTransitionService(
+                    dealRepository, dealEventRepository, outboxRepository, jsonFacade,
+                    true, DealTransitionService.MAX_BULK_CHUNK_SIZE + 1))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+
+        private RuntimeException lockConflict(String sqlState) {
+            return new IllegalStateException("statement failed",
+                    new SQLException("could not serialize", sqlState));
+        }
+    }
 }
@@ -4,12 +4,15 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.advertmarket.deal.api.dto.DealRecord;
+import com.advertmarket.deal.api.dto.DealTransitionResult;
 import com.advertmarket.deal.api.event.DealStateChangedEvent;
 import com.advertmarket.deal.api.port.DealRepository;
+import com.advertmarket.deal.config.DealActorProperties;
 import com.advertmarket.financial.api.model.DepositAddressInfo;
 import com.advertmarket.financial.api.port.DepositPort;
 import com.advertmarket.financial.api.port.EscrowPort;
@@ -17,12 +20,14 @@ import com.advertmarket.marketplace.api.port.ChannelRepository;
 import com.advertmarket.shared.event.EventEnvelope;
 import com.advertmarket.shared.event.EventTypes;
 import com.advertmarket.shared.json.JsonFacade;
+import com.advertmarket.shared.metric.MetricsFacade;
 import com.advertmarket.shared.model.ActorType;
 import com.advertmarket.shared.model.DealId;
 import com.advertmarket.shared.model.DealStatus;
 import com.advertmarket.shared.model.UserId;
 import com.advertmarket.shared.outbox.OutboxEntry;
 import com.advertmarket.shared.outbox.OutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.time.Instant;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
@@ -39,6 +44,7 @@ class DealWorkflowEngineTest {
     private OutboxRepository outboxRepository;
     private ChannelRepository channelRepository;
     private JsonFacade jsonFacade;
+    private DealDeadlineScheduler deadlineScheduler;
     private DealWorkflowEngine engine;
 
     @BeforeEach
@@ -50,7 +56,12 @@ class DealWorkflowEngineTest {
         outboxRepository = mock(OutboxRepository.class);
         channelRepository = mock(ChannelRepository.class);
         jsonFacade = mock(JsonFacade.class);
+        deadlineScheduler = mock(DealDeadlineScheduler.class);
         when(jsonFacade.toJson(any())).thenReturn("{}");
+        when(dealTransitionService.transitionVersioned(any())).thenReturn(
+                new DealTransitionService.VersionedResult(
+                        new DealTransitionResult.AlreadyInTargetState(DealStatus.DRAFT),
+                        DealTransitionService.NOT_WRITTEN));
         engine = new DealWorkflowEngine(
                 dealRepository,
                 dealTransitionService,
@@ -58,7 +69,10 @@ class DealWorkflowEngineTest {
                 depositPort,
                 outboxRepository,
                 channelRepository,
-                jsonFacade);
+                jsonFacade,
+                deadlineScheduler,
+                new DealActorRuntime(new MetricsFacade(new SimpleMeterRegistry()),
+                        new DealActorProperties(true, 100)));
     }
 
     @Test
@@ -76,6 +90,7 @@ class DealWorkflowEngineTest {
                 deal.amountNano(),
                 deal.channelId(),
                 null,
+                null,
                 null);
         var envelope = EventEnvelope.create(
                 EventTypes.DEAL_STATE_CHANGED, dealId, event);
@@ -86,7 +101,7 @@ class DealWorkflowEngineTest {
 
         var commandCaptor = org.mockito.ArgumentCaptor.forClass(
                 com.advertmarket.deal.api.dto.DealTransitionCommand.class);
-        verify(dealTransitionService).transition(commandCaptor.capture());
+        verify(dealTransitionService).transitionVersioned(commandCaptor.capture());
         var command = commandCaptor.getValue();
         assertThat(command.dealId()).isEqualTo(dealId);
         assertThat(command.targetStatus()).isEqualTo(DealStatus.AWAITING_PAYMENT);
@@ -137,6 +152,7 @@ class DealWorkflowEngineTest {
                 deal.amountNano(),
                 deal.channelId(),
                 null,
+                null,
                 null);
         var envelope = EventEnvelope.create(
                 EventTypes.DEAL_STATE_CHANGED, dealId, event);
@@ -190,6 +206,7 @@ class DealWorkflowEngineTest {
                 deal.amountNano(),
                 deal.channelId(),
                 null,
+                null,
                 null);
         var envelope = EventEnvelope.create(
                 EventTypes.DEAL_STATE_CHANGED, dealId, event);
@@ -200,7 +217,7 @@ class DealWorkflowEngineTest {
                 .save(any(OutboxEntry.class));
         var commandCaptor = org.mockito.ArgumentCaptor.forClass(
                 com.advertmarket.deal.api.dto.DealTransitionCommand.class);
-        verify(dealTransitionService).transition(commandCaptor.capture());
+        verify(dealTransitionService).transitionVersioned(commandCaptor.capture());
         var command = commandCaptor.getValue();
         assertThat(command.dealId()).isEqualTo(dealId);
         assertThat(command.targetStatus()).isEqualTo(DealStatus.DELIVERY_VERIFYING);
@@ -222,6 +239,7 @@ class DealWorkflowEngineTest {
                 deal.amountNano(),
                 deal.channelId(),
                 null,
+                null,
                 null);
         var envelope = EventEnvelope.create(
                 EventTypes.DEAL_STATE_CHANGED, dealId, event);
@@ -246,6 +264,7 @@ class DealWorkflowEngineTest {
                 deal.amountNano(),
                 deal.channelId(),
                 null,
+                null,
                 null);
         var envelope = EventEnvelope.create(
                 EventTypes.DEAL_STATE_CHANGED, dealId, event);
@@ -278,7 +297,8 @@ class DealWorkflowEngineTest {
                 deal.amountNano(),
                 deal.channelId(),
                 700_000_000L,
-                800_000_000L);
+                800_000_000L,
+                null);
         var envelope = EventEnvelope.create(
                 EventTypes.DEAL_STATE_CHANGED, dealId, event);
 
@@ -288,6 +308,72 @@ class DealWorkflowEngineTest {
                 .save(any(OutboxEntry.class));
     }
 
+    @Test
+    @DisplayName("Auto-transition caches the record, so the follow-up event needs no read")
+    void autoTransition_cachesRecordForFollowUpEvent() {
+        var dealId = DealId.generate();
+        var deal = deal(dealId, DealStatus.PUBLISHED);
+        when(dealRepository.findById(dealId)).thenReturn(Optional.of(deal));
+        when(dealTransitionService.transitionVersioned(any())).thenReturn(written(deal, 1));
+
+        engine.handle(stateChanged(dealId, deal, DealStatus.PUBLISHED, deal.version()));
+        engine.handle(stateChanged(dealId, deal,
+                DealStatus.DELIVERY_VERIFYING, deal.version() + 1));
+
+        verify(dealRepository, times(1)).findById(dealId);
+    }
+
+    @Test
+    @DisplayName("Cached record at another version is ignored and the deal is read")
+    void staleCache_readsDeal() {
+        var dealId = DealId.generate();
+        var deal = deal(dealId, DealStatus.PUBLISHED);
+        when(dealRepository.findById(dealId)).thenReturn(Optional.of(deal));
+        when(dealTransitionService.transitionVersioned(any())).thenReturn(written(deal, 1));
+
+        engine.handle(stateChanged(dealId, deal, DealStatus.PUBLISHED, deal.version()));
+        engine.handle(stateChanged(dealId, deal,
+                DealStatus.DELIVERY_VERIFYING, deal.version() + 2));
+
+        verify(dealRepository, times(2)).findById(dealId);
+    }
+
+    @Test
+    @DisplayName("Transition applied over another writer's change is not cached")
+    void transitionOverConcurrentWrite_readsDeal() {
+        var dealId = DealId.generate();
+        var deal = deal(dealId, DealStatus.PUBLISHED);
+        when(dealRepository.findById(dealId)).thenReturn(Optional.of(deal));
+        when(dealTransitionService.transitionVersioned(any())).thenReturn(written(deal, 2));
+
+        engine.handle(stateChanged(dealId, deal, DealStatus.PUBLISHED, deal.version()));
+        engine.handle(stateChanged(dealId, deal,
+                DealStatus.DELIVERY_VERIFYING, deal.version() + 1));
+
+        verify(dealRepository, times(2)).findById(dealId);
+    }
+
+    private static DealTransitionService.VersionedResult written(DealRecord deal, int steps) {
+        return new DealTransitionService.VersionedResult(
+                new DealTransitionResult.Success(DealStatus.DELIVERY_VERIFYING),
+                deal.version() + steps);
+    }
+
+    private static EventEnvelope<DealStateChangedEvent> stateChanged(
+            DealId dealId, DealRecord deal, DealStatus toStatus, int version) {
+        var event = new DealStateChangedEvent(
+                deal.status(),
+                toStatus,
+                null,
+                ActorType.SYSTEM,
+                deal.amountNano(),
+                deal.channelId(),
+                null,
+                null,
+                version);
+        return EventEnvelope.create(EventTypes.DEAL_STATE_CHANGED, dealId, event);
+    }
+
     private static DealRecord deal(DealId dealId, DealStatus status) {
         return new DealRecord(
                 dealId.value(),
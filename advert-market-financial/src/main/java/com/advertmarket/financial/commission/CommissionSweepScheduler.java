@@ -6,6 +6,7 @@ import com.advertmarket.financial.api.port.LedgerPort;
 import com.advertmarket.financial.config.CommissionSweepProperties;
 import com.advertmarket.financial.config.NetworkFeeProperties;
 import com.advertmarket.financial.ledger.repository.JooqAccountBalanceRepository;
+import com.advertmarket.financial.ledger.repository.JooqAccountBalanceRepository.AccountBalance;
 import com.advertmarket.shared.lock.DistributedLockPort;
 import com.advertmarket.shared.metric.MetricNames;
 import com.advertmarket.shared.metric.MetricsFacade;
@@ -16,6 +17,9 @@ import com.advertmarket.shared.util.IdempotencyKey;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
@@ -24,6 +28,13 @@ import org.springframework.stereotype.Component;
 
 /**
  * Daily sweep of accumulated commission balances to platform treasury.
+ *
+ * <p>In bulk mode eligible accounts are read set-based in account ID
+ * order and drained in balanced multi-account transfers, one per account
+ * range, with ranges swept in parallel. Each account is swept at most
+ * once per UTC day: accounts with a sweep entry since midnight are not
+ * selected, and each range transfer carries its own
+ * {@link IdempotencyKey#sweep(String, AccountId, AccountId)} key.
  */
 @Component
 @RequiredArgsConstructor
@@ -43,6 +54,7 @@ public class CommissionSweepScheduler {
     private final MetricsFacade metrics;
     private final CommissionSweepProperties props;
     private final NetworkFeeProperties networkFeeProperties;
+    private final Executor blockingIoExecutor;
 
     /**
      * Executes scheduled commission sweep under a distributed lock.
@@ -56,7 +68,11 @@ public class CommissionSweepScheduler {
         }
 
         try {
-            doSweep();
+            if (props.bulk().enabled()) {
+                doBulkSweep();
+            } else {
+                doSweep();
+            }
         } finally {
             lockPort.unlock(LOCK_KEY, token.get());
         }
@@ -87,6 +103,51 @@ public class CommissionSweepScheduler {
             }
         }
 
+        recordCompleted(totalSwept, count);
+    }
+
+    private void doBulkSweep() {
+        var today = LocalDate.now(ZoneOffset.UTC);
+        var sweptSince = today.atStartOfDay(ZoneOffset.UTC).toInstant();
+        int chunkSize = props.bulk().chunkSize();
+        int pageSize = Math.multiplyExact(chunkSize, props.bulk().parallelism());
+
+        long totalSwept = 0;
+        int count = 0;
+        AccountId cursor = null;
+        while (true) {
+            var page = balanceRepository.findCommissionBalancesToSweep(
+                    props.dustThresholdNano(), sweptSince, cursor, pageSize);
+            if (page.isEmpty()) {
+                break;
+            }
+            cursor = page.getLast().accountId();
+
+            var chunks = new ArrayList<CompletableFuture<ChunkResult>>();
+            for (int from = 0; from < page.size(); from += chunkSize) {
+                var chunk = page.subList(from, Math.min(from + chunkSize, page.size()));
+                chunks.add(CompletableFuture.supplyAsync(
+                        () -> sweepChunk(chunk, today.toString()), blockingIoExecutor));
+            }
+            for (var chunk : chunks) {
+                var result = chunk.join();
+                totalSwept = Math.addExact(totalSwept, result.sweptNano());
+                count += result.accounts();
+            }
+
+            if (page.size() < pageSize) {
+                break;
+            }
+        }
+
+        if (count == 0) {
+            log.debug("No commission accounts above dust threshold");
+            return;
+        }
+        recordCompleted(totalSwept, count);
+    }
+
+    private void recordCompleted(long totalSwept, int count) {
         metrics.incrementCounter(MetricNames.COMMISSION_SWEEP_COUNT,
                 "count", String.valueOf(count));
         if (totalSwept > 0) {
@@ -137,4 +198,48 @@ public class CommissionSweepScheduler {
         }
     }
     // CHECKSTYLE.ON: IllegalCatch
+
+    // CHECKSTYLE.OFF: IllegalCatch
+    private ChunkResult sweepChunk(List<AccountBalance> chunk, String date) {
+        var first = chunk.getFirst().accountId();
+        var last = chunk.getLast().accountId();
+        try {
+            long total = 0;
+            var legs = new ArrayList<Leg>(chunk.size() + 3);
+            for (var balance : chunk) {
+                total = Math.addExact(total, balance.balanceNano());
+                legs.add(new Leg(balance.accountId(), EntryType.COMMISSION_SWEEP,
+                        Money.ofNano(balance.balanceNano()), Leg.Side.DEBIT));
+            }
+            legs.add(new Leg(AccountId.platformTreasury(),
+                    EntryType.COMMISSION_SWEEP, Money.ofNano(total), Leg.Side.CREDIT));
+
+            long feeNano = Math.multiplyExact(
+                    Math.max(networkFeeProperties.defaultEstimateNano(), 0L),
+                    (long) chunk.size());
+            if (feeNano > 0) {
+                var feeAmount = Money.ofNano(feeNano);
+                legs.add(new Leg(AccountId.platformTreasury(),
+                        EntryType.NETWORK_FEE, feeAmount, Leg.Side.DEBIT));
+                legs.add(new Leg(AccountId.networkFees(),
+                        EntryType.NETWORK_FEE, feeAmount, Leg.Side.CREDIT));
+            }
+            ledgerPort.transfer(new TransferRequest(
+                    null,
+                    IdempotencyKey.sweep(date, first, last),
+                    legs,
+                    "Commission sweep " + date + " of " + chunk.size()
+                            + " accounts " + first + ".." + last));
+            return new ChunkResult(total, chunk.size());
+        } catch (RuntimeException ex) {
+            log.warn("Failed to sweep commission accounts {}..{}: {}",
+                    first, last, ex.getMessage());
+            metrics.incrementCounter(MetricNames.COMMISSION_SWEEP_FAILED);
+            return new ChunkResult(0, 0);
+        }
+    }
+    // CHECKSTYLE.ON: IllegalCatch
+
+    private record ChunkResult(long sweptNano, int accounts) {
+    }
 }
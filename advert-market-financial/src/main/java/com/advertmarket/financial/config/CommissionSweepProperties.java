@@ -40,5 +40,44 @@ public record CommissionSweepProperties(
                 description = "Distributed lock TTL for sweep",
                 required = Requirement.OPTIONAL
         )
-        @DefaultValue("5m") Duration lockTtl
-) {}
+        @DefaultValue("5m") Duration lockTtl,
+
+        @PropertyDoc(
+                description = "Set-based bulk sweep settings",
+                required = Requirement.OPTIONAL
+        )
+        @DefaultValue Bulk bulk
+) {
+
+    /**
+     * Set-based bulk sweep settings.
+     *
+     * <p>When enabled, all eligible commission accounts are drained in
+     * balanced transfers of up to {@code chunkSize} accounts each, and
+     * {@code batchSize} no longer caps a run.
+     *
+     * @param enabled     whether to sweep in bulk instead of per account
+     * @param chunkSize   accounts per ledger transfer
+     * @param parallelism chunks swept concurrently
+     */
+    public record Bulk(
+            @PropertyDoc(
+                    description = "Sweep in multi-account transfers instead of one per account",
+                    required = Requirement.OPTIONAL
+            )
+            @DefaultValue("true") boolean enabled,
+
+            @PropertyDoc(
+                    description = "Commission accounts per bulk ledger transfer",
+                    required = Requirement.OPTIONAL
+            )
+            @DefaultValue("500") int chunkSize,
+
+            @PropertyDoc(
+                    description = "Bulk chunks swept concurrently",
+                    required = Requirement.OPTIONAL
+            )
+            @DefaultValue("4") int parallelism
+    ) {
+    }
+}
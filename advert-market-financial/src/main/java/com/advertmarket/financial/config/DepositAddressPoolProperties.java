@@ -0,0 +1,67 @@
+package com.advertmarket.financial.config;
+
+import io.github.springpropertiesmd.api.annotation.PropertyDoc;
+import io.github.springpropertiesmd.api.annotation.PropertyGroupDoc;
+import io.github.springpropertiesmd.api.annotation.Requirement;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the pre-derived deposit address pool.
+ *
+ * @param enabled         whether deposit addresses are claimed from the pool
+ * @param lowWaterMark    depth below which the pool is refilled
+ * @param targetSize      depth the refill tops the pool up to
+ * @param refillBatchSize addresses derived and inserted per statement
+ * @param refillInterval  interval between pool depth checks
+ * @param lockTtl         distributed lock TTL for a refill run
+ */
+@ConfigurationProperties(prefix = "app.ton.deposit-pool")
+@PropertyGroupDoc(
+        displayName = "Deposit Address Pool",
+        description = "Background-filled pool of pre-derived deposit addresses",
+        category = "Financial"
+)
+@Validated
+public record DepositAddressPoolProperties(
+        @PropertyDoc(
+                description = "Claim deposit addresses from the pre-derived pool",
+                required = Requirement.OPTIONAL
+        )
+        @DefaultValue("true") boolean enabled,
+
+        @PropertyDoc(
+                description = "Pool depth below which a refill is triggered",
+                required = Requirement.OPTIONAL
+        )
+        @PositiveOrZero @DefaultValue("200") int lowWaterMark,
+
+        @PropertyDoc(
+                description = "Pool depth a refill tops up to",
+                required = Requirement.OPTIONAL
+        )
+        @Positive @DefaultValue("1000") int targetSize,
+
+        @PropertyDoc(
+                description = "Addresses derived and inserted per batch",
+                required = Requirement.OPTIONAL
+        )
+        @Positive @DefaultValue("100") int refillBatchSize,
+
+        @PropertyDoc(
+                description = "Interval between pool depth checks",
+                required = Requirement.OPTIONAL
+        )
+        @DefaultValue("30s") Duration refillInterval,
+
+        @PropertyDoc(
+                description = "Distributed lock TTL for a refill run",
+                required = Requirement.OPTIONAL
+        )
+        @DefaultValue("5m") Duration lockTtl
+) {
+}
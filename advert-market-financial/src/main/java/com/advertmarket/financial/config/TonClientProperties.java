@@ -0,0 +1,192 @@
+package com.advertmarket.financial.config;
+
+import io.github.springpropertiesmd.api.annotation.PropertyDoc;
+import io.github.springpropertiesmd.api.annotation.PropertyGroupDoc;
+import io.github.springpropertiesmd.api.annotation.Requirement;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import java.util.List;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the multi-endpoint TON API client.
+ *
+ * <p>With no endpoints configured, the single TON Center endpoint from
+ * {@code app.ton.api} is used and hedging has nothing to hedge against.
+ *
+ * @param endpoints   additional TON API providers to balance across
+ * @param hedge       hedged read settings
+ * @param cache       transaction list cache settings
+ * @param errorBudget per-endpoint error budget settings
+ */
+@ConfigurationProperties(prefix = "app.ton.client")
+@PropertyGroupDoc(
+        displayName = "TON Client",
+        description = "Load balancing, hedging and caching across TON API endpoints",
+        category = "Financial"
+)
+@Validated
+public record TonClientProperties(
+        @PropertyDoc(
+                description = "TON API endpoints to balance across",
+                required = Requirement.OPTIONAL
+        )
+        @Valid @DefaultValue List<Endpoint> endpoints,
+
+        @PropertyDoc(
+                description = "Hedged read settings",
+                required = Requirement.OPTIONAL
+        )
+        @Valid @DefaultValue Hedge hedge,
+
+        @PropertyDoc(
+                description = "Transaction list cache settings",
+                required = Requirement.OPTIONAL
+        )
+        @Valid @DefaultValue Cache cache,
+
+        @PropertyDoc(
+                description = "Per-endpoint error budget settings",
+                required = Requirement.OPTIONAL
+        )
+        @Valid @DefaultValue ErrorBudget errorBudget
+) {
+
+    /** Defensive copy for immutability. */
+    public TonClientProperties {
+        endpoints = List.copyOf(endpoints);
+    }
+
+    /**
+     * A single TON Center compatible endpoint.
+     *
+     * @param name   endpoint name used in metric tags
+     * @param url    JSON-RPC base URL
+     * @param apiKey API key, defaults to {@code app.ton.api.key}
+     */
+    public record Endpoint(
+            @PropertyDoc(
+                    description = "Endpoint name used in metric tags",
+                    required = Requirement.REQUIRED
+            )
+            @NotBlank @NonNull String name,
+
+            @PropertyDoc(
+                    description = "TON Center compatible JSON-RPC URL",
+                    required = Requirement.REQUIRED
+            )
+            @NotBlank @NonNull String url,
+
+            @PropertyDoc(
+                    description = "API key; falls back to app.ton.api.key",
+                    required = Requirement.OPTIONAL
+            )
+            @Nullable String apiKey
+    ) {
+    }
+
+    /**
+     * Hedged read settings.
+     *
+     * <p>A duplicate request is sent to a second endpoint once the primary
+     * has been outstanding longer than its observed latency quantile.
+     *
+     * @param enabled    whether idempotent reads are hedged
+     * @param quantile   latency quantile after which a read is hedged
+     * @param minDelay   lower bound for the hedge delay
+     * @param maxDelay   upper bound and warm-up value for the hedge delay
+     * @param sampleSize latency samples kept per endpoint
+     */
+    public record Hedge(
+            @PropertyDoc(
+                    description = "Hedge idempotent reads to a second endpoint",
+                    required = Requirement.OPTIONAL
+            )
+            @DefaultValue("true") boolean enabled,
+
+            @PropertyDoc(
+                    description = "Latency quantile after which a read is hedged",
+                    required = Requirement.OPTIONAL
+            )
+            @DecimalMin("0.5") @DecimalMax("0.999") @DefaultValue("0.95") double quantile,
+
+            @PropertyDoc(
+                    description = "Lower bound for the hedge delay",
+                    required = Requirement.OPTIONAL
+            )
+            @DefaultValue("50ms") Duration minDelay,
+
+            @PropertyDoc(
+                    description = "Upper bound and warm-up value for the hedge delay",
+                    required = Requirement.OPTIONAL
+            )
+            @DefaultValue("2s") Duration maxDelay,
+
+            @PropertyDoc(
+                    description = "Latency samples kept per endpoint",
+                    required = Requirement.OPTIONAL
+            )
+            @Positive @DefaultValue("256") int sampleSize
+    ) {
+    }
+
+    /**
+     * Transaction list cache settings.
+     *
+     * @param ttl     time a cached transaction list is served
+     * @param maxSize maximum cached transaction lists
+     */
+    public record Cache(
+            @PropertyDoc(
+                    description = "Time a cached transaction list is served",
+                    required = Requirement.OPTIONAL
+            )
+            @DefaultValue("2s") Duration ttl,
+
+            @PropertyDoc(
+                    description = "Maximum cached transaction lists",
+                    required = Requirement.OPTIONAL
+            )
+            @Positive @DefaultValue("10000") int maxSize
+    ) {
+    }
+
+    /**
+     * Per-endpoint error budget settings.
+     *
+     * <p>An endpoint whose error rate over the window exceeds the budget
+     * is skipped by the balancer for the ejection period.
+     *
+     * @param maxErrorRate error rate above which an endpoint is ejected
+     * @param window       outcomes considered per endpoint
+     * @param ejectFor     time an ejected endpoint is skipped
+     */
+    public record ErrorBudget(
+            @PropertyDoc(
+                    description = "Error rate above which an endpoint is ejected",
+                    required = Requirement.OPTIONAL
+            )
+            @DecimalMin("0.0") @DecimalMax("1.0") @DefaultValue("0.2") double maxErrorRate,
+
+            @PropertyDoc(
+                    description = "Outcomes considered per endpoint",
+                    required = Requirement.OPTIONAL
+            )
+            @Positive @DefaultValue("50") int window,
+
+            @PropertyDoc(
+                    description = "Time an ejected endpoint is skipped",
+                    required = Requirement.OPTIONAL
+            )
+            @DefaultValue("30s") Duration ejectFor
+    ) {
+    }
+}
@@ -3,8 +3,14 @@ package com.advertmarket.financial.config;
 import static com.advertmarket.db.generated.Sequences.DEAL_SUBWALLET_SEQ;
 
 import com.advertmarket.financial.api.port.TonBlockchainPort;
+import com.advertmarket.financial.api.port.TonWalletPort;
+import com.advertmarket.financial.ton.client.HedgingTonBlockchainPort;
 import com.advertmarket.financial.ton.client.TonCenterBlockchainAdapter;
+import com.advertmarket.financial.ton.client.TonEndpoint;
+import com.advertmarket.financial.ton.repository.JooqDepositAddressPoolRepository;
 import com.advertmarket.financial.ton.service.ConfirmationPolicyService;
+import com.advertmarket.financial.ton.service.PooledTonWalletService;
+import com.advertmarket.financial.ton.service.TonSeqnoManager;
 import com.advertmarket.financial.ton.service.TonWalletService;
 import com.advertmarket.shared.lock.DistributedLockPort;
 import com.advertmarket.shared.metric.MetricsFacade;
@@ -13,31 +19,35 @@ import com.advertmarket.shared.sequence.SequenceAllocator;
 import io.github.resilience4j.bulkhead.Bulkhead;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
 import java.util.List;
+import java.util.concurrent.Executor;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.jooq.DSLContext;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.ton.ton4j.toncenter.TonCenter;
 
 /**
  * Wires all TON blockchain beans.
  */
 @Configuration
-@EnableConfigurationProperties({TonProperties.class, TonResilienceProperties.class})
+@EnableConfigurationProperties({
+        DepositAddressPoolProperties.class,
+        TonClientProperties.class,
+        TonProperties.class,
+        TonResilienceProperties.class,
+        TonSeqnoProperties.class
+})
 public class TonConfig {
 
+    private static final String DEFAULT_ENDPOINT = "toncenter";
+
     /** Creates the TON Center HTTP client. */
     @Bean
     public TonCenter tonCenterClient(TonProperties props) {
-        var builder = TonCenter.builder()
-                .apiKey(props.api().key());
-        if (props.api().isTestnet()) {
-            builder.testnet();
-        } else {
-            builder.mainnet();
-        }
-        return builder.build();
+        return newTonCenter(props.api().key(), null, props.api().isTestnet());
     }
 
     /** Creates the raw (undecorated) blockchain adapter. */
@@ -47,14 +57,47 @@ public class TonConfig {
         return new TonCenterBlockchainAdapter(tonCenter, metrics);
     }
 
+    /**
+     * Creates the port balancing and hedging across TON API endpoints.
+     *
+     * <p>Without {@code app.ton.client.endpoints} the default TON Center
+     * adapter is the only endpoint.
+     */
+    @Bean
+    public HedgingTonBlockchainPort hedgingTonBlockchainPort(
+            TonCenterBlockchainAdapter raw,
+            TonProperties props,
+            TonClientProperties clientProps,
+            Executor blockingIoExecutor,
+            MetricsFacade metrics) {
+        List<TonEndpoint> endpoints;
+        if (clientProps.endpoints().isEmpty()) {
+            endpoints = List.of(new TonEndpoint(DEFAULT_ENDPOINT, raw, clientProps, metrics));
+        } else {
+            endpoints = clientProps.endpoints().stream()
+                    .map(endpoint -> {
+                        String apiKey = endpoint.apiKey() != null
+                                ? endpoint.apiKey() : props.api().key();
+                        var tonCenter = newTonCenter(apiKey, endpoint.url(),
+                                props.api().isTestnet());
+                        return new TonEndpoint(endpoint.name(),
+                                new TonCenterBlockchainAdapter(tonCenter, metrics),
+                                clientProps, metrics);
+                    })
+                    .toList();
+        }
+        return new HedgingTonBlockchainPort(endpoints, blockingIoExecutor,
+                metrics, clientProps);
+    }
+
     /** Creates the resilient blockchain port with circuit breaker and bulkhead. */
     @Bean
     @Primary
     public TonBlockchainPort tonBlockchainPort(
-            TonCenterBlockchainAdapter raw,
+            HedgingTonBlockchainPort hedging,
             CircuitBreaker tonCenterCircuitBreaker,
             Bulkhead tonCenterBulkhead) {
-        return new ResilientTonBlockchainPort(raw, tonCenterCircuitBreaker, tonCenterBulkhead);
+        return new ResilientTonBlockchainPort(hedging, tonCenterCircuitBreaker, tonCenterBulkhead);
     }
 
     /** Creates the subwallet sequence allocator with bulk prefetch. */
@@ -77,12 +120,24 @@ public class TonConfig {
         return props.deposit();
     }
 
+    /** Creates the per-subwallet seqno tracker for outbound transfers. */
+    @Bean
+    public TonSeqnoManager tonSeqnoManager(
+            TonBlockchainPort tonBlockchainPort,
+            StringRedisTemplate redisTemplate,
+            MetricsFacade metrics,
+            TonSeqnoProperties seqnoProps) {
+        return new TonSeqnoManager(tonBlockchainPort, redisTemplate,
+                metrics, seqnoProps);
+    }
+
     /** Creates the wallet service for address generation and TX submission. */
     @Bean
     public TonWalletService tonWalletService(
             TonBlockchainPort tonBlockchainPort,
             DistributedLockPort lockPort,
             SequenceAllocator subwalletSequenceAllocator,
+            TonSeqnoManager tonSeqnoManager,
             MetricsFacade metrics,
             PiiVaultPort piiVault,
             TonProperties props) {
@@ -93,14 +148,50 @@ public class TonConfig {
                 props.api(), decryptedWallet, props.deposit(),
                 props.network(), props.confirmation());
         return new TonWalletService(tonBlockchainPort, lockPort,
-                subwalletSequenceAllocator, metrics, decryptedProps);
+                subwalletSequenceAllocator, tonSeqnoManager, metrics,
+                decryptedProps);
+    }
+
+    /**
+     * Exposes the wallet port used by escrow, payout and refund.
+     *
+     * <p>Deposit addresses are claimed from the pre-derived pool when it is
+     * enabled, otherwise derived inline.
+     */
+    @Bean
+    @Primary
+    public TonWalletPort tonWalletPort(
+            TonWalletService tonWalletService,
+            JooqDepositAddressPoolRepository depositAddressPoolRepository,
+            MetricsFacade metrics,
+            DepositAddressPoolProperties poolProps) {
+        if (!poolProps.enabled()) {
+            return tonWalletService;
+        }
+        return new PooledTonWalletService(tonWalletService,
+                depositAddressPoolRepository, metrics);
+    }
+
+    private static TonCenter newTonCenter(String apiKey, @Nullable String url,
+                                          boolean testnet) {
+        var builder = TonCenter.builder()
+                .apiKey(apiKey);
+        if (testnet) {
+            builder.testnet();
+        } else {
+            builder.mainnet();
+        }
+        if (url != null) {
+            builder.endpoint(url);
+        }
+        return builder.build();
     }
 
     /**
      * Decorator that wraps {@link TonBlockchainPort} with circuit breaker and bulkhead.
      */
     private record ResilientTonBlockchainPort(
-            TonCenterBlockchainAdapter delegate,
+            TonBlockchainPort delegate,
             CircuitBreaker circuitBreaker,
             Bulkhead bulkhead
     ) implements TonBlockchainPort {
@@ -113,6 +204,14 @@ public class TonConfig {
                             () -> delegate.getTransactions(address, limit))).get();
         }
 
+        @Override
+        public List<com.advertmarket.financial.api.model.TonOutboundTransferInfo>
+                getOutgoingTransfers(String address, int limit) {
+            return Bulkhead.decorateSupplier(bulkhead,
+                    CircuitBreaker.decorateSupplier(circuitBreaker,
+                            () -> delegate.getOutgoingTransfers(address, limit))).get();
+        }
+
         @Override
         public String sendBoc(String base64Boc) {
             return Bulkhead.decorateSupplier(bulkhead,
@@ -0,0 +1,60 @@
+package com.advertmarket.financial.config;
+
+import io.github.springpropertiesmd.api.annotation.PropertyDoc;
+import io.github.springpropertiesmd.api.annotation.PropertyGroupDoc;
+import io.github.springpropertiesmd.api.annotation.Requirement;
+import jakarta.validation.constraints.Positive;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Configuration properties for the subwallet seqno manager.
+ *
+ * @param cacheTtl               TTL of the shared next-seqno entry in Redis
+ * @param reconcileInterval      interval between in-flight reconciliation runs
+ * @param inFlightExpiry         age after which an unconfirmed send is treated as dropped
+ * @param predecessorPollAttempts polls while waiting for an in-flight predecessor
+ * @param predecessorPollDelay   delay between predecessor polls
+ */
+@ConfigurationProperties(prefix = "app.ton.seqno")
+@PropertyGroupDoc(
+        displayName = "TON Seqno",
+        description = "Local seqno tracking for outbound subwallet transfers",
+        category = "Financial"
+)
+@Validated
+public record TonSeqnoProperties(
+        @PropertyDoc(
+                description = "TTL of the shared next-seqno entry in Redis",
+                required = Requirement.OPTIONAL
+        )
+        @DefaultValue("24h") Duration cacheTtl,
+
+        @PropertyDoc(
+                description = "Interval between in-flight seqno reconciliation runs",
+                required = Requirement.OPTIONAL
+        )
+        @DefaultValue("10s") Duration reconcileInterval,
+
+        @PropertyDoc(
+                description = "Age after which an unconfirmed send is treated as dropped"
+                        + " (must exceed wallet message validity)",
+                required = Requirement.OPTIONAL
+        )
+        @DefaultValue("2m") Duration inFlightExpiry,
+
+        @PropertyDoc(
+                description = "Seqno polls while waiting for an in-flight predecessor to land",
+                required = Requirement.OPTIONAL
+        )
+        @Positive @DefaultValue("10") int predecessorPollAttempts,
+
+        @PropertyDoc(
+                description = "Delay between predecessor seqno polls",
+                required = Requirement.OPTIONAL
+        )
+        @DefaultValue("1s") Duration predecessorPollDelay
+) {
+}
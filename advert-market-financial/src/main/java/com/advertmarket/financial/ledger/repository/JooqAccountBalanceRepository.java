@@ -1,14 +1,20 @@
 package com.advertmarket.financial.ledger.repository;
 
 import static com.advertmarket.db.generated.tables.AccountBalances.ACCOUNT_BALANCES;
+import static com.advertmarket.db.generated.tables.LedgerEntries.LEDGER_ENTRIES;
+import static org.jooq.impl.DSL.selectOne;
 import static org.jooq.impl.DSL.val;
 
 import com.advertmarket.shared.model.AccountId;
+import com.advertmarket.shared.model.EntryType;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Objects;
 import java.util.OptionalLong;
 import lombok.RequiredArgsConstructor;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.jooq.DSLContext;
 import org.springframework.stereotype.Repository;
 
@@ -105,4 +111,51 @@ public class JooqAccountBalanceRepository {
                 .limit(limit)
                 .fetch(r -> new AccountId(r.value1()));
     }
+
+    /**
+     * Finds commission balances above the threshold that have not been
+     * swept since the given instant, ordered by account ID.
+     *
+     * <p>One keyset page per call; the sweep check is an anti-join on
+     * {@code ledger_entries(account_id, created_at)}.
+     *
+     * @param thresholdNano minimum balance in nanoTON (exclusive)
+     * @param sweptSince accounts with a sweep entry at or after this instant are skipped
+     * @param afterAccount keyset cursor (exclusive), or {@code null} for the first page
+     * @param limit max number of rows to return
+     * @return balances ordered by account ID
+     */
+    public @NonNull List<AccountBalance> findCommissionBalancesToSweep(
+            long thresholdNano,
+            @NonNull Instant sweptSince,
+            @Nullable AccountId afterAccount,
+            int limit) {
+        var condition = ACCOUNT_BALANCES.ACCOUNT_ID.startsWith("COMMISSION:")
+                .and(ACCOUNT_BALANCES.BALANCE_NANO.gt(thresholdNano))
+                .andNotExists(selectOne()
+                        .from(LEDGER_ENTRIES)
+                        .where(LEDGER_ENTRIES.ACCOUNT_ID.eq(ACCOUNT_BALANCES.ACCOUNT_ID))
+                        .and(LEDGER_ENTRIES.ENTRY_TYPE.eq(EntryType.COMMISSION_SWEEP.name()))
+                        .and(LEDGER_ENTRIES.CREATED_AT.ge(
+                                sweptSince.atOffset(ZoneOffset.UTC))));
+        if (afterAccount != null) {
+            condition = condition.and(
+                    ACCOUNT_BALANCES.ACCOUNT_ID.gt(afterAccount.value()));
+        }
+        return dsl.select(ACCOUNT_BALANCES.ACCOUNT_ID, ACCOUNT_BALANCES.BALANCE_NANO)
+                .from(ACCOUNT_BALANCES)
+                .where(condition)
+                .orderBy(ACCOUNT_BALANCES.ACCOUNT_ID)
+                .limit(limit)
+                .fetch(r -> new AccountBalance(new AccountId(r.value1()), r.value2()));
+    }
+
+    /**
+     * Balance projection of a single account.
+     *
+     * @param accountId   the account
+     * @param balanceNano balance in nanoTON
+     */
+    public record AccountBalance(@NonNull AccountId accountId, long balanceNano) {
+    }
 }
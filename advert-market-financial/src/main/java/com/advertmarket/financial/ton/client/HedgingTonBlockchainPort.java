@@ -0,0 +1,243 @@
+package com.advertmarket.financial.ton.client;
+
+import com.advertmarket.financial.api.model.TonOutboundTransferInfo;
+import com.advertmarket.financial.api.model.TonTransactionInfo;
+import com.advertmarket.financial.api.port.TonBlockchainPort;
+import com.advertmarket.financial.config.TonClientProperties;
+import com.advertmarket.shared.exception.DomainException;
+import com.advertmarket.shared.exception.ErrorCodes;
+import com.advertmarket.shared.metric.MetricNames;
+import com.advertmarket.shared.metric.MetricsFacade;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * {@link TonBlockchainPort} that balances calls across several TON API
+ * endpoints.
+ *
+ * <p>Calls are spread round-robin over endpoints within their error
+ * budget. Idempotent reads ({@code getTransactions},
+ * {@code getOutgoingTransfers}, {@code getMasterchainSeqno},
+ * {@code getAddressBalance}) are hedged: once the primary has been
+ * outstanding longer than its latency quantile, or has failed, the same
+ * read is sent to a second endpoint and the first successful answer wins.
+ * {@code sendBoc}, {@code getSeqno} and {@code estimateFee} go to a single
+ * endpoint: a duplicated broadcast or a racing seqno read is not worth the
+ * tail latency saved.
+ *
+ * <p>Incoming transaction lists are cached for a short TTL; concurrent
+ * identical reads share one upstream call. A late view only delays
+ * deposit detection by one TTL. Outgoing transfers are never cached:
+ * they are read to recover the hash of a transfer just broadcast, and a
+ * list from before the broadcast would hide it.
+ *
+ * <p>NOT {@code @Component} — wired via
+ * {@link com.advertmarket.financial.config.TonConfig}.
+ */
+@Slf4j
+public class HedgingTonBlockchainPort implements TonBlockchainPort {
+
+    private final List<TonEndpoint> endpoints;
+    private final Executor executor;
+    private final MetricsFacade metrics;
+    private final TonClientProperties.Hedge hedge;
+    private final Cache<String, List<TonTransactionInfo>> incomingCache;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    /**
+     * Creates the balancing port.
+     *
+     * @param endpoints endpoints to balance across, at least one
+     * @param executor  executor running hedged attempts
+     * @param metrics   metrics facade
+     * @param props     client settings
+     */
+    public HedgingTonBlockchainPort(@NonNull List<TonEndpoint> endpoints,
+                                    @NonNull Executor executor,
+                                    @NonNull MetricsFacade metrics,
+                                    @NonNull TonClientProperties props) {
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("At least one TON endpoint is required");
+        }
+        this.endpoints = List.copyOf(endpoints);
+        this.executor = executor;
+        this.metrics = metrics;
+        this.hedge = props.hedge();
+        this.incomingCache = newCache(props.cache());
+    }
+
+    @Override
+    public @NonNull List<TonTransactionInfo> getTransactions(
+            @NonNull String address, int limit) {
+        return cached(incomingCache, "getTransactions", address + ":" + limit,
+                () -> hedged("getTransactions",
+                        port -> port.getTransactions(address, limit)));
+    }
+
+    @Override
+    public @NonNull List<TonOutboundTransferInfo> getOutgoingTransfers(
+            @NonNull String address, int limit) {
+        return hedged("getOutgoingTransfers",
+                port -> port.getOutgoingTransfers(address, limit));
+    }
+
+    @Override
+    public @NonNull String sendBoc(@NonNull String base64Boc) {
+        return next().call(port -> port.sendBoc(base64Boc));
+    }
+
+    @Override
+    public long getMasterchainSeqno() {
+        return hedged("getMasterchainSeqno", TonBlockchainPort::getMasterchainSeqno);
+    }
+
+    @Override
+    public long getAddressBalance(@NonNull String address) {
+        return hedged("getAddressBalance", port -> port.getAddressBalance(address));
+    }
+
+    @Override
+    public long getSeqno(@NonNull String address) {
+        return next().call(port -> port.getSeqno(address));
+    }
+
+    @Override
+    public long estimateFee(@NonNull String address, @NonNull String base64Body) {
+        return next().call(port -> port.estimateFee(address, base64Body));
+    }
+
+    private <T> List<T> cached(Cache<String, List<T>> cache, String method,
+                               String key, Supplier<List<T>> loader) {
+        var hit = cache.getIfPresent(key);
+        if (hit != null) {
+            metrics.incrementCounter(MetricNames.TON_API_CACHE_HIT, "method", method);
+            return hit;
+        }
+        metrics.incrementCounter(MetricNames.TON_API_CACHE_MISS, "method", method);
+        return cache.get(key, _ -> loader.get());
+    }
+
+    private <T> T hedged(String method, Function<TonBlockchainPort, T> call) {
+        var primary = next();
+        var backup = hedge.enabled() ? backupFor(primary) : null;
+        if (backup == null) {
+            return primary.call(call);
+        }
+
+        var first = CompletableFuture.supplyAsync(() -> primary.call(call), executor);
+        String reason;
+        try {
+            return first.get(hedgeDelayNanos(primary), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ignored) {
+            reason = "slow";
+        } catch (ExecutionException ignored) {
+            reason = "error";
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw interrupted(method, ex);
+        }
+
+        metrics.incrementCounter(MetricNames.TON_API_HEDGED,
+                "method", method, "reason", reason);
+        log.debug("Hedging TON read: method={}, primary={}, backup={}, reason={}",
+                method, primary.name(), backup.name(), reason);
+        var second = CompletableFuture.supplyAsync(() -> backup.call(call), executor);
+        return firstSuccessful(method, first, second);
+    }
+
+    /**
+     * Waits for the first attempt that succeeds; fails only when all do.
+     *
+     * <p>The slower attempt keeps running so its endpoint still records
+     * the latency sample, but its result is discarded.
+     */
+    @SafeVarargs
+    private <T> T firstSuccessful(String method, CompletableFuture<T>... attempts) {
+        var winner = new CompletableFuture<T>();
+        var remaining = new AtomicInteger(attempts.length);
+        for (var attempt : attempts) {
+            attempt.whenComplete((value, error) -> {
+                if (error == null) {
+                    winner.complete(value);
+                } else if (remaining.decrementAndGet() == 0) {
+                    winner.completeExceptionally(error);
+                }
+            });
+        }
+        try {
+            return winner.get();
+        } catch (ExecutionException ex) {
+            throw unwrap(method, ex.getCause());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw interrupted(method, ex);
+        }
+    }
+
+    private TonEndpoint next() {
+        int size = endpoints.size();
+        int start = Math.floorMod(cursor.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            var endpoint = endpoints.get((start + i) % size);
+            if (endpoint.isAvailable()) {
+                return endpoint;
+            }
+        }
+        // every endpoint is over budget: keep serving rather than fail closed
+        return endpoints.get(start);
+    }
+
+    private @Nullable TonEndpoint backupFor(TonEndpoint primary) {
+        int size = endpoints.size();
+        int start = Math.floorMod(cursor.get(), size);
+        for (int i = 0; i < size; i++) {
+            var endpoint = endpoints.get((start + i) % size);
+            if (endpoint != primary && endpoint.isAvailable()) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    private long hedgeDelayNanos(TonEndpoint primary) {
+        long min = hedge.minDelay().toNanos();
+        long max = hedge.maxDelay().toNanos();
+        long observed = primary.latencyQuantileNanos(hedge.quantile()).orElse(max);
+        return Math.clamp(observed, min, Math.max(min, max));
+    }
+
+    private static RuntimeException unwrap(String method, Throwable cause) {
+        if (cause instanceof RuntimeException runtime) {
+            return runtime;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new DomainException(ErrorCodes.TON_API_ERROR,
+                "TON API call failed: " + method, cause);
+    }
+
+    private static DomainException interrupted(String method, InterruptedException ex) {
+        return new DomainException(ErrorCodes.TON_API_ERROR,
+                "Interrupted while waiting for TON API: " + method, ex);
+    }
+
+    private static <V> Cache<String, V> newCache(TonClientProperties.Cache props) {
+        return Caffeine.newBuilder()
+                .expireAfterWrite(props.ttl())
+                .maximumSize(props.maxSize())
+                .build();
+    }
+}
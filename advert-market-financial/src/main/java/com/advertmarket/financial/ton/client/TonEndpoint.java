@@ -0,0 +1,159 @@
+package com.advertmarket.financial.ton.client;
+
+import com.advertmarket.financial.api.port.TonBlockchainPort;
+import com.advertmarket.financial.config.TonClientProperties;
+import com.advertmarket.shared.metric.MetricNames;
+import com.advertmarket.shared.metric.MetricsFacade;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.OptionalLong;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * One TON API provider with its latency and error history.
+ *
+ * <p>Keeps a ring of recent successful call latencies for hedge delay
+ * decisions and a ring of recent outcomes for the error budget. An
+ * endpoint that exceeds its budget is reported unavailable for the
+ * ejection period. Both rings are lock-free so calls from virtual
+ * threads never pin a carrier.
+ */
+@Slf4j
+@SuppressWarnings("fenum:argument")
+public final class TonEndpoint {
+
+    private static final int MIN_LATENCY_SAMPLES = 20;
+
+    private final String name;
+    private final TonBlockchainPort delegate;
+    private final MetricsFacade metrics;
+    private final TonClientProperties.ErrorBudget budget;
+    private final AtomicLongArray latencies;
+    private final AtomicLong latencyCount = new AtomicLong();
+    private final AtomicIntegerArray outcomes;
+    private final AtomicLong outcomeCount = new AtomicLong();
+    private final AtomicLong ejectedUntilNanos;
+
+    /**
+     * Creates an endpoint and registers its per-endpoint meters.
+     *
+     * @param name     endpoint name used in metric tags
+     * @param delegate adapter bound to this endpoint
+     * @param props    client settings
+     * @param metrics  metrics facade
+     */
+    public TonEndpoint(@NonNull String name,
+                       @NonNull TonBlockchainPort delegate,
+                       @NonNull TonClientProperties props,
+                       @NonNull MetricsFacade metrics) {
+        this.name = name;
+        this.delegate = delegate;
+        this.metrics = metrics;
+        this.budget = props.errorBudget();
+        this.latencies = new AtomicLongArray(props.hedge().sampleSize());
+        this.outcomes = new AtomicIntegerArray(budget.window());
+        this.ejectedUntilNanos = new AtomicLong(System.nanoTime());
+        metrics.registerGauge(MetricNames.TON_ENDPOINT_ERROR_RATE,
+                this, TonEndpoint::errorRate, "endpoint", name);
+    }
+
+    /** Returns the endpoint name. */
+    public @NonNull String name() {
+        return name;
+    }
+
+    // CHECKSTYLE.OFF: IllegalCatch
+    /**
+     * Invokes the delegate and records latency and outcome.
+     *
+     * @param call operation to run against this endpoint
+     * @return operation result
+     */
+    public <T> T call(@NonNull Function<TonBlockchainPort, T> call) {
+        long start = System.nanoTime();
+        try {
+            T result = call.apply(delegate);
+            recordSuccess(System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException ex) {
+            recordFailure(System.nanoTime() - start);
+            throw ex;
+        }
+    }
+    // CHECKSTYLE.ON: IllegalCatch
+
+    /** Whether the balancer should route to this endpoint. */
+    public boolean isAvailable() {
+        return System.nanoTime() - ejectedUntilNanos.get() >= 0;
+    }
+
+    /**
+     * Returns the given latency quantile of recent successful calls.
+     *
+     * @param quantile quantile in {@code (0, 1)}
+     * @return latency in nanoseconds, or empty while warming up
+     */
+    public @NonNull OptionalLong latencyQuantileNanos(double quantile) {
+        int filled = (int) Math.min(latencyCount.get(), latencies.length());
+        if (filled < Math.min(MIN_LATENCY_SAMPLES, latencies.length())) {
+            return OptionalLong.empty();
+        }
+        long[] snapshot = new long[filled];
+        for (int i = 0; i < filled; i++) {
+            snapshot[i] = latencies.get(i);
+        }
+        Arrays.sort(snapshot);
+        int index = (int) Math.ceil(quantile * filled) - 1;
+        return OptionalLong.of(snapshot[Math.clamp(index, 0, filled - 1)]);
+    }
+
+    /** Returns the error rate over the outcome window. */
+    public double errorRate() {
+        int filled = (int) Math.min(outcomeCount.get(), outcomes.length());
+        if (filled == 0) {
+            return 0.0;
+        }
+        int failures = 0;
+        for (int i = 0; i < filled; i++) {
+            failures += outcomes.get(i);
+        }
+        return (double) failures / filled;
+    }
+
+    private void recordSuccess(long elapsedNanos) {
+        metrics.recordHistogramTimer(MetricNames.TON_ENDPOINT_LATENCY,
+                Duration.ofNanos(elapsedNanos), "endpoint", name, "outcome", "success");
+        int slot = (int) (latencyCount.getAndIncrement() % latencies.length());
+        latencies.set(slot, elapsedNanos);
+        recordOutcome(0);
+    }
+
+    private void recordFailure(long elapsedNanos) {
+        metrics.recordHistogramTimer(MetricNames.TON_ENDPOINT_LATENCY,
+                Duration.ofNanos(elapsedNanos), "endpoint", name, "outcome", "error");
+        recordOutcome(1);
+    }
+
+    private void recordOutcome(int failed) {
+        long seen = outcomeCount.getAndIncrement();
+        outcomes.set((int) (seen % outcomes.length()), failed);
+        if (failed == 0 || seen + 1 < outcomes.length()) {
+            return;
+        }
+        if (errorRate() > budget.maxErrorRate() && isAvailable()) {
+            eject(budget.ejectFor());
+        }
+    }
+
+    private void eject(Duration duration) {
+        ejectedUntilNanos.set(System.nanoTime() + duration.toNanos());
+        metrics.incrementCounter(MetricNames.TON_ENDPOINT_EJECTED, "endpoint", name);
+        log.warn("TON endpoint exceeded error budget, ejecting: endpoint={}, "
+                + "errorRate={}, for={}", name, errorRate(), duration);
+    }
+}
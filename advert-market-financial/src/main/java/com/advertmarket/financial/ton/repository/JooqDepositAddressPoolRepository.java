@@ -0,0 +1,95 @@
+package com.advertmarket.financial.ton.repository;
+
+import static com.advertmarket.db.generated.tables.DepositAddressPool.DEPOSIT_ADDRESS_POOL;
+
+import com.advertmarket.financial.api.model.DepositAddressInfo;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for pre-derived deposit addresses.
+ *
+ * <p>Rows are scoped by wallet fingerprint so addresses derived from a
+ * different mnemonic or network are never handed out.
+ */
+@Repository
+@RequiredArgsConstructor
+public class JooqDepositAddressPoolRepository {
+
+    private final DSLContext dsl;
+
+    /**
+     * Claims one unclaimed address for a deal in a single statement.
+     *
+     * @param dealId            deal that receives the address
+     * @param walletFingerprint fingerprint of the deriving wallet
+     * @return the claimed address, or empty if the pool is exhausted
+     */
+    public @NonNull Optional<DepositAddressInfo> claim(
+            @NonNull UUID dealId, @NonNull String walletFingerprint) {
+        var next = DSL.select(DEPOSIT_ADDRESS_POOL.SUBWALLET_ID)
+                .from(DEPOSIT_ADDRESS_POOL)
+                .where(DEPOSIT_ADDRESS_POOL.WALLET_FINGERPRINT.eq(walletFingerprint))
+                .and(DEPOSIT_ADDRESS_POOL.CLAIMED_AT.isNull())
+                .orderBy(DEPOSIT_ADDRESS_POOL.SUBWALLET_ID.asc())
+                .limit(1)
+                .forUpdate()
+                .skipLocked();
+
+        return dsl.update(DEPOSIT_ADDRESS_POOL)
+                .set(DEPOSIT_ADDRESS_POOL.CLAIMED_DEAL_ID, dealId)
+                .set(DEPOSIT_ADDRESS_POOL.CLAIMED_AT, OffsetDateTime.now(ZoneOffset.UTC))
+                .where(DEPOSIT_ADDRESS_POOL.SUBWALLET_ID.eq(next))
+                .returning(DEPOSIT_ADDRESS_POOL.ADDRESS, DEPOSIT_ADDRESS_POOL.SUBWALLET_ID)
+                .fetchOptional()
+                .map(row -> new DepositAddressInfo(
+                        Objects.requireNonNull(row.getAddress()),
+                        Objects.requireNonNull(row.getSubwalletId())));
+    }
+
+    /**
+     * Inserts freshly derived addresses, skipping ones already present.
+     *
+     * @param addresses         derived addresses
+     * @param walletFingerprint fingerprint of the deriving wallet
+     * @return number of inserted rows
+     */
+    public int insertAll(@NonNull List<DepositAddressInfo> addresses,
+                         @NonNull String walletFingerprint) {
+        if (addresses.isEmpty()) {
+            return 0;
+        }
+        var insert = dsl.insertInto(DEPOSIT_ADDRESS_POOL,
+                DEPOSIT_ADDRESS_POOL.SUBWALLET_ID,
+                DEPOSIT_ADDRESS_POOL.ADDRESS,
+                DEPOSIT_ADDRESS_POOL.WALLET_FINGERPRINT);
+        for (var address : addresses) {
+            insert = insert.values(
+                    Math.toIntExact(address.subwalletId()),
+                    address.depositAddress(),
+                    walletFingerprint);
+        }
+        return insert.onConflictDoNothing().execute();
+    }
+
+    /**
+     * Counts unclaimed addresses for a wallet.
+     *
+     * @param walletFingerprint fingerprint of the deriving wallet
+     * @return pool depth
+     */
+    public int countAvailable(@NonNull String walletFingerprint) {
+        return dsl.fetchCount(DEPOSIT_ADDRESS_POOL,
+                DEPOSIT_ADDRESS_POOL.WALLET_FINGERPRINT.eq(walletFingerprint)
+                        .and(DEPOSIT_ADDRESS_POOL.CLAIMED_AT.isNull()));
+    }
+}
@@ -0,0 +1,113 @@
+package com.advertmarket.financial.ton.service;
+
+import com.advertmarket.financial.api.model.DepositAddressInfo;
+import com.advertmarket.financial.config.DepositAddressPoolProperties;
+import com.advertmarket.financial.ton.repository.JooqDepositAddressPoolRepository;
+import com.advertmarket.shared.lock.DistributedLockPort;
+import com.advertmarket.shared.metric.MetricNames;
+import com.advertmarket.shared.metric.MetricsFacade;
+import com.advertmarket.shared.sequence.SequenceAllocator;
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps the deposit address pool above its low-water mark.
+ *
+ * <p>Subwallet IDs come from the same sequence as inline derivation,
+ * so pooled and inline addresses never collide. Runs under a
+ * distributed lock so only one instance refills at a time.
+ */
+@Component
+@Slf4j
+public class DepositAddressPoolRefiller {
+
+    private static final String LOCK_KEY = "scheduler:deposit-address-pool";
+
+    private final TonWalletService walletService;
+    private final JooqDepositAddressPoolRepository poolRepository;
+    private final SequenceAllocator sequenceAllocator;
+    private final DistributedLockPort lockPort;
+    private final MetricsFacade metrics;
+    private final DepositAddressPoolProperties props;
+    private final AtomicInteger depth = new AtomicInteger();
+
+    /**
+     * Creates the refiller and registers the pool depth gauge.
+     *
+     * @param walletService     wallet service deriving addresses
+     * @param poolRepository    pool storage
+     * @param sequenceAllocator subwallet ID allocator
+     * @param lockPort          distributed lock for single-writer refill
+     * @param metrics           metrics facade
+     * @param props             pool settings
+     */
+    public DepositAddressPoolRefiller(
+            TonWalletService walletService,
+            JooqDepositAddressPoolRepository poolRepository,
+            SequenceAllocator sequenceAllocator,
+            DistributedLockPort lockPort,
+            MetricsFacade metrics,
+            DepositAddressPoolProperties props) {
+        this.walletService = walletService;
+        this.poolRepository = poolRepository;
+        this.sequenceAllocator = sequenceAllocator;
+        this.lockPort = lockPort;
+        this.metrics = metrics;
+        this.props = props;
+        metrics.registerGauge(MetricNames.DEPOSIT_POOL_DEPTH, depth);
+    }
+
+    /**
+     * Scheduled pool depth check and refill.
+     */
+    @Scheduled(fixedDelayString = "${app.ton.deposit-pool.refill-interval:30s}")
+    public void refill() {
+        if (!props.enabled()) {
+            return;
+        }
+        var token = lockPort.tryLock(LOCK_KEY, props.lockTtl());
+        if (token.isEmpty()) {
+            log.debug("Could not acquire deposit address pool lock, skipping");
+            return;
+        }
+
+        try {
+            doRefill();
+        } finally {
+            lockPort.unlock(LOCK_KEY, token.get());
+        }
+    }
+
+    private void doRefill() {
+        String fingerprint = walletService.walletFingerprint();
+        int available = poolRepository.countAvailable(fingerprint);
+        depth.set(available);
+        if (available >= props.lowWaterMark()) {
+            return;
+        }
+
+        int missing = props.targetSize() - available;
+        int added = 0;
+        while (added < missing) {
+            int batch = Math.min(props.refillBatchSize(), missing - added);
+            var derived = new ArrayList<DepositAddressInfo>(batch);
+            for (int i = 0; i < batch; i++) {
+                derived.add(walletService.deriveDepositAddress(sequenceAllocator.next()));
+            }
+            int inserted = poolRepository.insertAll(derived, fingerprint);
+            if (inserted == 0) {
+                log.warn("Deposit address pool refill inserted nothing, stopping run");
+                break;
+            }
+            added += inserted;
+            depth.set(available + added);
+        }
+
+        metrics.incrementCounter(MetricNames.DEPOSIT_POOL_REFILLED, added);
+        log.info("Deposit address pool refilled: added={}, depth={}",
+                added, available + added);
+    }
+}
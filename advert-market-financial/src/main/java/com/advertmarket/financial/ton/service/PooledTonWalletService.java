@@ -0,0 +1,54 @@
+package com.advertmarket.financial.ton.service;
+
+import com.advertmarket.financial.api.model.DepositAddressInfo;
+import com.advertmarket.financial.api.port.TonWalletPort;
+import com.advertmarket.financial.ton.repository.JooqDepositAddressPoolRepository;
+import com.advertmarket.shared.metric.MetricNames;
+import com.advertmarket.shared.metric.MetricsFacade;
+import com.advertmarket.shared.model.DealId;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * {@link TonWalletPort} that assigns deposit addresses from the
+ * pre-derived pool.
+ *
+ * <p>A claim is a single UPDATE; when the pool is empty the address is
+ * derived inline by {@link TonWalletService}. Transaction submission is
+ * delegated unchanged.
+ *
+ * <p>NOT {@code @Component} — wired via {@link com.advertmarket.financial.config.TonConfig}.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class PooledTonWalletService implements TonWalletPort {
+
+    private final TonWalletService delegate;
+    private final JooqDepositAddressPoolRepository poolRepository;
+    private final MetricsFacade metrics;
+
+    @Override
+    public @NonNull DepositAddressInfo generateDepositAddress(@NonNull DealId dealId) {
+        var claimed = metrics.recordTimer(MetricNames.DEPOSIT_POOL_CLAIM_LATENCY,
+                () -> poolRepository.claim(dealId.value(), delegate.walletFingerprint()));
+        if (claimed.isPresent()) {
+            metrics.incrementCounter(MetricNames.DEPOSIT_POOL_CLAIMED, "source", "pool");
+            log.debug("Claimed pooled deposit address for deal={}, subwallet={}",
+                    dealId.value(), claimed.get().subwalletId());
+            return claimed.get();
+        }
+
+        metrics.incrementCounter(MetricNames.DEPOSIT_POOL_CLAIMED, "source", "inline");
+        log.warn("Deposit address pool exhausted, deriving inline for deal={}",
+                dealId.value());
+        return delegate.generateDepositAddress(dealId);
+    }
+
+    @Override
+    public @NonNull String submitTransaction(int subwalletId,
+                                             @NonNull String destinationAddress,
+                                             long amountNano) {
+        return delegate.submitTransaction(subwalletId, destinationAddress, amountNano);
+    }
+}
@@ -0,0 +1,270 @@
+package com.advertmarket.financial.ton.service;
+
+import com.advertmarket.financial.api.port.TonBlockchainPort;
+import com.advertmarket.financial.config.TonSeqnoProperties;
+import com.advertmarket.shared.metric.MetricNames;
+import com.advertmarket.shared.metric.MetricsFacade;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Tracks the expected wallet seqno per subwallet so outbound transfers
+ * can be signed without querying the chain first.
+ *
+ * <p>The next seqno is kept in memory and mirrored to Redis after every
+ * accepted send. Redis is only read when this node holds no value, so
+ * another node (or this node after a restart) holding the
+ * {@code ton:subwallet-tx:<id>} lock continues from the same value. A
+ * tracked value can be behind chain, e.g. after another node sent or a
+ * Redis write was lost, so a reservation says whether it was tracked and
+ * a higher chain seqno does not prove that its transfer landed.
+ * Sends that are accepted but not yet observed on chain are tracked
+ * in-process and reconciled asynchronously against
+ * {@link TonBlockchainPort#getSeqno}. Entries whose messages expired
+ * without landing are dropped, and any Redis failure falls back to
+ * resolving the seqno from chain.
+ *
+ * <p>Callers must hold the subwallet TX lock around
+ * {@link #reserve}, {@link #markSent} and {@link #invalidate}.
+ *
+ * <p>NOT {@code @Component} — wired via {@link com.advertmarket.financial.config.TonConfig}.
+ */
+@Slf4j
+public class TonSeqnoManager {
+
+    private static final String KEY_PREFIX = "ton:seqno:";
+
+    private static final DefaultRedisScript<Long> DELETE_IF_EQUALS_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    if redis.call('get', KEYS[1]) == ARGV[1] then
+                        return redis.call('del', KEYS[1])
+                    end
+                    return 0
+                    """,
+                    Long.class);
+
+    private final TonBlockchainPort blockchainPort;
+    private final StringRedisTemplate redisTemplate;
+    private final MetricsFacade metrics;
+    private final TonSeqnoProperties props;
+    private final Map<Integer, Long> nextSeqno = new ConcurrentHashMap<>();
+    private final Map<Integer, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a new seqno manager.
+     *
+     * @param blockchainPort port used for asynchronous reconciliation
+     * @param redisTemplate  Redis template for the shared next-seqno entry
+     * @param metrics        metrics facade
+     * @param props          seqno tracking settings
+     */
+    public TonSeqnoManager(TonBlockchainPort blockchainPort,
+                           StringRedisTemplate redisTemplate,
+                           MetricsFacade metrics,
+                           TonSeqnoProperties props) {
+        this.blockchainPort = blockchainPort;
+        this.redisTemplate = redisTemplate;
+        this.metrics = metrics;
+        this.props = props;
+    }
+
+    /**
+     * Returns the seqno to sign the next transfer with.
+     *
+     * <p>Uses the value held in memory, then the one handed off through
+     * Redis, and falls back to {@code chainResolver} otherwise.
+     *
+     * @param subwalletId   subwallet identifier
+     * @param chainResolver resolves the seqno from chain on a miss
+     * @return seqno for the next external message and where it came from
+     */
+    public @NonNull Reservation reserve(int subwalletId,
+                                        @NonNull LongSupplier chainResolver) {
+        Long local = nextSeqno.get(subwalletId);
+        if (local != null) {
+            metrics.incrementCounter(MetricNames.TON_SEQNO_CACHE_HIT);
+            return new Reservation(local, true);
+        }
+        OptionalLong shared = readShared(subwalletId);
+        if (shared.isPresent()) {
+            metrics.incrementCounter(MetricNames.TON_SEQNO_CACHE_HIT);
+            nextSeqno.put(subwalletId, shared.getAsLong());
+            return new Reservation(shared.getAsLong(), true);
+        }
+        metrics.incrementCounter(MetricNames.TON_SEQNO_CACHE_MISS);
+        return new Reservation(chainResolver.getAsLong(), false);
+    }
+
+    /**
+     * Records that a message signed with {@code seqno} was accepted.
+     *
+     * @param subwalletId   subwallet identifier
+     * @param walletAddress bounceable wallet address for reconciliation
+     * @param seqno         seqno the accepted message was signed with
+     */
+    public void markSent(int subwalletId, @NonNull String walletAddress, long seqno) {
+        long next = seqno + 1;
+        nextSeqno.put(subwalletId, next);
+        inFlight.put(subwalletId, new InFlight(walletAddress, next, Instant.now()));
+        writeShared(subwalletId, next);
+    }
+
+    /**
+     * Applies a seqno observed on chain outside of reconciliation.
+     *
+     * @param subwalletId subwallet identifier
+     * @param chainSeqno  current on-chain seqno
+     */
+    public void observe(int subwalletId, long chainSeqno) {
+        inFlight.computeIfPresent(subwalletId, (_, entry) ->
+                chainSeqno >= entry.expectedNext() ? null : entry);
+    }
+
+    /**
+     * Forgets everything known about a subwallet so the next
+     * {@link #reserve} resolves the seqno from chain.
+     *
+     * @param subwalletId subwallet identifier
+     */
+    public void invalidate(int subwalletId) {
+        nextSeqno.remove(subwalletId);
+        inFlight.remove(subwalletId);
+        deleteShared(subwalletId);
+    }
+
+    /** Duration a caller waits between predecessor polls. */
+    Duration predecessorPollDelay() {
+        return props.predecessorPollDelay();
+    }
+
+    /** Number of polls a caller makes while waiting for a predecessor. */
+    int predecessorPollAttempts() {
+        return props.predecessorPollAttempts();
+    }
+
+    /** Returns the number of subwallets with unconfirmed sends. */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * Reconciles unconfirmed sends against chain state.
+     *
+     * <p>Confirmed entries are removed. Entries older than the configured
+     * expiry are treated as dropped and the shared value is cleared only
+     * if nobody has advanced it in the meantime.
+     */
+    @Scheduled(fixedDelayString = "${app.ton.seqno.reconcile-interval:10s}")
+    public void reconcile() {
+        if (inFlight.isEmpty()) {
+            return;
+        }
+        Instant expiredBefore = Instant.now().minus(props.inFlightExpiry());
+        for (var entry : List.copyOf(inFlight.entrySet())) {
+            reconcileOne(entry.getKey(), entry.getValue(), expiredBefore);
+        }
+    }
+
+    // CHECKSTYLE.OFF: IllegalCatch
+    private void reconcileOne(int subwalletId, InFlight entry,
+                              Instant expiredBefore) {
+        long chainSeqno;
+        try {
+            chainSeqno = blockchainPort.getSeqno(entry.walletAddress());
+        } catch (RuntimeException ex) {
+            log.debug("Seqno reconciliation skipped for subwallet={}: {}",
+                    subwalletId, ex.getMessage());
+            return;
+        }
+        // CHECKSTYLE.ON: IllegalCatch
+
+        if (chainSeqno >= entry.expectedNext()) {
+            if (inFlight.remove(subwalletId, entry)) {
+                metrics.incrementCounter(MetricNames.TON_SEQNO_RECONCILED,
+                        "outcome", "confirmed");
+            }
+            return;
+        }
+
+        if (entry.sentAt().isBefore(expiredBefore)
+                && inFlight.remove(subwalletId, entry)) {
+            log.warn("Seqno {} for subwallet={} not observed on chain within {},"
+                            + " dropping tracked value (chain seqno={})",
+                    entry.expectedNext() - 1, subwalletId,
+                    props.inFlightExpiry(), chainSeqno);
+            nextSeqno.remove(subwalletId, entry.expectedNext());
+            deleteSharedIfEquals(subwalletId, entry.expectedNext());
+            metrics.incrementCounter(MetricNames.TON_SEQNO_RECONCILED,
+                    "outcome", "expired");
+        }
+    }
+
+    private OptionalLong readShared(int subwalletId) {
+        try {
+            String value = redisTemplate.opsForValue().get(key(subwalletId));
+            if (value == null) {
+                return OptionalLong.empty();
+            }
+            return OptionalLong.of(Long.parseLong(value));
+        } catch (DataAccessException | NumberFormatException ex) {
+            log.warn("Redis seqno read failed for subwallet={}, resolving from chain",
+                    subwalletId, ex);
+            return OptionalLong.empty();
+        }
+    }
+
+    private void writeShared(int subwalletId, long next) {
+        try {
+            redisTemplate.opsForValue().set(
+                    key(subwalletId), String.valueOf(next), props.cacheTtl());
+        } catch (DataAccessException ex) {
+            log.warn("Redis seqno write failed for subwallet={}", subwalletId, ex);
+            deleteShared(subwalletId);
+        }
+    }
+
+    private void deleteShared(int subwalletId) {
+        try {
+            redisTemplate.delete(key(subwalletId));
+        } catch (DataAccessException ex) {
+            log.warn("Redis seqno evict failed for subwallet={}", subwalletId, ex);
+        }
+    }
+
+    private void deleteSharedIfEquals(int subwalletId, long expected) {
+        try {
+            redisTemplate.execute(DELETE_IF_EQUALS_SCRIPT,
+                    List.of(key(subwalletId)), String.valueOf(expected));
+        } catch (DataAccessException ex) {
+            log.warn("Redis seqno evict failed for subwallet={}", subwalletId, ex);
+        }
+    }
+
+    private static String key(int subwalletId) {
+        return KEY_PREFIX + subwalletId;
+    }
+
+    /**
+     * Seqno to sign a transfer with.
+     *
+     * @param seqno   seqno for the external message
+     * @param tracked true if it came from tracking rather than from chain
+     */
+    public record Reservation(long seqno, boolean tracked) {
+    }
+
+    private record InFlight(String walletAddress, long expectedNext, Instant sentAt) {
+    }
+}
@@ -1,6 +1,7 @@
 package com.advertmarket.financial.ton.service;
 
 import com.advertmarket.financial.api.model.DepositAddressInfo;
+import com.advertmarket.financial.api.model.TonOutboundTransferInfo;
 import com.advertmarket.financial.api.port.TonBlockchainPort;
 import com.advertmarket.financial.api.port.TonWalletPort;
 import com.advertmarket.financial.config.TonProperties;
@@ -15,12 +16,16 @@ import com.iwebpp.crypto.TweetNaclFast;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import java.math.BigInteger;
 import java.security.InvalidKeyException;
+import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.HexFormat;
 import java.util.concurrent.locks.LockSupport;
 import lombok.extern.slf4j.Slf4j;
 import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
 import org.ton.ton4j.address.Address;
 import org.ton.ton4j.mnemonic.Mnemonic;
 import org.ton.ton4j.smartcontract.types.WalletV4R2Config;
@@ -30,7 +35,13 @@ import org.ton.ton4j.smartcontract.wallet.v4.WalletV4R2;
  * Wallet service for TON blockchain operations.
  *
  * <p>Generates per-deal deposit addresses using WalletV4R2 subwallets
- * and submits signed transactions with distributed locking.
+ * and submits signed transactions with distributed locking. The seqno
+ * for each transfer comes from {@link TonSeqnoManager}; the chain is
+ * only queried on a tracking miss or after a failed send. A chain seqno
+ * above a tracked one may mean the tracked value was stale, so the
+ * transfer then counts as sent only if it shows up among the wallet's
+ * outgoing transfers since it was signed; otherwise it is re-signed
+ * with the chain seqno.
  *
  * <p>NOT {@code @Component} — wired via {@link com.advertmarket.financial.config.TonConfig}.
  */
@@ -44,16 +55,21 @@ public class TonWalletService implements TonWalletPort {
     private static final Duration TX_LOCK_TTL = Duration.ofSeconds(300);
     private static final int MAX_SEND_RETRIES = 3;
     private static final int RECOVERY_TX_FETCH_LIMIT = 20;
+    private static final Duration RECOVERY_CLOCK_SKEW = Duration.ofSeconds(5);
     private static final int DEPLOY_SEQNO_POLL_ATTEMPTS = 10;
     private static final Duration DEPLOY_SEQNO_POLL_DELAY = Duration.ofMillis(300);
     private static final Duration DEPLOY_SEND_RETRY_DELAY = Duration.ofMillis(500);
+    private static final byte NETWORK_TESTNET = 1;
+    private static final byte NETWORK_MAINNET = 0;
 
     private final TonBlockchainPort blockchainPort;
     private final DistributedLockPort lockPort;
     private final SequenceAllocator sequenceAllocator;
+    private final TonSeqnoManager seqnoManager;
     private final MetricsFacade metrics;
     private final boolean isTestnet;
     private final TweetNaclFast.Signature.KeyPair keyPair;
+    private final String walletFingerprint;
 
     /**
      * Creates a new wallet service.
@@ -61,26 +77,43 @@ public class TonWalletService implements TonWalletPort {
      * @param blockchainPort    port for blockchain API calls
      * @param lockPort          distributed lock for TX serialization
      * @param sequenceAllocator bulk sequence allocator for subwallet IDs
+     * @param seqnoManager      tracked seqno per subwallet
      * @param metrics           metrics facade
      * @param props             TON configuration properties
      */
     public TonWalletService(TonBlockchainPort blockchainPort,
                             DistributedLockPort lockPort,
                             SequenceAllocator sequenceAllocator,
+                            TonSeqnoManager seqnoManager,
                             MetricsFacade metrics,
                             TonProperties props) {
         this.blockchainPort = blockchainPort;
         this.lockPort = lockPort;
         this.sequenceAllocator = sequenceAllocator;
+        this.seqnoManager = seqnoManager;
         this.metrics = metrics;
         this.isTestnet = "testnet".equalsIgnoreCase(props.network());
         this.keyPair = deriveKeyPair(props.wallet().mnemonic());
+        this.walletFingerprint = fingerprint(keyPair.getPublicKey(), isTestnet);
     }
 
     @Override
     public @NonNull DepositAddressInfo generateDepositAddress(@NonNull DealId dealId) {
-        long subwalletId = sequenceAllocator.next();
+        var info = deriveDepositAddress(sequenceAllocator.next());
 
+        log.debug("Generated deposit address for deal={}, subwallet={}, address={}",
+                dealId.value(), info.subwalletId(), info.depositAddress());
+
+        return info;
+    }
+
+    /**
+     * Derives the non-bounceable deposit address of a subwallet.
+     *
+     * @param subwalletId subwallet identifier
+     * @return address info for the subwallet
+     */
+    public @NonNull DepositAddressInfo deriveDepositAddress(long subwalletId) {
         WalletV4R2 wallet = WalletV4R2.builder()
                 .keyPair(keyPair)
                 .walletId(subwalletId)
@@ -90,12 +123,19 @@ public class TonWalletService implements TonWalletPort {
                 ? wallet.getAddress().toNonBounceableTestnet()
                 : wallet.getAddress().toNonBounceable();
 
-        log.debug("Generated deposit address for deal={}, subwallet={}, address={}",
-                dealId.value(), subwalletId, address);
-
         return new DepositAddressInfo(address, subwalletId);
     }
 
+    /**
+     * Returns a stable fingerprint of the wallet key and network.
+     *
+     * <p>Pre-derived addresses are tagged with it so a mnemonic or
+     * network change never reuses addresses of another wallet.
+     */
+    public @NonNull String walletFingerprint() {
+        return walletFingerprint;
+    }
+
     @Override
     public @NonNull String submitTransaction(int subwalletId,
                                               @NonNull String destinationAddress,
@@ -113,14 +153,19 @@ public class TonWalletService implements TonWalletPort {
                 .build();
 
         String walletAddress = wallet.getAddress().toBounceable();
-        long seqno = resolveSeqno(wallet, walletAddress);
+        var reservation = seqnoManager.reserve(subwalletId,
+                () -> resolveSeqno(wallet, walletAddress));
+        long seqno = reservation.seqno();
+        boolean tracked = reservation.tracked();
 
         String base64Boc = buildSignedBoc(wallet, subwalletId, seqno,
                 destinationAddress, amountNano);
+        long signedAt = Instant.now().getEpochSecond();
 
         for (int attempt = 0; attempt < MAX_SEND_RETRIES; attempt++) {
             try {
                 String txHash = blockchainPort.sendBoc(base64Boc);
+                seqnoManager.markSent(subwalletId, walletAddress, seqno);
                 metrics.incrementCounter(MetricNames.TON_TX_SUBMITTED,
                         "direction", "OUT");
                 log.info("TON transaction submitted: txHash={}, subwallet={}, "
@@ -129,42 +174,84 @@ public class TonWalletService implements TonWalletPort {
                         amountNano, seqno);
                 return txHash;
             } catch (DomainException ex) {
-                String recovered = handleSendFailure(walletAddress, seqno,
-                        subwalletId, destinationAddress, amountNano, attempt);
-                if (recovered != null) {
-                    return recovered;
+                long currentSeqno = seqnoAfterSendFailure(walletAddress, seqno, subwalletId);
+                if (currentSeqno > seqno) {
+                    seqnoManager.invalidate(subwalletId);
+                    if (!tracked) {
+                        log.warn("Seqno advanced {} -> {} after sendBoc failure, "
+                                        + "recovering TX hash for subwallet={}",
+                                seqno, currentSeqno, subwalletId);
+                        return recoverTxHash(walletAddress, destinationAddress, amountNano);
+                    }
+                    // A tracked seqno may simply be stale, so only our own transfer counts
+                    String landed = findTransferSince(walletAddress, destinationAddress,
+                            amountNano, signedAt);
+                    if (landed != null) {
+                        metrics.incrementCounter(MetricNames.TON_TX_SUBMITTED,
+                                "direction", "OUT");
+                        log.info("Transfer with tracked seqno {} landed despite sendBoc "
+                                        + "failure: txHash={}, subwallet={}",
+                                seqno, landed, subwalletId);
+                        return landed;
+                    }
+                    log.warn("Tracked seqno {} is behind chain seqno {} for subwallet={}, "
+                                    + "re-signing",
+                            seqno, currentSeqno, subwalletId);
+                    seqno = currentSeqno;
+                    tracked = false;
+                    base64Boc = buildSignedBoc(wallet, subwalletId, seqno,
+                            destinationAddress, amountNano);
+                    signedAt = Instant.now().getEpochSecond();
+                } else if (attempt < MAX_SEND_RETRIES - 1) {
+                    log.warn("sendBoc failed (attempt {}/{}), seqno unchanged, "
+                                    + "retrying: subwallet={}",
+                            attempt + 1, MAX_SEND_RETRIES, subwalletId);
                 }
             }
         }
 
+        seqnoManager.invalidate(subwalletId);
         throw new DomainException(ErrorCodes.TON_TX_FAILED,
                 "Failed to submit TON transaction after "
                         + MAX_SEND_RETRIES + " retries");
     }
 
-    private String handleSendFailure(String walletAddress, long originalSeqno,
-                                      int subwalletId,
-                                      String destinationAddress,
-                                      long amountNano,
-                                      int attempt) {
+    // Chain seqno after a failed send, once any in-flight predecessor landed
+    private long seqnoAfterSendFailure(String walletAddress, long originalSeqno,
+                                       int subwalletId) {
         long currentSeqno = fetchCurrentSeqnoAfterSendFailure(
                 walletAddress, originalSeqno);
-        if (currentSeqno > originalSeqno) {
-            log.warn("Seqno advanced {} -> {} after sendBoc failure, "
-                            + "recovering TX hash for subwallet={}",
-                    originalSeqno, currentSeqno, subwalletId);
-            return recoverTxHash(
-                    walletAddress,
-                    destinationAddress,
-                    amountNano);
+        if (currentSeqno < originalSeqno) {
+            currentSeqno = awaitPredecessor(walletAddress, originalSeqno,
+                    currentSeqno, subwalletId);
         }
+        seqnoManager.observe(subwalletId, currentSeqno);
+        return currentSeqno;
+    }
 
-        if (attempt < MAX_SEND_RETRIES - 1) {
-            log.warn("sendBoc failed (attempt {}/{}), seqno unchanged, "
-                            + "retrying: subwallet={}",
-                    attempt + 1, MAX_SEND_RETRIES, subwalletId);
+    /**
+     * Waits for an earlier transfer from the same subwallet to land.
+     *
+     * <p>A tracked seqno ahead of chain means the previous message is
+     * still confirming. If it does not land in time the tracked value is
+     * dropped so the next attempt starts from chain state.
+     */
+    private long awaitPredecessor(String walletAddress, long originalSeqno,
+                                  long currentSeqno, int subwalletId) {
+        long observed = currentSeqno;
+        int attempts = seqnoManager.predecessorPollAttempts();
+        for (int attempt = 1; attempt <= attempts && observed < originalSeqno; attempt++) {
+            sleepQuietly(seqnoManager.predecessorPollDelay());
+            observed = fetchCurrentSeqnoAfterSendFailure(walletAddress, observed);
         }
-        return null;
+        if (observed < originalSeqno) {
+            seqnoManager.invalidate(subwalletId);
+            throw new DomainException(ErrorCodes.TON_TX_FAILED,
+                    "Previous transfer from subwallet " + subwalletId
+                            + " not confirmed: chain seqno=" + observed
+                            + ", expected=" + originalSeqno);
+        }
+        return observed;
     }
 
     private long resolveSeqno(WalletV4R2 wallet, String walletAddress) {
@@ -279,13 +366,13 @@ public class TonWalletService implements TonWalletPort {
         if (Thread.currentThread().isInterrupted()) {
             throw new DomainException(
                     ErrorCodes.TON_TX_FAILED,
-                    "Interrupted while waiting for TON wallet deployment");
+                    "Interrupted while waiting for TON wallet state");
         }
         LockSupport.parkNanos(delay.toNanos());
         if (Thread.interrupted()) {
             throw new DomainException(
                     ErrorCodes.TON_TX_FAILED,
-                    "Interrupted while waiting for TON wallet deployment");
+                    "Interrupted while waiting for TON wallet state");
         }
     }
 
@@ -317,6 +404,22 @@ public class TonWalletService implements TonWalletPort {
         return "";
     }
 
+    // Our transfer, told apart from earlier identical ones by its time
+    private @Nullable String findTransferSince(String walletAddress,
+                                               String destinationAddress,
+                                               long amountNano,
+                                               long signedAt) {
+        long since = signedAt - RECOVERY_CLOCK_SKEW.toSeconds();
+        return blockchainPort.getOutgoingTransfers(walletAddress, RECOVERY_TX_FETCH_LIMIT)
+                .stream()
+                .filter(tx -> tx.amountNano() == amountNano)
+                .filter(tx -> tx.utime() >= since)
+                .filter(tx -> isSameTonAddress(tx.toAddress(), destinationAddress))
+                .map(TonOutboundTransferInfo::txHash)
+                .findFirst()
+                .orElse(null);
+    }
+
     private static boolean isSameTonAddress(
             String leftAddress,
             String rightAddress) {
@@ -343,6 +446,17 @@ public class TonWalletService implements TonWalletPort {
         return externalMessage.toCell().toBase64();
     }
 
+    private static String fingerprint(byte[] publicKey, boolean testnet) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            digest.update(publicKey);
+            digest.update(testnet ? NETWORK_TESTNET : NETWORK_MAINNET);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
     // security: prevent mnemonic leak via exception chain
     @SuppressWarnings("ThrowInsideCatchWithoutCause")
     private static TweetNaclFast.Signature.KeyPair deriveKeyPair(
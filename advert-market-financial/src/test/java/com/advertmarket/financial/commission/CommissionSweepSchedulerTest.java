@@ -7,6 +7,7 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -18,18 +19,24 @@ import com.advertmarket.financial.api.port.LedgerPort;
 import com.advertmarket.financial.config.CommissionSweepProperties;
 import com.advertmarket.financial.config.NetworkFeeProperties;
 import com.advertmarket.financial.ledger.repository.JooqAccountBalanceRepository;
+import com.advertmarket.financial.ledger.repository.JooqAccountBalanceRepository.AccountBalance;
 import com.advertmarket.shared.lock.DistributedLockPort;
 import com.advertmarket.shared.metric.MetricNames;
 import com.advertmarket.shared.metric.MetricsFacade;
 import com.advertmarket.shared.model.AccountId;
 import com.advertmarket.shared.model.DealId;
 import com.advertmarket.shared.model.EntryType;
+import com.advertmarket.shared.util.IdempotencyKey;
 import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 
@@ -51,17 +58,22 @@ class CommissionSweepSchedulerTest {
         lockPort = mock(DistributedLockPort.class);
         metrics = mock(MetricsFacade.class);
 
+        scheduler = scheduler(new CommissionSweepProperties.Bulk(false, 500, 4));
+    }
+
+    private CommissionSweepScheduler scheduler(CommissionSweepProperties.Bulk bulk) {
         var props = new CommissionSweepProperties(
-                "0 0 2 * * *", 1000L, 100, Duration.ofMinutes(5));
+                "0 0 2 * * *", 1000L, 100, Duration.ofMinutes(5), bulk);
         var networkFeeProps = new NetworkFeeProperties(DEFAULT_FEE_NANO);
 
-        scheduler = new CommissionSweepScheduler(
+        return new CommissionSweepScheduler(
                 balanceRepository,
                 ledgerPort,
                 lockPort,
                 metrics,
                 props,
-                networkFeeProps);
+                networkFeeProps,
+                Runnable::run);
     }
 
     @Test
@@ -202,4 +214,121 @@ class CommissionSweepSchedulerTest {
 
         verify(lockPort).unlock(anyString(), eq(token));
     }
+
+    @Nested
+    @DisplayName("Bulk mode")
+    class BulkMode {
+
+        private final AccountId first = commission(1);
+        private final AccountId second = commission(2);
+        private final AccountId third = commission(3);
+        private final AccountId fourth = commission(4);
+        private final AccountId fifth = commission(5);
+
+        @BeforeEach
+        void setUp() {
+            scheduler = scheduler(new CommissionSweepProperties.Bulk(true, 2, 2));
+            when(lockPort.tryLock(anyString(), any(Duration.class)))
+                    .thenReturn(Optional.of(UUID.randomUUID().toString()));
+            when(ledgerPort.transfer(any(TransferRequest.class)))
+                    .thenReturn(UUID.randomUUID());
+        }
+
+        private static AccountId commission(long n) {
+            return AccountId.commission(new DealId(new UUID(0L, n)));
+        }
+
+        private static AccountBalance balance(AccountId accountId, long nano) {
+            return new AccountBalance(accountId, nano);
+        }
+
+        @Test
+        @DisplayName("Should drain accounts in one balanced transfer per account range")
+        void sweepsPerRange() {
+            when(balanceRepository.findCommissionBalancesToSweep(
+                    anyLong(), any(Instant.class), isNull(), eq(4)))
+                    .thenReturn(List.of(balance(first, 5_000L),
+                            balance(second, 3_000L), balance(third, 2_000L)));
+
+            scheduler.sweep();
+
+            var captor = ArgumentCaptor.forClass(TransferRequest.class);
+            verify(ledgerPort, times(2)).transfer(captor.capture());
+            String today = LocalDate.now(ZoneOffset.UTC).toString();
+            assertThat(captor.getAllValues())
+                    .extracting(request -> request.idempotencyKey().value())
+                    .containsExactlyInAnyOrder(
+                            IdempotencyKey.sweep(today, first, second).value(),
+                            IdempotencyKey.sweep(today, third, third).value());
+            var pair = captor.getAllValues().stream()
+                    .filter(request -> request.legs().size() == 5)
+                    .findFirst()
+                    .orElseThrow();
+            assertThat(pair.legs()).anySatisfy(leg -> {
+                assertThat(leg.accountId()).isEqualTo(AccountId.platformTreasury());
+                assertThat(leg.entryType()).isEqualTo(EntryType.COMMISSION_SWEEP);
+                assertThat(leg.amount().nanoTon()).isEqualTo(8_000L);
+            });
+            assertThat(pair.legs()).anySatisfy(leg -> {
+                assertThat(leg.accountId()).isEqualTo(AccountId.networkFees());
+                assertThat(leg.amount().nanoTon()).isEqualTo(2 * DEFAULT_FEE_NANO);
+            });
+            verify(ledgerPort, never()).getBalance(any());
+            verify(metrics).incrementCounter(
+                    eq(MetricNames.COMMISSION_SWEEP_COUNT), eq("count"), eq("3"));
+            verify(metrics).incrementCounter(
+                    eq(MetricNames.COMMISSION_SWEEP_TOTAL_NANO), eq(10_000.0));
+        }
+
+        @Test
+        @DisplayName("Should page through all eligible accounts by account ID")
+        void pagesByKeyset() {
+            when(balanceRepository.findCommissionBalancesToSweep(
+                    anyLong(), any(Instant.class), isNull(), eq(4)))
+                    .thenReturn(List.of(balance(first, 5_000L), balance(second, 5_000L),
+                            balance(third, 5_000L), balance(fourth, 5_000L)));
+            when(balanceRepository.findCommissionBalancesToSweep(
+                    anyLong(), any(Instant.class), eq(fourth), eq(4)))
+                    .thenReturn(List.of(balance(fifth, 5_000L)));
+
+            scheduler.sweep();
+
+            verify(ledgerPort, times(3)).transfer(any(TransferRequest.class));
+            verify(metrics).incrementCounter(
+                    eq(MetricNames.COMMISSION_SWEEP_COUNT), eq("count"), eq("5"));
+        }
+
+        @Test
+        @DisplayName("Should continue with other ranges when one range fails")
+        void continuesAfterFailedRange() {
+            when(balanceRepository.findCommissionBalancesToSweep(
+                    anyLong(), any(Instant.class), isNull(), eq(4)))
+                    .thenReturn(List.of(balance(first, 5_000L),
+                            balance(second, 3_000L), balance(third, 2_000L)));
+            when(ledgerPort.transfer(any(TransferRequest.class)))
+                    .thenThrow(new RuntimeException("serialization failure"))
+                    .thenReturn(UUID.randomUUID());
+
+            scheduler.sweep();
+
+            verify(ledgerPort, times(2)).transfer(any(TransferRequest.class));
+            verify(metrics).incrementCounter(MetricNames.COMMISSION_SWEEP_FAILED);
+            verify(metrics).incrementCounter(
+                    eq(MetricNames.COMMISSION_SWEEP_COUNT), eq("count"), eq("1"));
+        }
+
+        @Test
+        @DisplayName("Should not record a run when nothing is eligible")
+        void skipsWhenNothingEligible() {
+            when(balanceRepository.findCommissionBalancesToSweep(
+                    anyLong(), any(Instant.class), any(), anyInt()))
+                    .thenReturn(List.of());
+
+            scheduler.sweep();
+
+            verify(ledgerPort, never()).transfer(any());
+            verify(metrics, never()).incrementCounter(
+                    eq(MetricNames.COMMISSION_SWEEP_COUNT), anyString(), anyString());
+        }
+    }
 }
@@ -16,7 +16,7 @@ class TonConfigTest {
     void tonBlockchainPortBeanIsPrimary() throws NoSuchMethodException {
         Method beanMethod = TonConfig.class.getMethod(
                 "tonBlockchainPort",
-                com.advertmarket.financial.ton.client.TonCenterBlockchainAdapter.class,
+                com.advertmarket.financial.ton.client.HedgingTonBlockchainPort.class,
                 io.github.resilience4j.circuitbreaker.CircuitBreaker.class,
                 io.github.resilience4j.bulkhead.Bulkhead.class);
 
@@ -0,0 +1,220 @@
+package com.advertmarket.financial.ton.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.advertmarket.financial.api.model.TonOutboundTransferInfo;
+import com.advertmarket.financial.api.model.TonTransactionInfo;
+import com.advertmarket.financial.api.port.TonBlockchainPort;
+import com.advertmarket.financial.config.TonClientProperties;
+import com.advertmarket.shared.exception.DomainException;
+import com.advertmarket.shared.exception.ErrorCodes;
+import com.advertmarket.shared.metric.MetricNames;
+import com.advertmarket.shared.metric.MetricsFacade;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("HedgingTonBlockchainPort — balanced, hedged TON API reads")
+class HedgingTonBlockchainPortTest {
+
+    private TonBlockchainPort first;
+    private TonBlockchainPort second;
+    private SimpleMeterRegistry registry;
+    private MetricsFacade metrics;
+    private ExecutorService executor;
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        first = mock(TonBlockchainPort.class);
+        second = mock(TonBlockchainPort.class);
+        registry = new SimpleMeterRegistry();
+        metrics = new MetricsFacade(registry);
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.close();
+    }
+
+    private static TonClientProperties props(double maxErrorRate, int window) {
+        return new TonClientProperties(List.of(),
+                new TonClientProperties.Hedge(true, 0.95,
+                        Duration.ofMillis(20), Duration.ofMillis(20), 64),
+                new TonClientProperties.Cache(Duration.ofMinutes(1), 100),
+                new TonClientProperties.ErrorBudget(maxErrorRate, window,
+                        Duration.ofMinutes(1)));
+    }
+
+    private HedgingTonBlockchainPort port() {
+        var props = props(0.5, 50);
+        return new HedgingTonBlockchainPort(List.of(
+                new TonEndpoint("first", first, props, metrics),
+                new TonEndpoint("second", second, props, metrics)),
+                executor, metrics, props);
+    }
+
+    private long blockUntilReleased(long value) throws InterruptedException {
+        release.await(5, TimeUnit.SECONDS);
+        return value;
+    }
+
+    @Test
+    @DisplayName("Should spread single-endpoint calls round-robin")
+    void roundRobin() {
+        when(first.getSeqno("EQ")).thenReturn(1L);
+        when(second.getSeqno("EQ")).thenReturn(1L);
+        var port = port();
+
+        port.getSeqno("EQ");
+        port.getSeqno("EQ");
+
+        verify(first).getSeqno("EQ");
+        verify(second).getSeqno("EQ");
+    }
+
+    @Test
+    @DisplayName("Should answer from backup when primary exceeds hedge delay")
+    void hedgesSlowPrimary() {
+        when(first.getMasterchainSeqno()).thenAnswer(_ -> blockUntilReleased(1L));
+        when(second.getMasterchainSeqno()).thenReturn(2L);
+
+        assertThat(port().getMasterchainSeqno()).isEqualTo(2L);
+        assertThat(registry.counter(MetricNames.TON_API_HEDGED,
+                "method", "getMasterchainSeqno", "reason", "slow").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should fail over to backup when primary fails fast")
+    void failsOverOnError() {
+        when(first.getAddressBalance("EQ")).thenThrow(
+                new DomainException(ErrorCodes.TON_API_ERROR, "down"));
+        when(second.getAddressBalance("EQ")).thenReturn(5L);
+
+        assertThat(port().getAddressBalance("EQ")).isEqualTo(5L);
+    }
+
+    @Test
+    @DisplayName("Should propagate failure when both endpoints fail")
+    void failsWhenAllAttemptsFail() {
+        when(first.getAddressBalance("EQ")).thenThrow(
+                new DomainException(ErrorCodes.TON_API_ERROR, "first down"));
+        when(second.getAddressBalance("EQ")).thenThrow(
+                new DomainException(ErrorCodes.TON_API_ERROR, "second down"));
+
+        assertThatThrownBy(() -> port().getAddressBalance("EQ"))
+                .isInstanceOf(DomainException.class)
+                .hasMessageContaining("down");
+    }
+
+    @Test
+    @DisplayName("Should never duplicate sendBoc to a second endpoint")
+    void doesNotHedgeSend() {
+        when(first.sendBoc(anyString())).thenThrow(
+                new DomainException(ErrorCodes.TON_API_ERROR, "down"));
+
+        assertThatThrownBy(() -> port().sendBoc("boc"))
+                .isInstanceOf(DomainException.class);
+        verify(second, never()).sendBoc(anyString());
+    }
+
+    @Test
+    @DisplayName("Should serve repeated transaction reads from cache")
+    void cachesTransactionLists() {
+        var tx = new TonTransactionInfo("hash", 1L, "EQFrom", "EQ", 10L, 1L, 0L);
+        when(first.getTransactions("EQ", 10)).thenReturn(List.of(tx));
+        var port = port();
+
+        assertThat(port.getTransactions("EQ", 10)).containsExactly(tx);
+        assertThat(port.getTransactions("EQ", 10)).containsExactly(tx);
+
+        verify(first, times(1)).getTransactions("EQ", 10);
+        verify(second, never()).getTransactions(anyString(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should read outgoing transfers live on every call")
+    void doesNotCacheOutgoingTransfers() {
+        var before = List.<TonOutboundTransferInfo>of();
+        var after = List.of(new TonOutboundTransferInfo(
+                "hash", 1L, "EQ", "EQTo", 10L, 1L, 0L));
+        when(first.getOutgoingTransfers("EQ", 10)).thenReturn(before);
+        when(second.getOutgoingTransfers("EQ", 10)).thenReturn(after);
+        var port = port();
+
+        assertThat(port.getOutgoingTransfers("EQ", 10)).isEmpty();
+        assertThat(port.getOutgoingTransfers("EQ", 10)).containsExactlyElementsOf(after);
+    }
+
+    @Nested
+    @DisplayName("TonEndpoint")
+    class Endpoint {
+
+        @Test
+        @DisplayName("Should eject endpoint once error budget is exhausted")
+        void ejectsOverBudget() {
+            when(first.getSeqno("EQ")).thenThrow(
+                    new DomainException(ErrorCodes.TON_API_ERROR, "down"));
+            var endpoint = new TonEndpoint("first", first, props(0.5, 4), metrics);
+
+            for (int i = 0; i < 4; i++) {
+                assertThatThrownBy(() -> endpoint.call(p -> p.getSeqno("EQ")))
+                        .isInstanceOf(DomainException.class);
+            }
+
+            assertThat(endpoint.errorRate()).isEqualTo(1.0);
+            assertThat(endpoint.isAvailable()).isFalse();
+        }
+
+        @Test
+        @DisplayName("Should route around an ejected endpoint")
+        void balancerSkipsEjected() {
+            var props = props(0.5, 1);
+            when(first.getSeqno("EQ")).thenThrow(
+                    new DomainException(ErrorCodes.TON_API_ERROR, "down"));
+            when(second.getSeqno("EQ")).thenReturn(3L);
+            var port = new HedgingTonBlockchainPort(List.of(
+                    new TonEndpoint("first", first, props, metrics),
+                    new TonEndpoint("second", second, props, metrics)),
+                    executor, metrics, props);
+
+            assertThatThrownBy(() -> port.getSeqno("EQ"))
+                    .isInstanceOf(DomainException.class);
+            assertThat(port.getSeqno("EQ")).isEqualTo(3L);
+            assertThat(port.getSeqno("EQ")).isEqualTo(3L);
+
+            verify(first, times(1)).getSeqno("EQ");
+        }
+
+        @Test
+        @DisplayName("Should report no latency quantile while warming up")
+        void noQuantileWhileWarmingUp() {
+            when(first.getSeqno("EQ")).thenReturn(1L);
+            var endpoint = new TonEndpoint("first", first, props(0.5, 50), metrics);
+
+            endpoint.call(p -> p.getSeqno("EQ"));
+
+            assertThat(endpoint.latencyQuantileNanos(0.95)).isEmpty();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.advertmarket.financial.ton.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.advertmarket.financial.api.model.DepositAddressInfo;
+import com.advertmarket.financial.config.DepositAddressPoolProperties;
+import com.advertmarket.financial.ton.repository.JooqDepositAddressPoolRepository;
+import com.advertmarket.shared.lock.DistributedLockPort;
+import com.advertmarket.shared.metric.MetricNames;
+import com.advertmarket.shared.metric.MetricsFacade;
+import com.advertmarket.shared.sequence.SequenceAllocator;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+@DisplayName("DepositAddressPoolRefiller — background pool refill")
+class DepositAddressPoolRefillerTest {
+
+    private static final String FINGERPRINT = "fp";
+
+    private TonWalletService walletService;
+    private JooqDepositAddressPoolRepository poolRepository;
+    private SequenceAllocator sequenceAllocator;
+    private DistributedLockPort lockPort;
+    private MetricsFacade metrics;
+    private DepositAddressPoolRefiller refiller;
+
+    @BeforeEach
+    void setUp() {
+        walletService = mock(TonWalletService.class);
+        poolRepository = mock(JooqDepositAddressPoolRepository.class);
+        sequenceAllocator = mock(SequenceAllocator.class);
+        lockPort = mock(DistributedLockPort.class);
+        metrics = mock(MetricsFacade.class);
+        when(walletService.walletFingerprint()).thenReturn(FINGERPRINT);
+        when(walletService.deriveDepositAddress(anyLong()))
+                .thenAnswer(inv -> new DepositAddressInfo(
+                        "0Q" + inv.getArgument(0), inv.<Long>getArgument(0)));
+        when(sequenceAllocator.next()).thenReturn(1L, 2L, 3L, 4L, 5L);
+        when(lockPort.tryLock(anyString(), any(Duration.class)))
+                .thenReturn(Optional.of("token"));
+
+        var props = new DepositAddressPoolProperties(
+                true, 2, 5, 2, Duration.ofSeconds(30), Duration.ofMinutes(5));
+        refiller = new DepositAddressPoolRefiller(walletService, poolRepository,
+                sequenceAllocator, lockPort, metrics, props);
+    }
+
+    @Test
+    @DisplayName("Should top pool up to target size in batches when below low-water mark")
+    @SuppressWarnings("unchecked")
+    void refillsBelowLowWaterMark() {
+        when(poolRepository.countAvailable(FINGERPRINT)).thenReturn(1);
+        when(poolRepository.insertAll(anyList(), eq(FINGERPRINT)))
+                .thenAnswer(inv -> inv.<List<?>>getArgument(0).size());
+
+        refiller.refill();
+
+        ArgumentCaptor<List<DepositAddressInfo>> batches = ArgumentCaptor.forClass(List.class);
+        verify(poolRepository, times(2)).insertAll(batches.capture(), eq(FINGERPRINT));
+        assertThat(batches.getAllValues()).extracting(List::size).containsExactly(2, 2);
+        verify(metrics).incrementCounter(MetricNames.DEPOSIT_POOL_REFILLED, 4.0);
+        verify(lockPort).unlock("scheduler:deposit-address-pool", "token");
+    }
+
+    @Test
+    @DisplayName("Should skip refill when pool is at or above low-water mark")
+    void skipsWhenPoolIsDeepEnough() {
+        when(poolRepository.countAvailable(FINGERPRINT)).thenReturn(2);
+
+        refiller.refill();
+
+        verify(poolRepository, never()).insertAll(anyList(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should skip refill when lock is held by another instance")
+    void skipsWhenLockNotAcquired() {
+        when(lockPort.tryLock(anyString(), any(Duration.class)))
+                .thenReturn(Optional.empty());
+
+        refiller.refill();
+
+        verify(poolRepository, never()).countAvailable(anyString());
+    }
+}
@@ -0,0 +1,83 @@
+package com.advertmarket.financial.ton.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.advertmarket.financial.api.model.DepositAddressInfo;
+import com.advertmarket.financial.ton.repository.JooqDepositAddressPoolRepository;
+import com.advertmarket.shared.metric.MetricNames;
+import com.advertmarket.shared.metric.MetricsFacade;
+import com.advertmarket.shared.model.DealId;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("PooledTonWalletService — pooled deposit address claims")
+class PooledTonWalletServiceTest {
+
+    private static final String FINGERPRINT = "fp";
+
+    private TonWalletService delegate;
+    private JooqDepositAddressPoolRepository poolRepository;
+    private MetricsFacade metrics;
+    private PooledTonWalletService service;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(TonWalletService.class);
+        poolRepository = mock(JooqDepositAddressPoolRepository.class);
+        metrics = mock(MetricsFacade.class);
+        when(delegate.walletFingerprint()).thenReturn(FINGERPRINT);
+        when(metrics.recordTimer(anyString(), any(Supplier.class), any(String[].class)))
+                .thenAnswer(inv -> inv.<Supplier<?>>getArgument(1).get());
+        service = new PooledTonWalletService(delegate, poolRepository, metrics);
+    }
+
+    @Test
+    @DisplayName("Should return pooled address without deriving inline")
+    void returnsPooledAddress() {
+        var dealId = new DealId(UUID.randomUUID());
+        var pooled = new DepositAddressInfo("0Qpooled", 77L);
+        when(poolRepository.claim(dealId.value(), FINGERPRINT))
+                .thenReturn(Optional.of(pooled));
+
+        var result = service.generateDepositAddress(dealId);
+
+        assertThat(result).isEqualTo(pooled);
+        verify(delegate, never()).generateDepositAddress(any());
+        verify(metrics).incrementCounter(MetricNames.DEPOSIT_POOL_CLAIMED, "source", "pool");
+    }
+
+    @Test
+    @DisplayName("Should derive inline when pool is exhausted")
+    void derivesInlineWhenPoolEmpty() {
+        var dealId = new DealId(UUID.randomUUID());
+        var inline = new DepositAddressInfo("0Qinline", 78L);
+        when(poolRepository.claim(dealId.value(), FINGERPRINT))
+                .thenReturn(Optional.empty());
+        when(delegate.generateDepositAddress(dealId)).thenReturn(inline);
+
+        var result = service.generateDepositAddress(dealId);
+
+        assertThat(result).isEqualTo(inline);
+        verify(metrics).incrementCounter(MetricNames.DEPOSIT_POOL_CLAIMED, "source", "inline");
+    }
+
+    @Test
+    @DisplayName("Should delegate transaction submission unchanged")
+    void delegatesSubmitTransaction() {
+        when(delegate.submitTransaction(42, "dest", 5L)).thenReturn("hash");
+
+        assertThat(service.submitTransaction(42, "dest", 5L)).isEqualTo("hash");
+        verify(delegate).submitTransaction(eq(42), eq("dest"), eq(5L));
+    }
+}
@@ -0,0 +1,158 @@
+package com.advertmarket.financial.ton.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.advertmarket.financial.api.port.TonBlockchainPort;
+import com.advertmarket.financial.config.TonSeqnoProperties;
+import com.advertmarket.shared.metric.MetricsFacade;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+@DisplayName("TonSeqnoManager — tracked seqno per subwallet")
+class TonSeqnoManagerTest {
+
+    private static final String WALLET = "EQ-wallet";
+
+    private TonBlockchainPort blockchainPort;
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> values;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        blockchainPort = mock(TonBlockchainPort.class);
+        redisTemplate = mock(StringRedisTemplate.class);
+        values = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+    }
+
+    private TonSeqnoManager manager(Duration inFlightExpiry) {
+        return new TonSeqnoManager(blockchainPort, redisTemplate,
+                mock(MetricsFacade.class),
+                new TonSeqnoProperties(Duration.ofHours(24), Duration.ofSeconds(10),
+                        inFlightExpiry, 3, Duration.ofMillis(1)));
+    }
+
+    @Test
+    @DisplayName("Should return tracked seqno without calling chain resolver")
+    void reserve_returnsTrackedValue() {
+        when(values.get("ton:seqno:7")).thenReturn("12");
+
+        var reservation = manager(Duration.ofMinutes(2)).reserve(7, () -> {
+            throw new AssertionError("chain must not be queried");
+        });
+
+        assertThat(reservation).isEqualTo(new TonSeqnoManager.Reservation(12L, true));
+    }
+
+    @Test
+    @DisplayName("Should keep the next seqno in memory after a send")
+    void reserve_usesLocalValueAfterSend() {
+        var manager = manager(Duration.ofMinutes(2));
+        manager.markSent(7, WALLET, 12L);
+
+        var reservation = manager.reserve(7, () -> {
+            throw new AssertionError("chain must not be queried");
+        });
+
+        assertThat(reservation).isEqualTo(new TonSeqnoManager.Reservation(13L, true));
+        verify(values, never()).get(anyString());
+    }
+
+    @Test
+    @DisplayName("Should fall back to chain resolver on miss")
+    void reserve_fallsBackToChainOnMiss() {
+        assertThat(manager(Duration.ofMinutes(2)).reserve(7, () -> 3L))
+                .isEqualTo(new TonSeqnoManager.Reservation(3L, false));
+    }
+
+    @Test
+    @DisplayName("Should fall back to chain resolver when Redis fails")
+    void reserve_fallsBackToChainOnRedisError() {
+        when(values.get(anyString())).thenThrow(new QueryTimeoutException("down"));
+
+        assertThat(manager(Duration.ofMinutes(2)).reserve(7, () -> 4L))
+                .isEqualTo(new TonSeqnoManager.Reservation(4L, false));
+    }
+
+    @Test
+    @DisplayName("Should publish next seqno and track send as in-flight")
+    void markSent_publishesNextSeqno() {
+        var manager = manager(Duration.ofMinutes(2));
+
+        manager.markSent(7, WALLET, 12L);
+
+        verify(values).set(eq("ton:seqno:7"), eq("13"), eq(Duration.ofHours(24)));
+        assertThat(manager.inFlightCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should clear in-flight entry once chain reaches expected seqno")
+    void reconcile_confirmsLandedSend() {
+        var manager = manager(Duration.ofMinutes(2));
+        manager.markSent(7, WALLET, 12L);
+        when(blockchainPort.getSeqno(WALLET)).thenReturn(13L);
+
+        manager.reconcile();
+
+        assertThat(manager.inFlightCount()).isZero();
+        verify(redisTemplate, never()).execute(
+                any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("Should keep unconfirmed send until it expires")
+    void reconcile_keepsPendingSend() {
+        var manager = manager(Duration.ofMinutes(2));
+        manager.markSent(7, WALLET, 12L);
+        when(blockchainPort.getSeqno(WALLET)).thenReturn(12L);
+
+        manager.reconcile();
+
+        assertThat(manager.inFlightCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should drop expired send and clear shared value if unchanged")
+    void reconcile_dropsExpiredSend() {
+        // negative expiry: every tracked send is already past its validity
+        var manager = manager(Duration.ofMillis(-1));
+        manager.markSent(7, WALLET, 12L);
+        when(blockchainPort.getSeqno(WALLET)).thenReturn(12L);
+
+        manager.reconcile();
+
+        assertThat(manager.inFlightCount()).isZero();
+        verify(redisTemplate).execute(
+                any(RedisScript.class), eq(List.of("ton:seqno:7")), eq("13"));
+    }
+
+    @Test
+    @DisplayName("Should forget subwallet on invalidate")
+    void invalidate_clearsState() {
+        var manager = manager(Duration.ofMinutes(2));
+        manager.markSent(7, WALLET, 12L);
+
+        manager.invalidate(7);
+
+        assertThat(manager.inFlightCount()).isZero();
+        verify(redisTemplate).delete("ton:seqno:7");
+        assertThat(manager.reserve(7, () -> 2L))
+                .isEqualTo(new TonSeqnoManager.Reservation(2L, false));
+    }
+}
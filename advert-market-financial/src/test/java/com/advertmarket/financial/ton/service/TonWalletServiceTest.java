@@ -3,10 +3,13 @@ package com.advertmarket.financial.ton.service;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -14,19 +17,24 @@ import com.advertmarket.financial.api.model.DepositAddressInfo;
 import com.advertmarket.financial.api.model.TonOutboundTransferInfo;
 import com.advertmarket.financial.api.port.TonBlockchainPort;
 import com.advertmarket.financial.config.TonProperties;
+import com.advertmarket.financial.config.TonSeqnoProperties;
 import com.advertmarket.shared.exception.DomainException;
 import com.advertmarket.shared.lock.DistributedLockPort;
+import com.advertmarket.shared.metric.MetricNames;
 import com.advertmarket.shared.metric.MetricsFacade;
 import com.advertmarket.shared.model.DealId;
 import com.advertmarket.shared.sequence.SequenceAllocator;
 import java.security.NoSuchAlgorithmException;
 import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
 import org.ton.ton4j.mnemonic.Mnemonic;
 
 @DisplayName("TonWalletService — wallet operations")
@@ -40,15 +48,25 @@ class TonWalletServiceTest {
     private TonBlockchainPort blockchainPort;
     private DistributedLockPort lockPort;
     private SequenceAllocator sequenceAllocator;
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> seqnoValues;
+    private TonSeqnoManager seqnoManager;
     private MetricsFacade metrics;
     private TonWalletService service;
 
     @BeforeEach
+    @SuppressWarnings("unchecked")
     void setUp() {
         blockchainPort = mock(TonBlockchainPort.class);
         lockPort = mock(DistributedLockPort.class);
         sequenceAllocator = mock(SequenceAllocator.class);
         metrics = mock(MetricsFacade.class);
+        redisTemplate = mock(StringRedisTemplate.class);
+        seqnoValues = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(seqnoValues);
+        seqnoManager = new TonSeqnoManager(blockchainPort, redisTemplate, metrics,
+                new TonSeqnoProperties(Duration.ofHours(24), Duration.ofSeconds(10),
+                        Duration.ofMinutes(2), 2, Duration.ofMillis(1)));
 
         var api = new TonProperties.Api("test-key", true);
         var wallet = new TonProperties.Wallet(TEST_MNEMONIC, 50);
@@ -58,7 +76,7 @@ class TonWalletServiceTest {
                 new TonProperties.Confirmation());
 
         service = new TonWalletService(blockchainPort, lockPort,
-                sequenceAllocator, metrics, props);
+                sequenceAllocator, seqnoManager, metrics, props);
     }
 
     @Nested
@@ -84,7 +102,8 @@ class TonWalletServiceTest {
                                 "simulated: mnemonic=" + toxicMnemonic));
 
                 assertThatThrownBy(() -> new TonWalletService(
-                        blockchainPort, lockPort, sequenceAllocator, metrics, props))
+                        blockchainPort, lockPort, sequenceAllocator, seqnoManager,
+                        metrics, props))
                         .isInstanceOf(IllegalStateException.class)
                         .satisfies(ex -> {
                             String fullTrace = getFullExceptionChain(ex);
@@ -331,5 +350,110 @@ class TonWalletServiceTest {
                     .isInstanceOf(DomainException.class)
                     .hasMessageContaining("retries");
         }
+
+        @Test
+        @DisplayName("Should sign with tracked seqno without querying chain")
+        void usesTrackedSeqnoWithoutChainLookup() {
+            String destAddress = generateValidAddress();
+            when(lockPort.withLock(anyString(), any(Duration.class), any()))
+                    .thenAnswer(inv -> inv.<java.util.function.Supplier<?>>getArgument(2).get());
+            when(seqnoValues.get("ton:seqno:42")).thenReturn("7");
+            when(blockchainPort.sendBoc(anyString())).thenReturn("txhash_tracked");
+
+            String txHash = service.submitTransaction(42,
+                    destAddress, 1_000_000_000L);
+
+            assertThat(txHash).isEqualTo("txhash_tracked");
+            verify(blockchainPort, never()).getSeqno(anyString());
+            verify(seqnoValues).set(eq("ton:seqno:42"), eq("8"), any(Duration.class));
+        }
+
+        @Test
+        @DisplayName("Should re-sign with chain seqno when tracked seqno is behind chain")
+        void resignsWhenTrackedSeqnoIsBehindChain() {
+            String destAddress = generateValidAddress();
+            when(lockPort.withLock(anyString(), any(Duration.class), any()))
+                    .thenAnswer(inv -> inv.<java.util.function.Supplier<?>>getArgument(2).get());
+            when(seqnoValues.get("ton:seqno:42")).thenReturn("5");
+            when(blockchainPort.getSeqno(anyString())).thenReturn(7L);
+            when(blockchainPort.sendBoc(anyString()))
+                    .thenThrow(new DomainException("TON_API_ERROR", "seqno mismatch"))
+                    .thenReturn("txhash_resigned");
+            // an earlier payout with the same destination and amount
+            when(blockchainPort.getOutgoingTransfers(anyString(), eq(20)))
+                    .thenReturn(List.of(new TonOutboundTransferInfo(
+                            "earlier_hash", 100L, null, destAddress,
+                            1_000_000_000L, 5_000L, 1700000000L)));
+
+            String txHash = service.submitTransaction(42,
+                    destAddress, 1_000_000_000L);
+
+            assertThat(txHash).isEqualTo("txhash_resigned");
+            verify(blockchainPort, times(2)).sendBoc(anyString());
+            verify(metrics).incrementCounter(MetricNames.TON_TX_SUBMITTED,
+                    "direction", "OUT");
+            verify(seqnoValues).set(eq("ton:seqno:42"), eq("8"), any(Duration.class));
+        }
+
+        @Test
+        @DisplayName("Should accept a tracked-seqno transfer that landed despite a send error")
+        void acceptsTrackedTransferThatLanded() {
+            String destAddress = generateValidAddress();
+            when(lockPort.withLock(anyString(), any(Duration.class), any()))
+                    .thenAnswer(inv -> inv.<java.util.function.Supplier<?>>getArgument(2).get());
+            when(seqnoValues.get("ton:seqno:42")).thenReturn("5");
+            when(blockchainPort.getSeqno(anyString())).thenReturn(6L);
+            when(blockchainPort.sendBoc(anyString()))
+                    .thenThrow(new DomainException("TON_API_ERROR", "network error"));
+            when(blockchainPort.getOutgoingTransfers(anyString(), eq(20)))
+                    .thenReturn(List.of(new TonOutboundTransferInfo(
+                            "landed_hash", 100L, null, destAddress,
+                            1_000_000_000L, 5_000L, Instant.now().getEpochSecond())));
+
+            String txHash = service.submitTransaction(42,
+                    destAddress, 1_000_000_000L);
+
+            assertThat(txHash).isEqualTo("landed_hash");
+            verify(blockchainPort).sendBoc(anyString());
+        }
+
+        @Test
+        @DisplayName("Should wait for in-flight predecessor before resending")
+        void waitsForPredecessorWhenTrackedSeqnoIsAhead() {
+            String destAddress = generateValidAddress();
+            when(lockPort.withLock(anyString(), any(Duration.class), any()))
+                    .thenAnswer(inv -> inv.<java.util.function.Supplier<?>>getArgument(2).get());
+            when(seqnoValues.get("ton:seqno:42")).thenReturn("6");
+            when(blockchainPort.getSeqno(anyString()))
+                    .thenReturn(5L)
+                    .thenReturn(6L);
+            when(blockchainPort.sendBoc(anyString()))
+                    .thenThrow(new DomainException("TON_API_ERROR", "seqno mismatch"))
+                    .thenReturn("txhash_after_wait");
+
+            String txHash = service.submitTransaction(42,
+                    destAddress, 1_000_000_000L);
+
+            assertThat(txHash).isEqualTo("txhash_after_wait");
+            verify(blockchainPort, never()).getOutgoingTransfers(anyString(), anyInt());
+        }
+
+        @Test
+        @DisplayName("Should drop tracked seqno when predecessor never lands")
+        void dropsTrackedSeqnoWhenPredecessorDoesNotLand() {
+            String destAddress = generateValidAddress();
+            when(lockPort.withLock(anyString(), any(Duration.class), any()))
+                    .thenAnswer(inv -> inv.<java.util.function.Supplier<?>>getArgument(2).get());
+            when(seqnoValues.get("ton:seqno:42")).thenReturn("6");
+            when(blockchainPort.getSeqno(anyString())).thenReturn(5L);
+            when(blockchainPort.sendBoc(anyString()))
+                    .thenThrow(new DomainException("TON_API_ERROR", "seqno mismatch"));
+
+            assertThatThrownBy(() -> service.submitTransaction(42,
+                    destAddress, 1_000_000_000L))
+                    .isInstanceOf(DomainException.class)
+                    .hasMessageContaining("not confirmed");
+            verify(redisTemplate).delete("ton:seqno:42");
+        }
     }
 }
@@ -0,0 +1,19 @@
+package com.advertmarket.identity.api.dto;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * The part of a user profile that notification delivery needs.
+ *
+ * @param id                   user identifier (Telegram user ID)
+ * @param languageCode         IETF language tag
+ * @param notificationSettings notification preferences
+ * @param deleted              whether the account was deleted
+ */
+public record UserDeliveryProfile(
+        long id,
+        @NonNull String languageCode,
+        @NonNull NotificationSettings notificationSettings,
+        boolean deleted
+) {
+}
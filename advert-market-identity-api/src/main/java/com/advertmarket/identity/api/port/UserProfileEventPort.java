@@ -0,0 +1,27 @@
+package com.advertmarket.identity.api.port;
+
+import com.advertmarket.shared.model.UserId;
+import java.util.function.Consumer;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Port for announcing user profile changes to every application
+ * instance, so caches of user data can drop stale entries.
+ */
+public interface UserProfileEventPort {
+
+    /**
+     * Announces that a user's profile changed.
+     *
+     * @param userId user identifier
+     */
+    void publishChanged(@NonNull UserId userId);
+
+    /**
+     * Registers a listener called with the id of every changed user,
+     * including changes made by other instances.
+     *
+     * @param listener profile change listener
+     */
+    void subscribe(@NonNull Consumer<UserId> listener);
+}
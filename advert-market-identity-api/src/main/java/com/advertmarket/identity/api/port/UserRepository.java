@@ -3,8 +3,10 @@ package com.advertmarket.identity.api.port;
 import com.advertmarket.identity.api.dto.CurrencyMode;
 import com.advertmarket.identity.api.dto.NotificationSettings;
 import com.advertmarket.identity.api.dto.TelegramUserData;
+import com.advertmarket.identity.api.dto.UserDeliveryProfile;
 import com.advertmarket.identity.api.dto.UserProfile;
 import com.advertmarket.shared.model.UserId;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -31,6 +33,17 @@ public interface UserRepository {
     @NonNull
     Optional<UserProfile> findById(@NonNull UserId userId);
 
+    /**
+     * Finds the delivery profiles of several users in one query,
+     * including deleted users.
+     *
+     * @param userIds user identifiers
+     * @return delivery profiles of the users that exist
+     */
+    @NonNull
+    List<UserDeliveryProfile> findDeliveryProfiles(
+            @NonNull Collection<UserId> userIds);
+
     /**
      * Marks onboarding as completed and saves interests.
      *
@@ -5,7 +5,9 @@ import static com.advertmarket.db.generated.tables.Users.USERS;
 import com.advertmarket.identity.api.dto.CurrencyMode;
 import com.advertmarket.identity.api.dto.NotificationSettings;
 import com.advertmarket.identity.api.dto.TelegramUserData;
+import com.advertmarket.identity.api.dto.UserDeliveryProfile;
 import com.advertmarket.identity.api.dto.UserProfile;
+import com.advertmarket.identity.api.port.UserProfileEventPort;
 import com.advertmarket.identity.api.port.UserRepository;
 import com.advertmarket.identity.mapper.UserProfileMapper;
 import com.advertmarket.identity.mapper.UserProfileRow;
@@ -13,6 +15,7 @@ import com.advertmarket.identity.service.LocaleCurrencyResolver;
 import com.advertmarket.shared.json.JsonFacade;
 import com.advertmarket.shared.model.UserId;
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
@@ -27,6 +30,10 @@ import org.springframework.stereotype.Repository;
 
 /**
  * Persists user data using jOOQ.
+ *
+ * <p>Writes to the language, notification settings or deleted flag are
+ * announced through {@link UserProfileEventPort} so caches of delivery
+ * preferences drop the user.
  */
 @Repository
 @RequiredArgsConstructor
@@ -41,6 +48,7 @@ public class JooqUserRepository implements UserRepository {
     private final JsonFacade jsonFacade;
     private final UserProfileMapper userProfileMapper;
     private final LocaleCurrencyResolver localeCurrencyResolver;
+    private final UserProfileEventPort profileEvents;
 
     @Override
     public boolean upsert(@NonNull TelegramUserData data) {
@@ -67,6 +75,8 @@ public class JooqUserRepository implements UserRepository {
                 .set(USERS.UPDATED_AT, now)
                 .returning(USERS.IS_OPERATOR)
                 .fetchOne();
+        // May create the user or restore a deleted account
+        profileEvents.publishChanged(new UserId(data.id()));
 
         return result != null
                 && Boolean.TRUE.equals(
@@ -96,6 +106,31 @@ public class JooqUserRepository implements UserRepository {
                 .map(row -> userProfileMapper.toProfile(row, jsonFacade));
     }
 
+    @Override
+    public @NonNull List<UserDeliveryProfile> findDeliveryProfiles(
+            @NonNull Collection<UserId> userIds) {
+        if (userIds.isEmpty()) {
+            return List.of();
+        }
+        return dsl.select(
+                        USERS.ID,
+                        USERS.LANGUAGE_CODE,
+                        USERS.NOTIFICATION_SETTINGS,
+                        USERS.IS_DELETED)
+                .from(USERS)
+                .where(USERS.ID.in(userIds.stream()
+                        .map(UserId::value)
+                        .toList()))
+                .fetch(r -> new UserDeliveryProfile(
+                        r.get(USERS.ID),
+                        userProfileMapper.defaultLanguage(
+                                r.get(USERS.LANGUAGE_CODE)),
+                        userProfileMapper.notificationSettings(
+                                r.get(USERS.NOTIFICATION_SETTINGS),
+                                jsonFacade),
+                        Boolean.TRUE.equals(r.get(USERS.IS_DELETED))));
+    }
+
     @Override
     public void updateTonAddress(@NonNull UserId userId,
             @NonNull String tonAddress) {
@@ -128,6 +163,7 @@ public class JooqUserRepository implements UserRepository {
                 .set(USERS.UPDATED_AT, OffsetDateTime.now())
                 .where(USERS.ID.eq(userId.value()))
                 .execute();
+        profileEvents.publishChanged(userId);
     }
 
     @Override
@@ -158,6 +194,7 @@ public class JooqUserRepository implements UserRepository {
                 .set(USERS.UPDATED_AT, OffsetDateTime.now())
                 .where(USERS.ID.eq(userId.value()))
                 .execute();
+        profileEvents.publishChanged(userId);
     }
 
     @Override
@@ -190,6 +227,7 @@ public class JooqUserRepository implements UserRepository {
                 .set(USERS.UPDATED_AT, OffsetDateTime.now())
                 .where(USERS.ID.eq(userId.value()))
                 .execute();
+        profileEvents.publishChanged(userId);
     }
 
     private static String normalizeLanguage(String languageCode) {
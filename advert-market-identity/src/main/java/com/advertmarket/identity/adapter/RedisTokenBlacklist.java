@@ -22,7 +22,7 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class RedisTokenBlacklist implements TokenBlacklistPort {
 
-    private static final String KEY_PREFIX = "jwt:blacklist:";
+    static final String KEY_PREFIX = "jwt:blacklist:";
     private static final String VALUE = "1";
 
     private final StringRedisTemplate redisTemplate;
@@ -0,0 +1,88 @@
+package com.advertmarket.identity.adapter;
+
+import com.advertmarket.identity.api.port.UserProfileEventPort;
+import com.advertmarket.shared.model.UserId;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis pub/sub implementation of {@link UserProfileEventPort}.
+ *
+ * <p>Listeners of this instance are called right away; the change is
+ * then published on a Redis channel for the other instances. Pub/sub
+ * delivery is best effort, so consumers should also bound the age of
+ * what they cache.
+ */
+@Slf4j
+@Component
+public class RedisUserProfileEvents implements UserProfileEventPort {
+
+    private static final ChannelTopic CHANNEL =
+            new ChannelTopic("identity:user-profile-changed");
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer container;
+    private final MessageListener listener = this::onMessage;
+    private final List<Consumer<UserId>> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates the adapter and subscribes to the change channel.
+     *
+     * @param redisTemplate     Redis template
+     * @param listenerContainer shared Redis listener container
+     */
+    public RedisUserProfileEvents(StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer) {
+        this.redisTemplate = redisTemplate;
+        this.container = listenerContainer;
+        container.addMessageListener(listener, CHANNEL);
+    }
+
+    @Override
+    public void publishChanged(@NonNull UserId userId) {
+        notifyListeners(userId);
+        try {
+            redisTemplate.convertAndSend(CHANNEL.getTopic(), userId.toString());
+        } catch (DataAccessException e) {
+            log.warn("Redis error publishing profile change for user={}", userId, e);
+        }
+    }
+
+    @Override
+    public void subscribe(@NonNull Consumer<UserId> listener) {
+        listeners.add(listener);
+    }
+
+    /** Stops listening for changes from other instances. */
+    @PreDestroy
+    public void shutdown() {
+        container.removeMessageListener(listener, CHANNEL);
+    }
+
+    private void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        try {
+            notifyListeners(new UserId(Long.parseLong(body)));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed profile change message: {}", body);
+        }
+    }
+
+    private void notifyListeners(UserId userId) {
+        for (var listener : listeners) {
+            listener.accept(userId);
+        }
+    }
+}
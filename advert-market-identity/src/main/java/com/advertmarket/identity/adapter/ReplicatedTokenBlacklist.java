@@ -0,0 +1,75 @@
+package com.advertmarket.identity.adapter;
+
+import com.advertmarket.identity.api.port.TokenBlacklistPort;
+import com.advertmarket.shared.metric.MetricsFacade;
+import com.advertmarket.shared.replica.ReplicaProperties;
+import com.advertmarket.shared.replica.ReplicatedKeySet;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Token blacklist answering from an in-memory replica.
+ *
+ * <p>Revocations are written through {@link RedisTokenBlacklist} and then
+ * published to every instance, so checking a token on each request needs
+ * no Redis round trip. While the replica is stale, checks go to
+ * {@link RedisTokenBlacklist} and keep its fail-closed behavior.
+ */
+@Primary
+@Component
+@EnableConfigurationProperties(ReplicaProperties.class)
+public class ReplicatedTokenBlacklist implements TokenBlacklistPort {
+
+    private final RedisTokenBlacklist delegate;
+    private final ReplicatedKeySet replica;
+
+    /**
+     * Creates the blacklist and seeds its replica from Redis.
+     *
+     * @param delegate          Redis blacklist holding the revocations
+     * @param redisTemplate     Redis template
+     * @param listenerContainer shared Redis listener container
+     * @param properties        replica staleness bound
+     * @param metrics           metrics facade
+     */
+    public ReplicatedTokenBlacklist(RedisTokenBlacklist delegate,
+            StringRedisTemplate redisTemplate,
+            RedisMessageListenerContainer listenerContainer,
+            ReplicaProperties properties,
+            MetricsFacade metrics) {
+        this.delegate = delegate;
+        this.replica = new ReplicatedKeySet(redisTemplate, listenerContainer,
+                RedisTokenBlacklist.KEY_PREFIX, properties.maxStaleness(), metrics);
+        replica.start();
+    }
+
+    @Override
+    public boolean isBlacklisted(@NonNull String jti) {
+        return replica.contains(jti, delegate::isBlacklisted);
+    }
+
+    @Override
+    public void blacklist(@NonNull String jti, long ttlSeconds) {
+        delegate.blacklist(jti, ttlSeconds);
+        replica.added(jti, Duration.ofSeconds(ttlSeconds));
+    }
+
+    /** Rebuilds the replica from Redis, repairing missed changes. */
+    @Scheduled(fixedDelayString = "${app.replica.sync-interval:30s}")
+    public void resync() {
+        replica.resync();
+    }
+
+    /** Stops listening for revocations from other instances. */
+    @PreDestroy
+    public void shutdown() {
+        replica.shutdown();
+    }
+}
@@ -0,0 +1,30 @@
+package com.advertmarket.identity.config;
+
+import io.github.springpropertiesmd.api.annotation.PropertyDoc;
+import io.github.springpropertiesmd.api.annotation.PropertyGroupDoc;
+import io.github.springpropertiesmd.api.annotation.Requirement;
+import jakarta.validation.constraints.Positive;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Verified JWT cache configuration.
+ *
+ * @param maximumSize maximum number of verified tokens kept in memory
+ */
+@ConfigurationProperties(prefix = "app.auth.token-cache")
+@Validated
+@PropertyGroupDoc(
+        displayName = "Verified Token Cache",
+        description = "In-memory cache of verified JWTs, kept until token expiry",
+        category = "Security"
+)
+public record TokenCacheProperties(
+        @PropertyDoc(
+                description = "Maximum number of verified tokens kept in memory",
+                required = Requirement.OPTIONAL
+        )
+        @Positive @DefaultValue("10000") int maximumSize
+) {
+}
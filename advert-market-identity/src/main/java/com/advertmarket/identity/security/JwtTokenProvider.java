@@ -1,25 +1,40 @@
 package com.advertmarket.identity.security;
 
 import com.advertmarket.identity.config.AuthProperties;
+import com.advertmarket.identity.config.TokenCacheProperties;
 import com.advertmarket.shared.exception.DomainException;
 import com.advertmarket.shared.exception.ErrorCodes;
 import com.advertmarket.shared.model.UserId;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import javax.crypto.SecretKey;
 import lombok.Getter;
 import org.checkerframework.checker.nullness.qual.NonNull;
 
 /**
  * Generates and parses JWT tokens using JJWT (HS256).
+ *
+ * <p>Verified tokens are cached by SHA-256 digest until their
+ * expiration, so a token presented again is resolved by one hash lookup
+ * instead of decoding and signature verification. Only successfully
+ * verified tokens are cached; revocation is checked by the caller on
+ * every request.
  */
 @SuppressFBWarnings(
         value = "CT_CONSTRUCTOR_THROW",
@@ -31,6 +46,8 @@ public class JwtTokenProvider {
     private static final String AUDIENCE = "advert-market-api";
 
     private final SecretKey signingKey;
+    private final JwtParser parser;
+    private final Cache<String, TelegramAuthentication> verified;
     /** Token lifetime in seconds. */
     @Getter
     private final long expirationSeconds;
@@ -38,13 +55,24 @@ public class JwtTokenProvider {
     /**
      * Creates a provider from auth properties.
      *
-     * @param properties auth configuration
+     * @param properties      auth configuration
+     * @param cacheProperties verified token cache bounds
      */
-    public JwtTokenProvider(@NonNull AuthProperties properties) {
+    public JwtTokenProvider(@NonNull AuthProperties properties,
+            @NonNull TokenCacheProperties cacheProperties) {
         this.signingKey = Keys.hmacShaKeyFor(
                 properties.jwt().secret()
                         .getBytes(StandardCharsets.UTF_8));
         this.expirationSeconds = properties.jwt().expiration();
+        this.parser = Jwts.parser()
+                .verifyWith(signingKey)
+                .requireIssuer(ISSUER)
+                .requireAudience(AUDIENCE)
+                .build();
+        this.verified = Caffeine.newBuilder()
+                .maximumSize(cacheProperties.maximumSize())
+                .expireAfter(new UntilTokenExpiry())
+                .build();
     }
 
     /**
@@ -78,12 +106,19 @@ public class JwtTokenProvider {
      * @throws DomainException if the token is invalid or expired
      */
     public @NonNull TelegramAuthentication parseToken(@NonNull String token) {
+        String digest = digest(token);
+        TelegramAuthentication cached = verified.getIfPresent(digest);
+        if (cached != null) {
+            return cached;
+        }
+        TelegramAuthentication auth = verify(token);
+        verified.put(digest, auth);
+        return auth;
+    }
+
+    private TelegramAuthentication verify(String token) {
         try {
-            Claims claims = Jwts.parser()
-                    .verifyWith(signingKey)
-                    .requireIssuer(ISSUER)
-                    .requireAudience(AUDIENCE)
-                    .build()
+            Claims claims = parser
                     .parseSignedClaims(token)
                     .getPayload();
 
@@ -107,4 +142,38 @@ public class JwtTokenProvider {
                     "Invalid JWT token");
         }
     }
+
+    private static String digest(String token) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /** Keeps a verified token until its {@code exp} claim. */
+    private static final class UntilTokenExpiry
+            implements Expiry<String, TelegramAuthentication> {
+
+        @Override
+        public long expireAfterCreate(String key, TelegramAuthentication auth,
+                long currentTime) {
+            long remainingMillis = TimeUnit.SECONDS.toMillis(auth.getTokenExpSeconds())
+                    - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMillis));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, TelegramAuthentication auth,
+                long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(String key, TelegramAuthentication auth,
+                long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
 }
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.advertmarket.identity.config.AuthProperties;
+import com.advertmarket.identity.config.TokenCacheProperties;
 import com.advertmarket.shared.exception.DomainException;
 import com.advertmarket.shared.model.UserId;
 import org.junit.jupiter.api.BeforeEach;
@@ -22,7 +23,8 @@ class JwtTokenProviderTest {
                         "test-secret-minimum-32-bytes-long!!",
                         3600),
                 300);
-        provider = new JwtTokenProvider(properties);
+        provider = new JwtTokenProvider(properties,
+                new TokenCacheProperties(100));
     }
 
     @Test
@@ -50,6 +52,17 @@ class JwtTokenProviderTest {
         assertThat(auth.isOperator()).isTrue();
     }
 
+    @Test
+    @DisplayName("Should resolve a repeated token from the verified cache")
+    void shouldResolveRepeatedTokenFromCache() {
+        String token = provider.generateToken(new UserId(7L), false);
+
+        TelegramAuthentication first = provider.parseToken(token);
+        TelegramAuthentication second = provider.parseToken(token);
+
+        assertThat(second).isSameAs(first);
+    }
+
     @Test
     @DisplayName("Should reject expired token")
     void shouldRejectExpiredToken() {
@@ -59,7 +72,8 @@ class JwtTokenProviderTest {
                         -1),
                 300);
         JwtTokenProvider shortProvider =
-                new JwtTokenProvider(shortLived);
+                new JwtTokenProvider(shortLived,
+                        new TokenCacheProperties(100));
 
         String token = shortProvider.generateToken(
                 new UserId(1L), false);
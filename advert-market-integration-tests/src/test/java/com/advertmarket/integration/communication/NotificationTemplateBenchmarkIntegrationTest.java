@@ -0,0 +1,122 @@
+package com.advertmarket.integration.communication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.advertmarket.communication.api.notification.NotificationType;
+import com.advertmarket.communication.bot.internal.builder.MarkdownV2Util;
+import com.advertmarket.communication.notification.NotificationTemplateEngine;
+import com.advertmarket.shared.i18n.LocalizationService;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.support.ResourceBundleMessageSource;
+
+/**
+ * Throughput microbenchmark of notification rendering.
+ *
+ * <p>Compares the renderer that resolves the template through the
+ * message source and escapes it with one {@code replace} per variable on
+ * every call, against {@link NotificationTemplateEngine}, which renders
+ * from templates compiled once per language. Both render every
+ * notification type in both bundled languages with realistic variables,
+ * on a message source configured as in the application. A warm-up pass
+ * precedes each measured run.
+ *
+ * <p>Tagged {@code benchmark}; run with
+ * {@code ./gradlew :advert-market-integration-tests:benchmarkTest
+ * -PrunIntegrationTests=true}.
+ */
+@Slf4j
+@Tag("benchmark")
+@DisplayName("Notification templates — benchmark")
+class NotificationTemplateBenchmarkIntegrationTest {
+
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 200_000);
+    private static final List<String> LANGUAGES = List.of("ru", "en");
+    private static final Map<String, String> VARIABLES = Map.of(
+            "channel_name", "Crypto_News-Daily (RU)",
+            "deal_id_short", "3f2a-91bc",
+            "amount", "125.50 TON",
+            "days", "7",
+            "owner_id", "1234567890");
+
+    @Test
+    @DisplayName("Should render faster from precompiled templates")
+    void compiledVersusPerCallRendering() {
+        var i18n = localizationService();
+        var engine = new NotificationTemplateEngine(i18n);
+        engine.warmUp();
+
+        for (var language : LANGUAGES) {
+            for (var type : NotificationType.values()) {
+                assertThat(engine.render(type, language, VARIABLES))
+                        .isEqualTo(renderPerCall(i18n, type, language, VARIABLES));
+            }
+        }
+
+        run((type, language) -> renderPerCall(i18n, type, language, VARIABLES));
+        long perCallNanos = run((type, language) -> renderPerCall(i18n, type, language, VARIABLES));
+        run((type, language) -> engine.render(type, language, VARIABLES));
+        long compiledNanos = run((type, language) -> engine.render(type, language, VARIABLES));
+
+        report("per-call", perCallNanos);
+        report("compiled", compiledNanos);
+        log.info("Notification template benchmark: speedup={}x",
+                String.format("%.1f", (double) perCallNanos / compiledNanos));
+        assertThat(compiledNanos).isPositive();
+    }
+
+    private static long run(Renderer renderer) {
+        var types = NotificationType.values();
+        long checksum = 0;
+        long began = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            var type = types[i % types.length];
+            var language = LANGUAGES.get(i & 1);
+            checksum += renderer.render(type, language).length();
+        }
+        long elapsed = System.nanoTime() - began;
+        assertThat(checksum).isPositive();
+        return elapsed;
+    }
+
+    // The renderer TelegramNotificationService used before templates were precompiled
+    private static String renderPerCall(LocalizationService i18n, NotificationType type,
+            String language, Map<String, String> variables) {
+        String key = "notification." + type.name().toLowerCase(Locale.ROOT);
+        String escaped = MarkdownV2Util.escape(i18n.msg(key, language));
+        for (var entry : variables.entrySet()) {
+            String escapedKey = MarkdownV2Util.escape("{" + entry.getKey() + "}");
+            escaped = escaped.replace(escapedKey, MarkdownV2Util.escape(entry.getValue()));
+        }
+        return escaped;
+    }
+
+    private static LocalizationService localizationService() {
+        var messageSource = new ResourceBundleMessageSource();
+        messageSource.setBasenames(
+                "messages/bot", "messages/notifications", "messages/errors");
+        messageSource.setDefaultEncoding("UTF-8");
+        messageSource.setFallbackToSystemLocale(false);
+        return new LocalizationService(messageSource);
+    }
+
+    private static void report(String mode, long elapsedNanos) {
+        log.info("Notification template benchmark [{}]: renders={}, total={}ms,"
+                        + " throughput={} renders/s, {} ns/render",
+                mode, ITERATIONS,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                String.format("%.0f", ITERATIONS / (elapsedNanos / 1_000_000_000.0)),
+                String.format("%.1f", (double) elapsedNanos / ITERATIONS));
+    }
+
+    @FunctionalInterface
+    private interface Renderer {
+        String render(NotificationType type, String language);
+    }
+}
@@ -0,0 +1,76 @@
+package com.advertmarket.integration.communication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.advertmarket.communication.bot.internal.sender.RedisTelegramRateLimiter;
+import com.advertmarket.communication.bot.internal.sender.TelegramSenderProperties;
+import com.advertmarket.integration.support.RedisSupport;
+import com.advertmarket.shared.metric.MetricsFacade;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Integration test for RedisTelegramRateLimiter with real Redis, using
+ * two limiter instances to stand in for two app nodes.
+ */
+@DisplayName("RedisTelegramRateLimiter — Redis integration")
+class RedisTelegramRateLimiterIntegrationTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @BeforeEach
+    void setUp() {
+        RedisSupport.flushAll();
+    }
+
+    @Test
+    @DisplayName("Should hold the per-chat limit across nodes")
+    void shouldSharePerChatLimit() {
+        var nodeA = limiter(30);
+        var nodeB = limiter(30);
+
+        assertThat(nodeA.tryAcquire(1L)).isZero();
+        assertThat(nodeB.tryAcquire(1L)).isPositive().isLessThanOrEqualTo(SECOND);
+        assertThat(nodeB.tryAcquire(2L)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should share the global budget across nodes")
+    void shouldShareGlobalBudget() {
+        var nodeA = limiter(4);
+        var nodeB = limiter(4);
+
+        long granted = 0;
+        for (long chatId = 1; chatId <= 10; chatId++) {
+            var node = chatId % 2 == 0 ? nodeA : nodeB;
+            if (node.tryAcquire(chatId) == 0) {
+                granted++;
+            }
+        }
+
+        assertThat(granted).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should not charge a chat whose send was denied by the global budget")
+    void shouldNotChargeDeniedChat() {
+        var limiter = limiter(1);
+        assertThat(limiter.tryAcquire(1L)).isZero();
+
+        assertThat(limiter.tryAcquire(2L)).isPositive();
+
+        assertThat(RedisSupport.redisTemplate()
+                .hasKey("tg:send:{budget}:chat:2")).isFalse();
+    }
+
+    private static RedisTelegramRateLimiter limiter(int globalPerSec) {
+        var properties = new TelegramSenderProperties(
+                globalPerSec, 1, Duration.ofMinutes(5), 10_000, true, 1);
+        return new RedisTelegramRateLimiter(RedisSupport.redisTemplate(), properties,
+                new MetricsFacade(new SimpleMeterRegistry()));
+    }
+}
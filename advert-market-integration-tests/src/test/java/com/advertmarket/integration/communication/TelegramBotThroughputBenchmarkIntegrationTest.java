@@ -0,0 +1,232 @@
+package com.advertmarket.integration.communication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.advertmarket.communication.bot.command.LanguageCommand;
+import com.advertmarket.integration.support.ContainerProperties;
+import com.advertmarket.integration.support.Percentiles;
+import com.advertmarket.integration.support.RedisSupport;
+import com.advertmarket.integration.support.TelegramBotApiStandIn;
+import com.advertmarket.integration.support.TelegramWebhookLoadDriver;
+import com.advertmarket.integration.support.TelegramWebhookLoadDriver.Posted;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * End-to-end throughput benchmark of the bot behind its webhook.
+ *
+ * <p>{@link TelegramWebhookLoadDriver} posts {@code /language} commands
+ * from many users at a fixed offered rate to the full webhook stack of
+ * {@link TelegramWebhookFlowIntegrationTest}, whose replies go to
+ * {@link TelegramBotApiStandIn} enforcing Telegram's global and
+ * per-chat message limits. Reports processed updates per second, reply
+ * latency percentiles from posting an update to the stand-in receiving
+ * its reply, and rate-limit efficiency: the share of the achievable
+ * reply rate actually reached, the {@code 429} responses drawn and the
+ * {@code sendMessage} attempts spent per delivered reply. Runs once
+ * against a healthy API and once with injected {@code 429} and
+ * {@code 500} responses.
+ *
+ * <p>Tagged {@code benchmark}; run with
+ * {@code ./gradlew :advert-market-integration-tests:benchmarkTest
+ * -PrunIntegrationTests=true -Dbenchmark.users=200 -Dbenchmark.rate=28}.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringBootTest(
+        classes = {
+                TelegramWebhookFlowIntegrationTest.TestConfig.class,
+                LanguageCommand.class
+        },
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT
+)
+@DisplayName("Telegram bot throughput — benchmark")
+class TelegramBotThroughputBenchmarkIntegrationTest {
+
+    private static final int USERS = Integer.getInteger("benchmark.users", 100);
+    private static final int UPDATES_PER_USER =
+            Integer.getInteger("benchmark.updates-per-user", 2);
+    private static final int OFFERED_RATE = Integer.getInteger("benchmark.rate", 25);
+    private static final long API_LATENCY_MILLIS = Long.getLong("benchmark.api-latency-ms", 50L);
+    // Telegram's limits, also the sender limits configured by TestConfig
+    private static final int GLOBAL_PER_SECOND = 30;
+    private static final int CHAT_PER_SECOND = 1;
+    private static final long FIRST_USER_ID = 7_000_000L;
+    private static final Duration QUIET_PERIOD = Duration.ofSeconds(8);
+    private static final TelegramBotApiStandIn TELEGRAM_API =
+            new TelegramBotApiStandIn(TelegramBotApiStandIn.Settings.defaults());
+    private static final AtomicLong NEXT_UPDATE_ID = new AtomicLong(1);
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        ContainerProperties.registerAll(registry);
+        TELEGRAM_API.start();
+        registry.add("test.telegram.api-url", TELEGRAM_API::baseUrl);
+    }
+
+    @AfterAll
+    static void shutdownStandIn() {
+        TELEGRAM_API.stop();
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TelegramWebhookFlowIntegrationTest.ResettableDeduplication deduplication;
+
+    @BeforeEach
+    void setUp() {
+        RedisSupport.flushAll();
+        deduplication.reset();
+    }
+
+    @Test
+    @DisplayName("Should reply to every update within Telegram limits")
+    void healthyApi() throws InterruptedException {
+        var result = run(settings());
+
+        report("healthy", result);
+        assertThat(result.delivered()).isEqualTo(result.updates());
+    }
+
+    @Test
+    @DisplayName("Should recover most replies from injected 429 and 500 responses")
+    void faultyApi() throws InterruptedException {
+        var result = run(settings()
+                .withRateLimitRate(0.05, Duration.ofSeconds(1))
+                .withErrorRate(0.02));
+
+        report("faulty", result);
+        assertThat(result.delivered()).isGreaterThanOrEqualTo(result.updates() * 95 / 100);
+    }
+
+    private static TelegramBotApiStandIn.Settings settings() {
+        return TelegramBotApiStandIn.Settings.defaults()
+                .withLatency(Duration.ofMillis(API_LATENCY_MILLIS))
+                .withLimits(GLOBAL_PER_SECOND, CHAT_PER_SECOND);
+    }
+
+    private Result run(TelegramBotApiStandIn.Settings settings) throws InterruptedException {
+        TELEGRAM_API.configure(settings);
+        TELEGRAM_API.clear();
+        var updates = TelegramWebhookLoadDriver.rounds(
+                NEXT_UPDATE_ID.getAndAdd((long) USERS * UPDATES_PER_USER),
+                FIRST_USER_ID, USERS, UPDATES_PER_USER, "/language");
+        List<Posted> posted;
+        try (var driver = new TelegramWebhookLoadDriver(
+                URI.create("http://localhost:" + port + "/api/v1/bot/webhook"),
+                TelegramWebhookFlowIntegrationTest.WEBHOOK_SECRET)) {
+            posted = driver.post(updates, OFFERED_RATE);
+        }
+        awaitQuiet(updates.size());
+        return measure(posted);
+    }
+
+    // Waits until every update got a reply or no reply arrived for a while
+    private static void awaitQuiet(int expected) throws InterruptedException {
+        int seen = -1;
+        long quietSince = System.nanoTime();
+        while (System.nanoTime() - quietSince < QUIET_PERIOD.toNanos()) {
+            int delivered = okReplies().size();
+            if (delivered >= expected) {
+                return;
+            }
+            if (delivered != seen) {
+                seen = delivered;
+                quietSince = System.nanoTime();
+            }
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+    }
+
+    private static Result measure(List<Posted> posted) {
+        var replies = new HashMap<Long, List<Long>>();
+        for (var call : okReplies()) {
+            replies.computeIfAbsent(call.chatId(), _ -> new ArrayList<>())
+                    .add(call.receivedNanos());
+        }
+        Map<Long, Integer> replied = new HashMap<>();
+        var latencies = new ArrayList<Long>();
+        long lastReply = posted.getFirst().sentNanos();
+        for (var post : posted) {
+            long userId = post.update().userId();
+            int index = replied.merge(userId, 1, Integer::sum) - 1;
+            var received = replies.getOrDefault(userId, List.of());
+            if (index < received.size()) {
+                long at = received.get(index);
+                latencies.add(at - post.sentNanos());
+                lastReply = Math.max(lastReply, at);
+            }
+        }
+        return new Result(
+                posted.size(),
+                posted.stream().filter(Posted::accepted).count(),
+                Percentiles.sorted(latencies),
+                lastReply - posted.getFirst().sentNanos(),
+                TELEGRAM_API.calls("sendMessage").size(),
+                TELEGRAM_API.rateLimited(),
+                TELEGRAM_API.failed());
+    }
+
+    private static List<TelegramBotApiStandIn.Call> okReplies() {
+        return TELEGRAM_API.calls("sendMessage").stream()
+                .filter(TelegramBotApiStandIn.Call::ok)
+                .toList();
+    }
+
+    private static void report(String mode, Result result) {
+        double seconds = result.elapsedNanos() / 1_000_000_000.0;
+        double replyRate = result.delivered() / seconds;
+        double achievable = Math.min(OFFERED_RATE, GLOBAL_PER_SECOND);
+        log.info("Telegram bot throughput benchmark [{}]: updates={}, accepted={},"
+                        + " replies={}, total={}ms, throughput={} updates/s",
+                mode, result.updates(), result.accepted(), result.delivered(),
+                TimeUnit.NANOSECONDS.toMillis(result.elapsedNanos()),
+                String.format("%.1f", replyRate));
+        log.info("Telegram bot throughput benchmark [{}]: reply latency p50={}ms,"
+                        + " p95={}ms, p99={}ms, max={}ms",
+                mode, result.percentileMillis(0.50), result.percentileMillis(0.95),
+                result.percentileMillis(0.99), result.percentileMillis(1.0));
+        log.info("Telegram bot throughput benchmark [{}]: rate-limit efficiency={}%,"
+                        + " 429s={}, 500s={}, attempts/reply={}",
+                mode, String.format("%.0f", 100 * replyRate / achievable),
+                result.rateLimited(), result.failed(),
+                String.format("%.2f", (double) result.attempts() / result.delivered()));
+    }
+
+    private record Result(
+            int updates,
+            long accepted,
+            long[] latencies,
+            long elapsedNanos,
+            int attempts,
+            long rateLimited,
+            long failed) {
+
+        int delivered() {
+            return latencies.length;
+        }
+
+        long percentileMillis(double quantile) {
+            return Percentiles.millis(latencies, quantile);
+        }
+    }
+}
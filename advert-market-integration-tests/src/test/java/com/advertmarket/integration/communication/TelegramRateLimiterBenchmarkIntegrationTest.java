@@ -0,0 +1,131 @@
+package com.advertmarket.integration.communication;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.advertmarket.communication.bot.internal.sender.TelegramRateLimiter;
+import com.advertmarket.communication.bot.internal.sender.TelegramSenderProperties;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Throughput microbenchmark of {@link TelegramRateLimiter#tryAcquire}.
+ *
+ * <p>Threads cycle over a large set of active chats, each chat limited
+ * to one message per second, and call {@code tryAcquire} as the sender
+ * does before every send. Runs once with a global limit high enough that
+ * only per-chat state is exercised, and once with the production global
+ * limit so almost every call is denied by the shared bucket. A warm-up
+ * pass precedes each measured run.
+ *
+ * <p>Tagged {@code benchmark}; run with
+ * {@code ./gradlew :advert-market-integration-tests:benchmarkTest
+ * -PrunIntegrationTests=true -Dbenchmark.chats=100000}.
+ */
+@Slf4j
+@Tag("benchmark")
+@DisplayName("Telegram rate limiter — benchmark")
+class TelegramRateLimiterBenchmarkIntegrationTest {
+
+    private static final int CHATS = Integer.getInteger("benchmark.chats", 100_000);
+    private static final int THREADS = Integer.getInteger("benchmark.threads",
+            Runtime.getRuntime().availableProcessors());
+    private static final long DURATION_MILLIS = Long.getLong("benchmark.duration-ms", 3_000L);
+
+    @Test
+    @DisplayName("Should sustain per-chat limiting across many active chats")
+    void perChatLimiting() throws InterruptedException {
+        var limiter = limiter(1_000_000);
+        run(limiter, Duration.ofMillis(DURATION_MILLIS / 3));
+
+        var result = run(limiter, Duration.ofMillis(DURATION_MILLIS));
+
+        report("per-chat", result);
+        assertThat(result.granted()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Should stay cheap when the global limit denies most calls")
+    void globalLimiting() throws InterruptedException {
+        var limiter = limiter(30);
+        run(limiter, Duration.ofMillis(DURATION_MILLIS / 3));
+
+        var result = run(limiter, Duration.ofMillis(DURATION_MILLIS));
+
+        report("global-bound", result);
+        // The global bucket never grants more than its rate plus one second of burst
+        long allowed = 30 * (TimeUnit.MILLISECONDS.toSeconds(DURATION_MILLIS) + 2);
+        assertThat(result.granted()).isLessThanOrEqualTo(allowed);
+    }
+
+    private static TelegramRateLimiter limiter(int globalPerSec) {
+        return new TelegramRateLimiter(new TelegramSenderProperties(
+                globalPerSec, 1, Duration.ofMinutes(5), CHATS * 2, false, 1));
+    }
+
+    private static Result run(TelegramRateLimiter limiter, Duration duration)
+            throws InterruptedException {
+        var granted = new LongAdder();
+        var denied = new LongAdder();
+        var start = new CountDownLatch(1);
+        var threads = new ArrayList<Thread>(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            int offset = t * (CHATS / THREADS);
+            threads.add(Thread.ofPlatform().name("rate-limiter-bench-", t).start(() -> {
+                awaitQuietly(start);
+                long deadline = System.nanoTime() + duration.toNanos();
+                long localGranted = 0;
+                long localDenied = 0;
+                int chat = offset;
+                while (System.nanoTime() < deadline) {
+                    for (int i = 0; i < 1_000; i++) {
+                        if (limiter.tryAcquire(chat) == 0) {
+                            localGranted++;
+                        } else {
+                            localDenied++;
+                        }
+                        chat = chat + 1 == CHATS ? 0 : chat + 1;
+                    }
+                }
+                granted.add(localGranted);
+                denied.add(localDenied);
+            }));
+        }
+        long began = System.nanoTime();
+        start.countDown();
+        for (var thread : threads) {
+            thread.join();
+        }
+        return new Result(granted.sum(), denied.sum(), System.nanoTime() - began);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void report(String mode, Result result) {
+        long calls = result.granted() + result.denied();
+        double seconds = result.elapsedNanos() / 1_000_000_000.0;
+        log.info("Telegram rate limiter benchmark [{}]: chats={}, threads={}, total={}ms,"
+                        + " calls={}, granted={}, denied={}, throughput={} calls/s, {} ns/call",
+                mode, CHATS, THREADS,
+                TimeUnit.NANOSECONDS.toMillis(result.elapsedNanos()),
+                calls, result.granted(), result.denied(),
+                String.format("%.0f", calls / seconds),
+                String.format("%.1f", calls == 0 ? 0.0
+                        : (double) result.elapsedNanos() * THREADS / calls));
+    }
+
+    private record Result(long granted, long denied, long elapsedNanos) {
+    }
+}
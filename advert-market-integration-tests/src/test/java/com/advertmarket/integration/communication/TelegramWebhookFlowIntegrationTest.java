@@ -19,25 +19,34 @@ import com.advertmarket.communication.bot.internal.error.BotErrorHandler;
 import com.advertmarket.communication.bot.internal.resilience.TelegramCircuitBreakerConfig;
 import com.advertmarket.communication.bot.internal.resilience.TelegramResilienceProperties;
 import com.advertmarket.communication.bot.internal.sender.RateLimiterPort;
+import com.advertmarket.communication.bot.internal.sender.TelegramOutboundProperties;
+import com.advertmarket.communication.bot.internal.sender.TelegramOutboundScheduler;
 import com.advertmarket.communication.bot.internal.sender.TelegramRateLimiter;
 import com.advertmarket.communication.bot.internal.sender.TelegramRetryProperties;
 import com.advertmarket.communication.bot.internal.sender.TelegramSender;
 import com.advertmarket.communication.bot.internal.sender.TelegramSenderProperties;
 import com.advertmarket.communication.canary.CanaryRouter;
+import com.advertmarket.communication.notification.NotificationTemplateEngine;
+import com.advertmarket.communication.notification.RecipientCacheProperties;
+import com.advertmarket.communication.notification.RecipientPreferenceCache;
 import com.advertmarket.communication.notification.TelegramNotificationService;
 import com.advertmarket.communication.webhook.DeduplicationProperties;
 import com.advertmarket.communication.webhook.TelegramWebhookController;
 import com.advertmarket.communication.webhook.TelegramWebhookHandler;
 import com.advertmarket.communication.webhook.UpdateDeduplicationPort;
 import com.advertmarket.communication.webhook.UpdateDeduplicator;
+import com.advertmarket.communication.webhook.UpdateExecutorProperties;
 import com.advertmarket.communication.webhook.UpdateProcessor;
+import com.advertmarket.communication.webhook.UserUpdateExecutor;
 import com.advertmarket.identity.adapter.JooqUserRepository;
+import com.advertmarket.identity.adapter.RedisUserProfileEvents;
 import com.advertmarket.identity.config.LocaleCurrencyProperties;
 import com.advertmarket.identity.mapper.UserProfileMapper;
 import com.advertmarket.identity.service.LocaleCurrencyResolver;
 import com.advertmarket.integration.support.ContainerProperties;
 import com.advertmarket.integration.support.DatabaseSupport;
 import com.advertmarket.integration.support.RedisSupport;
+import com.advertmarket.integration.support.TelegramBotApiStandIn;
 import com.advertmarket.integration.support.TestDataFactory;
 import com.advertmarket.marketplace.api.port.ChannelLifecyclePort;
 import com.advertmarket.marketplace.channel.adapter.ChannelLifecycleAdapter;
@@ -49,16 +58,13 @@ import com.pengrad.telegrambot.TelegramBot;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import io.github.resilience4j.bulkhead.Bulkhead;
 import io.github.resilience4j.circuitbreaker.CircuitBreaker;
-import java.io.IOException;
-import java.io.OutputStream;
-import java.net.InetSocketAddress;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.function.Supplier;
 import javax.sql.DataSource;
 import org.jooq.DSLContext;
 import org.jooq.SQLDialect;
@@ -73,6 +79,7 @@ import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.mapstruct.factory.Mappers;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.jooq.autoconfigure.ExceptionTranslatorExecuteListener;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -83,6 +90,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.support.ReloadableResourceBundleMessageSource;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.http.MediaType;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -97,7 +105,7 @@ import org.springframework.test.web.reactive.server.WebTestClient;
  * secret validation, malformed payload, dedup, async dispatch,
  * channel lifecycle updates and owner notifications.
  *
- * <p>Only Telegram Bot API is mocked via local HTTP server.
+ * <p>Only Telegram Bot API is mocked, by {@link TelegramBotApiStandIn}.
  */
 @SpringBootTest(
         classes = TelegramWebhookFlowIntegrationTest.TestConfig.class,
@@ -106,16 +114,17 @@ import org.springframework.test.web.reactive.server.WebTestClient;
 @DisplayName("Telegram webhook flow — full integration")
 class TelegramWebhookFlowIntegrationTest {
 
-    private static final String WEBHOOK_SECRET = "it-webhook-secret";
+    static final String WEBHOOK_SECRET = "it-webhook-secret";
     private static final long OWNER_ID = 91L;
     private static final long CHANNEL_ID = -1002001L;
-    private static final TelegramApiMockServer TELEGRAM_API =
-            new TelegramApiMockServer();
+    private static final TelegramBotApiStandIn TELEGRAM_API =
+            new TelegramBotApiStandIn(TelegramBotApiStandIn.Settings.defaults());
 
     @DynamicPropertySource
     static void configureProperties(DynamicPropertyRegistry registry) {
         ContainerProperties.registerAll(registry);
         TELEGRAM_API.start();
+        registry.add("test.telegram.api-url", TELEGRAM_API::baseUrl);
     }
 
     @BeforeAll
@@ -134,6 +143,9 @@ class TelegramWebhookFlowIntegrationTest {
     @Autowired
     private DSLContext dsl;
 
+    @Autowired
+    private ResettableDeduplication deduplication;
+
     private WebTestClient webClient;
 
     @BeforeEach
@@ -144,6 +156,7 @@ class TelegramWebhookFlowIntegrationTest {
                 .build();
         DatabaseSupport.cleanAllTables(dsl);
         RedisSupport.flushAll();
+        deduplication.reset();
         TELEGRAM_API.clear();
         TestDataFactory.upsertUser(dsl, OWNER_ID);
         TestDataFactory.insertChannelWithOwner(dsl, CHANNEL_ID, OWNER_ID);
@@ -263,7 +276,7 @@ class TelegramWebhookFlowIntegrationTest {
                 .expectStatus().isOk();
 
         awaitChannelActive(true);
-        assertThat(TELEGRAM_API.requestCount()).isZero();
+        assertThat(TELEGRAM_API.callCount()).isZero();
     }
 
     @Test
@@ -297,10 +310,10 @@ class TelegramWebhookFlowIntegrationTest {
         org.awaitility.Awaitility.await()
                 .atMost(Duration.ofSeconds(5))
                 .untilAsserted(() ->
-                        assertThat(TELEGRAM_API.requestCount())
+                        assertThat(TELEGRAM_API.callCount())
                                 .isEqualTo(expectedCount));
-        assertThat(TELEGRAM_API.requests())
-                .allMatch(r -> r.path().contains("/sendMessage"));
+        assertThat(TELEGRAM_API.calls())
+                .allMatch(call -> call.method().equals("sendMessage"));
     }
 
     private String fixture(String path) throws Exception {
@@ -377,16 +390,33 @@ class TelegramWebhookFlowIntegrationTest {
             return new LocaleCurrencyResolver(properties);
         }
 
+        @Bean
+        RedisMessageListenerContainer redisMessageListenerContainer(
+                StringRedisTemplate redisTemplate) {
+            var container = new RedisMessageListenerContainer();
+            container.setConnectionFactory(redisTemplate.getRequiredConnectionFactory());
+            return container;
+        }
+
+        @Bean(destroyMethod = "shutdown")
+        RedisUserProfileEvents userProfileEvents(
+                StringRedisTemplate redisTemplate,
+                RedisMessageListenerContainer listenerContainer) {
+            return new RedisUserProfileEvents(redisTemplate, listenerContainer);
+        }
+
         @Bean
         com.advertmarket.identity.api.port.UserRepository userRepository(
                 DSLContext dsl,
                 JsonFacade jsonFacade,
-                LocaleCurrencyResolver localeCurrencyResolver) {
+                LocaleCurrencyResolver localeCurrencyResolver,
+                RedisUserProfileEvents userProfileEvents) {
             return new JooqUserRepository(
                     dsl,
                     jsonFacade,
                     Mappers.getMapper(UserProfileMapper.class),
-                    localeCurrencyResolver);
+                    localeCurrencyResolver,
+                    userProfileEvents);
         }
 
         @Bean
@@ -408,9 +438,10 @@ class TelegramWebhookFlowIntegrationTest {
         }
 
         @Bean
-        TelegramBot telegramBot(TelegramBotProperties properties) {
+        TelegramBot telegramBot(TelegramBotProperties properties,
+                @Value("${test.telegram.api-url}") String apiUrl) {
             return new TelegramBot.Builder(properties.botToken())
-                    .apiUrl(TELEGRAM_API.baseUrl())
+                    .apiUrl(apiUrl)
                     .build();
         }
 
@@ -421,7 +452,8 @@ class TelegramWebhookFlowIntegrationTest {
                     1,
                     Duration.ofMinutes(5),
                     10_000,
-                    1_000);
+                    false,
+                    1);
         }
 
         @Bean
@@ -467,6 +499,17 @@ class TelegramWebhookFlowIntegrationTest {
             return new TelegramRateLimiter(properties);
         }
 
+        @Bean(destroyMethod = "shutdown")
+        TelegramOutboundScheduler telegramOutboundScheduler(
+                RateLimiterPort rateLimiter,
+                MetricsFacade metricsFacade) {
+            return new TelegramOutboundScheduler(
+                    rateLimiter,
+                    metricsFacade,
+                    new TelegramOutboundProperties(
+                            16, 4, 1, Duration.ofSeconds(5)));
+        }
+
         @Bean(name = "botUpdateExecutor", destroyMethod = "shutdown")
         ExecutorService botUpdateExecutor() {
             return Executors.newVirtualThreadPerTaskExecutor();
@@ -475,7 +518,7 @@ class TelegramWebhookFlowIntegrationTest {
         @Bean
         TelegramSender telegramSender(
                 TelegramBot bot,
-                RateLimiterPort rateLimiter,
+                TelegramOutboundScheduler scheduler,
                 CircuitBreaker telegramCircuitBreaker,
                 Bulkhead telegramBulkhead,
                 MetricsFacade metricsFacade,
@@ -483,7 +526,7 @@ class TelegramWebhookFlowIntegrationTest {
                 ExecutorService botUpdateExecutor) {
             return new TelegramSender(
                     bot,
-                    rateLimiter,
+                    scheduler,
                     telegramCircuitBreaker,
                     telegramBulkhead,
                     metricsFacade,
@@ -499,18 +542,19 @@ class TelegramWebhookFlowIntegrationTest {
 
         @Bean
         DeduplicationProperties deduplicationProperties() {
-            return new DeduplicationProperties(Duration.ofHours(24));
+            return new DeduplicationProperties(
+                    Duration.ofHours(24), 65_536, 1_000, Duration.ofSeconds(5));
         }
 
         @Bean
-        UpdateDeduplicationPort updateDeduplicationPort(
+        ResettableDeduplication updateDeduplicationPort(
                 StringRedisTemplate redisTemplate,
                 DeduplicationProperties deduplicationProperties,
                 MetricsFacade metricsFacade) {
-            return new UpdateDeduplicator(
+            return new ResettableDeduplication(() -> new UpdateDeduplicator(
                     redisTemplate,
                     deduplicationProperties,
-                    metricsFacade);
+                    metricsFacade));
         }
 
         @Bean
@@ -530,9 +574,18 @@ class TelegramWebhookFlowIntegrationTest {
                 TelegramSender sender,
                 LocalizationService localizationService,
                 com.advertmarket.identity.api.port.UserRepository
-                        userRepository) {
+                        userRepository,
+                RedisUserProfileEvents userProfileEvents,
+                MetricsFacade metricsFacade) {
             return new TelegramNotificationService(
-                    sender, localizationService, userRepository);
+                    sender,
+                    new NotificationTemplateEngine(localizationService),
+                    new RecipientPreferenceCache(
+                            userRepository,
+                            userProfileEvents,
+                            new RecipientCacheProperties(
+                                    10_000, Duration.ofMinutes(30))),
+                    metricsFacade);
         }
 
         @Bean
@@ -594,7 +647,8 @@ class TelegramWebhookFlowIntegrationTest {
                     botDispatcher,
                     botErrorHandler,
                     metricsFacade,
-                    botUpdateExecutor);
+                    new UserUpdateExecutor(botUpdateExecutor, metricsFacade,
+                            new UpdateExecutorProperties(64, 10_000)));
         }
 
         @Bean
@@ -617,71 +671,24 @@ class TelegramWebhookFlowIntegrationTest {
         }
     }
 
-    static final class TelegramApiMockServer {
-
-        private static final String RESPONSE_BODY = """
-                {"ok":true,"result":{"message_id":1,"date":0,"chat":{"id":91,"type":"private"}}}
-                """;
-
-        private com.sun.net.httpserver.HttpServer server;
-        private final CopyOnWriteArrayList<TelegramRequest> requests =
-                new CopyOnWriteArrayList<>();
-
-        synchronized void start() {
-            if (server != null) {
-                return;
-            }
-            try {
-                server = com.sun.net.httpserver.HttpServer.create(
-                        new InetSocketAddress(0), 0);
-            } catch (IOException e) {
-                throw new IllegalStateException(
-                        "Cannot start Telegram API mock server", e);
-            }
-            server.createContext("/bot", exchange -> {
-                byte[] body = exchange.getRequestBody().readAllBytes();
-                requests.add(new TelegramRequest(
-                        exchange.getRequestURI().getPath(),
-                        new String(body, StandardCharsets.UTF_8)));
-                byte[] response = RESPONSE_BODY.getBytes(StandardCharsets.UTF_8);
-                exchange.getResponseHeaders().add(
-                        "Content-Type", "application/json");
-                exchange.sendResponseHeaders(200, response.length);
-                try (OutputStream os = exchange.getResponseBody()) {
-                    os.write(response);
-                }
-            });
-            server.start();
-        }
-
-        synchronized void stop() {
-            if (server != null) {
-                server.stop(0);
-                server = null;
-            }
-            requests.clear();
-        }
-
-        synchronized String baseUrl() {
-            if (server == null) {
-                throw new IllegalStateException("Mock server is not started");
-            }
-            return "http://localhost:" + server.getAddress().getPort() + "/bot";
-        }
-
-        void clear() {
-            requests.clear();
-        }
-
-        int requestCount() {
-            return requests.size();
-        }
-
-        List<TelegramRequest> requests() {
-            return List.copyOf(requests);
+    /** Deduplication whose in-memory window is replaced before each test. */
+    static final class ResettableDeduplication implements UpdateDeduplicationPort {
+
+        private final Supplier<UpdateDeduplicator> factory;
+        private volatile UpdateDeduplicator current;
+
+        ResettableDeduplication(Supplier<UpdateDeduplicator> factory) {
+            this.factory = factory;
+            this.current = factory.get();
         }
-    }
 
-    record TelegramRequest(String path, String body) {
+        void reset() {
+            current = factory.get();
+        }
+
+        @Override
+        public boolean tryAcquire(int updateId) {
+            return current.tryAcquire(updateId);
+        }
     }
 }
@@ -926,6 +926,12 @@ class DealControllerIt {
                 public void unlock(String key, String token) {
                     // no-op for tests
                 }
+
+                @Override
+                public boolean extend(String key, String token,
+                                      java.time.Duration ttl) {
+                    return true;
+                }
             };
         }
     }
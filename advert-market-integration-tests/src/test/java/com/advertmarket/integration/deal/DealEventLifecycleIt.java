@@ -0,0 +1,180 @@
+package com.advertmarket.integration.deal;
+
+import static com.advertmarket.db.generated.tables.DealEvents.DEAL_EVENTS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.advertmarket.deal.config.DealEventLifecycleProperties;
+import com.advertmarket.deal.mapper.DealEventRecordMapper;
+import com.advertmarket.deal.repository.DealEventArchiveStore;
+import com.advertmarket.deal.repository.DealEventPartitionRepository;
+import com.advertmarket.deal.repository.FileDealEventArchiveStore;
+import com.advertmarket.deal.repository.JooqDealEventRepository;
+import com.advertmarket.deal.service.DealEventLifecycleScheduler;
+import com.advertmarket.integration.support.DatabaseSupport;
+import com.advertmarket.integration.support.RedisSupport;
+import com.advertmarket.shared.lock.RedisDistributedLock;
+import com.advertmarket.shared.metric.MetricsFacade;
+import com.advertmarket.shared.model.DealId;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.function.UnaryOperator;
+import java.util.zip.GZIPInputStream;
+import org.jooq.DSLContext;
+import org.jooq.JSONB;
+import org.jooq.exception.DataAccessException;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mapstruct.factory.Mappers;
+
+@DisplayName("Deal event lifecycle — partitions, timelines and archiving")
+class DealEventLifecycleIt {
+
+    private static final YearMonth ARCHIVED_MONTH = YearMonth.of(2019, 1);
+
+    private static DSLContext dsl;
+
+    @TempDir
+    Path archiveDir;
+
+    private DealEventPartitionRepository partitions;
+    private DealEventLifecycleScheduler scheduler;
+    private JooqDealEventRepository eventRepo;
+
+    @BeforeAll
+    static void initDatabase() {
+        DatabaseSupport.ensureMigrated();
+        dsl = DatabaseSupport.dsl();
+    }
+
+    @BeforeEach
+    void setUp() {
+        DatabaseSupport.cleanAllTables(dsl);
+        RedisSupport.flushAll();
+        partitions = new DealEventPartitionRepository(dsl);
+        scheduler = scheduler(archiveDir.toString(), store -> store);
+        eventRepo = new JooqDealEventRepository(
+                dsl, Mappers.getMapper(DealEventRecordMapper.class));
+    }
+
+    @Test
+    @DisplayName("Should create partitions for the coming months")
+    void createsUpcomingPartitions() {
+        scheduler.run();
+
+        var ahead = YearMonth.now(ZoneOffset.UTC).plusMonths(6);
+        assertThat(partitions.findPartitionMonths()).contains(ahead);
+    }
+
+    @Test
+    @DisplayName("Should export, detach and record partitions past retention")
+    void archivesExpiredPartition() throws IOException {
+        partitions.createPartition(ARCHIVED_MONTH);
+        var dealId = DealId.generate();
+        insertEvent(dealId, OffsetDateTime.of(2019, 1, 15, 12, 0, 0, 0, ZoneOffset.UTC));
+        insertEvent(dealId, OffsetDateTime.of(2019, 1, 16, 12, 0, 0, 0, ZoneOffset.UTC));
+
+        scheduler.run();
+
+        assertThat(partitions.findPartitionMonths()).doesNotContain(ARCHIVED_MONTH);
+        var archive = archiveDir.resolve("deal_events_2019_01.ndjson.gz");
+        try (var reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(archive)), StandardCharsets.UTF_8))) {
+            assertThat(reader.lines()).hasSize(2)
+                    .allSatisfy(line -> assertThat(line).contains(dealId.value().toString()));
+        }
+        var recorded = dsl.fetchValue(
+                "SELECT event_count FROM deal_event_archives WHERE partition_name = ?",
+                "deal_events_2019_01");
+        assertThat(recorded).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("Should read a deal's timeline within its recorded event range")
+    void readsTimelineWithinRange() {
+        var dealId = DealId.generate();
+        var first = OffsetDateTime.now(ZoneOffset.UTC).minusMinutes(5);
+        insertEvent(dealId, first);
+        insertEvent(dealId, first.plusMinutes(1));
+
+        var events = eventRepo.findByDealId(dealId);
+
+        assertThat(events).hasSize(2);
+        assertThat(eventRepo.findByDealId(DealId.generate())).isEmpty();
+        var timeline = dsl.fetchOne(
+                "SELECT event_count FROM deal_timelines WHERE deal_id = ?", dealId.value());
+        assertThat(timeline).isNotNull();
+        assertThat(timeline.get(0, Integer.class)).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should keep expired partitions while no archive directory is set")
+    void keepsPartitionsWithoutArchiveDirectory() {
+        partitions.createPartition(ARCHIVED_MONTH);
+
+        scheduler(null, store -> store).run();
+
+        assertThat(partitions.findPartitionMonths()).contains(ARCHIVED_MONTH);
+        assertThat(dsl.fetchCount(dsl.selectFrom("deal_event_archives"))).isZero();
+    }
+
+    @Test
+    @DisplayName("Should keep archiving later partitions after one export fails")
+    void continuesAfterFailedExport() {
+        var failing = YearMonth.of(2018, 12);
+        partitions.createPartition(failing);
+        partitions.createPartition(ARCHIVED_MONTH);
+
+        scheduler(archiveDir.toString(), store -> new DealEventArchiveStore() {
+            @Override
+            public boolean isConfigured() {
+                return true;
+            }
+
+            @Override
+            public String write(String name, Content content) throws IOException {
+                if (name.equals(DealEventPartitionRepository.partitionName(failing))) {
+                    // a full disk surfaces from the export transaction like this
+                    throw new DataAccessException("No space left on device");
+                }
+                return store.write(name, content);
+            }
+        }).run();
+
+        assertThat(partitions.findPartitionMonths())
+                .contains(failing)
+                .doesNotContain(ARCHIVED_MONTH);
+    }
+
+    private DealEventLifecycleScheduler scheduler(
+            String directory, UnaryOperator<DealEventArchiveStore> store) {
+        var props = new DealEventLifecycleProperties(true, Duration.ofHours(6), 6, 24,
+                directory, Duration.ofMinutes(5));
+        var metrics = new MetricsFacade(new SimpleMeterRegistry());
+        return new DealEventLifecycleScheduler(partitions,
+                store.apply(new FileDealEventArchiveStore(props)),
+                new RedisDistributedLock(RedisSupport.redisTemplate(), metrics),
+                metrics, props);
+    }
+
+    private static void insertEvent(DealId dealId, OffsetDateTime createdAt) {
+        dsl.insertInto(DEAL_EVENTS)
+                .set(DEAL_EVENTS.DEAL_ID, dealId.value())
+                .set(DEAL_EVENTS.EVENT_TYPE, "DEAL_STATE_CHANGED")
+                .set(DEAL_EVENTS.ACTOR_TYPE, "SYSTEM")
+                .set(DEAL_EVENTS.PAYLOAD, JSONB.valueOf("{}"))
+                .set(DEAL_EVENTS.CREATED_AT, createdAt)
+                .execute();
+    }
+}
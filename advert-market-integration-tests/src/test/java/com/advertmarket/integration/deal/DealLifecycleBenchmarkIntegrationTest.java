@@ -0,0 +1,552 @@
+package com.advertmarket.integration.deal;
+
+import static com.advertmarket.db.generated.tables.Deals.DEALS;
+import static com.advertmarket.db.generated.tables.NotificationOutbox.NOTIFICATION_OUTBOX;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.advertmarket.app.outbox.JooqOutboxRepository;
+import com.advertmarket.app.outbox.KafkaOutboxPublisher;
+import com.advertmarket.deal.api.dto.CreateDealCommand;
+import com.advertmarket.deal.api.dto.DealTransitionCommand;
+import com.advertmarket.deal.api.dto.DealTransitionResult;
+import com.advertmarket.deal.api.event.DealStateChangedEvent;
+import com.advertmarket.deal.api.port.DealAuthorizationPort;
+import com.advertmarket.deal.config.DealActorProperties;
+import com.advertmarket.deal.mapper.DealDtoMapper;
+import com.advertmarket.deal.mapper.DealEventRecordMapper;
+import com.advertmarket.deal.mapper.DealRecordMapper;
+import com.advertmarket.deal.repository.JooqDealEventRepository;
+import com.advertmarket.deal.repository.JooqDealRepository;
+import com.advertmarket.deal.service.DealActorRuntime;
+import com.advertmarket.deal.service.DealDeadlineScheduler;
+import com.advertmarket.deal.service.DealService;
+import com.advertmarket.deal.service.DealTransitionService;
+import com.advertmarket.deal.service.DealWorkflowEngine;
+import com.advertmarket.financial.api.model.DepositAddressInfo;
+import com.advertmarket.financial.api.port.DepositPort;
+import com.advertmarket.financial.api.port.EscrowPort;
+import com.advertmarket.integration.support.DatabaseSupport;
+import com.advertmarket.integration.support.Percentiles;
+import com.advertmarket.integration.support.SharedContainers;
+import com.advertmarket.integration.support.TestDataFactory;
+import com.advertmarket.marketplace.api.port.ChannelAutoSyncPort;
+import com.advertmarket.marketplace.api.port.CreativeRepository;
+import com.advertmarket.marketplace.channel.mapper.CategoryDtoMapper;
+import com.advertmarket.marketplace.channel.mapper.ChannelRecordMapper;
+import com.advertmarket.marketplace.channel.repository.JooqCategoryRepository;
+import com.advertmarket.marketplace.channel.repository.JooqChannelRepository;
+import com.advertmarket.marketplace.pricing.mapper.PricingRuleRecordMapper;
+import com.advertmarket.marketplace.pricing.repository.JooqPricingRuleRepository;
+import com.advertmarket.shared.event.EventEnvelope;
+import com.advertmarket.shared.event.EventEnvelopeDeserializer;
+import com.advertmarket.shared.event.EventTypeRegistry;
+import com.advertmarket.shared.event.EventTypes;
+import com.advertmarket.shared.event.TopicNames;
+import com.advertmarket.shared.exception.InvalidStateTransitionException;
+import com.advertmarket.shared.json.JsonFacade;
+import com.advertmarket.shared.metric.MetricsFacade;
+import com.advertmarket.shared.model.ActorType;
+import com.advertmarket.shared.model.DealId;
+import com.advertmarket.shared.model.DealStatus;
+import com.advertmarket.shared.outbox.OutboxPoller;
+import com.advertmarket.shared.outbox.OutboxProperties;
+import com.advertmarket.shared.outbox.OutboxStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.awaitility.Awaitility;
+import org.jooq.DSLContext;
+import org.jooq.DatePart;
+import org.jooq.Field;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DataSourceConnectionProvider;
+import org.jooq.impl.DefaultConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * End-to-end throughput benchmark of the deal lifecycle.
+ *
+ * <p>A synthetic driver takes every deal from creation to
+ * COMPLETED_RELEASED through {@link DealService} and
+ * {@link DealTransitionService}, playing advertiser, channel owner and
+ * the financial and delivery workers in turn. State-changed events go
+ * through the real outbox: {@link OutboxPoller} publishes them to Kafka,
+ * and a consumer hands them to {@link DealWorkflowEngine} on the deal's
+ * {@link DealActorRuntime} mailbox, one ordered worker per partition as
+ * the listener container would. The engine's auto-transitions
+ * (AWAITING_PAYMENT, DELIVERY_VERIFYING) race the driver as they do in
+ * production. Escrow and deposit ports are stubs; the financial pipeline
+ * has its own benchmark.
+ *
+ * <p>Reports transitions per second, the rate of transitions that lost
+ * a race (already applied or rejected), outbox and consumer lag, and
+ * p50/p95/p99 per driver stage. Stage latency includes waiting for the
+ * workflow where the next step depends on it.
+ *
+ * <p>Tagged {@code benchmark}; run with
+ * {@code ./gradlew :advert-market-integration-tests:benchmarkTest
+ * -PrunIntegrationTests=true -Dbenchmark.deals=5000}.
+ */
+@Slf4j
+@Tag("benchmark")
+@DisplayName("Deal lifecycle — end-to-end benchmark")
+class DealLifecycleBenchmarkIntegrationTest {
+
+    private static final int DEAL_COUNT = Integer.getInteger("benchmark.deals", 1_000);
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 32);
+    private static final long OUTBOX_POLL_MILLIS = Long.getLong("benchmark.outbox-poll-ms", 50L);
+    private static final Duration TIMEOUT = Duration.ofMinutes(15);
+    private static final Duration STATUS_WAIT = Duration.ofSeconds(60);
+
+    private static final long ADVERTISER_ID = 9_500L;
+    private static final long OWNER_ID = 9_600L;
+    private static final long CHANNEL_ID = -100_9500L;
+    private static final long DEAL_AMOUNT_NANO = 1_000_000_000L;
+
+    private enum Stage {
+        CREATE, OFFER, NEGOTIATION, FUNDING, CREATIVE, PUBLICATION, RELEASE
+    }
+
+    private HikariDataSource dataSource;
+    private DSLContext dsl;
+    private TransactionTemplate transactions;
+    private JooqDealRepository dealRepository;
+    private CountingTransitionService transitionService;
+    private DealService dealService;
+    private DealWorkflowEngine workflowEngine;
+    private DealActorRuntime actors;
+    private OutboxPoller outboxPoller;
+    private JsonFacade jsonFacade;
+
+    private final Map<Stage, Queue<Long>> stageLatencies = new EnumMap<>(Stage.class);
+    private final Queue<Long> consumerLag = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger workflowFailures = new AtomicInteger();
+    private final AtomicBoolean running = new AtomicBoolean(true);
+
+    @BeforeAll
+    static void initInfrastructure() {
+        DatabaseSupport.ensureMigrated();
+        ensureKafkaTopics();
+    }
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(SharedContainers.pgJdbcUrl());
+        dataSource.setUsername(SharedContainers.pgUsername());
+        dataSource.setPassword(SharedContainers.pgPassword());
+        dataSource.setMaximumPoolSize(CONCURRENCY * 2 + 8);
+        dsl = DSL.using(new DefaultConfiguration()
+                .set(new DataSourceConnectionProvider(
+                        new TransactionAwareDataSourceProxy(dataSource)))
+                .set(SQLDialect.POSTGRES));
+        transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        DatabaseSupport.cleanAllTables(dsl);
+        TestDataFactory.upsertUser(dsl, ADVERTISER_ID);
+        TestDataFactory.upsertUser(dsl, OWNER_ID);
+        TestDataFactory.insertChannelWithOwner(dsl, CHANNEL_ID, OWNER_ID);
+        for (var stage : Stage.values()) {
+            stageLatencies.put(stage, new ConcurrentLinkedQueue<>());
+        }
+        wire();
+    }
+
+    @AfterEach
+    void tearDown() {
+        running.set(false);
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("Should take every deal from creation to release through the workflow")
+    void driveLifecycle() throws Exception {
+        var consumer = startWorkflowConsumer();
+        var poller = Thread.ofPlatform().name("benchmark-outbox-poller").start(this::pollOutbox);
+
+        var failures = new AtomicInteger();
+        var permits = new Semaphore(CONCURRENCY);
+        long start = System.nanoTime();
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < DEAL_COUNT; i++) {
+                executor.submit(() -> bounded(permits, failures, this::driveOneDeal));
+            }
+        }
+        long driverNanos = System.nanoTime() - start;
+
+        Awaitility.await().atMost(TIMEOUT).pollInterval(Duration.ofMillis(200))
+                .until(() -> dsl.fetchCount(NOTIFICATION_OUTBOX,
+                        NOTIFICATION_OUTBOX.STATUS.ne(OutboxStatus.DELIVERED.name())) == 0
+                        && actors.activeMailboxes() == 0);
+        long elapsed = System.nanoTime() - start;
+        running.set(false);
+        poller.join();
+        consumer.join();
+
+        report(driverNanos, elapsed);
+        assertThat(failures).hasValue(0);
+        assertThat(workflowFailures).hasValue(0);
+        assertThat(dsl.fetchCount(DEALS,
+                DEALS.STATUS.eq(DealStatus.COMPLETED_RELEASED.name()))).isEqualTo(DEAL_COUNT);
+    }
+
+    private void driveOneDeal() {
+        var created = timed(Stage.CREATE, () -> transactions.execute(_ -> dealService.create(
+                new CreateDealCommand(CHANNEL_ID, DEAL_AMOUNT_NANO, null,
+                        "{\"text\":\"benchmark\"}", null),
+                ADVERTISER_ID)));
+        var dealId = created.id();
+
+        timed(Stage.OFFER, () -> userTransition(dealId, DealStatus.OFFER_PENDING,
+                ActorType.ADVERTISER, ADVERTISER_ID));
+        timed(Stage.NEGOTIATION, () -> {
+            userTransition(dealId, DealStatus.NEGOTIATING, ActorType.CHANNEL_OWNER, OWNER_ID);
+            // Owner acceptance auto-advances to AWAITING_PAYMENT with a deposit address
+            return userTransition(dealId, DealStatus.ACCEPTED, ActorType.CHANNEL_OWNER,
+                    OWNER_ID);
+        });
+        timed(Stage.FUNDING, () -> {
+            awaitStatus(dealId, DealStatus.AWAITING_PAYMENT);
+            return systemTransition(dealId, DealStatus.FUNDED);
+        });
+        timed(Stage.CREATIVE, () -> {
+            userTransition(dealId, DealStatus.CREATIVE_SUBMITTED, ActorType.CHANNEL_OWNER,
+                    OWNER_ID);
+            return userTransition(dealId, DealStatus.CREATIVE_APPROVED, ActorType.ADVERTISER,
+                    ADVERTISER_ID);
+        });
+        timed(Stage.PUBLICATION, () -> {
+            userTransition(dealId, DealStatus.SCHEDULED, ActorType.CHANNEL_OWNER, OWNER_ID);
+            dealRepository.setPublicationMetadata(dealId, 1L, "hash-" + dealId.value(),
+                    Instant.now());
+            systemTransition(dealId, DealStatus.PUBLISHED);
+            // The workflow moves published deals on to DELIVERY_VERIFYING
+            awaitStatus(dealId, DealStatus.DELIVERY_VERIFYING);
+            return null;
+        });
+        timed(Stage.RELEASE, () -> transactions.execute(_ -> dealService.transition(
+                new DealTransitionCommand(dealId, DealStatus.COMPLETED_RELEASED,
+                        null, ActorType.SYSTEM, null, null, null))));
+    }
+
+    private DealTransitionResult userTransition(DealId dealId, DealStatus target,
+                                                ActorType actorType, long actorId) {
+        return transactions.execute(_ -> dealService.transition(new DealTransitionCommand(
+                dealId, target, actorId, actorType, null, null, null)));
+    }
+
+    private DealTransitionResult systemTransition(DealId dealId, DealStatus target) {
+        return transactions.execute(_ -> transitionService.transition(new DealTransitionCommand(
+                dealId, target, null, ActorType.SYSTEM, null, null, null)));
+    }
+
+    private void awaitStatus(DealId dealId, DealStatus status) {
+        Awaitility.await().atMost(STATUS_WAIT).pollInterval(Duration.ofMillis(5))
+                .until(() -> dealRepository.findById(dealId)
+                        .map(deal -> deal.status() == status)
+                        .orElse(false));
+    }
+
+    private <T> T timed(Stage stage, Supplier<T> step) {
+        long began = System.nanoTime();
+        var result = step.get();
+        stageLatencies.get(stage).add(System.nanoTime() - began);
+        return result;
+    }
+
+    private void pollOutbox() {
+        while (running.get()) {
+            outboxPoller.poll();
+            try {
+                Thread.sleep(OUTBOX_POLL_MILLIS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // Mirrors the listener container: one ordered worker per partition
+    private Thread startWorkflowConsumer() {
+        var registry = new EventTypeRegistry();
+        registry.register(EventTypes.DEAL_STATE_CHANGED, DealStateChangedEvent.class);
+        var deserializer = new EventEnvelopeDeserializer(jsonFacade, registry);
+        var consumer = new KafkaConsumer<String, String>(Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, SharedContainers.kafkaBootstrapServers(),
+                ConsumerConfig.GROUP_ID_CONFIG, "deal-lifecycle-benchmark-" + UUID.randomUUID(),
+                ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false,
+                ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+                ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class));
+        var partitions = consumer.partitionsFor(TopicNames.DEAL_STATE_CHANGED).stream()
+                .map(info -> new TopicPartition(info.topic(), info.partition()))
+                .toList();
+        consumer.assign(partitions);
+        consumer.seekToEnd(partitions);
+        partitions.forEach(consumer::position);
+
+        var workers = new HashMap<Integer, ExecutorService>();
+        for (var partition : partitions) {
+            workers.put(partition.partition(),
+                    Executors.newSingleThreadExecutor(Thread.ofVirtual().factory()));
+        }
+        return Thread.ofPlatform().name("benchmark-workflow-consumer").start(() -> {
+            try (consumer) {
+                while (running.get()) {
+                    for (var record : consumer.poll(Duration.ofMillis(100))) {
+                        @SuppressWarnings("unchecked")
+                        var envelope = (EventEnvelope<DealStateChangedEvent>)
+                                deserializer.deserialize(record.value());
+                        consumerLag.add(Duration.between(envelope.timestamp(), Instant.now())
+                                .toNanos());
+                        workers.get(record.partition()).execute(() -> handle(
+                                envelope, record.partition()));
+                    }
+                }
+            } finally {
+                workers.values().forEach(ExecutorService::close);
+            }
+        });
+    }
+
+    // CHECKSTYLE.OFF: IllegalCatch
+    private void handle(EventEnvelope<DealStateChangedEvent> envelope, int partition) {
+        try {
+            actors.execute(envelope.dealId(), partition, () -> workflowEngine.handle(envelope));
+        } catch (InvalidStateTransitionException ex) {
+            // Lost a race with the driver; counted as a conflict
+            log.debug("Workflow transition lost a race: {}", ex.getMessage());
+        } catch (RuntimeException ex) {
+            workflowFailures.incrementAndGet();
+            log.warn("Workflow failed for deal={}", envelope.dealId(), ex);
+        }
+    }
+
+    private static void bounded(Semaphore permits, AtomicInteger failures, Runnable task) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            task.run();
+        } catch (RuntimeException | AssertionError ex) {
+            failures.incrementAndGet();
+            log.warn("Benchmark deal failed", ex);
+        } finally {
+            permits.release();
+        }
+    }
+    // CHECKSTYLE.ON: IllegalCatch
+
+    private static void ensureKafkaTopics() {
+        var requiredTopics = List.of(
+                new NewTopic(TopicNames.DEAL_STATE_CHANGED, 3, (short) 1),
+                new NewTopic(TopicNames.FINANCIAL_COMMANDS, 6, (short) 1),
+                new NewTopic(TopicNames.DELIVERY_COMMANDS, 3, (short) 1),
+                new NewTopic(TopicNames.COMMUNICATION_NOTIFICATIONS, 3, (short) 1));
+        try (var admin = AdminClient.create(Map.<String, Object>of(
+                AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG,
+                SharedContainers.kafkaBootstrapServers()))) {
+            Set<String> existing = admin.listTopics().names().get(10, TimeUnit.SECONDS);
+            var missing = requiredTopics.stream()
+                    .filter(topic -> !existing.contains(topic.name()))
+                    .toList();
+            if (!missing.isEmpty()) {
+                admin.createTopics(missing).all().get(10, TimeUnit.SECONDS);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while creating Kafka topics", ex);
+        } catch (ExecutionException | TimeoutException ex) {
+            throw new IllegalStateException("Failed to create Kafka topics", ex);
+        }
+    }
+
+    private void wire() {
+        var objectMapper = new ObjectMapper().findAndRegisterModules();
+        jsonFacade = new JsonFacade(objectMapper);
+        var metrics = new MetricsFacade(new SimpleMeterRegistry());
+        dealRepository = new JooqDealRepository(dsl, Mappers.getMapper(DealRecordMapper.class));
+        var eventRepository = new JooqDealEventRepository(dsl,
+                Mappers.getMapper(DealEventRecordMapper.class));
+        var outboxRepository = new JooqOutboxRepository(dsl);
+        var channelRepository = new JooqChannelRepository(
+                dsl,
+                Mappers.getMapper(ChannelRecordMapper.class),
+                new JooqCategoryRepository(dsl, jsonFacade,
+                        Mappers.getMapper(CategoryDtoMapper.class)),
+                new JooqPricingRuleRepository(dsl,
+                        Mappers.getMapper(PricingRuleRecordMapper.class)));
+
+        var subwallets = new AtomicLong();
+        EscrowPort escrowPort = mock(EscrowPort.class, withSettings().stubOnly());
+        when(escrowPort.generateDepositAddress(any(), anyLong())).thenAnswer(invocation ->
+                new DepositAddressInfo("0:benchmark-" + invocation.getArgument(0),
+                        subwallets.incrementAndGet()));
+
+        transitionService = new CountingTransitionService(dealRepository, eventRepository,
+                outboxRepository, jsonFacade);
+        dealService = new DealService(
+                dealRepository,
+                eventRepository,
+                mock(DealAuthorizationPort.class, withSettings().stubOnly()),
+                transitionService,
+                mock(ChannelAutoSyncPort.class, withSettings().stubOnly()),
+                channelRepository,
+                escrowPort,
+                mock(CreativeRepository.class, withSettings().stubOnly()),
+                Mappers.getMapper(DealDtoMapper.class),
+                jsonFacade);
+        actors = new DealActorRuntime(metrics, new DealActorProperties(true, DEAL_COUNT));
+        workflowEngine = new DealWorkflowEngine(
+                dealRepository,
+                transitionService,
+                escrowPort,
+                mock(DepositPort.class, withSettings().stubOnly()),
+                outboxRepository,
+                channelRepository,
+                jsonFacade,
+                mock(DealDeadlineScheduler.class, withSettings().stubOnly()),
+                actors);
+
+        var kafkaTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<String, String>(
+                Map.of(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG,
+                        SharedContainers.kafkaBootstrapServers(),
+                        ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class,
+                        ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class)));
+        outboxPoller = new OutboxPoller(outboxRepository, new KafkaOutboxPublisher(kafkaTemplate),
+                new OutboxProperties(Duration.ofMillis(OUTBOX_POLL_MILLIS), 500, 3,
+                        null, null, 0),
+                metrics);
+    }
+
+    private void report(long driverNanos, long elapsedNanos) {
+        long applied = transitionService.applied.get();
+        long attempted = transitionService.attempted.get();
+        long conflicts = transitionService.conflicts.get();
+        log.info("Deal lifecycle benchmark: deals={}, concurrency={}, driver={}ms, total={}ms,"
+                        + " throughput={} transitions/s, {} deals/s",
+                DEAL_COUNT, CONCURRENCY,
+                TimeUnit.NANOSECONDS.toMillis(driverNanos),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                String.format("%.1f", applied / (elapsedNanos / 1_000_000_000.0)),
+                String.format("%.1f", DEAL_COUNT / (elapsedNanos / 1_000_000_000.0)));
+        log.info("Deal lifecycle conflicts: attempted={}, applied={}, lost races={} ({}%)",
+                attempted, applied, conflicts,
+                String.format("%.2f", attempted == 0 ? 0.0 : 100.0 * conflicts / attempted));
+
+        var outboxLag = dsl.select(
+                        DSL.percentileCont(0.5).withinGroupOrderBy(lagMillis()),
+                        DSL.percentileCont(0.99).withinGroupOrderBy(lagMillis()),
+                        DSL.max(lagMillis()))
+                .from(NOTIFICATION_OUTBOX)
+                .where(NOTIFICATION_OUTBOX.STATUS.eq(OutboxStatus.DELIVERED.name()))
+                .fetchOne();
+        log.info("Outbox lag (created → delivered): p50={}ms, p99={}ms, max={}ms",
+                outboxLag.value1(), outboxLag.value2(), outboxLag.value3());
+        logPercentiles("Consumer lag (event → workflow)", consumerLag);
+        for (var stage : Stage.values()) {
+            logPercentiles("Stage " + stage, stageLatencies.get(stage));
+        }
+    }
+
+    private static Field<BigDecimal> lagMillis() {
+        return DSL.extract(NOTIFICATION_OUTBOX.PROCESSED_AT, DatePart.EPOCH)
+                .minus(DSL.extract(NOTIFICATION_OUTBOX.CREATED_AT, DatePart.EPOCH))
+                .mul(1000);
+    }
+
+    private static void logPercentiles(String label, Queue<Long> nanos) {
+        long[] sorted = Percentiles.sorted(nanos);
+        if (sorted.length == 0) {
+            return;
+        }
+        log.info("{}: n={}, p50={}us, p95={}us, p99={}us, max={}us",
+                label, sorted.length, Percentiles.micros(sorted, 0.50),
+                Percentiles.micros(sorted, 0.95), Percentiles.micros(sorted, 0.99),
+                Percentiles.micros(sorted, 1.0));
+    }
+
+    /**
+     * Counts transition attempts and those that lost a race to another writer.
+     */
+    private static final class CountingTransitionService extends DealTransitionService {
+
+        private final AtomicLong attempted = new AtomicLong();
+        private final AtomicLong applied = new AtomicLong();
+        private final AtomicLong conflicts = new AtomicLong();
+
+        CountingTransitionService(JooqDealRepository dealRepository,
+                                  JooqDealEventRepository eventRepository,
+                                  JooqOutboxRepository outboxRepository,
+                                  JsonFacade jsonFacade) {
+            super(dealRepository, eventRepository, outboxRepository, jsonFacade, true);
+        }
+
+        @Override
+        public DealTransitionResult transition(DealTransitionCommand command) {
+            attempted.incrementAndGet();
+            try {
+                var result = super.transition(command);
+                if (result instanceof DealTransitionResult.Success) {
+                    applied.incrementAndGet();
+                } else {
+                    conflicts.incrementAndGet();
+                }
+                return result;
+            } catch (InvalidStateTransitionException ex) {
+                conflicts.incrementAndGet();
+                throw ex;
+            }
+        }
+    }
+}
@@ -1,21 +1,26 @@
 package com.advertmarket.integration.deal;
 
 import static com.advertmarket.db.generated.tables.DealEvents.DEAL_EVENTS;
+import static com.advertmarket.db.generated.tables.DealStatusCounters.DEAL_STATUS_COUNTERS;
 import static com.advertmarket.db.generated.tables.Deals.DEALS;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.advertmarket.deal.api.dto.DealDto;
 import com.advertmarket.deal.api.dto.DealEventRecord;
 import com.advertmarket.deal.api.dto.DealListCriteria;
 import com.advertmarket.deal.api.dto.DealRecord;
+import com.advertmarket.deal.api.dto.DealStatusCount;
 import com.advertmarket.deal.mapper.DealEventRecordMapper;
 import com.advertmarket.deal.mapper.DealRecordMapper;
 import com.advertmarket.deal.repository.JooqDealEventRepository;
 import com.advertmarket.deal.repository.JooqDealRepository;
 import com.advertmarket.integration.support.DatabaseSupport;
 import com.advertmarket.integration.support.TestDataFactory;
+import com.advertmarket.shared.model.ActorType;
 import com.advertmarket.shared.model.DealId;
 import com.advertmarket.shared.model.DealStatus;
 import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.UUID;
 import org.jooq.DSLContext;
 import org.junit.jupiter.api.BeforeAll;
@@ -64,15 +69,26 @@ class DealLifecycleIt {
     }
 
     private DealRecord createDraft(DealId dealId) {
+        return createDraft(dealId, ADVERTISER_ID, OWNER_ID);
+    }
+
+    private DealRecord createDraft(DealId dealId, long advertiserId, long ownerId) {
         var now = Instant.now();
         return new DealRecord(
-                dealId.value(), CHANNEL_ID, ADVERTISER_ID, OWNER_ID, null,
+                dealId.value(), CHANNEL_ID, advertiserId, ownerId, null,
                 DealStatus.DRAFT, ONE_TON_NANO, COMMISSION_RATE_BP, COMMISSION_NANO,
                 null, null, null, null, null, null,
                 null, null, null, null, null, null, null, null,
                 0, now, now);
     }
 
+    private void backdate(DealId dealId, Instant createdAt) {
+        dsl.update(DEALS)
+                .set(DEALS.CREATED_AT, createdAt.atOffset(ZoneOffset.UTC))
+                .where(DEALS.ID.eq(dealId.value()))
+                .execute();
+    }
+
     @Nested
     @DisplayName("DealRepository")
     class DealRepositoryTests {
@@ -175,7 +191,69 @@ class DealLifecycleIt {
             var result = dealRepo.listByUser(ADVERTISER_ID, draftOnly);
 
             assertThat(result).hasSize(1);
-            assertThat(result.getFirst().id()).isEqualTo(deal2.value());
+            assertThat(result.getFirst().id()).isEqualTo(deal2);
+        }
+
+        @Test
+        @DisplayName("listByUser should page newest first across both roles")
+        void listByUser_shouldPageAcrossRoles() {
+            TestDataFactory.upsertUser(dsl, OTHER_USER_ID);
+            var base = Instant.now().minusSeconds(60);
+            var asAdvertiser = DealId.generate();
+            var asOwner = DealId.generate();
+            var unrelated = DealId.generate();
+            dealRepo.insert(createDraft(asAdvertiser, ADVERTISER_ID, OTHER_USER_ID));
+            dealRepo.insert(createDraft(asOwner, OTHER_USER_ID, ADVERTISER_ID));
+            dealRepo.insert(createDraft(unrelated, OWNER_ID, OTHER_USER_ID));
+            backdate(asAdvertiser, base.plusSeconds(2));
+            backdate(asOwner, base.plusSeconds(1));
+            backdate(unrelated, base.plusSeconds(3));
+
+            var first = dealRepo.listByUser(ADVERTISER_ID, new DealListCriteria(null, null, 1));
+            var cursor = JooqDealRepository.buildCursor(first.getFirst());
+            var second = dealRepo.listByUser(ADVERTISER_ID,
+                    new DealListCriteria(null, cursor, 1));
+            var third = dealRepo.listByUser(ADVERTISER_ID,
+                    new DealListCriteria(null,
+                            JooqDealRepository.buildCursor(second.getFirst()), 1));
+
+            assertThat(first).extracting(DealDto::id).containsExactly(asAdvertiser);
+            assertThat(second).extracting(DealDto::id).containsExactly(asOwner);
+            assertThat(third).isEmpty();
+        }
+
+        @Test
+        @DisplayName("status counters should follow inserts and transitions")
+        void statusCounters_shouldFollowWrites() {
+            var deal1 = DealId.generate();
+            var deal2 = DealId.generate();
+            dealRepo.insert(createDraft(deal1));
+            dealRepo.insert(createDraft(deal2));
+            dealRepo.updateStatus(deal1, DealStatus.DRAFT,
+                    DealStatus.OFFER_PENDING, 0);
+
+            assertThat(dealRepo.countByStatus(ADVERTISER_ID)).containsExactly(
+                    new DealStatusCount(ActorType.ADVERTISER, DealStatus.DRAFT, 1),
+                    new DealStatusCount(ActorType.ADVERTISER, DealStatus.OFFER_PENDING, 1));
+            assertThat(dealRepo.countByStatus(OWNER_ID)).containsExactly(
+                    new DealStatusCount(ActorType.CHANNEL_OWNER, DealStatus.DRAFT, 1),
+                    new DealStatusCount(ActorType.CHANNEL_OWNER, DealStatus.OFFER_PENDING, 1));
+            assertThat(dealRepo.countByStatus(OTHER_USER_ID)).isEmpty();
+        }
+
+        @Test
+        @DisplayName("repairStatusCounters should correct drifted counters")
+        void repairStatusCounters_shouldCorrectDrift() {
+            dealRepo.insert(createDraft(DealId.generate()));
+            dsl.update(DEAL_STATUS_COUNTERS)
+                    .set(DEAL_STATUS_COUNTERS.DEAL_COUNT, 5L)
+                    .where(DEAL_STATUS_COUNTERS.USER_ID.eq(ADVERTISER_ID))
+                    .execute();
+
+            assertThat(dealRepo.repairStatusCounters()).isEqualTo(1);
+            assertThat(dealRepo.repairStatusCounters()).isZero();
+            assertThat(dealRepo.countByStatus(ADVERTISER_ID)).containsExactly(
+                    new DealStatusCount(ActorType.ADVERTISER, DealStatus.DRAFT, 1));
         }
 
         @Test
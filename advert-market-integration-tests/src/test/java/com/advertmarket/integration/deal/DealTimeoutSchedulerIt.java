@@ -10,6 +10,7 @@ import com.advertmarket.deal.mapper.DealEventRecordMapper;
 import com.advertmarket.deal.mapper.DealRecordMapper;
 import com.advertmarket.deal.repository.JooqDealEventRepository;
 import com.advertmarket.deal.repository.JooqDealRepository;
+import com.advertmarket.deal.service.DealDeadlineScheduler;
 import com.advertmarket.deal.service.DealTimeoutScheduler;
 import com.advertmarket.deal.service.DealTransitionService;
 import com.advertmarket.integration.support.DatabaseSupport;
@@ -47,6 +48,7 @@ class DealTimeoutSchedulerIt {
 
     private JooqDealRepository dealRepository;
     private DealTimeoutScheduler scheduler;
+    private DealDeadlineScheduler deadlineScheduler;
 
     @BeforeAll
     static void initDatabase() {
@@ -87,7 +89,10 @@ class DealTimeoutSchedulerIt {
                 Duration.ofHours(168),
                 Duration.ofMinutes(5),
                 50,
-                Duration.ofMinutes(2));
+                Duration.ofMinutes(2),
+                new DealTimeoutProperties.Wheel(true, Duration.ofSeconds(1), 16,
+                        Duration.ofSeconds(30), Duration.ofSeconds(10),
+                        Duration.ofMinutes(15), 100));
 
         scheduler = new DealTimeoutScheduler(
                 dealRepository,
@@ -97,6 +102,12 @@ class DealTimeoutSchedulerIt {
                 jsonFacade,
                 metrics,
                 props);
+        deadlineScheduler = new DealDeadlineScheduler(
+                dealRepository,
+                scheduler,
+                lockPort,
+                metrics,
+                props);
     }
 
     @Test
@@ -126,6 +137,25 @@ class DealTimeoutSchedulerIt {
         assertThat(currentDeadline(dealId)).isNull();
     }
 
+    @Test
+    @DisplayName("Should expire deal from deadline wheel without waiting for grace period")
+    void shouldExpireFromDeadlineWheel() {
+        var dealId = insertDeal(
+                DealStatus.OFFER_PENDING,
+                Instant.now().minus(Duration.ofSeconds(1)));
+        var completedId = insertDeal(
+                DealStatus.COMPLETED_RELEASED,
+                Instant.now().minus(Duration.ofSeconds(1)));
+
+        deadlineScheduler.refresh();
+        deadlineScheduler.fireDue();
+
+        assertThat(currentStatus(dealId)).isEqualTo(DealStatus.EXPIRED);
+        assertThat(currentDeadline(dealId)).isNull();
+        assertThat(currentStatus(completedId)).isEqualTo(DealStatus.COMPLETED_RELEASED);
+        deadlineScheduler.releaseLeases();
+    }
+
     private UUID insertDeal(DealStatus status, Instant deadlineAt) {
         var dealId = UUID.randomUUID();
         dsl.insertInto(DEALS)
@@ -0,0 +1,223 @@
+package com.advertmarket.integration.deal;
+
+import static com.advertmarket.db.generated.tables.DealEvents.DEAL_EVENTS;
+import static com.advertmarket.db.generated.tables.Deals.DEALS;
+import static com.advertmarket.db.generated.tables.NotificationOutbox.NOTIFICATION_OUTBOX;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.advertmarket.app.outbox.JooqOutboxRepository;
+import com.advertmarket.deal.api.dto.DealTransitionCommand;
+import com.advertmarket.deal.api.dto.DealTransitionResult;
+import com.advertmarket.deal.mapper.DealEventRecordMapper;
+import com.advertmarket.deal.mapper.DealRecordMapper;
+import com.advertmarket.deal.repository.JooqDealEventRepository;
+import com.advertmarket.deal.repository.JooqDealRepository;
+import com.advertmarket.deal.service.DealTransitionService;
+import com.advertmarket.integration.support.DatabaseSupport;
+import com.advertmarket.integration.support.Percentiles;
+import com.advertmarket.integration.support.SharedContainers;
+import com.advertmarket.integration.support.TestDataFactory;
+import com.advertmarket.shared.json.JsonFacade;
+import com.advertmarket.shared.model.ActorType;
+import com.advertmarket.shared.model.DealId;
+import com.advertmarket.shared.model.DealStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DataSourceConnectionProvider;
+import org.jooq.impl.DefaultConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Throughput benchmark of the deal transition write path.
+ *
+ * <p>Drives the same workload through the multi-statement path (read,
+ * CAS update, event append, outbox insert) and the single-statement path
+ * ({@code JooqDealRepository#applyTransition}) against real Postgres.
+ * Each deal goes OFFER_PENDING → ACCEPTED → AWAITING_PAYMENT → FUNDED →
+ * CREATIVE_SUBMITTED, one transaction per transition as in the workflow
+ * engine, with deals processed concurrently.
+ *
+ * <p>Tagged {@code benchmark}; run with
+ * {@code ./gradlew :advert-market-integration-tests:benchmarkTest
+ * -PrunIntegrationTests=true -Dbenchmark.deals=5000}.
+ */
+@Slf4j
+@Tag("benchmark")
+@DisplayName("Deal transition write path — benchmark")
+class DealTransitionBenchmarkIntegrationTest {
+
+    private static final int DEALS = Integer.getInteger("benchmark.deals", 2_000);
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 32);
+
+    private static final long ADVERTISER_ID = 9_300L;
+    private static final long OWNER_ID = 9_400L;
+    private static final long CHANNEL_ID = -100_9300L;
+
+    private static final List<Step> STEPS = List.of(
+            new Step(DealStatus.ACCEPTED, ActorType.CHANNEL_OWNER, OWNER_ID),
+            new Step(DealStatus.AWAITING_PAYMENT, ActorType.SYSTEM, null),
+            new Step(DealStatus.FUNDED, ActorType.SYSTEM, null),
+            new Step(DealStatus.CREATIVE_SUBMITTED, ActorType.CHANNEL_OWNER, OWNER_ID));
+
+    private record Step(DealStatus target, ActorType actorType, Long actorId) {
+    }
+
+    private HikariDataSource dataSource;
+    private DSLContext dsl;
+    private TransactionTemplate transactions;
+
+    @BeforeAll
+    static void initDatabase() {
+        DatabaseSupport.ensureMigrated();
+    }
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(SharedContainers.pgJdbcUrl());
+        dataSource.setUsername(SharedContainers.pgUsername());
+        dataSource.setPassword(SharedContainers.pgPassword());
+        dataSource.setMaximumPoolSize(CONCURRENCY + 4);
+        dsl = DSL.using(new DefaultConfiguration()
+                .set(new DataSourceConnectionProvider(
+                        new TransactionAwareDataSourceProxy(dataSource)))
+                .set(SQLDialect.POSTGRES));
+        transactions = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        DatabaseSupport.cleanAllTables(dsl);
+        TestDataFactory.upsertUser(dsl, ADVERTISER_ID);
+        TestDataFactory.upsertUser(dsl, OWNER_ID);
+        TestDataFactory.insertChannelWithOwner(dsl, CHANNEL_ID, OWNER_ID);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.close();
+    }
+
+    @Test
+    @DisplayName("Should drive every deal through the same transitions on both write paths")
+    void compareWritePaths() {
+        var multiStatement = run("multi-statement", service(false));
+        var singleStatement = run("single-statement", service(true));
+
+        log.info("Deal transition benchmark: single-statement speedup={}x",
+                String.format("%.2f", singleStatement / multiStatement));
+        assertThat(dsl.fetchCount(DEAL_EVENTS)).isEqualTo(2 * DEALS * STEPS.size());
+        assertThat(dsl.fetchCount(NOTIFICATION_OUTBOX)).isEqualTo(2 * DEALS * STEPS.size());
+        assertThat(dsl.fetchCount(DEALS,
+                DEALS.STATUS.eq(DealStatus.CREATIVE_SUBMITTED.name()))).isEqualTo(2 * DEALS);
+    }
+
+    private DealTransitionService service(boolean singleStatement) {
+        var objectMapper = new ObjectMapper().findAndRegisterModules();
+        return new DealTransitionService(
+                new JooqDealRepository(dsl, Mappers.getMapper(DealRecordMapper.class)),
+                new JooqDealEventRepository(dsl,
+                        Mappers.getMapper(DealEventRecordMapper.class)),
+                new JooqOutboxRepository(dsl),
+                new JsonFacade(objectMapper),
+                singleStatement);
+    }
+
+    private double run(String mode, DealTransitionService service) {
+        var dealIds = insertDeals();
+        Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        var failures = new AtomicInteger();
+        var permits = new Semaphore(CONCURRENCY);
+        long start = System.nanoTime();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var dealId : dealIds) {
+                executor.submit(() -> bounded(permits, failures, () -> {
+                    for (var step : STEPS) {
+                        long began = System.nanoTime();
+                        var result = transactions.execute(_ -> service.transition(
+                                new DealTransitionCommand(DealId.of(dealId), step.target(),
+                                        step.actorId(), step.actorType(),
+                                        null, null, null)));
+                        latencies.add(System.nanoTime() - began);
+                        assertThat(result).isInstanceOf(DealTransitionResult.Success.class);
+                    }
+                }));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertThat(failures).hasValue(0);
+        return report(mode, elapsed, latencies);
+    }
+
+    // CHECKSTYLE.OFF: IllegalCatch
+    private static void bounded(Semaphore permits, AtomicInteger failures, Runnable task) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            task.run();
+        } catch (RuntimeException | AssertionError ex) {
+            failures.incrementAndGet();
+            log.warn("Benchmark task failed", ex);
+        } finally {
+            permits.release();
+        }
+    }
+    // CHECKSTYLE.ON: IllegalCatch
+
+    private List<UUID> insertDeals() {
+        var dealIds = new ArrayList<UUID>(DEALS);
+        for (int i = 0; i < DEALS; i++) {
+            dealIds.add(UUID.randomUUID());
+        }
+        var insert = dsl.insertInto(DEALS, DEALS.ID, DEALS.CHANNEL_ID, DEALS.ADVERTISER_ID,
+                DEALS.OWNER_ID, DEALS.STATUS, DEALS.AMOUNT_NANO, DEALS.COMMISSION_RATE_BP,
+                DEALS.COMMISSION_NANO);
+        for (var dealId : dealIds) {
+            insert = insert.values(dealId, CHANNEL_ID, ADVERTISER_ID, OWNER_ID,
+                    DealStatus.OFFER_PENDING.name(), 1_000_000_000L, 1_000, 100_000_000L);
+        }
+        insert.execute();
+        return dealIds;
+    }
+
+    private static double report(String mode, long elapsedNanos, Queue<Long> latencies) {
+        long[] sorted = Percentiles.sorted(latencies);
+        double throughput = sorted.length / (elapsedNanos / 1_000_000_000.0);
+        log.info("Deal transition benchmark [{}]: deals={}, transitions={}, concurrency={},"
+                        + " total={}ms, throughput={} transitions/s",
+                mode, DEALS, sorted.length, CONCURRENCY,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                String.format("%.1f", throughput));
+        if (sorted.length > 0) {
+            log.info("Deal transition latency [{}]: p50={}us, p95={}us, p99={}us, max={}us",
+                    mode, Percentiles.micros(sorted, 0.50), Percentiles.micros(sorted, 0.95),
+                    Percentiles.micros(sorted, 0.99), Percentiles.micros(sorted, 1.0));
+        }
+        return throughput;
+    }
+}
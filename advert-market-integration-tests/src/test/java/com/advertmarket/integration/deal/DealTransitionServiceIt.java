@@ -0,0 +1,249 @@
+package com.advertmarket.integration.deal;
+
+import static com.advertmarket.db.generated.tables.DealEvents.DEAL_EVENTS;
+import static com.advertmarket.db.generated.tables.Deals.DEALS;
+import static com.advertmarket.db.generated.tables.NotificationOutbox.NOTIFICATION_OUTBOX;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.advertmarket.app.outbox.JooqOutboxRepository;
+import com.advertmarket.deal.api.dto.DealBulkTransitionOutcome;
+import com.advertmarket.deal.api.dto.DealBulkTransitionWrite;
+import com.advertmarket.deal.api.dto.DealTransitionCommand;
+import com.advertmarket.deal.api.dto.DealTransitionResult;
+import com.advertmarket.deal.mapper.DealEventRecordMapper;
+import com.advertmarket.deal.mapper.DealRecordMapper;
+import com.advertmarket.deal.repository.JooqDealEventRepository;
+import com.advertmarket.deal.repository.JooqDealRepository;
+import com.advertmarket.deal.service.DealTransitionService;
+import com.advertmarket.integration.support.DatabaseSupport;
+import com.advertmarket.integration.support.TestDataFactory;
+import com.advertmarket.shared.event.TopicNames;
+import com.advertmarket.shared.exception.EntityNotFoundException;
+import com.advertmarket.shared.exception.ErrorCodes;
+import com.advertmarket.shared.exception.InvalidStateTransitionException;
+import com.advertmarket.shared.json.JsonFacade;
+import com.advertmarket.shared.model.ActorType;
+import com.advertmarket.shared.model.DealId;
+import com.advertmarket.shared.model.DealStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.UUID;
+import org.jooq.DSLContext;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+
+@DisplayName("DealTransitionService single-statement write — integration")
+class DealTransitionServiceIt {
+
+    private static final long ADVERTISER_ID = 301L;
+    private static final long OWNER_ID = 302L;
+    private static final long CHANNEL_ID = -1001234500301L;
+    private static final long AMOUNT_NANO = 2_500_000_000L;
+
+    private static DSLContext dsl;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private DealTransitionService service;
+
+    @BeforeAll
+    static void initDatabase() {
+        DatabaseSupport.ensureMigrated();
+        dsl = DatabaseSupport.dsl();
+    }
+
+    @BeforeEach
+    void setUp() {
+        DatabaseSupport.cleanAllTables(dsl);
+        TestDataFactory.upsertUser(dsl, ADVERTISER_ID);
+        TestDataFactory.upsertUser(dsl, OWNER_ID);
+        TestDataFactory.insertChannelWithOwner(dsl, CHANNEL_ID, OWNER_ID);
+
+        service = newService(DealTransitionService.DEFAULT_BULK_CHUNK_SIZE);
+    }
+
+    private DealTransitionService newService(int bulkChunkSize) {
+        return new DealTransitionService(
+                new JooqDealRepository(dsl, Mappers.getMapper(DealRecordMapper.class)),
+                new JooqDealEventRepository(dsl,
+                        Mappers.getMapper(DealEventRecordMapper.class)),
+                new JooqOutboxRepository(dsl),
+                new JsonFacade(objectMapper),
+                true,
+                bulkChunkSize);
+    }
+
+    @Test
+    @DisplayName("Should write status, event and outbox entry with values from the deal row")
+    void shouldWriteAllRows() throws Exception {
+        var dealId = insertDeal(DealStatus.OFFER_PENDING);
+
+        var result = service.transition(new DealTransitionCommand(
+                DealId.of(dealId), DealStatus.ACCEPTED, OWNER_ID,
+                ActorType.CHANNEL_OWNER, null, null, null));
+
+        assertThat(result).isEqualTo(new DealTransitionResult.Success(DealStatus.ACCEPTED));
+        var deal = dsl.selectFrom(DEALS).where(DEALS.ID.eq(dealId)).fetchOne();
+        assertThat(deal.getStatus()).isEqualTo(DealStatus.ACCEPTED.name());
+        assertThat(deal.getVersion()).isEqualTo(1);
+
+        var event = dsl.selectFrom(DEAL_EVENTS).where(DEAL_EVENTS.DEAL_ID.eq(dealId)).fetchOne();
+        assertThat(event.getFromStatus()).isEqualTo(DealStatus.OFFER_PENDING.name());
+        assertThat(event.getToStatus()).isEqualTo(DealStatus.ACCEPTED.name());
+        assertThat(event.getActorId()).isEqualTo(OWNER_ID);
+        assertThat(event.getActorType()).isEqualTo(ActorType.CHANNEL_OWNER.name());
+
+        var outbox = dsl.selectFrom(NOTIFICATION_OUTBOX)
+                .where(NOTIFICATION_OUTBOX.DEAL_ID.eq(dealId))
+                .fetchOne();
+        assertThat(outbox.getTopic()).isEqualTo(TopicNames.DEAL_STATE_CHANGED);
+        assertThat(outbox.getPartitionKey()).isEqualTo(dealId.toString());
+        assertThat(outbox.getStatus()).isEqualTo("PENDING");
+        JsonNode payload = objectMapper.readTree(outbox.getPayload().data()).get("payload");
+        assertThat(payload.get("fromStatus").asText()).isEqualTo("OFFER_PENDING");
+        assertThat(payload.get("toStatus").asText()).isEqualTo("ACCEPTED");
+        assertThat(payload.get("dealAmountNano").asLong()).isEqualTo(AMOUNT_NANO);
+        assertThat(payload.get("channelId").asLong()).isEqualTo(CHANNEL_ID);
+        assertThat(payload.get("actorId").asLong()).isEqualTo(OWNER_ID);
+        assertThat(payload.get("dealVersion").asInt()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should persist the cancellation reason")
+    void shouldPersistCancellationReason() {
+        var dealId = insertDeal(DealStatus.OFFER_PENDING);
+
+        service.transition(new DealTransitionCommand(
+                DealId.of(dealId), DealStatus.CANCELLED, ADVERTISER_ID,
+                ActorType.ADVERTISER, "Changed my mind", null, null));
+
+        var deal = dsl.selectFrom(DEALS).where(DEALS.ID.eq(dealId)).fetchOne();
+        assertThat(deal.getStatus()).isEqualTo(DealStatus.CANCELLED.name());
+        assertThat(deal.getCancellationReason()).isEqualTo("Changed my mind");
+    }
+
+    @Test
+    @DisplayName("Should write nothing when the transition is rejected")
+    void shouldWriteNothingWhenRejected() {
+        var dealId = insertDeal(DealStatus.DRAFT);
+
+        assertThatThrownBy(() -> service.transition(new DealTransitionCommand(
+                DealId.of(dealId), DealStatus.FUNDED, null,
+                ActorType.SYSTEM, null, null, null)))
+                .isInstanceOf(InvalidStateTransitionException.class);
+
+        var deal = dsl.selectFrom(DEALS).where(DEALS.ID.eq(dealId)).fetchOne();
+        assertThat(deal.getStatus()).isEqualTo(DealStatus.DRAFT.name());
+        assertThat(deal.getVersion()).isZero();
+        assertThat(dsl.fetchCount(DEAL_EVENTS, DEAL_EVENTS.DEAL_ID.eq(dealId))).isZero();
+        assertThat(dsl.fetchCount(NOTIFICATION_OUTBOX,
+                NOTIFICATION_OUTBOX.DEAL_ID.eq(dealId))).isZero();
+    }
+
+    @Test
+    @DisplayName("Should report AlreadyInTargetState without writing")
+    void shouldBeIdempotent() {
+        var dealId = insertDeal(DealStatus.ACCEPTED);
+
+        var result = service.transition(new DealTransitionCommand(
+                DealId.of(dealId), DealStatus.ACCEPTED, OWNER_ID,
+                ActorType.CHANNEL_OWNER, null, null, null));
+
+        assertThat(result).isEqualTo(
+                new DealTransitionResult.AlreadyInTargetState(DealStatus.ACCEPTED));
+        assertThat(dsl.fetchCount(DEAL_EVENTS, DEAL_EVENTS.DEAL_ID.eq(dealId))).isZero();
+    }
+
+    @Test
+    @DisplayName("Should throw EntityNotFoundException for a missing deal")
+    void shouldThrowForMissingDeal() {
+        assertThatThrownBy(() -> service.transition(new DealTransitionCommand(
+                DealId.generate(), DealStatus.ACCEPTED, OWNER_ID,
+                ActorType.CHANNEL_OWNER, null, null, null)))
+                .isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should apply bulk transitions chunk by chunk and report each deal")
+    void shouldTransitionInBulk() throws Exception {
+        var cancelled = insertDeal(DealStatus.OFFER_PENDING);
+        var expired = insertDeal(DealStatus.NEGOTIATING);
+        var invalid = insertDeal(DealStatus.DRAFT);
+        var already = insertDeal(DealStatus.EXPIRED);
+        var missing = UUID.randomUUID();
+
+        var outcomes = newService(2).transitionAll(List.of(
+                new DealTransitionCommand(DealId.of(cancelled), DealStatus.CANCELLED,
+                        ADVERTISER_ID, ActorType.ADVERTISER, "Abandoned", null, null),
+                expire(expired), expire(invalid), expire(already), expire(missing)));
+
+        assertThat(outcomes).extracting(DealBulkTransitionOutcome::result).containsExactly(
+                new DealTransitionResult.Success(DealStatus.CANCELLED),
+                new DealTransitionResult.Success(DealStatus.EXPIRED),
+                null,
+                new DealTransitionResult.AlreadyInTargetState(DealStatus.EXPIRED),
+                null);
+        assertThat(outcomes).extracting(DealBulkTransitionOutcome::errorCode).containsExactly(
+                null, null, ErrorCodes.INVALID_STATE_TRANSITION, null, ErrorCodes.DEAL_NOT_FOUND);
+
+        var cancelledDeal = dsl.selectFrom(DEALS).where(DEALS.ID.eq(cancelled)).fetchOne();
+        assertThat(cancelledDeal.getStatus()).isEqualTo(DealStatus.CANCELLED.name());
+        assertThat(cancelledDeal.getCancellationReason()).isEqualTo("Abandoned");
+        assertThat(cancelledDeal.getVersion()).isEqualTo(1);
+        assertThat(dsl.fetchCount(DEAL_EVENTS)).isEqualTo(2);
+        assertThat(dsl.fetchCount(NOTIFICATION_OUTBOX)).isEqualTo(2);
+        assertThat(dsl.selectFrom(DEALS).where(DEALS.ID.eq(invalid)).fetchOne().getStatus())
+                .isEqualTo(DealStatus.DRAFT.name());
+
+        var event = dsl.selectFrom(DEAL_EVENTS).where(DEAL_EVENTS.DEAL_ID.eq(expired)).fetchOne();
+        assertThat(event.getFromStatus()).isEqualTo(DealStatus.NEGOTIATING.name());
+        assertThat(event.getToStatus()).isEqualTo(DealStatus.EXPIRED.name());
+        var outbox = dsl.selectFrom(NOTIFICATION_OUTBOX)
+                .where(NOTIFICATION_OUTBOX.DEAL_ID.eq(expired))
+                .fetchOne();
+        assertThat(outbox.getPartitionKey()).isEqualTo(expired.toString());
+        JsonNode payload = objectMapper.readTree(outbox.getPayload().data()).get("payload");
+        assertThat(payload.get("fromStatus").asText()).isEqualTo("NEGOTIATING");
+        assertThat(payload.get("channelId").asLong()).isEqualTo(CHANNEL_ID);
+        assertThat(payload.get("dealVersion").asInt()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should skip a bulk write whose deal changed after it was read")
+    void shouldSkipStaleBulkWrite() {
+        var dealId = insertDeal(DealStatus.OFFER_PENDING);
+        var repository = new JooqDealRepository(dsl, Mappers.getMapper(DealRecordMapper.class));
+        var write = new DealBulkTransitionWrite(DealId.of(dealId), DealStatus.OFFER_PENDING, 0,
+                DealStatus.EXPIRED, null, ActorType.SYSTEM, null, "{}", "{}");
+        dsl.update(DEALS).set(DEALS.VERSION, 1).where(DEALS.ID.eq(dealId)).execute();
+
+        assertThat(repository.applyTransitions(List.of(write))).isEmpty();
+        assertThat(dsl.fetchCount(DEAL_EVENTS, DEAL_EVENTS.DEAL_ID.eq(dealId))).isZero();
+        assertThat(dsl.fetchCount(NOTIFICATION_OUTBOX,
+                NOTIFICATION_OUTBOX.DEAL_ID.eq(dealId))).isZero();
+    }
+
+    private static DealTransitionCommand expire(UUID dealId) {
+        return new DealTransitionCommand(DealId.of(dealId), DealStatus.EXPIRED,
+                null, ActorType.SYSTEM, null, null, null);
+    }
+
+    private UUID insertDeal(DealStatus status) {
+        var dealId = UUID.randomUUID();
+        dsl.insertInto(DEALS)
+                .set(DEALS.ID, dealId)
+                .set(DEALS.CHANNEL_ID, CHANNEL_ID)
+                .set(DEALS.ADVERTISER_ID, ADVERTISER_ID)
+                .set(DEALS.OWNER_ID, OWNER_ID)
+                .set(DEALS.STATUS, status.name())
+                .set(DEALS.AMOUNT_NANO, AMOUNT_NANO)
+                .set(DEALS.COMMISSION_RATE_BP, 1000)
+                .set(DEALS.COMMISSION_NANO, 250_000_000L)
+                .execute();
+        return dealId;
+    }
+}
@@ -19,16 +19,16 @@ import org.springframework.data.redis.core.StringRedisTemplate;
 @DisplayName("UpdateDeduplicator integration with Redis")
 class UpdateDeduplicatorIntegrationTest {
 
+    private static final String WATERMARK_KEY = "tg:update:watermark";
+
     private StringRedisTemplate redisTemplate;
     private UpdateDeduplicator deduplicator;
 
     @BeforeEach
     void setUp() {
         redisTemplate = RedisSupport.redisTemplate();
-        deduplicator = new UpdateDeduplicator(
-                redisTemplate,
-                new DeduplicationProperties(Duration.ofHours(24)),
-                new MetricsFacade(new SimpleMeterRegistry()));
+        redisTemplate.delete(WATERMARK_KEY);
+        deduplicator = newDeduplicator();
     }
 
     @Test
@@ -52,18 +52,47 @@ class UpdateDeduplicatorIntegrationTest {
     }
 
     @Test
-    @DisplayName("Key is stored in Redis")
-    void keyIsStoredInRedis() {
+    @DisplayName("Watermark is stored in Redis with TTL")
+    void watermarkIsStoredWithTtl() {
         deduplicator.tryAcquire(300001);
-        String value = redisTemplate.opsForValue().get("tg:update:300001");
-        assertThat(value).isEqualTo("1");
+        deduplicator.syncWatermark();
+
+        assertThat(redisTemplate.opsForValue().get(WATERMARK_KEY))
+                .isEqualTo("299001");
+        assertThat(redisTemplate.getExpire(WATERMARK_KEY))
+                .isNotNull().isGreaterThan(0);
     }
 
     @Test
-    @DisplayName("Key has TTL set")
-    void keyHasTtl() {
+    @DisplayName("Watermark never moves backwards")
+    void watermarkNeverDecreases() {
         deduplicator.tryAcquire(400001);
-        Long ttl = redisTemplate.getExpire("tg:update:400001");
-        assertThat(ttl).isNotNull().isGreaterThan(0);
+        deduplicator.syncWatermark();
+        var other = newDeduplicator();
+        other.tryAcquire(350001);
+        other.syncWatermark();
+
+        assertThat(redisTemplate.opsForValue().get(WATERMARK_KEY))
+                .isEqualTo("399001");
+    }
+
+    @Test
+    @DisplayName("New instance rejects updates below the shared watermark")
+    void newInstanceAdoptsWatermark() {
+        deduplicator.tryAcquire(500001);
+        deduplicator.syncWatermark();
+
+        var restarted = newDeduplicator();
+
+        assertThat(restarted.tryAcquire(499001)).isFalse();
+        assertThat(restarted.tryAcquire(500001)).isTrue();
+    }
+
+    private UpdateDeduplicator newDeduplicator() {
+        return new UpdateDeduplicator(
+                redisTemplate,
+                new DeduplicationProperties(
+                        Duration.ofHours(24), 65_536, 1_000, Duration.ofSeconds(5)),
+                new MetricsFacade(new SimpleMeterRegistry()));
     }
 }
@@ -0,0 +1,378 @@
+package com.advertmarket.integration.financial;
+
+import static com.advertmarket.db.generated.tables.Deals.DEALS;
+import static com.advertmarket.db.generated.tables.TonTransactions.TON_TRANSACTIONS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.advertmarket.app.outbox.JooqOutboxRepository;
+import com.advertmarket.db.generated.tables.records.TonTransactionsRecord;
+import com.advertmarket.financial.api.event.ExecutePayoutCommand;
+import com.advertmarket.financial.config.NetworkFeeProperties;
+import com.advertmarket.financial.config.TonProperties;
+import com.advertmarket.financial.escrow.service.EscrowService;
+import com.advertmarket.financial.ledger.cache.RedisBalanceCache;
+import com.advertmarket.financial.ledger.mapper.LedgerEntryMapper;
+import com.advertmarket.financial.ledger.repository.JooqAccountBalanceRepository;
+import com.advertmarket.financial.ledger.repository.JooqLedgerRepository;
+import com.advertmarket.financial.ledger.service.LedgerService;
+import com.advertmarket.financial.ton.repository.JooqTonTransactionRepository;
+import com.advertmarket.financial.ton.service.ConfirmationPolicyService;
+import com.advertmarket.financial.ton.service.DepositWatcher;
+import com.advertmarket.financial.ton.service.PayoutExecutorWorker;
+import com.advertmarket.identity.api.port.UserRepository;
+import com.advertmarket.integration.support.DatabaseSupport;
+import com.advertmarket.integration.support.Percentiles;
+import com.advertmarket.integration.support.RedisSupport;
+import com.advertmarket.integration.support.SharedContainers;
+import com.advertmarket.integration.support.SimulatedTonWalletPort;
+import com.advertmarket.integration.support.TestDataFactory;
+import com.advertmarket.integration.support.TonChainSimulator;
+import com.advertmarket.shared.event.EventEnvelope;
+import com.advertmarket.shared.event.EventTypes;
+import com.advertmarket.shared.financial.CommissionCalculator;
+import com.advertmarket.shared.json.JsonFacade;
+import com.advertmarket.shared.lock.RedisDistributedLock;
+import com.advertmarket.shared.metric.MetricsFacade;
+import com.advertmarket.shared.model.DealId;
+import com.advertmarket.shared.model.Money;
+import com.advertmarket.shared.model.UserId;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DataSourceConnectionProvider;
+import org.jooq.impl.DefaultConfiguration;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.mapstruct.factory.Mappers;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.TransactionAwareDataSourceProxy;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+/**
+ * End-to-end throughput benchmark of the escrow pipeline.
+ *
+ * <p>Drives deals through deposit address generation, advertiser payment,
+ * {@link DepositWatcher} confirmation, {@link EscrowService} funding and
+ * release, and {@link PayoutExecutorWorker} payout against real Postgres
+ * and Redis. The chain is a {@link TonChainSimulator}, so block production
+ * is driven by the test and the run is reproducible.
+ *
+ * <p>Stages are invoked directly rather than through Kafka: the benchmark
+ * measures the financial pipeline, not broker round-trips.
+ *
+ * <p>Tagged {@code benchmark}; run with
+ * {@code ./gradlew :advert-market-integration-tests:benchmarkTest
+ * -PrunIntegrationTests=true -Dbenchmark.deals=5000}.
+ */
+@Slf4j
+@Tag("benchmark")
+@SpringJUnitConfig(classes = EscrowPipelineBenchmarkIntegrationTest.TestConfig.class)
+@DisplayName("Escrow pipeline — end-to-end benchmark")
+class EscrowPipelineBenchmarkIntegrationTest {
+
+    private static final int DEALS = Integer.getInteger("benchmark.deals", 2_000);
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 32);
+    private static final long CALL_LATENCY_MILLIS =
+            Long.getLong("benchmark.ton-latency-ms", 0L);
+    private static final Duration TIMEOUT = Duration.ofMinutes(15);
+
+    private static final long ADVERTISER_ID = 9_100L;
+    private static final long OWNER_ID = 9_200L;
+    private static final long CHANNEL_ID = -100_9100L;
+    private static final long DEAL_AMOUNT_NANO = 1_000_000_000L;
+    private static final int COMMISSION_RATE_BP = 1_000;
+    private static final String ADVERTISER_WALLET = "0:" + "a".repeat(64);
+    private static final String OWNER_WALLET = "0:" + "b".repeat(64);
+
+    @Autowired
+    private DSLContext dsl;
+
+    @Autowired
+    private TonChainSimulator chain;
+
+    @Autowired
+    private EscrowService escrowService;
+
+    @Autowired
+    private DepositWatcher depositWatcher;
+
+    @Autowired
+    private PayoutExecutorWorker payoutWorker;
+
+    @BeforeAll
+    static void initDatabase() {
+        DatabaseSupport.ensureMigrated();
+    }
+
+    @BeforeEach
+    void setUp() {
+        DatabaseSupport.cleanAllTables(DatabaseSupport.dsl());
+        RedisSupport.flushAll();
+        TestDataFactory.upsertUser(dsl, ADVERTISER_ID);
+        TestDataFactory.upsertUser(dsl, OWNER_ID);
+        TestDataFactory.insertChannelWithOwner(dsl, CHANNEL_ID, OWNER_ID);
+    }
+
+    @Test
+    @DisplayName("Should drive every deal from deposit to payout")
+    void depositToPayout() {
+        var dealIds = insertDeals();
+        Map<UUID, Long> paidAt = new ConcurrentHashMap<>();
+        Queue<Long> latencies = new ConcurrentLinkedQueue<>();
+        var failures = new AtomicInteger();
+        var permits = new Semaphore(CONCURRENCY);
+        long start = System.nanoTime();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (var dealId : dealIds) {
+                executor.submit(() -> bounded(permits, failures, () -> {
+                    var address = escrowService.generateDepositAddress(
+                            DealId.of(dealId), DEAL_AMOUNT_NANO);
+                    paidAt.put(dealId, System.nanoTime());
+                    chain.fund(address.depositAddress(), DEAL_AMOUNT_NANO,
+                            ADVERTISER_WALLET);
+                }));
+            }
+        }
+        long depositsQueued = System.nanoTime();
+
+        int blocks = 0;
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            long lastSeenId = 0;
+            int dispatched = 0;
+            long deadline = System.nanoTime() + TIMEOUT.toNanos();
+            while (dispatched < DEALS && System.nanoTime() < deadline) {
+                chain.produceBlock();
+                blocks++;
+                depositWatcher.pollDeposits();
+                for (var row : fetchConfirmedDeposits(lastSeenId)) {
+                    lastSeenId = row.getId();
+                    dispatched++;
+                    executor.submit(() -> bounded(permits, failures, () -> {
+                        settle(row);
+                        latencies.add(System.nanoTime()
+                                - paidAt.get(row.getDealId()));
+                    }));
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+
+        report(elapsed, depositsQueued - start, blocks, latencies);
+
+        chain.produceBlock();
+        chain.produceBlock();
+        var payout = CommissionCalculator.calculate(
+                Money.ofNano(DEAL_AMOUNT_NANO), COMMISSION_RATE_BP).ownerPayout();
+        assertThat(failures).hasValue(0);
+        assertThat(latencies).hasSize(DEALS);
+        assertThat(chain.droppedMessages()).isZero();
+        assertThat(chain.getAddressBalance(OWNER_WALLET))
+                .isEqualTo(payout.nanoTon() * DEALS);
+    }
+
+    private List<UUID> insertDeals() {
+        var ids = new ArrayList<UUID>(DEALS);
+        var insert = dsl.insertInto(DEALS, DEALS.ID, DEALS.CHANNEL_ID,
+                DEALS.ADVERTISER_ID, DEALS.OWNER_ID, DEALS.STATUS,
+                DEALS.AMOUNT_NANO, DEALS.COMMISSION_RATE_BP, DEALS.COMMISSION_NANO);
+        long commission = CommissionCalculator.calculate(
+                Money.ofNano(DEAL_AMOUNT_NANO), COMMISSION_RATE_BP).commission().nanoTon();
+        for (int i = 0; i < DEALS; i++) {
+            var id = UUID.randomUUID();
+            ids.add(id);
+            insert = insert.values(id, CHANNEL_ID, ADVERTISER_ID, OWNER_ID,
+                    "AWAITING_PAYMENT", DEAL_AMOUNT_NANO, COMMISSION_RATE_BP, commission);
+        }
+        insert.execute();
+        return ids;
+    }
+
+    private List<TonTransactionsRecord> fetchConfirmedDeposits(long afterId) {
+        return dsl.selectFrom(TON_TRANSACTIONS)
+                .where(TON_TRANSACTIONS.DIRECTION.eq("IN"))
+                .and(TON_TRANSACTIONS.STATUS.eq("CONFIRMED"))
+                .and(TON_TRANSACTIONS.ID.gt(afterId))
+                .orderBy(TON_TRANSACTIONS.ID)
+                .fetch();
+    }
+
+    private void settle(TonTransactionsRecord deposit) {
+        var dealId = DealId.of(deposit.getDealId());
+        long amount = deposit.getAmountNano();
+        escrowService.confirmDeposit(dealId, deposit.getTxHash(), amount, amount,
+                deposit.getConfirmations(), deposit.getFromAddress());
+        escrowService.releaseEscrow(dealId, new UserId(OWNER_ID), amount,
+                COMMISSION_RATE_BP);
+
+        var split = CommissionCalculator.calculate(Money.ofNano(amount), COMMISSION_RATE_BP);
+        payoutWorker.executePayout(EventEnvelope.create(EventTypes.EXECUTE_PAYOUT, dealId,
+                new ExecutePayoutCommand(OWNER_ID, split.ownerPayout().nanoTon(),
+                        split.commission().nanoTon(),
+                        deposit.getSubwalletId())));
+    }
+
+    // CHECKSTYLE.OFF: IllegalCatch
+    private static void bounded(Semaphore permits, AtomicInteger failures, Runnable task) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            task.run();
+        } catch (RuntimeException ex) {
+            failures.incrementAndGet();
+            log.warn("Benchmark task failed", ex);
+        } finally {
+            permits.release();
+        }
+    }
+    // CHECKSTYLE.ON: IllegalCatch
+
+    private static void report(long elapsedNanos, long depositPhaseNanos, int blocks,
+                               Queue<Long> latencies) {
+        long[] sorted = Percentiles.sorted(latencies);
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        log.info("Escrow pipeline benchmark: deals={}, concurrency={}, tonLatency={}ms,"
+                        + " blocks={}, depositPhase={}ms, total={}ms, throughput={} deals/s",
+                DEALS, CONCURRENCY, CALL_LATENCY_MILLIS, blocks,
+                TimeUnit.NANOSECONDS.toMillis(depositPhaseNanos),
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                String.format("%.1f", sorted.length / seconds));
+        if (sorted.length > 0) {
+            log.info("Escrow pipeline latency (payment sent -> payout submitted):"
+                            + " p50={}ms, p95={}ms, p99={}ms, max={}ms",
+                    Percentiles.millis(sorted, 0.50), Percentiles.millis(sorted, 0.95),
+                    Percentiles.millis(sorted, 0.99), Percentiles.millis(sorted, 1.0));
+        }
+    }
+
+    @Configuration
+    @EnableTransactionManagement
+    static class TestConfig {
+
+        @Bean(destroyMethod = "close")
+        HikariDataSource dataSource() {
+            var ds = new HikariDataSource();
+            ds.setJdbcUrl(SharedContainers.pgJdbcUrl());
+            ds.setUsername(SharedContainers.pgUsername());
+            ds.setPassword(SharedContainers.pgPassword());
+            ds.setMaximumPoolSize(CONCURRENCY + 4);
+            return ds;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(DataSource dataSource) {
+            return new DataSourceTransactionManager(dataSource);
+        }
+
+        @Bean
+        DSLContext dslContext(DataSource dataSource) {
+            var config = new DefaultConfiguration()
+                    .set(new DataSourceConnectionProvider(
+                            new TransactionAwareDataSourceProxy(dataSource)))
+                    .set(SQLDialect.POSTGRES);
+            return org.jooq.impl.DSL.using(config);
+        }
+
+        @Bean
+        MetricsFacade metricsFacade() {
+            return new MetricsFacade(new SimpleMeterRegistry());
+        }
+
+        @Bean
+        LedgerService ledgerService(DSLContext dsl, MetricsFacade metrics) {
+            return new LedgerService(
+                    new JooqLedgerRepository(dsl, Mappers.getMapper(LedgerEntryMapper.class)),
+                    new JooqAccountBalanceRepository(dsl),
+                    new RedisBalanceCache(RedisSupport.redisTemplate(), metrics,
+                            Duration.ofMinutes(5)),
+                    metrics);
+        }
+
+        @Bean
+        TonChainSimulator tonChainSimulator() {
+            return new TonChainSimulator(TonChainSimulator.Settings.defaults()
+                    .withMaxMessagesPerBlock(Math.max(1_000, DEALS))
+                    .withCallLatency(Duration.ofMillis(CALL_LATENCY_MILLIS)));
+        }
+
+        @Bean
+        JooqTonTransactionRepository tonTransactionRepository(DSLContext dsl) {
+            return new JooqTonTransactionRepository(dsl);
+        }
+
+        @Bean
+        RedisDistributedLock distributedLock(MetricsFacade metrics) {
+            return new RedisDistributedLock(RedisSupport.redisTemplate(), metrics);
+        }
+
+        @Bean
+        JsonFacade jsonFacade() {
+            return new JsonFacade(new ObjectMapper().findAndRegisterModules());
+        }
+
+        @Bean
+        EscrowService escrowService(TonChainSimulator chain, LedgerService ledger,
+                                    JooqTonTransactionRepository txRepository,
+                                    MetricsFacade metrics) {
+            return new EscrowService(new SimulatedTonWalletPort(chain), ledger,
+                    txRepository, metrics);
+        }
+
+        @Bean
+        DepositWatcher depositWatcher(TonChainSimulator chain, DSLContext dsl,
+                                      JooqTonTransactionRepository txRepository,
+                                      RedisDistributedLock lock, JsonFacade json,
+                                      MetricsFacade metrics) {
+            return new DepositWatcher(chain, txRepository,
+                    new ConfirmationPolicyService(new TonProperties.Confirmation()),
+                    new JooqOutboxRepository(dsl), lock, json, metrics,
+                    new TonProperties.Deposit(Duration.ofSeconds(10),
+                            Duration.ofMinutes(30), DEALS, 5));
+        }
+
+        @Bean
+        PayoutExecutorWorker payoutExecutorWorker(TonChainSimulator chain, DSLContext dsl,
+                                                  LedgerService ledger,
+                                                  JooqTonTransactionRepository txRepository,
+                                                  RedisDistributedLock lock, JsonFacade json,
+                                                  MetricsFacade metrics) {
+            var users = mock(UserRepository.class);
+            when(users.findTonAddress(any())).thenReturn(Optional.of(OWNER_WALLET));
+            return new PayoutExecutorWorker(new SimulatedTonWalletPort(chain), ledger,
+                    users, new JooqOutboxRepository(dsl), lock, json, metrics,
+                    txRepository, new NetworkFeeProperties(5_000_000L));
+        }
+    }
+}
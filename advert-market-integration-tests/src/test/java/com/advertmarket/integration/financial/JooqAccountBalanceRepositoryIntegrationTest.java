@@ -1,6 +1,7 @@
 package com.advertmarket.integration.financial;
 
 import static com.advertmarket.db.generated.tables.AccountBalances.ACCOUNT_BALANCES;
+import static com.advertmarket.db.generated.tables.LedgerEntries.LEDGER_ENTRIES;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -8,8 +9,13 @@ import com.advertmarket.financial.ledger.repository.JooqAccountBalanceRepository
 import com.advertmarket.integration.support.DatabaseSupport;
 import com.advertmarket.shared.model.AccountId;
 import com.advertmarket.shared.model.DealId;
+import com.advertmarket.shared.model.EntryType;
 import com.advertmarket.shared.model.UserId;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.OptionalLong;
+import java.util.UUID;
 import org.jooq.DSLContext;
 import org.jooq.exception.DataAccessException;
 import org.junit.jupiter.api.BeforeAll;
@@ -256,4 +262,63 @@ class JooqAccountBalanceRepositoryIntegrationTest {
             assertThat(balance).isEqualTo(750_000_000L);
         }
     }
+
+    @Nested
+    @DisplayName("findCommissionBalancesToSweep")
+    class FindCommissionBalancesToSweep {
+
+        private final Instant startOfDay = LocalDate.now(ZoneOffset.UTC)
+                .atStartOfDay(ZoneOffset.UTC).toInstant();
+
+        private AccountId commission(long n) {
+            return AccountId.commission(new DealId(new UUID(0L, n)));
+        }
+
+        @Test
+        @DisplayName("Should return only commission accounts above threshold not swept today")
+        void filtersEligibleAccounts() {
+            AccountId eligible = commission(1);
+            AccountId dust = commission(2);
+            AccountId sweptToday = commission(3);
+            repository.upsertBalanceUnchecked(eligible, 5_000L);
+            repository.upsertBalanceUnchecked(dust, 500L);
+            repository.upsertBalanceUnchecked(sweptToday, 8_000L);
+            repository.upsertBalanceUnchecked(AccountId.escrow(DealId.generate()), 9_000L);
+            dsl.insertInto(LEDGER_ENTRIES)
+                    .set(LEDGER_ENTRIES.ACCOUNT_ID, sweptToday.value())
+                    .set(LEDGER_ENTRIES.ENTRY_TYPE, EntryType.COMMISSION_SWEEP.name())
+                    .set(LEDGER_ENTRIES.DEBIT_NANO, 1_000L)
+                    .set(LEDGER_ENTRIES.IDEMPOTENCY_KEY, "sweep:test:" + sweptToday.value())
+                    .execute();
+
+            var result = repository.findCommissionBalancesToSweep(
+                    1_000L, startOfDay, null, 10);
+
+            assertThat(result).containsExactly(
+                    new JooqAccountBalanceRepository.AccountBalance(eligible, 5_000L));
+        }
+
+        @Test
+        @DisplayName("Should page by account ID after the cursor")
+        void pagesAfterCursor() {
+            AccountId first = commission(1);
+            AccountId second = commission(2);
+            AccountId third = commission(3);
+            repository.upsertBalanceUnchecked(third, 5_000L);
+            repository.upsertBalanceUnchecked(first, 5_000L);
+            repository.upsertBalanceUnchecked(second, 5_000L);
+
+            var firstPage = repository.findCommissionBalancesToSweep(
+                    1_000L, startOfDay, null, 2);
+            var secondPage = repository.findCommissionBalancesToSweep(
+                    1_000L, startOfDay, firstPage.getLast().accountId(), 2);
+
+            assertThat(firstPage)
+                    .extracting(JooqAccountBalanceRepository.AccountBalance::accountId)
+                    .containsExactly(first, second);
+            assertThat(secondPage)
+                    .extracting(JooqAccountBalanceRepository.AccountBalance::accountId)
+                    .containsExactly(third);
+        }
+    }
 }
@@ -11,8 +11,10 @@ import com.advertmarket.identity.adapter.JooqUserRepository;
 import com.advertmarket.identity.adapter.RedisTokenBlacklist;
 import com.advertmarket.identity.api.dto.TelegramUserData;
 import com.advertmarket.identity.api.port.TokenBlacklistPort;
+import com.advertmarket.identity.api.port.UserProfileEventPort;
 import com.advertmarket.identity.config.AuthProperties;
 import com.advertmarket.identity.config.LocaleCurrencyProperties;
+import com.advertmarket.identity.config.TokenCacheProperties;
 import com.advertmarket.identity.mapper.LoginResponseMapper;
 import com.advertmarket.identity.mapper.UserProfileMapper;
 import com.advertmarket.identity.security.JwtAuthenticationFilter;
@@ -87,7 +89,8 @@ class IdentityWorkflowIntegrationTest {
                         "test-secret-key-at-least-32-bytes-long!!",
                         3600),
                 300);
-        jwtTokenProvider = new JwtTokenProvider(authProperties);
+        jwtTokenProvider = new JwtTokenProvider(
+                authProperties, new TokenCacheProperties(10_000));
         tokenBlacklistPort = new RedisTokenBlacklist(redisTemplate);
         blockService = new RedisUserBlockService(
                 redisTemplate,
@@ -109,7 +112,8 @@ class IdentityWorkflowIntegrationTest {
                 dsl,
                 jsonFacade,
                 Mappers.getMapper(UserProfileMapper.class),
-                localeCurrencyResolver);
+                localeCurrencyResolver,
+                mock(UserProfileEventPort.class));
         authService = new AuthServiceImpl(
                 null, userRepository,
                 jwtTokenProvider, tokenBlacklistPort,
@@ -1,10 +1,17 @@
 package com.advertmarket.integration.identity;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import com.advertmarket.identity.adapter.JooqUserRepository;
 import com.advertmarket.identity.api.dto.CurrencyMode;
+import com.advertmarket.identity.api.dto.NotificationSettings;
 import com.advertmarket.identity.api.dto.TelegramUserData;
+import com.advertmarket.identity.api.dto.UserDeliveryProfile;
+import com.advertmarket.identity.api.port.UserProfileEventPort;
 import com.advertmarket.identity.config.LocaleCurrencyProperties;
 import com.advertmarket.identity.mapper.UserProfileMapper;
 import com.advertmarket.identity.service.LocaleCurrencyResolver;
@@ -28,6 +35,8 @@ import org.mapstruct.factory.Mappers;
 class JooqUserRepositoryIntegrationTest {
 
     private static DSLContext dsl;
+    private final UserProfileEventPort profileEvents =
+            mock(UserProfileEventPort.class);
     private JooqUserRepository repository;
 
     @BeforeAll
@@ -50,7 +59,8 @@ class JooqUserRepositoryIntegrationTest {
                 new JsonFacade(new ObjectMapper()
                         .findAndRegisterModules()),
                 Mappers.getMapper(UserProfileMapper.class),
-                new LocaleCurrencyResolver(localeCurrencyProperties));
+                new LocaleCurrencyResolver(localeCurrencyProperties),
+                profileEvents);
         DatabaseSupport.cleanAllTables(dsl);
     }
 
@@ -158,6 +168,41 @@ class JooqUserRepositoryIntegrationTest {
                         assertThat(profile.username()).isEqualTo("johndoe"));
     }
 
+    @Test
+    @DisplayName("Should find delivery profiles of several users in one query")
+    void shouldFindDeliveryProfiles() {
+        repository.upsert(new TelegramUserData(
+                42L, "John", "Doe", "johndoe", "en"));
+        repository.upsert(new TelegramUserData(
+                43L, "Ivan", null, "ivan", "ru"));
+        repository.softDelete(new UserId(43L));
+
+        var profiles = repository.findDeliveryProfiles(List.of(
+                new UserId(42L), new UserId(43L), new UserId(999L)));
+
+        assertThat(profiles)
+                .extracting(UserDeliveryProfile::id,
+                        UserDeliveryProfile::languageCode,
+                        UserDeliveryProfile::deleted)
+                .containsExactlyInAnyOrder(
+                        tuple(42L, "en", false),
+                        tuple(43L, "ru", true));
+    }
+
+    @Test
+    @DisplayName("Should announce changes to delivery preferences")
+    void shouldPublishProfileChanges() {
+        var userId = new UserId(42L);
+        repository.upsert(new TelegramUserData(
+                42L, "John", "Doe", "johndoe", "en"));
+        repository.updateLanguage(userId, "ru");
+        repository.updateNotificationSettings(
+                userId, NotificationSettings.defaults());
+        repository.softDelete(userId);
+
+        verify(profileEvents, times(4)).publishChanged(userId);
+    }
+
     @Test
     @DisplayName("Should return empty for non-existent user")
     void shouldReturnEmptyForNonExistent() {
@@ -0,0 +1,136 @@
+package com.advertmarket.integration.identity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.advertmarket.identity.api.port.TokenBlacklistPort;
+import com.advertmarket.identity.config.AuthProperties;
+import com.advertmarket.identity.config.TokenCacheProperties;
+import com.advertmarket.identity.security.JwtAuthenticationFilter;
+import com.advertmarket.identity.security.JwtTokenProvider;
+import com.advertmarket.shared.model.UserBlockCheckPort;
+import com.advertmarket.shared.model.UserId;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Throughput microbenchmark of {@link JwtAuthenticationFilter}.
+ *
+ * <p>Runs authenticated requests through the filter twice: once with a
+ * token never seen before on every request, which pays for signature
+ * and claims verification as every request did before verified tokens
+ * were cached, and once with a Mini App session presenting the same
+ * tokens repeatedly, which {@link JwtTokenProvider} resolves from its
+ * verified-token cache. Revocation checks answer from memory so only
+ * token handling is measured. A warm-up pass precedes each measured run.
+ *
+ * <p>Tagged {@code benchmark}; run with
+ * {@code ./gradlew :advert-market-integration-tests:benchmarkTest
+ * -PrunIntegrationTests=true -Dbenchmark.iterations=500000}.
+ */
+@Slf4j
+@Tag("benchmark")
+@DisplayName("JWT authentication filter — benchmark")
+class JwtAuthenticationFilterBenchmarkIntegrationTest {
+
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 100_000);
+    private static final int SESSIONS = 100;
+    private static final String SECRET =
+            "benchmark-secret-key-at-least-64-bytes-long-for-hs256-signing!!";
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should authenticate repeated tokens faster than fresh ones")
+    void repeatedVersusFreshTokens() throws ServletException, IOException {
+        var provider = new JwtTokenProvider(
+                new AuthProperties(new AuthProperties.Jwt(SECRET, 3600), 300),
+                new TokenCacheProperties(10_000));
+        var filter = new JwtAuthenticationFilter(
+                provider, new NoRevocations(), new NoRevocations());
+        var fresh = tokens(provider, ITERATIONS * 2);
+        var sessions = tokens(provider, SESSIONS);
+
+        run(filter, fresh.subList(0, ITERATIONS));
+        long freshNanos = run(filter, fresh.subList(ITERATIONS, ITERATIONS * 2));
+        run(filter, sessions);
+        long repeatedNanos = run(filter, sessions);
+
+        report("fresh", freshNanos);
+        report("repeated", repeatedNanos);
+        log.info("JWT authentication filter benchmark: speedup={}x",
+                String.format("%.1f", (double) freshNanos / repeatedNanos));
+        assertThat(repeatedNanos).isPositive();
+    }
+
+    private static List<String> tokens(JwtTokenProvider provider, int count) {
+        var tokens = new ArrayList<String>(count);
+        for (int i = 0; i < count; i++) {
+            tokens.add(provider.generateToken(new UserId(i + 1L), false));
+        }
+        return tokens;
+    }
+
+    // Sends ITERATIONS requests, cycling over the given tokens
+    private static long run(JwtAuthenticationFilter filter, List<String> tokens)
+            throws ServletException, IOException {
+        FilterChain chain = (request, response) -> { };
+        long authenticated = 0;
+        long began = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            var request = new MockHttpServletRequest("GET", "/api/v1/profile");
+            request.addHeader(HttpHeaders.AUTHORIZATION,
+                    "Bearer " + tokens.get(i % tokens.size()));
+            SecurityContextHolder.clearContext();
+            filter.doFilter(request, new MockHttpServletResponse(), chain);
+            if (SecurityContextHolder.getContext().getAuthentication() != null) {
+                authenticated++;
+            }
+        }
+        long elapsed = System.nanoTime() - began;
+        assertThat(authenticated).isEqualTo(ITERATIONS);
+        return elapsed;
+    }
+
+    private static void report(String mode, long elapsedNanos) {
+        log.info("JWT authentication filter benchmark [{}]: requests={}, total={}ms,"
+                        + " throughput={} requests/s, {} ns/request",
+                mode, ITERATIONS,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                String.format("%.0f", ITERATIONS / (elapsedNanos / 1_000_000_000.0)),
+                String.format("%.1f", (double) elapsedNanos / ITERATIONS));
+    }
+
+    private static final class NoRevocations implements TokenBlacklistPort, UserBlockCheckPort {
+
+        @Override
+        public boolean isBlacklisted(String jti) {
+            return false;
+        }
+
+        @Override
+        public void blacklist(String jti, long ttlSeconds) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isBlocked(long userId) {
+            return false;
+        }
+    }
+}
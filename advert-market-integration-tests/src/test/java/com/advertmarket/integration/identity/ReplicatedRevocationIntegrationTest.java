@@ -0,0 +1,133 @@
+package com.advertmarket.integration.identity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.advertmarket.communication.bot.internal.block.RedisUserBlockService;
+import com.advertmarket.communication.bot.internal.block.ReplicatedUserBlockService;
+import com.advertmarket.communication.bot.internal.block.UserBlockProperties;
+import com.advertmarket.identity.adapter.RedisTokenBlacklist;
+import com.advertmarket.identity.adapter.ReplicatedTokenBlacklist;
+import com.advertmarket.integration.support.RedisSupport;
+import com.advertmarket.shared.metric.MetricsFacade;
+import com.advertmarket.shared.replica.ReplicaProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Integration test for the replicated token blacklist and user blocks
+ * with real Redis, two instances sharing one Redis.
+ */
+@DisplayName("Replicated revocation sets — Redis integration")
+class ReplicatedRevocationIntegrationTest {
+
+    private static final UserBlockProperties BLOCK_PROPERTIES =
+            new UserBlockProperties("tg:block:");
+
+    private final List<Runnable> shutdowns = new ArrayList<>();
+    private StringRedisTemplate redisTemplate;
+
+    @BeforeEach
+    void setUp() {
+        RedisSupport.flushAll();
+        redisTemplate = RedisSupport.redisTemplate();
+    }
+
+    @AfterEach
+    void tearDown() {
+        shutdowns.forEach(Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Should see a revocation made on another instance")
+    void shouldReplicateRevocation() {
+        var first = blacklist();
+        var second = blacklist();
+
+        first.blacklist("jti-revoked", 60);
+
+        assertThat(first.isBlacklisted("jti-revoked")).isTrue();
+        Awaitility.await().atMost(Duration.ofSeconds(5))
+                .until(() -> second.isBlacklisted("jti-revoked"));
+        assertThat(second.isBlacklisted("jti-other")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should seed the replica from revocations already in Redis")
+    void shouldSeedFromRedis() {
+        new RedisTokenBlacklist(redisTemplate).blacklist("jti-before-start", 60);
+
+        var blacklist = blacklist();
+
+        assertThat(blacklist.isBlacklisted("jti-before-start")).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should forget a revocation once its TTL passes")
+    void shouldExpireRevocation() throws Exception {
+        var blacklist = blacklist();
+
+        blacklist.blacklist("jti-expire", 1);
+        assertThat(blacklist.isBlacklisted("jti-expire")).isTrue();
+
+        Thread.sleep(1500);
+
+        assertThat(blacklist.isBlacklisted("jti-expire")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should replicate blocks and unblocks across instances")
+    void shouldReplicateUserBlocks() {
+        var first = blockService();
+        var second = blockService();
+
+        first.blockPermanently(99L, "spam");
+        Awaitility.await().atMost(Duration.ofSeconds(5))
+                .until(() -> second.isBlocked(99L));
+
+        first.unblock(99L);
+        Awaitility.await().atMost(Duration.ofSeconds(5))
+                .until(() -> !second.isBlocked(99L));
+    }
+
+    private ReplicatedTokenBlacklist blacklist() {
+        var container = listenerContainer();
+        var blacklist = new ReplicatedTokenBlacklist(
+                new RedisTokenBlacklist(redisTemplate), redisTemplate, container,
+                new ReplicaProperties(null, null), metrics());
+        shutdowns.add(blacklist::shutdown);
+        shutdowns.add(container::stop);
+        return blacklist;
+    }
+
+    private ReplicatedUserBlockService blockService() {
+        var container = listenerContainer();
+        var service = new ReplicatedUserBlockService(
+                new RedisUserBlockService(redisTemplate, BLOCK_PROPERTIES),
+                redisTemplate, container, BLOCK_PROPERTIES,
+                new ReplicaProperties(null, null), metrics());
+        shutdowns.add(service::shutdown);
+        shutdowns.add(container::stop);
+        return service;
+    }
+
+    // One container per simulated instance, as each node has its own
+    private RedisMessageListenerContainer listenerContainer() {
+        var container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisTemplate.getRequiredConnectionFactory());
+        container.afterPropertiesSet();
+        return container;
+    }
+
+    private static MetricsFacade metrics() {
+        return new MetricsFacade(new SimpleMeterRegistry());
+    }
+}
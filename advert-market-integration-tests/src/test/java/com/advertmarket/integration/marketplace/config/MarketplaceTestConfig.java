@@ -7,10 +7,12 @@ import com.advertmarket.identity.adapter.RedisLoginRateLimiter;
 import com.advertmarket.identity.adapter.RedisTokenBlacklist;
 import com.advertmarket.identity.api.port.LoginRateLimiterPort;
 import com.advertmarket.identity.api.port.TokenBlacklistPort;
+import com.advertmarket.identity.api.port.UserProfileEventPort;
 import com.advertmarket.identity.api.port.UserRepository;
 import com.advertmarket.identity.config.AuthProperties;
 import com.advertmarket.identity.config.LocaleCurrencyProperties;
 import com.advertmarket.identity.config.RateLimiterProperties;
+import com.advertmarket.identity.config.TokenCacheProperties;
 import com.advertmarket.identity.mapper.UserProfileMapper;
 import com.advertmarket.identity.security.JwtAuthenticationFilter;
 import com.advertmarket.identity.security.JwtTokenProvider;
@@ -30,6 +32,7 @@ import org.jooq.impl.DSL;
 import org.jooq.impl.DefaultConfiguration;
 import org.jooq.impl.DefaultExecuteListenerProvider;
 import org.mapstruct.factory.Mappers;
+import org.mockito.Mockito;
 import org.springframework.boot.jooq.autoconfigure.ExceptionTranslatorExecuteListener;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -90,7 +93,7 @@ public class MarketplaceTestConfig {
 
     @Bean
     JwtTokenProvider jwtTokenProvider(AuthProperties props) {
-        return new JwtTokenProvider(props);
+        return new JwtTokenProvider(props, new TokenCacheProperties(10_000));
     }
 
     @Bean
@@ -139,7 +142,8 @@ public class MarketplaceTestConfig {
                 dsl,
                 jsonFacade,
                 Mappers.getMapper(UserProfileMapper.class),
-                localeCurrencyResolver);
+                localeCurrencyResolver,
+                Mockito.mock(UserProfileEventPort.class));
     }
 
     @Bean
@@ -122,4 +122,21 @@ class RedisDistributedLockIntegrationTest {
         lock.unlock("test:a", tokenA.get());
         lock.unlock("test:b", tokenB.get());
     }
+
+    @Test
+    @DisplayName("Extend keeps lock past its original TTL")
+    void extend_keepsLockHeld() throws Exception {
+        Optional<String> token =
+                lock.tryLock("test:6", Duration.ofSeconds(1));
+        assertThat(token).isPresent();
+
+        assertThat(lock.extend("test:6", token.get(),
+                Duration.ofSeconds(10))).isTrue();
+        Thread.sleep(1500);
+
+        assertThat(lock.tryLock("test:6", Duration.ofSeconds(10))).isEmpty();
+        assertThat(lock.extend("test:6", "wrong-token",
+                Duration.ofSeconds(10))).isFalse();
+        lock.unlock("test:6", token.get());
+    }
 }
@@ -9,6 +9,9 @@ import static com.advertmarket.db.generated.tables.CreativeMediaAssets.CREATIVE_
 import static com.advertmarket.db.generated.tables.CreativeTemplateVersions.CREATIVE_TEMPLATE_VERSIONS;
 import static com.advertmarket.db.generated.tables.CreativeTemplates.CREATIVE_TEMPLATES;
 import static com.advertmarket.db.generated.tables.DealEvents.DEAL_EVENTS;
+import static com.advertmarket.db.generated.tables.DealStatusCounters.DEAL_STATUS_COUNTERS;
+import static com.advertmarket.db.generated.tables.DealTimelines.DEAL_TIMELINES;
+import static com.advertmarket.db.generated.tables.DepositAddressPool.DEPOSIT_ADDRESS_POOL;
 import static com.advertmarket.db.generated.tables.Deals.DEALS;
 import static com.advertmarket.db.generated.tables.DisputeEvidence.DISPUTE_EVIDENCE;
 import static com.advertmarket.db.generated.tables.Disputes.DISPUTES;
@@ -123,7 +126,10 @@ public final class DatabaseSupport {
         dsl.deleteFrom(DISPUTES).execute();
         dsl.deleteFrom(TON_TRANSACTIONS).execute();
         dsl.truncate(DEAL_EVENTS).cascade().execute();
+        dsl.deleteFrom(DEAL_TIMELINES).execute();
+        dsl.deleteFrom(DEPOSIT_ADDRESS_POOL).execute();
         dsl.deleteFrom(DEALS).execute();
+        dsl.deleteFrom(DEAL_STATUS_COUNTERS).execute();
     }
 
     /**
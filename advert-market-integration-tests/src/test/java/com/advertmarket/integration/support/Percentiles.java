@@ -0,0 +1,42 @@
+package com.advertmarket.integration.support;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Nearest-rank percentiles over latencies recorded in nanoseconds.
+ */
+public final class Percentiles {
+
+    private Percentiles() {
+    }
+
+    /**
+     * Returns the recorded latencies in ascending order.
+     */
+    public static long[] sorted(Collection<Long> nanos) {
+        return nanos.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+
+    /**
+     * Returns the nearest-rank percentile in microseconds, 0 when empty.
+     */
+    public static long micros(long[] sortedNanos, double quantile) {
+        return TimeUnit.NANOSECONDS.toMicros(nearestRank(sortedNanos, quantile));
+    }
+
+    /**
+     * Returns the nearest-rank percentile in milliseconds, 0 when empty.
+     */
+    public static long millis(long[] sortedNanos, double quantile) {
+        return TimeUnit.NANOSECONDS.toMillis(nearestRank(sortedNanos, quantile));
+    }
+
+    private static long nearestRank(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.clamp(index, 0, sorted.length - 1)];
+    }
+}
@@ -0,0 +1,52 @@
+package com.advertmarket.integration.support;
+
+import com.advertmarket.financial.api.model.DepositAddressInfo;
+import com.advertmarket.financial.api.port.TonWalletPort;
+import com.advertmarket.shared.model.DealId;
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLong;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * {@link TonWalletPort} backed by a {@link TonChainSimulator}.
+ *
+ * <p>Subwallet addresses are derived from a counter, so runs are
+ * reproducible. Transfers read the current seqno from the simulated
+ * chain and submit the simulator's transfer envelope.
+ */
+public final class SimulatedTonWalletPort implements TonWalletPort {
+
+    private final TonChainSimulator chain;
+    private final AtomicLong nextSubwalletId = new AtomicLong(1);
+
+    /**
+     * Creates a wallet port submitting to the given chain.
+     *
+     * @param chain simulated chain
+     */
+    public SimulatedTonWalletPort(@NonNull TonChainSimulator chain) {
+        this.chain = chain;
+    }
+
+    /** Returns the deterministic address of a subwallet. */
+    public static @NonNull String addressOf(long subwalletId) {
+        return "0:" + HexFormat.of().withUpperCase().toHexDigits(subwalletId)
+                + "0".repeat(48);
+    }
+
+    @Override
+    public @NonNull DepositAddressInfo generateDepositAddress(@NonNull DealId dealId) {
+        long subwalletId = nextSubwalletId.getAndIncrement();
+        return new DepositAddressInfo(addressOf(subwalletId), subwalletId);
+    }
+
+    @Override
+    public @NonNull String submitTransaction(int subwalletId,
+                                             @NonNull String destinationAddress,
+                                             long amountNano) {
+        String wallet = addressOf(subwalletId);
+        long seqno = chain.getSeqno(wallet);
+        return chain.sendBoc(chain.encodeTransfer(
+                wallet, seqno, destinationAddress, amountNano));
+    }
+}
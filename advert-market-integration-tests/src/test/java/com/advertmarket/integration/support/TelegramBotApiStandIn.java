@@ -0,0 +1,372 @@
+package com.advertmarket.integration.support;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Local HTTP stand-in for the Telegram Bot API.
+ *
+ * <p>Answers the methods used by {@code TelegramSender} and
+ * {@code TelegramChannelService} ({@code sendMessage},
+ * {@code answerCallbackQuery}, {@code getChat}, {@code getChatMember},
+ * {@code getChatAdministrators}, {@code getChatMemberCount}) with
+ * well-formed responses; any other method succeeds with {@code true}.
+ * Like the real API, a failed call returns its error code as the HTTP
+ * status with an {@code ok=false} body.
+ *
+ * <p>Each call can be delayed by a fixed latency, and rejected with a
+ * seeded probability either as {@code 429} carrying {@code retry_after}
+ * or as {@code 500}. Optionally the Telegram message limits are
+ * enforced: {@code sendMessage} calls beyond the global or per-chat rate
+ * are rejected with {@code 429}, so a sender that outpaces them shows
+ * up in {@link #rateLimited()}.
+ *
+ * <p>Every call is recorded with its arrival time for latency
+ * measurements. Requests are served on virtual threads, so latency does
+ * not serialize concurrent calls.
+ */
+public final class TelegramBotApiStandIn {
+
+    private static final Pattern CHAT_ID =
+            Pattern.compile("\"?chat_id\"?\\s*[=:]\\s*\"?(-?\\d+)");
+    private static final Pattern USER_ID =
+            Pattern.compile("\"?user_id\"?\\s*[=:]\\s*\"?(-?\\d+)");
+    private static final int HTTP_OK = 200;
+    private static final int HTTP_TOO_MANY_REQUESTS = 429;
+    private static final int HTTP_INTERNAL_ERROR = 500;
+    private static final long NANOS_PER_SECOND = Duration.ofSeconds(1).toNanos();
+    private static final int MEMBER_COUNT = 1_000;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ConcurrentLinkedQueue<Call> calls = new ConcurrentLinkedQueue<>();
+    private final Map<Long, Bucket> chatBuckets = new HashMap<>();
+    private final AtomicLong messageIds = new AtomicLong();
+    private volatile Settings settings;
+    private Random random;
+    private Bucket globalBucket;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    /**
+     * Creates a stand-in; call {@link #start()} before use.
+     *
+     * @param settings latency, failure and limit settings
+     */
+    public TelegramBotApiStandIn(@NonNull Settings settings) {
+        configure(settings);
+    }
+
+    /**
+     * Stand-in settings.
+     *
+     * @param latency         delay added to every call
+     * @param rateLimitRate   probability that a call is rejected with 429
+     * @param retryAfter      {@code retry_after} reported with a 429
+     * @param errorRate       probability that a call fails with 500
+     * @param globalPerSecond enforced {@code sendMessage} rate, 0 for none
+     * @param chatPerSecond   enforced per-chat {@code sendMessage} rate, 0 for none
+     * @param seed            seed for failure injection
+     */
+    public record Settings(
+            @NonNull Duration latency,
+            double rateLimitRate,
+            @NonNull Duration retryAfter,
+            double errorRate,
+            int globalPerSecond,
+            int chatPerSecond,
+            long seed) {
+
+        /** No latency, no injected failures and no enforced limits. */
+        public static @NonNull Settings defaults() {
+            return new Settings(Duration.ZERO, 0.0, Duration.ofSeconds(1), 0.0, 0, 0, 42L);
+        }
+
+        /** Returns a copy with the given per-call latency. */
+        public @NonNull Settings withLatency(@NonNull Duration value) {
+            return new Settings(value, rateLimitRate, retryAfter, errorRate,
+                    globalPerSecond, chatPerSecond, seed);
+        }
+
+        /** Returns a copy rejecting calls with 429 at the given probability. */
+        public @NonNull Settings withRateLimitRate(double rate, @NonNull Duration after) {
+            return new Settings(latency, rate, after, errorRate,
+                    globalPerSecond, chatPerSecond, seed);
+        }
+
+        /** Returns a copy failing calls with 500 at the given probability. */
+        public @NonNull Settings withErrorRate(double rate) {
+            return new Settings(latency, rateLimitRate, retryAfter, rate,
+                    globalPerSecond, chatPerSecond, seed);
+        }
+
+        /** Returns a copy enforcing the given global and per-chat message rates. */
+        public @NonNull Settings withLimits(int global, int perChat) {
+            return new Settings(latency, rateLimitRate, retryAfter, errorRate,
+                    global, perChat, seed);
+        }
+    }
+
+    /**
+     * A recorded API call.
+     *
+     * @param method        Bot API method name
+     * @param chatId        {@code chat_id} parameter, 0 when absent
+     * @param status        HTTP status returned
+     * @param receivedNanos {@link System#nanoTime()} when the call arrived
+     * @param body          raw request body
+     */
+    public record Call(
+            @NonNull String method,
+            long chatId,
+            int status,
+            long receivedNanos,
+            @NonNull String body) {
+
+        /** Returns whether the call was answered with {@code ok=true}. */
+        public boolean ok() {
+            return status == HTTP_OK;
+        }
+    }
+
+    /** Starts the server on a free local port; does nothing if running. */
+    public void start() {
+        lock.lock();
+        try {
+            if (server != null) {
+                return;
+            }
+            try {
+                server = HttpServer.create(new InetSocketAddress(0), 0);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot start Telegram Bot API stand-in", e);
+            }
+            executor = Executors.newVirtualThreadPerTaskExecutor();
+            server.setExecutor(executor);
+            server.createContext("/bot", this::handle);
+            server.start();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Stops the server and forgets recorded calls. */
+    public void stop() {
+        lock.lock();
+        try {
+            if (server != null) {
+                server.stop(0);
+                executor.shutdownNow();
+                server = null;
+                executor = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        clear();
+    }
+
+    /** Returns the URL prefix to pass to {@code TelegramBot.Builder#apiUrl}. */
+    public @NonNull String baseUrl() {
+        lock.lock();
+        try {
+            if (server == null) {
+                throw new IllegalStateException("Telegram Bot API stand-in is not started");
+            }
+            return "http://localhost:" + server.getAddress().getPort() + "/bot";
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the settings and resets failure injection and limits.
+     *
+     * @param value the new settings
+     */
+    public void configure(@NonNull Settings value) {
+        lock.lock();
+        try {
+            settings = value;
+            random = new Random(value.seed());
+            globalBucket = new Bucket(value.globalPerSecond(), System.nanoTime());
+            chatBuckets.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Forgets recorded calls and resets rate limit state. */
+    public void clear() {
+        calls.clear();
+        configure(settings);
+    }
+
+    /** Returns the recorded calls in arrival order. */
+    public @NonNull List<Call> calls() {
+        return List.copyOf(calls);
+    }
+
+    /** Returns the recorded calls of one method in arrival order. */
+    public @NonNull List<Call> calls(@NonNull String method) {
+        return calls.stream().filter(call -> call.method().equals(method)).toList();
+    }
+
+    /** Returns the number of recorded calls. */
+    public int callCount() {
+        return calls.size();
+    }
+
+    /** Returns the number of calls rejected with 429, injected or enforced. */
+    public long rateLimited() {
+        return calls.stream().filter(call -> call.status() == HTTP_TOO_MANY_REQUESTS).count();
+    }
+
+    /** Returns the number of calls failed with 500. */
+    public long failed() {
+        return calls.stream().filter(call -> call.status() == HTTP_INTERNAL_ERROR).count();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long received = System.nanoTime();
+        String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+        String decoded = URLDecoder.decode(body, StandardCharsets.UTF_8);
+        String path = exchange.getRequestURI().getPath();
+        String method = path.substring(path.lastIndexOf('/') + 1);
+        long chatId = parameter(CHAT_ID, decoded);
+        var current = settings;
+
+        sleep(current.latency());
+        Reply reply = reject(method, chatId, current);
+        if (reply == null) {
+            reply = new Reply(HTTP_OK, result(method, chatId, parameter(USER_ID, decoded)));
+        }
+        calls.add(new Call(method, chatId, reply.status(), received, body));
+
+        byte[] response = reply.body().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(reply.status(), response.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(response);
+        }
+    }
+
+    private Reply reject(String method, long chatId, Settings current) {
+        lock.lock();
+        try {
+            if ("sendMessage".equals(method)) {
+                long now = System.nanoTime();
+                var chatBucket = chatBuckets.computeIfAbsent(chatId,
+                        _ -> new Bucket(current.chatPerSecond(), now));
+                if (!globalBucket.tryTake(now) || !chatBucket.tryTake(now)) {
+                    return tooManyRequests(1);
+                }
+            }
+            if (random.nextDouble() < current.rateLimitRate()) {
+                return tooManyRequests(current.retryAfter().toSeconds());
+            }
+            if (random.nextDouble() < current.errorRate()) {
+                return new Reply(HTTP_INTERNAL_ERROR, """
+                        {"ok":false,"error_code":500,"description":"Internal Server Error"}""");
+            }
+            return null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private String result(String method, long chatId, long userId) {
+        return switch (method) {
+            case "sendMessage" -> ok("""
+                    {"message_id":%d,"date":%d,"chat":{"id":%d,"type":"private"},"text":"ok"}"""
+                    .formatted(messageIds.incrementAndGet(),
+                            System.currentTimeMillis() / Duration.ofSeconds(1).toMillis(),
+                            chatId));
+            case "getChat" -> ok("""
+                    {"id":%d,"type":"channel","title":"Stand-in %d","username":"standin%d"}"""
+                    .formatted(chatId, Math.abs(chatId), Math.abs(chatId)));
+            case "getChatMember" -> ok("""
+                    {"status":"administrator","user":{"id":%d,"is_bot":true,\
+                    "first_name":"Stand-in"},"can_post_messages":true}"""
+                    .formatted(userId));
+            case "getChatAdministrators" -> ok("""
+                    [{"status":"creator","user":{"id":1,"is_bot":false,"first_name":"Owner"}}]""");
+            case "getChatMemberCount" -> ok(String.valueOf(MEMBER_COUNT));
+            default -> ok("true");
+        };
+    }
+
+    private static String ok(String result) {
+        return "{\"ok\":true,\"result\":" + result + "}";
+    }
+
+    private static Reply tooManyRequests(long retryAfterSeconds) {
+        long seconds = Math.max(1, retryAfterSeconds);
+        return new Reply(HTTP_TOO_MANY_REQUESTS, """
+                {"ok":false,"error_code":429,"description":"Too Many Requests: retry after %d",\
+                "parameters":{"retry_after":%d}}""".formatted(seconds, seconds));
+    }
+
+    private static long parameter(Pattern pattern, String body) {
+        var matcher = pattern.matcher(body);
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : 0L;
+    }
+
+    private static void sleep(Duration latency) {
+        if (latency.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Reply(int status, String body) {
+    }
+
+    /** Token bucket holding one second of burst; unlimited when the rate is 0. */
+    private static final class Bucket {
+
+        private final int perSecond;
+        private double tokens;
+        private long refilledAt;
+
+        Bucket(int perSecond, long now) {
+            this.perSecond = perSecond;
+            this.tokens = perSecond;
+            this.refilledAt = now;
+        }
+
+        boolean tryTake(long now) {
+            if (perSecond == 0) {
+                return true;
+            }
+            tokens = Math.min(perSecond,
+                    tokens + (double) (now - refilledAt) * perSecond / NANOS_PER_SECOND);
+            refilledAt = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+    }
+}
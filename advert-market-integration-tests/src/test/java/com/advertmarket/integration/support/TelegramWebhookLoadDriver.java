@@ -0,0 +1,154 @@
+package com.advertmarket.integration.support;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+import org.checkerframework.checker.nullness.qual.NonNull;
+
+/**
+ * Posts synthetic updates to the Telegram webhook endpoint at a fixed
+ * offered rate, as Telegram would deliver them.
+ *
+ * <p>Updates are posted in the given order on virtual threads, one
+ * every {@code 1 / rate} seconds regardless of how long earlier posts
+ * take, so a slow endpoint shows up as latency rather than as a lower
+ * offered load. The send time of every post is recorded for end-to-end
+ * latency measurements.
+ */
+public final class TelegramWebhookLoadDriver implements AutoCloseable {
+
+    private static final String SECRET_HEADER = "X-Telegram-Bot-Api-Secret-Token";
+    private static final Duration POST_TIMEOUT = Duration.ofSeconds(10);
+
+    private final URI webhook;
+    private final String secret;
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    /**
+     * Creates a driver.
+     *
+     * @param webhook webhook endpoint URL
+     * @param secret  webhook secret token
+     */
+    public TelegramWebhookLoadDriver(@NonNull URI webhook, @NonNull String secret) {
+        this.webhook = webhook;
+        this.secret = secret;
+    }
+
+    /**
+     * A synthetic update.
+     *
+     * @param updateId update id
+     * @param userId   sender, also the private chat the bot replies to
+     * @param payload  update JSON
+     */
+    public record Update(long updateId, long userId, @NonNull String payload) {
+    }
+
+    /**
+     * A posted update.
+     *
+     * @param update    the update
+     * @param status    HTTP status of the webhook response, -1 on I/O failure
+     * @param sentNanos {@link System#nanoTime()} when the post started
+     */
+    public record Posted(@NonNull Update update, int status, long sentNanos) {
+
+        /** Returns whether the webhook accepted the update. */
+        public boolean accepted() {
+            return status == 200;
+        }
+    }
+
+    /**
+     * Builds a private-chat text message update.
+     *
+     * @param updateId update id
+     * @param userId   sender and chat id
+     * @param text     message text
+     * @return the update
+     */
+    public static @NonNull Update textMessage(long updateId, long userId, @NonNull String text) {
+        String payload = """
+                {"update_id":%d,"message":{"message_id":%d,"date":%d,\
+                "chat":{"id":%d,"type":"private"},\
+                "from":{"id":%d,"is_bot":false,"first_name":"Load","language_code":"en"},\
+                "text":"%s"}}"""
+                .formatted(updateId, updateId, System.currentTimeMillis() / 1_000,
+                        userId, userId, text);
+        return new Update(updateId, userId, payload);
+    }
+
+    /**
+     * Builds {@code updatesPerUser} rounds of one text message per user,
+     * interleaving users so consecutive updates of a user are far apart.
+     *
+     * @param firstUpdateId  id of the first update
+     * @param firstUserId    id of the first user
+     * @param users          number of distinct users
+     * @param updatesPerUser updates sent by every user
+     * @param text           message text
+     * @return the updates in delivery order
+     */
+    public static @NonNull List<Update> rounds(long firstUpdateId, long firstUserId,
+            int users, int updatesPerUser, @NonNull String text) {
+        var updates = new ArrayList<Update>(users * updatesPerUser);
+        for (int round = 0; round < updatesPerUser; round++) {
+            for (int user = 0; user < users; user++) {
+                updates.add(textMessage(firstUpdateId + updates.size(),
+                        firstUserId + user, text));
+            }
+        }
+        return updates;
+    }
+
+    /**
+     * Posts the updates at the given rate and waits for every response.
+     *
+     * @param updates   updates in delivery order
+     * @param perSecond offered rate in updates per second
+     * @return the posts in delivery order
+     */
+    public @NonNull List<Posted> post(@NonNull List<Update> updates, double perSecond) {
+        long intervalNanos = (long) (Duration.ofSeconds(1).toNanos() / perSecond);
+        long began = System.nanoTime();
+        var posts = new ArrayList<CompletableFuture<Posted>>(updates.size());
+        for (int i = 0; i < updates.size(); i++) {
+            long due = began + i * intervalNanos;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            posts.add(post(updates.get(i)));
+        }
+        return posts.stream().map(CompletableFuture::join).toList();
+    }
+
+    private CompletableFuture<Posted> post(Update update) {
+        var request = HttpRequest.newBuilder(webhook)
+                .timeout(POST_TIMEOUT)
+                .header(SECRET_HEADER, secret)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(update.payload()))
+                .build();
+        long sent = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenApply(response -> new Posted(update, response.statusCode(), sent))
+                .exceptionally(e -> new Posted(update, -1, sent));
+    }
+
+    /** Closes the HTTP client. */
+    @Override
+    public void close() {
+        client.close();
+    }
+}
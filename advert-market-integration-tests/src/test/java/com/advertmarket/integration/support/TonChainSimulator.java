@@ -0,0 +1,396 @@
+package com.advertmarket.integration.support;
+
+import com.advertmarket.financial.api.model.TonOutboundTransferInfo;
+import com.advertmarket.financial.api.model.TonTransactionInfo;
+import com.advertmarket.financial.api.port.TonBlockchainPort;
+import com.advertmarket.shared.exception.DomainException;
+import com.advertmarket.shared.exception.ErrorCodes;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+
+/**
+ * Deterministic in-process TON chain behind {@link TonBlockchainPort}.
+ *
+ * <p>Blocks are produced on a virtual clock only when the test asks for
+ * them, so a run is reproducible regardless of wall-clock speed. Each
+ * block includes up to {@link Settings#maxMessagesPerBlock()} queued
+ * messages in FIFO order; an outgoing transfer becomes an internal
+ * message delivered in a later block, as on the real network.
+ *
+ * <p>Wallet semantics follow the v4 contract closely enough for the
+ * escrow pipeline: an external message is accepted only with the current
+ * seqno and before its expiry, acceptance always increments the seqno,
+ * and a transfer the balance cannot cover is accepted without an
+ * outgoing message. Logical time grows monotonically with a per-block
+ * stride.
+ *
+ * <p>{@link #sendBoc(String)} accepts the envelope produced by
+ * {@link #encodeTransfer(String, long, String, long)} rather than a
+ * signed ton4j BoC; signatures are not the subject of a load test.
+ *
+ * <p>Every port call can be slowed down by a fixed wall-clock latency and
+ * failed with a seeded probability to exercise retry paths.
+ */
+public final class TonChainSimulator implements TonBlockchainPort {
+
+    private static final long GENESIS_MILLIS = 1_700_000_000_000L;
+    private static final long LT_PER_BLOCK = 1_000_000L;
+    private static final String ENVELOPE_PREFIX = "sim1";
+    private static final int ENVELOPE_PARTS = 6;
+
+    private final Settings settings;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Random random;
+    private final Map<String, Account> accounts = new HashMap<>();
+    private final Deque<Message> queue = new ArrayDeque<>();
+    private long nowMillis = GENESIS_MILLIS;
+    private long blockSeqno;
+    private long lt;
+    private long droppedMessages;
+
+    /**
+     * Creates a simulator.
+     *
+     * @param settings block, latency and failure settings
+     */
+    public TonChainSimulator(@NonNull Settings settings) {
+        this.settings = settings;
+        this.random = new Random(settings.seed());
+    }
+
+    /**
+     * Simulator settings.
+     *
+     * @param blockInterval       virtual time between blocks
+     * @param maxMessagesPerBlock messages included per block
+     * @param feeNano             fee charged per outgoing transfer
+     * @param messageTtl          validity of an encoded transfer
+     * @param callLatency         wall-clock delay added to each port call
+     * @param failureRate         probability that a port call fails
+     * @param seed                seed for failure injection
+     */
+    public record Settings(
+            @NonNull Duration blockInterval,
+            int maxMessagesPerBlock,
+            long feeNano,
+            @NonNull Duration messageTtl,
+            @NonNull Duration callLatency,
+            double failureRate,
+            long seed) {
+
+        /** Five-second blocks, no latency and no failures. */
+        public static @NonNull Settings defaults() {
+            return new Settings(Duration.ofSeconds(5), 1_000, 5_000_000L,
+                    Duration.ofMinutes(1), Duration.ZERO, 0.0, 42L);
+        }
+
+        /** Returns a copy with the given per-call latency. */
+        public @NonNull Settings withCallLatency(@NonNull Duration latency) {
+            return new Settings(blockInterval, maxMessagesPerBlock, feeNano,
+                    messageTtl, latency, failureRate, seed);
+        }
+
+        /** Returns a copy with the given per-call failure probability. */
+        public @NonNull Settings withFailureRate(double rate) {
+            return new Settings(blockInterval, maxMessagesPerBlock, feeNano,
+                    messageTtl, callLatency, rate, seed);
+        }
+
+        /** Returns a copy including at most the given messages per block. */
+        public @NonNull Settings withMaxMessagesPerBlock(int max) {
+            return new Settings(blockInterval, max, feeNano,
+                    messageTtl, callLatency, failureRate, seed);
+        }
+    }
+
+    // --- test controls -------------------------------------------------
+
+    /**
+     * Queues an inbound transfer, e.g. an advertiser paying a deposit.
+     *
+     * @param address    receiving address
+     * @param amountNano transferred amount
+     * @param from       sender address
+     */
+    public void fund(@NonNull String address, long amountNano, @NonNull String from) {
+        locked(() -> {
+            queue.addLast(new Internal(from, address, amountNano));
+            return null;
+        });
+    }
+
+    /**
+     * Encodes a wallet transfer accepted by {@link #sendBoc(String)}.
+     *
+     * @param wallet      sending wallet address
+     * @param seqno       wallet seqno the transfer is signed with
+     * @param destination receiving address
+     * @param amountNano  transferred amount
+     * @return base64 envelope
+     */
+    public @NonNull String encodeTransfer(@NonNull String wallet, long seqno,
+                                          @NonNull String destination, long amountNano) {
+        long validUntil = locked(() -> nowMillis) + settings.messageTtl().toMillis();
+        String raw = String.join("|", ENVELOPE_PREFIX, wallet, Long.toString(seqno),
+                destination, Long.toString(amountNano), Long.toString(validUntil));
+        return Base64.getEncoder().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Produces one block and advances the virtual clock. */
+    public void produceBlock() {
+        locked(() -> {
+            produceBlockLocked();
+            return null;
+        });
+    }
+
+    /**
+     * Produces as many blocks as fit into the given virtual duration.
+     *
+     * @param duration virtual time to advance
+     */
+    public void advance(@NonNull Duration duration) {
+        long blocks = duration.toMillis() / settings.blockInterval().toMillis();
+        for (long i = 0; i < blocks; i++) {
+            produceBlock();
+        }
+    }
+
+    /** Returns the virtual time of the latest block. */
+    public @NonNull Instant now() {
+        return Instant.ofEpochMilli(locked(() -> nowMillis));
+    }
+
+    /** Returns messages waiting for inclusion. */
+    public int pendingMessages() {
+        return locked(queue::size);
+    }
+
+    /** Returns external messages rejected for a stale seqno or expiry. */
+    public long droppedMessages() {
+        return locked(() -> droppedMessages);
+    }
+
+    // --- TonBlockchainPort ---------------------------------------------
+
+    @Override
+    public @NonNull List<TonTransactionInfo> getTransactions(
+            @NonNull String address, int limit) {
+        return call("getTransactions", () -> {
+            var account = accounts.get(address);
+            if (account == null) {
+                return List.of();
+            }
+            var result = new ArrayList<TonTransactionInfo>();
+            for (int i = account.txs.size() - 1; i >= 0 && result.size() < limit; i--) {
+                var tx = account.txs.get(i);
+                result.add(new TonTransactionInfo(tx.hash(), tx.lt(),
+                        tx.from(), address, tx.inAmountNano(), tx.feeNano(), tx.utime()));
+            }
+            return List.copyOf(result);
+        });
+    }
+
+    @Override
+    public @NonNull List<TonOutboundTransferInfo> getOutgoingTransfers(
+            @NonNull String address, int limit) {
+        return call("getOutgoingTransfers", () -> {
+            var account = accounts.get(address);
+            if (account == null) {
+                return List.of();
+            }
+            var result = new ArrayList<TonOutboundTransferInfo>();
+            for (int i = account.txs.size() - 1; i >= 0 && result.size() < limit; i--) {
+                var tx = account.txs.get(i);
+                if (tx.outDestination() != null) {
+                    result.add(new TonOutboundTransferInfo(tx.hash(), tx.lt(), address,
+                            tx.outDestination(), tx.outAmountNano(), tx.feeNano(),
+                            tx.utime()));
+                }
+            }
+            return List.copyOf(result);
+        });
+    }
+
+    @Override
+    public @NonNull String sendBoc(@NonNull String base64Boc) {
+        return call("sendBoc", () -> {
+            var external = decode(base64Boc);
+            queue.addLast(external);
+            return external.hash();
+        });
+    }
+
+    @Override
+    public long getMasterchainSeqno() {
+        return call("getMasterchainSeqno", () -> blockSeqno);
+    }
+
+    @Override
+    public long getAddressBalance(@NonNull String address) {
+        return call("getAddressBalance", () -> {
+            var account = accounts.get(address);
+            return account == null ? 0L : account.balanceNano;
+        });
+    }
+
+    @Override
+    public long getSeqno(@NonNull String address) {
+        return call("getSeqno", () -> {
+            var account = accounts.get(address);
+            return account == null ? 0L : account.seqno;
+        });
+    }
+
+    @Override
+    public long estimateFee(@NonNull String address, @NonNull String base64Body) {
+        return call("estimateFee", settings::feeNano);
+    }
+
+    // --- block production ----------------------------------------------
+
+    private void produceBlockLocked() {
+        blockSeqno++;
+        nowMillis += settings.blockInterval().toMillis();
+        lt = Math.max(lt, blockSeqno * LT_PER_BLOCK);
+        long utime = nowMillis / 1_000L;
+
+        // messages emitted by this block go to the back of the queue and
+        // are delivered no earlier than the next block
+        int included = Math.min(queue.size(), settings.maxMessagesPerBlock());
+        for (int i = 0; i < included; i++) {
+            switch (queue.pollFirst()) {
+                case Internal internal -> applyInternal(internal, utime);
+                case External external -> applyExternal(external, utime);
+            }
+        }
+    }
+
+    private void applyInternal(Internal message, long utime) {
+        var account = account(message.to());
+        account.balanceNano += message.amountNano();
+        long txLt = ++lt;
+        account.txs.add(new Tx(sha256Hex(message.to() + ":" + txLt), txLt, utime,
+                message.from(), message.amountNano(), 0L, null, 0L));
+    }
+
+    private void applyExternal(External message, long utime) {
+        var account = account(message.wallet());
+        if (nowMillis > message.validUntilMillis() || message.seqno() != account.seqno) {
+            droppedMessages++;
+            return;
+        }
+        account.seqno++;
+        long txLt = ++lt;
+        long fee = settings.feeNano();
+        if (account.balanceNano < message.amountNano() + fee) {
+            long charged = Math.min(fee, account.balanceNano);
+            account.balanceNano -= charged;
+            account.txs.add(new Tx(message.hash(), txLt, utime, "", 0L, charged, null, 0L));
+            return;
+        }
+        account.balanceNano -= message.amountNano() + fee;
+        account.txs.add(new Tx(message.hash(), txLt, utime, "", 0L, fee,
+                message.destination(), message.amountNano()));
+        queue.addLast(new Internal(message.wallet(), message.destination(),
+                message.amountNano()));
+    }
+
+    private Account account(String address) {
+        return accounts.computeIfAbsent(address, _ -> new Account());
+    }
+
+    private static External decode(String base64Boc) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getDecoder().decode(base64Boc),
+                    StandardCharsets.UTF_8).split("\\|", -1);
+        } catch (IllegalArgumentException ex) {
+            throw new DomainException(ErrorCodes.TON_API_ERROR,
+                    "Cannot decode simulated BoC", ex);
+        }
+        if (parts.length != ENVELOPE_PARTS || !ENVELOPE_PREFIX.equals(parts[0])) {
+            throw new DomainException(ErrorCodes.TON_API_ERROR,
+                    "Unsupported simulated BoC");
+        }
+        return new External(sha256Hex(base64Boc), parts[1], Long.parseLong(parts[2]),
+                parts[3], Long.parseLong(parts[4]), Long.parseLong(parts[5]));
+    }
+
+    // --- latency / failure injection -----------------------------------
+
+    private <T> T call(String method, Supplier<T> operation) {
+        if (!settings.callLatency().isZero()) {
+            try {
+                Thread.sleep(settings.callLatency());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new DomainException(ErrorCodes.TON_API_ERROR,
+                        "Interrupted in simulated TON API: " + method, ex);
+            }
+        }
+        return locked(() -> {
+            if (settings.failureRate() > 0 && random.nextDouble() < settings.failureRate()) {
+                throw new DomainException(ErrorCodes.TON_API_ERROR,
+                        "Simulated TON API failure: " + method);
+            }
+            return operation.get();
+        });
+    }
+
+    private <T> T locked(Supplier<T> operation) {
+        lock.lock();
+        try {
+            return operation.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static String sha256Hex(String value) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(
+                    digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private static final class Account {
+        private long balanceNano;
+        private long seqno;
+        private final List<Tx> txs = new ArrayList<>();
+    }
+
+    private record Tx(String hash, long lt, long utime, String from,
+                      long inAmountNano, long feeNano,
+                      @Nullable String outDestination, long outAmountNano) {
+    }
+
+    private sealed interface Message permits Internal, External {
+    }
+
+    private record Internal(String from, String to, long amountNano) implements Message {
+    }
+
+    private record External(String hash, String wallet, long seqno, String destination,
+                            long amountNano, long validUntilMillis) implements Message {
+    }
+}
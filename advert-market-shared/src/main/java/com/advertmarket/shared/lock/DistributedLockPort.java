@@ -38,6 +38,20 @@ public interface DistributedLockPort {
      */
     void unlock(@NonNull String key, @NonNull String token);
 
+    /**
+     * Extends a held lock to a new TTL, measured from now.
+     *
+     * <p>Implementations must verify that the token matches the
+     * current holder before extending (compare-and-expire), so a
+     * lease that already expired and was taken over is not revived.
+     *
+     * @param key lock identifier
+     * @param token the ownership token returned by {@link #tryLock}
+     * @param ttl new time-to-live (must be positive)
+     * @return true if the lock is still held by the token and was extended
+     */
+    boolean extend(@NonNull String key, @NonNull String token, @NonNull Duration ttl);
+
     /**
      * Executes the given action while holding the lock.
      *
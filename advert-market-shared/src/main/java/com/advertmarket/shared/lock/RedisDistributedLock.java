@@ -37,6 +37,16 @@ public class RedisDistributedLock implements DistributedLockPort {
                     """,
                     Long.class);
 
+    private static final DefaultRedisScript<Long> EXTEND_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    if redis.call('get', KEYS[1]) == ARGV[1] then
+                        return redis.call('pexpire', KEYS[1], ARGV[2])
+                    end
+                    return 0
+                    """,
+                    Long.class);
+
     private final StringRedisTemplate redisTemplate;
     private final MetricsFacade metrics;
 
@@ -91,6 +101,30 @@ public class RedisDistributedLock implements DistributedLockPort {
         }
     }
 
+    @Override
+    public boolean extend(
+            @NonNull String key, @NonNull String token, @NonNull Duration ttl) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(token, "token");
+        Objects.requireNonNull(ttl, "ttl");
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException(
+                    "Lock TTL must be positive, got: " + ttl);
+        }
+
+        String redisKey = KEY_PREFIX + key;
+        try {
+            Long extended = redisTemplate.execute(EXTEND_SCRIPT,
+                    List.of(redisKey), token,
+                    String.valueOf(ttl.toMillis()));
+            return extended != null && extended == 1L;
+        } catch (DataAccessException ex) {
+            log.warn("Redis error extending lock '{}': {}",
+                    key, ex.getMessage());
+            return false;
+        }
+    }
+
     private static String extractNamespace(String key) {
         int idx = key.indexOf(':');
         return idx > 0 ? key.substring(0, idx) : key;
@@ -64,6 +64,18 @@ public final class MetricNames {
             "ton.api.request";
     public static final @Fenum(FenumGroup.METRIC_NAME) String TON_API_ERROR =
             "ton.api.error";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String TON_API_HEDGED =
+            "ton.api.hedged";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String TON_API_CACHE_HIT =
+            "ton.api.cache.hit";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String TON_API_CACHE_MISS =
+            "ton.api.cache.miss";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String TON_ENDPOINT_LATENCY =
+            "ton.endpoint.latency";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String TON_ENDPOINT_ERROR_RATE =
+            "ton.endpoint.error_rate";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String TON_ENDPOINT_EJECTED =
+            "ton.endpoint.ejected";
     public static final @Fenum(FenumGroup.METRIC_NAME) String TON_TX_SUBMITTED =
             "ton.tx.submitted";
     public static final @Fenum(FenumGroup.METRIC_NAME) String TON_DEPOSIT_DETECTED =
@@ -74,6 +86,20 @@ public final class MetricNames {
             "ton.deposit.timeout";
     public static final @Fenum(FenumGroup.METRIC_NAME) String TON_DEPOSIT_FAILED =
             "ton.deposit.permanently_failed";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String DEPOSIT_POOL_DEPTH =
+            "ton.deposit_pool.depth";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String DEPOSIT_POOL_REFILLED =
+            "ton.deposit_pool.refilled";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String DEPOSIT_POOL_CLAIMED =
+            "ton.deposit_pool.claimed";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String DEPOSIT_POOL_CLAIM_LATENCY =
+            "ton.deposit_pool.claim.latency";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String TON_SEQNO_CACHE_HIT =
+            "ton.seqno.cache.hit";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String TON_SEQNO_CACHE_MISS =
+            "ton.seqno.cache.miss";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String TON_SEQNO_RECONCILED =
+            "ton.seqno.reconciled";
 
     // --- Channel ---
     public static final @Fenum(FenumGroup.METRIC_NAME) String CHANNEL_REGISTERED =
@@ -113,6 +139,26 @@ public final class MetricNames {
             "deal.timeout.refund.emitted";
     public static final @Fenum(FenumGroup.METRIC_NAME) String DEAL_TIMEOUT_DISPUTE_ESCALATED =
             "deal.timeout.dispute.escalated";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String DEAL_DEADLINE_FIRED =
+            "deal.deadline.fired";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String DEAL_DEADLINE_LAG =
+            "deal.deadline.lag";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String DEAL_DEADLINE_PENDING =
+            "deal.deadline.pending";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String DEAL_DEADLINE_SHARD_LOST =
+            "deal.deadline.shard.lost";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String DEAL_ACTOR_MAILBOXES =
+            "deal.actor.mailboxes";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String DEAL_ACTOR_CACHE_HIT =
+            "deal.actor.cache.hit";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String DEAL_ACTOR_CACHE_MISS =
+            "deal.actor.cache.miss";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String DEAL_STATUS_COUNTER_REPAIRED =
+            "deal.status.counter.repaired";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String DEAL_EVENT_PARTITION_CREATED =
+            "deal.event.partition.created";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String DEAL_EVENT_PARTITION_ARCHIVED =
+            "deal.event.partition.archived";
 
     // --- Delivery ---
     public static final @Fenum(FenumGroup.METRIC_NAME) String DELIVERY_VERIFIED =
@@ -135,6 +181,12 @@ public final class MetricNames {
             "telegram.webhook.accepted.dispatched";
     public static final @Fenum(FenumGroup.METRIC_NAME) String WEBHOOK_DISPATCH_REJECTED =
             "telegram.webhook.dispatch.rejected";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String UPDATE_MAILBOXES =
+            "telegram.update.mailboxes";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String UPDATE_QUEUED =
+            "telegram.update.queued";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String UPDATE_QUEUE_WAIT =
+            "telegram.update.queue.wait";
     public static final @Fenum(FenumGroup.METRIC_NAME) String DEDUP_ACQUIRED =
             "telegram.update.dedup.acquired";
     public static final @Fenum(FenumGroup.METRIC_NAME) String DEDUP_DUPLICATE =
@@ -171,6 +223,10 @@ public final class MetricNames {
             "notification.telegram.delivered";
     public static final @Fenum(FenumGroup.METRIC_NAME) String NOTIFICATION_FAILED =
             "notification.telegram.failed";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String NOTIFICATION_SUPPRESSED =
+            "notification.telegram.suppressed";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String NOTIFICATION_COALESCED =
+            "notification.telegram.coalesced";
 
     // --- Commission Sweep ---
     public static final @Fenum(FenumGroup.METRIC_NAME) String COMMISSION_SWEEP_COUNT =
@@ -221,6 +277,12 @@ public final class MetricNames {
             "lock.acquired";
     public static final @Fenum(FenumGroup.METRIC_NAME) String LOCK_TIMEOUT =
             "lock.timeout";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String REPLICA_SIZE =
+            "replica.size";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String REPLICA_SYNC_FAILED =
+            "replica.sync.failed";
+    public static final @Fenum(FenumGroup.METRIC_NAME) String REPLICA_STALE_READ =
+            "replica.stale.read";
 
     private MetricNames() {
     }
@@ -2,11 +2,14 @@ package com.advertmarket.shared.metric;
 
 import com.advertmarket.shared.FenumGroup;
 import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
 import lombok.RequiredArgsConstructor;
 import org.checkerframework.checker.fenum.qual.Fenum;
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -21,6 +24,7 @@ public class MetricsFacade {
     private final MeterRegistry registry;
     private final Map<String, Counter> counters = new ConcurrentHashMap<>();
     private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> histogramTimers = new ConcurrentHashMap<>();
 
     /** Increments a named counter by 1 with optional tags. */
     public void incrementCounter(
@@ -53,6 +57,25 @@ public class MetricsFacade {
         getOrCreateTimer(name, tags).record(runnable);
     }
 
+    /** Records an externally measured duration on a timer with optional tags. */
+    public void recordTimer(
+            @Fenum(FenumGroup.METRIC_NAME) @NonNull String name,
+            @NonNull Duration duration,
+            String... tags) {
+        getOrCreateTimer(name, tags).record(duration);
+    }
+
+    /**
+     * Records an externally measured duration on a timer that also
+     * publishes a percentile histogram, with optional tags.
+     */
+    public void recordHistogramTimer(
+            @Fenum(FenumGroup.METRIC_NAME) @NonNull String name,
+            @NonNull Duration duration,
+            String... tags) {
+        getOrCreateHistogramTimer(name, tags).record(duration);
+    }
+
     /** Registers a gauge backed by the given {@link Number}. */
     public <T extends Number> void registerGauge(
             @Fenum(FenumGroup.METRIC_NAME) @NonNull String name,
@@ -60,6 +83,15 @@ public class MetricsFacade {
         registry.gauge(name, number);
     }
 
+    /** Registers a gauge sampling the given object with optional tags. */
+    public <T> void registerGauge(
+            @Fenum(FenumGroup.METRIC_NAME) @NonNull String name,
+            @NonNull T stateObject,
+            @NonNull ToDoubleFunction<T> valueFunction,
+            String... tags) {
+        Gauge.builder(name, stateObject, valueFunction).tags(tags).register(registry);
+    }
+
     /** Returns the underlying registry for advanced use cases. */
     @NonNull
     public MeterRegistry registry() {
@@ -80,6 +112,15 @@ public class MetricsFacade {
         );
     }
 
+    private Timer getOrCreateHistogramTimer(String name, String... tags) {
+        return histogramTimers.computeIfAbsent(
+                cacheKey(name, tags),
+                _ -> Timer.builder(name).tags(tags)
+                        .publishPercentileHistogram()
+                        .register(registry)
+        );
+    }
+
     private static String cacheKey(String name, String... tags) {
         if (tags.length == 0) {
             return name;
@@ -0,0 +1,49 @@
+package com.advertmarket.shared.replica;
+
+import io.github.springpropertiesmd.api.annotation.PropertyDoc;
+import io.github.springpropertiesmd.api.annotation.PropertyGroupDoc;
+import io.github.springpropertiesmd.api.annotation.Requirement;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Configuration properties for in-memory replicas of Redis key sets.
+ *
+ * @param syncInterval interval between full resyncs from Redis
+ * @param maxStaleness age of the last successful resync after which
+ *                     reads go to Redis instead of the replica
+ */
+@ConfigurationProperties(prefix = "app.replica")
+@PropertyGroupDoc(
+        displayName = "Replicated Key Sets",
+        description = "In-memory replicas of the token blacklist and user blocks",
+        category = "Redis"
+)
+public record ReplicaProperties(
+
+        @PropertyDoc(
+                description = "Interval between full resyncs of each replica from Redis",
+                required = Requirement.OPTIONAL
+        )
+        Duration syncInterval,
+
+        @PropertyDoc(
+                description = "Age of the last successful resync after which reads"
+                        + " fall back to Redis",
+                required = Requirement.OPTIONAL
+        )
+        Duration maxStaleness
+) {
+    private static final long DEFAULT_SYNC_INTERVAL_SECONDS = 30L;
+    private static final long DEFAULT_MAX_STALENESS_SECONDS = 90L;
+
+    /** Applies defaults for unset properties. */
+    public ReplicaProperties {
+        if (syncInterval == null) {
+            syncInterval = Duration.ofSeconds(DEFAULT_SYNC_INTERVAL_SECONDS);
+        }
+        if (maxStaleness == null) {
+            maxStaleness = Duration.ofSeconds(DEFAULT_MAX_STALENESS_SECONDS);
+        }
+    }
+}
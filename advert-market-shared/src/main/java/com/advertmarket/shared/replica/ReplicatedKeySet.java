@@ -0,0 +1,250 @@
+package com.advertmarket.shared.replica;
+
+import static com.advertmarket.shared.metric.MetricNames.REPLICA_SIZE;
+import static com.advertmarket.shared.metric.MetricNames.REPLICA_STALE_READ;
+import static com.advertmarket.shared.metric.MetricNames.REPLICA_SYNC_FAILED;
+
+import com.advertmarket.shared.metric.MetricsFacade;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import lombok.extern.slf4j.Slf4j;
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * In-memory replica of the Redis keys under one prefix.
+ *
+ * <p>Members are the key suffixes, held with the expiry of their key.
+ * The replica is seeded by scanning Redis, kept current by change
+ * messages that writers publish through {@link #added} and
+ * {@link #removed} after updating Redis, and rebuilt by
+ * {@link #resync()}, which the owner schedules. Pub/sub delivery is best
+ * effort; a change missed while the subscription reconnects is repaired
+ * by the next resync, which bounds how long it can go unseen. Changes
+ * arrive through the application's shared listener container, and a
+ * resync reads the expiries of each scanned page in one pipeline.
+ *
+ * <p>The replica is trusted only while its last successful resync is
+ * younger than the staleness bound. Past it, {@link #contains} answers
+ * from the caller's Redis lookup instead, so a node whose replication
+ * lags keeps the fail-closed behavior of reading Redis directly.
+ */
+@Slf4j
+public class ReplicatedKeySet {
+
+    private static final long NO_EXPIRY = Long.MAX_VALUE;
+    private static final long KEY_MISSING = -2;
+    private static final char ADDED = '+';
+    private static final char REMOVED = '-';
+    private static final int SCAN_BATCH = 1_000;
+
+    private final StringRedisTemplate redis;
+    private final RedisMessageListenerContainer container;
+    private final String keyPrefix;
+    private final ChannelTopic channel;
+    private final MessageListener listener = this::onMessage;
+    private final long maxStalenessNanos;
+    private final MetricsFacade metrics;
+    private final Map<String, Entry> members = new ConcurrentHashMap<>();
+    private final Map<String, Long> removedAt = new ConcurrentHashMap<>();
+    private volatile boolean synced;
+    private volatile long syncedAt;
+
+    /**
+     * Creates an empty replica; call {@link #start()} to populate it.
+     *
+     * @param redis        Redis template
+     * @param container    shared listener container delivering changes
+     * @param keyPrefix    prefix of the replicated keys
+     * @param maxStaleness resync age after which the replica is not trusted
+     * @param metrics      metrics facade
+     */
+    public ReplicatedKeySet(@NonNull StringRedisTemplate redis,
+            @NonNull RedisMessageListenerContainer container, @NonNull String keyPrefix,
+            @NonNull Duration maxStaleness, @NonNull MetricsFacade metrics) {
+        this.redis = redis;
+        this.container = container;
+        this.keyPrefix = keyPrefix;
+        this.channel = new ChannelTopic("replica:" + keyPrefix);
+        this.maxStalenessNanos = maxStaleness.toNanos();
+        this.metrics = metrics;
+        metrics.registerGauge(REPLICA_SIZE, members, Map::size, "set", keyPrefix);
+    }
+
+    /** Subscribes to changes, then seeds the replica from Redis. */
+    public void start() {
+        container.addMessageListener(listener, channel);
+        // Subscribe before the seeding scan, so no change falls between the two
+        if (!container.isRunning()) {
+            container.start();
+        }
+        resync();
+    }
+
+    /** Stops listening for changes. */
+    public void shutdown() {
+        container.removeMessageListener(listener, channel);
+    }
+
+    /**
+     * Returns whether the member is present and not expired.
+     *
+     * @param member   key suffix
+     * @param fallback Redis lookup used while the replica is stale
+     * @return whether the member is present
+     */
+    public boolean contains(@NonNull String member, @NonNull Predicate<String> fallback) {
+        if (!isCurrent()) {
+            metrics.incrementCounter(REPLICA_STALE_READ, "set", keyPrefix);
+            return fallback.test(member);
+        }
+        Entry entry = members.get(member);
+        return entry != null && entry.expiresAt() > System.currentTimeMillis();
+    }
+
+    /** Returns whether the last successful resync is within the staleness bound. */
+    public boolean isCurrent() {
+        return synced && System.nanoTime() - syncedAt <= maxStalenessNanos;
+    }
+
+    /**
+     * Records a member just written to Redis and tells the other nodes.
+     *
+     * @param member key suffix
+     * @param ttl    time to live of the key, {@code null} if it does not expire
+     */
+    public void added(@NonNull String member, @Nullable Duration ttl) {
+        long ttlMillis = ttl == null ? -1 : ttl.toMillis();
+        apply(ADDED, ttlMillis, member);
+        publish(ADDED, ttlMillis, member);
+    }
+
+    /**
+     * Records a member just deleted from Redis and tells the other nodes.
+     *
+     * @param member key suffix
+     */
+    public void removed(@NonNull String member) {
+        apply(REMOVED, 0, member);
+        publish(REMOVED, 0, member);
+    }
+
+    /**
+     * Rebuilds the replica from the keys in Redis.
+     *
+     * <p>Changes received while the scan runs win over the scanned state.
+     */
+    public void resync() {
+        long started = System.nanoTime();
+        var snapshot = new HashMap<String, Long>();
+        var page = new ArrayList<String>(SCAN_BATCH);
+        try (Cursor<String> keys = redis.scan(ScanOptions.scanOptions()
+                .match(keyPrefix + "*").count(SCAN_BATCH).build())) {
+            while (keys.hasNext()) {
+                page.add(keys.next());
+                if (page.size() == SCAN_BATCH) {
+                    readExpiries(page, snapshot);
+                    page.clear();
+                }
+            }
+            readExpiries(page, snapshot);
+        } catch (DataAccessException e) {
+            metrics.incrementCounter(REPLICA_SYNC_FAILED, "set", keyPrefix);
+            log.warn("Redis error resyncing replica of {}*", keyPrefix, e);
+            return;
+        }
+        snapshot.forEach((member, expiresAt) -> {
+            Long removed = removedAt.get(member);
+            if (removed == null || removed - started < 0) {
+                members.merge(member, new Entry(expiresAt, started),
+                        (current, scanned) -> current.seenAt() - started > 0 ? current : scanned);
+            }
+        });
+        long now = System.currentTimeMillis();
+        members.entrySet().removeIf(e -> e.getValue().expiresAt() <= now
+                || (!snapshot.containsKey(e.getKey()) && e.getValue().seenAt() - started < 0));
+        removedAt.values().removeIf(removed -> removed - started < 0);
+        syncedAt = started;
+        synced = true;
+    }
+
+    // One round trip per page of keys rather than one PTTL per key
+    private void readExpiries(List<String> page, Map<String, Long> snapshot) {
+        if (page.isEmpty()) {
+            return;
+        }
+        List<Object> ttls = redis.executePipelined((RedisCallback<Object>) connection -> {
+            for (String key : page) {
+                connection.keyCommands().pTtl(key.getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < page.size(); i++) {
+            if (ttls.get(i) instanceof Long ttl && ttl != KEY_MISSING) {
+                snapshot.put(page.get(i).substring(keyPrefix.length()),
+                        ttl < 0 ? NO_EXPIRY : now + ttl);
+            }
+        }
+    }
+
+    // Message format: <op><ttl millis> <member>
+    void onMessage(@NonNull String body) {
+        int space = body.indexOf(' ');
+        try {
+            if (space < 2) {
+                throw new IllegalArgumentException("Missing separator");
+            }
+            apply(body.charAt(0), Long.parseLong(body.substring(1, space)),
+                    body.substring(space + 1));
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring malformed replica message on {}: {}",
+                    channel.getTopic(), body);
+        }
+    }
+
+    private void onMessage(Message message, byte[] pattern) {
+        onMessage(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void apply(char op, long ttlMillis, String member) {
+        long now = System.nanoTime();
+        if (op == ADDED) {
+            removedAt.remove(member);
+            members.put(member, new Entry(
+                    ttlMillis < 0 ? NO_EXPIRY : System.currentTimeMillis() + ttlMillis, now));
+        } else if (op == REMOVED) {
+            members.remove(member);
+            removedAt.put(member, now);
+        } else {
+            throw new IllegalArgumentException("Unknown operation " + op);
+        }
+    }
+
+    private void publish(char op, long ttlMillis, String member) {
+        try {
+            redis.convertAndSend(channel.getTopic(), op + Long.toString(ttlMillis) + ' ' + member);
+        } catch (DataAccessException e) {
+            log.warn("Redis error publishing replica change of {}{}", keyPrefix, member, e);
+        }
+    }
+
+    /** A member with its expiry and when this node last learned of it. */
+    private record Entry(long expiresAt, long seenAt) {
+    }
+}
@@ -158,6 +158,24 @@ public record IdempotencyKey(@NonNull String value) {
                 "sweep:" + date + ":" + accountId.value());
     }
 
+    /**
+     * Key for a bulk commission sweep over an account range:
+     * {@code sweep:{date}:{firstAccountId}..{lastAccountId}}.
+     *
+     * @param date sweep date (e.g., "2026-01-15")
+     * @param first first commission account in the range
+     * @param last last commission account in the range
+     * @return idempotency key
+     */
+    public static @NonNull IdempotencyKey sweep(
+            @NonNull String date,
+            @NonNull AccountId first,
+            @NonNull AccountId last) {
+        requireNotBlank(date, "date");
+        return new IdempotencyKey(
+                "sweep:" + date + ":" + first.value() + ".." + last.value());
+    }
+
     /**
      * Key for owner withdrawal:
      * {@code withdrawal:{userId}:{timestamp}}.
@@ -136,4 +136,38 @@ class RedisDistributedLockTest {
         // should not throw
         lock.unlock("deal:123", "token-abc");
     }
+
+    @Test
+    @DisplayName("extend returns true when token still holds the lock")
+    void extend_heldByToken_returnsTrue() {
+        when(redisTemplate.execute(
+                any(), eq(List.of("lock:deal:123")),
+                eq("token-abc"), eq("30000")))
+                .thenReturn(1L);
+
+        assertThat(lock.extend("deal:123", "token-abc",
+                Duration.ofSeconds(30))).isTrue();
+    }
+
+    @Test
+    @DisplayName("extend returns false when lock was taken over")
+    void extend_notHeld_returnsFalse() {
+        when(redisTemplate.execute(
+                any(), any(), anyString(), anyString()))
+                .thenReturn(0L);
+
+        assertThat(lock.extend("deal:123", "token-abc",
+                Duration.ofSeconds(30))).isFalse();
+    }
+
+    @Test
+    @DisplayName("extend returns false on Redis error")
+    void extend_redisError_returnsFalse() {
+        when(redisTemplate.execute(
+                any(), any(), anyString(), anyString()))
+                .thenThrow(new QueryTimeoutException("timeout"));
+
+        assertThat(lock.extend("deal:123", "token-abc",
+                Duration.ofSeconds(30))).isFalse();
+    }
 }
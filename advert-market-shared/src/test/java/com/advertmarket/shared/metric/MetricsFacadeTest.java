@@ -3,6 +3,9 @@ package com.advertmarket.shared.metric;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -59,6 +62,40 @@ class MetricsFacadeTest {
         assertThat(timer.count()).isEqualTo(1);
     }
 
+    @Test
+    @DisplayName("recordTimer records an externally measured duration")
+    void recordTimer_recordsDuration() {
+        facade.recordTimer("test.duration", Duration.ofMillis(250), "op", "test");
+
+        var timer = registry.find("test.duration").tag("op", "test").timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(250.0);
+    }
+
+    @Test
+    @DisplayName("recordHistogramTimer records into a percentile histogram")
+    void recordHistogramTimer_publishesHistogram() {
+        facade.recordHistogramTimer("test.histogram", Duration.ofMillis(40), "op", "test");
+        facade.recordHistogramTimer("test.histogram", Duration.ofMillis(60), "op", "test");
+
+        var timer = registry.find("test.histogram").tag("op", "test").timer();
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(timer.takeSnapshot().histogramCounts()).isNotEmpty();
+    }
+
+    @Test
+    @DisplayName("registerGauge samples the state object on read")
+    void registerGauge_samplesStateObject() {
+        var state = new AtomicInteger(3);
+        facade.registerGauge("test.gauge", state, AtomicInteger::get, "k", "v");
+        state.set(7);
+
+        var gauge = registry.find("test.gauge").tag("k", "v").gauge();
+        assertThat(gauge).isNotNull();
+        assertThat(gauge.value()).isEqualTo(7.0);
+    }
+
     @Test
     @DisplayName("registry() returns the underlying MeterRegistry")
     void registry_returnsUnderlying() {
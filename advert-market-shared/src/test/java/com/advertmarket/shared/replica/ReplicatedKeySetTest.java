@@ -0,0 +1,217 @@
+package com.advertmarket.shared.replica;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.advertmarket.shared.metric.MetricNames;
+import com.advertmarket.shared.metric.MetricsFacade;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@DisplayName("ReplicatedKeySet")
+class ReplicatedKeySetTest {
+
+    private static final String PREFIX = "jwt:blacklist:";
+
+    private StringRedisTemplate redis;
+    private RedisMessageListenerContainer container;
+    private MetricsFacade metrics;
+    private ReplicatedKeySet replica;
+
+    @BeforeEach
+    void setUp() {
+        redis = mock(StringRedisTemplate.class);
+        container = mock(RedisMessageListenerContainer.class);
+        metrics = mock(MetricsFacade.class);
+        replica = new ReplicatedKeySet(redis, container, PREFIX, Duration.ofMinutes(1), metrics);
+    }
+
+    @Test
+    @DisplayName("Reads Redis until the first resync succeeds")
+    void readsRedisBeforeFirstResync() {
+        assertThat(replica.isCurrent()).isFalse();
+        assertThat(replica.contains("a", _ -> true)).isTrue();
+        verify(metrics).incrementCounter(MetricNames.REPLICA_STALE_READ, "set", PREFIX);
+    }
+
+    @Test
+    @DisplayName("Resync seeds members with their expiry from Redis")
+    void resyncSeedsMembers() {
+        scan(List.of(PREFIX + "a", PREFIX + "b", PREFIX + "c"));
+        expiries(() -> List.of(60_000L, -1L, -2L));
+
+        replica.resync();
+
+        assertThat(replica.isCurrent()).isTrue();
+        assertThat(replica.contains("a", _ -> false)).isTrue();
+        assertThat(replica.contains("b", _ -> false)).isTrue();
+        assertThat(replica.contains("c", _ -> true)).isFalse();
+        assertThat(replica.contains("d", _ -> true)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Resync reads the expiries of a page of keys in one pipeline")
+    void resyncPipelinesExpiries() {
+        scan(List.of(PREFIX + "a", PREFIX + "b"));
+        expiries(() -> List.of(-1L, -1L));
+
+        replica.resync();
+
+        verify(redis).executePipelined(any(RedisCallback.class));
+        verify(redis, never()).getExpire(anyString(), any(TimeUnit.class));
+    }
+
+    @Test
+    @DisplayName("Registers on the shared listener container and leaves it running")
+    void usesSharedContainer() {
+        when(container.isRunning()).thenReturn(true);
+        scan(List.of());
+
+        replica.start();
+        replica.shutdown();
+
+        var topic = new ChannelTopic("replica:" + PREFIX);
+        verify(container).addMessageListener(any(MessageListener.class), eq(topic));
+        verify(container).removeMessageListener(any(MessageListener.class), eq(topic));
+        verify(container, never()).start();
+        verify(container, never()).stop();
+    }
+
+    @Test
+    @DisplayName("Resync drops members deleted from Redis")
+    void resyncDropsDeletedMembers() {
+        scan(List.of(PREFIX + "a"));
+        expiries(() -> List.of(-1L));
+        replica.resync();
+
+        scan(List.of());
+        replica.resync();
+
+        assertThat(replica.contains("a", _ -> true)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Failed resync keeps the replica until it is stale")
+    void failedResyncKeepsReplica() {
+        scan(List.of(PREFIX + "a"));
+        expiries(() -> List.of(-1L));
+        replica.resync();
+
+        when(redis.scan(any(ScanOptions.class)))
+                .thenThrow(new QueryTimeoutException("timeout"));
+        replica.resync();
+
+        assertThat(replica.contains("a", _ -> false)).isTrue();
+        verify(metrics).incrementCounter(MetricNames.REPLICA_SYNC_FAILED, "set", PREFIX);
+    }
+
+    @Test
+    @DisplayName("Falls back to Redis once the last resync is older than the bound")
+    void fallsBackWhenStale() {
+        var stale = new ReplicatedKeySet(redis, container, PREFIX, Duration.ZERO, metrics);
+        scan(List.of());
+        stale.resync();
+
+        assertThat(stale.contains("a", _ -> true)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Local changes apply at once and are published")
+    void localChangesArePublished() {
+        scan(List.of());
+        replica.resync();
+
+        replica.added("a", Duration.ofMinutes(1));
+        assertThat(replica.contains("a", _ -> false)).isTrue();
+        verify(redis).convertAndSend("replica:" + PREFIX, "+60000 a");
+
+        replica.removed("a");
+        assertThat(replica.contains("a", _ -> true)).isFalse();
+        verify(redis).convertAndSend("replica:" + PREFIX, "-0 a");
+    }
+
+    @Test
+    @DisplayName("Applies changes published by other instances")
+    void appliesRemoteChanges() {
+        scan(List.of());
+        replica.resync();
+
+        replica.onMessage("+-1 42");
+        assertThat(replica.contains("42", _ -> false)).isTrue();
+
+        replica.onMessage("-0 42");
+        assertThat(replica.contains("42", _ -> true)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Treats members past their expiry as absent")
+    void expiredMembersAreAbsent() {
+        scan(List.of());
+        replica.resync();
+
+        replica.onMessage("+0 a");
+
+        assertThat(replica.contains("a", _ -> true)).isFalse();
+    }
+
+    @Test
+    @DisplayName("Ignores malformed messages")
+    void ignoresMalformedMessages() {
+        scan(List.of());
+        replica.resync();
+
+        replica.onMessage("garbage");
+        replica.onMessage("*10 a");
+        replica.onMessage("+x a");
+
+        assertThat(replica.contains("a", _ -> true)).isFalse();
+    }
+
+    @Test
+    @DisplayName("A removal seen during a resync wins over the scanned key")
+    void removalDuringResyncWins() {
+        scan(List.of(PREFIX + "a"));
+        expiries(() -> {
+            replica.onMessage("-0 a");
+            return List.of(-1L);
+        });
+
+        replica.resync();
+
+        assertThat(replica.contains("a", _ -> true)).isFalse();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void expiries(Supplier<List<Object>> ttls) {
+        when(redis.executePipelined(any(RedisCallback.class))).thenAnswer(_ -> ttls.get());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void scan(List<String> keys) {
+        Iterator<String> iterator = keys.iterator();
+        Cursor<String> cursor = mock(Cursor.class);
+        when(cursor.hasNext()).thenAnswer(_ -> iterator.hasNext());
+        when(cursor.next()).thenAnswer(_ -> iterator.next());
+        when(redis.scan(any(ScanOptions.class))).thenReturn(cursor);
+    }
+}
@@ -99,6 +99,16 @@ class IdempotencyKeyTest {
                 "sweep:2026-01-15:" + accountId.value());
     }
 
+    @Test
+    @DisplayName("bulk sweep key format")
+    void bulkSweep_keyFormat() {
+        var first = AccountId.commission(DEAL_ID);
+        var last = AccountId.commission(DealId.generate());
+        var key = IdempotencyKey.sweep("2026-01-15", first, last);
+        assertThat(key.value()).isEqualTo(
+                "sweep:2026-01-15:" + first.value() + ".." + last.value());
+    }
+
     @Test
     @DisplayName("withdrawal key format")
     void withdrawal_keyFormat() {